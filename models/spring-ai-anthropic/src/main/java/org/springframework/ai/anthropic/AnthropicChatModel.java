@@ -265,8 +265,8 @@ public class AnthropicChatModel extends AbstractToolCallSupport implements ChatM
 				ChatResponse chatResponse = toChatResponse(chatCompletionResponse);
 
 				if (!isProxyToolCalls(prompt, this.defaultOptions) && this.isToolCall(chatResponse, Set.of("tool_use"))) {
-					var toolCallConversation = handleToolCalls(prompt, chatResponse);
-					return this.stream(new Prompt(toolCallConversation, prompt.getOptions()));
+					return handleToolCallsAsync(prompt, chatResponse)
+						.flatMapMany(conversation -> this.stream(new Prompt(conversation, prompt.getOptions())));
 				}
 
 				return Mono.just(chatResponse);
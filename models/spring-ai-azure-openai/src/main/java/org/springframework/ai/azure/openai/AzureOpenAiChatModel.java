@@ -284,10 +284,10 @@ public class AzureOpenAiChatModel extends AbstractToolCallSupport implements Cha
 
 				if (!isProxyToolCalls(prompt, this.defaultOptions) && isToolCall(chatResponse,
 						Set.of(String.valueOf(CompletionsFinishReason.TOOL_CALLS).toLowerCase()))) {
-					var toolCallConversation = handleToolCalls(prompt, chatResponse);
-					// Recursively call the call method with the tool call message
+					// Recursively call the stream method with the tool call message
 					// conversation that contains the call responses.
-					return this.stream(new Prompt(toolCallConversation, prompt.getOptions()));
+					return handleToolCallsAsync(prompt, chatResponse)
+						.flatMapMany(conversation -> this.stream(new Prompt(conversation, prompt.getOptions())));
 				}
 
 				Flux<ChatResponse> flux = Flux.just(chatResponse)
@@ -510,8 +510,8 @@ public class BedrockProxyChatModel extends AbstractToolCallSupport implements Ch
 			Flux<ChatResponse> chatResponseFlux = chatResponses.switchMap(chatResponse -> {
 				if (!this.isProxyToolCalls(prompt, this.defaultOptions) && chatResponse != null
 						&& this.isToolCall(chatResponse, Set.of("tool_use"))) {
-					var toolCallConversation = this.handleToolCalls(prompt, chatResponse);
-					return this.stream(new Prompt(toolCallConversation, prompt.getOptions()));
+					return this.handleToolCallsAsync(prompt, chatResponse)
+						.flatMapMany(conversation -> this.stream(new Prompt(conversation, prompt.getOptions())));
 				}
 				return Mono.just(chatResponse);
 			})
@@ -274,10 +274,10 @@ public class MistralAiChatModel extends AbstractToolCallSupport implements ChatM
 			// @formatter:off
 			Flux<ChatResponse> chatResponseFlux = chatResponse.flatMap(response -> {
 				if (!isProxyToolCalls(prompt, this.defaultOptions) && isToolCall(response, Set.of(MistralAiApi.ChatCompletionFinishReason.TOOL_CALLS.name()))) {
-					var toolCallConversation = handleToolCalls(prompt, response);
 					// Recursively call the stream method with the tool call message
 					// conversation that contains the call responses.
-					return this.stream(new Prompt(toolCallConversation, prompt.getOptions()));
+					return handleToolCallsAsync(prompt, response)
+						.flatMapMany(conversation -> this.stream(new Prompt(conversation, prompt.getOptions())));
 				}
 				else {
 					return Flux.just(response);
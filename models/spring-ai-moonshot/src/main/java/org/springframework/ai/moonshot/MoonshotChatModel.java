@@ -297,10 +297,10 @@ public class MoonshotChatModel extends AbstractToolCallSupport implements ChatMo
 			Flux<ChatResponse> flux = chatResponse.flatMap(response -> {
 				if (!isProxyToolCalls(prompt, this.defaultOptions) && isToolCall(response,
 						Set.of(ChatCompletionFinishReason.TOOL_CALLS.name(), ChatCompletionFinishReason.STOP.name()))) {
-					var toolCallConversation = handleToolCalls(prompt, response);
 					// Recursively call the stream method with the tool call message
 					// conversation that contains the call responses.
-					return this.stream(new Prompt(toolCallConversation, prompt.getOptions()));
+					return handleToolCallsAsync(prompt, response)
+						.flatMapMany(conversation -> this.stream(new Prompt(conversation, prompt.getOptions())));
 				}
 				return Flux.just(response);
 			})
@@ -230,7 +230,8 @@ public class VertexAiTextEmbeddingModel extends AbstractEmbeddingModel {
 
 	@Override
 	public int dimensions() {
-		return KNOWN_EMBEDDING_DIMENSIONS.getOrDefault(this.defaultOptions.getModel(), super.dimensions());
+		Integer knownDimensions = KNOWN_EMBEDDING_DIMENSIONS.get(this.defaultOptions.getModel());
+		return (knownDimensions != null) ? knownDimensions : super.dimensions();
 	}
 
 	/**
@@ -358,10 +358,10 @@ public class VertexAiGeminiChatModel extends AbstractToolCallSupport implements
 
 					if (!isProxyToolCalls(prompt, this.defaultOptions) && isToolCall(chatResponse,
 							Set.of(FinishReason.STOP.name(), FinishReason.FINISH_REASON_UNSPECIFIED.name()))) {
-						var toolCallConversation = handleToolCalls(prompt, chatResponse);
 						// Recursively call the stream method with the tool call message
 						// conversation that contains the call responses.
-						return this.stream(new Prompt(toolCallConversation, prompt.getOptions()));
+						return handleToolCallsAsync(prompt, chatResponse)
+							.flatMapMany(conversation -> this.stream(new Prompt(conversation, prompt.getOptions())));
 					}
 
 					Flux<ChatResponse> chatResponseFlux = Flux.just(chatResponse)
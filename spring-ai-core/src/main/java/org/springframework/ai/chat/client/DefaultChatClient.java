@@ -397,13 +397,13 @@ public class DefaultChatClient implements ChatClient {
 		@Override
 		public <T> ResponseEntity<ChatResponse, T> responseEntity(Class<T> type) {
 			Assert.notNull(type, "type cannot be null");
-			return doResponseEntity(new BeanOutputConverter<T>(type));
+			return doResponseEntity(BeanOutputConverter.forType(type));
 		}
 
 		@Override
 		public <T> ResponseEntity<ChatResponse, T> responseEntity(ParameterizedTypeReference<T> type) {
 			Assert.notNull(type, "type cannot be null");
-			return doResponseEntity(new BeanOutputConverter<T>(type));
+			return doResponseEntity(BeanOutputConverter.forType(type));
 		}
 
 		@Override
@@ -428,7 +428,7 @@ public class DefaultChatClient implements ChatClient {
 		@Nullable
 		public <T> T entity(ParameterizedTypeReference<T> type) {
 			Assert.notNull(type, "type cannot be null");
-			return doSingleWithBeanOutputConverter(new BeanOutputConverter<>(type));
+			return doSingleWithBeanOutputConverter(BeanOutputConverter.forType(type));
 		}
 
 		@Override
@@ -442,7 +442,7 @@ public class DefaultChatClient implements ChatClient {
 		@Nullable
 		public <T> T entity(Class<T> type) {
 			Assert.notNull(type, "type cannot be null");
-			var outputConverter = new BeanOutputConverter<>(type);
+			var outputConverter = BeanOutputConverter.forType(type);
 			return doSingleWithBeanOutputConverter(outputConverter);
 		}
 
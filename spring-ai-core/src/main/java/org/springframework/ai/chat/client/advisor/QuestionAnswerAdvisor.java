@@ -33,9 +33,10 @@ import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisorChain;
 import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisor;
 import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisorChain;
 import org.springframework.ai.chat.model.ChatResponse;
-import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.chat.prompt.PromptTemplateCache;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.model.Content;
+import org.springframework.ai.vectorstore.AsyncVectorStore;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.filter.Filter;
@@ -126,7 +127,8 @@ public class QuestionAnswerAdvisor implements CallAroundAdvisor, StreamAroundAdv
 	 * @param protectFromBlocking If true the advisor will protect the execution from
 	 * blocking threads. If false the advisor will not protect the execution from blocking
 	 * threads. This is useful when the advisor is used in a non-blocking environment. It
-	 * is true by default.
+	 * is true by default. Streaming requests to an {@link AsyncVectorStore} are never
+	 * blocking and ignore it.
 	 */
 	public QuestionAnswerAdvisor(VectorStore vectorStore, SearchRequest searchRequest, String userTextAdvise,
 			boolean protectFromBlocking) {
@@ -144,7 +146,8 @@ public class QuestionAnswerAdvisor implements CallAroundAdvisor, StreamAroundAdv
 	 * @param protectFromBlocking If true the advisor will protect the execution from
 	 * blocking threads. If false the advisor will not protect the execution from blocking
 	 * threads. This is useful when the advisor is used in a non-blocking environment. It
-	 * is true by default.
+	 * is true by default. Streaming requests to an {@link AsyncVectorStore} are never
+	 * blocking and ignore it.
 	 * @param order The order of the advisor.
 	 */
 	public QuestionAnswerAdvisor(VectorStore vectorStore, SearchRequest searchRequest, String userTextAdvise,
@@ -191,14 +194,23 @@ public class QuestionAnswerAdvisor implements CallAroundAdvisor, StreamAroundAdv
 		// This can be executed by both blocking and non-blocking Threads
 		// E.g. a command line or Tomcat blocking Thread implementation
 		// or by a WebFlux dispatch in a non-blocking manner.
-		Flux<AdvisedResponse> advisedResponses = (this.protectFromBlocking) ?
-		// @formatter:off
-			Mono.just(advisedRequest)
-				.publishOn(Schedulers.boundedElastic())
-				.map(this::before)
-				.flatMapMany(request -> chain.nextAroundStream(request))
-			: chain.nextAroundStream(before(advisedRequest));
-		// @formatter:on
+		Flux<AdvisedResponse> advisedResponses;
+		if (this.vectorStore instanceof AsyncVectorStore asyncVectorStore) {
+			// The store takes care of its blocking work, no need to switch threads
+			advisedResponses = Mono.defer(() -> asyncVectorStore.similaritySearchAsync(searchRequest(advisedRequest)))
+				.map(documents -> advise(advisedRequest, documents))
+				.flatMapMany(chain::nextAroundStream);
+		}
+		else {
+			advisedResponses = (this.protectFromBlocking) ?
+			// @formatter:off
+				Mono.just(advisedRequest)
+					.publishOn(Schedulers.boundedElastic())
+					.map(this::before)
+					.flatMapMany(request -> chain.nextAroundStream(request))
+				: chain.nextAroundStream(before(advisedRequest));
+			// @formatter:on
+		}
 
 		return advisedResponses.map(ar -> {
 			if (onFinishReason().test(ar)) {
@@ -209,28 +221,33 @@ public class QuestionAnswerAdvisor implements CallAroundAdvisor, StreamAroundAdv
 	}
 
 	private AdvisedRequest before(AdvisedRequest request) {
+		// Search for similar documents in the vector store.
+		List<Document> documents = this.vectorStore.similaritySearch(searchRequest(request));
+		return advise(request, documents);
+	}
+
+	private SearchRequest searchRequest(AdvisedRequest request) {
+		String query = PromptTemplateCache.getSharedInstance().renderOnce(request.userText(), request.userParams());
+		return SearchRequest.from(this.searchRequest)
+			.withQuery(query)
+			.withFilterExpression(doGetFilterExpression(request.adviseContext()));
+	}
+
+	private AdvisedRequest advise(AdvisedRequest request, List<Document> documents) {
 
 		var context = new HashMap<>(request.adviseContext());
 
 		// 1. Advise the system text.
 		String advisedUserText = request.userText() + System.lineSeparator() + this.userTextAdvise;
 
-		// 2. Search for similar documents in the vector store.
-		String query = new PromptTemplate(request.userText(), request.userParams()).render();
-		var searchRequestToUse = SearchRequest.from(this.searchRequest)
-			.withQuery(query)
-			.withFilterExpression(doGetFilterExpression(context));
-
-		List<Document> documents = this.vectorStore.similaritySearch(searchRequestToUse);
-
-		// 3. Create the context from the documents.
+		// 2. Create the context from the documents.
 		context.put(RETRIEVED_DOCUMENTS, documents);
 
 		String documentContext = documents.stream()
 			.map(Content::getContent)
 			.collect(Collectors.joining(System.lineSeparator()));
 
-		// 4. Advise the user parameters.
+		// 3. Advise the user parameters.
 		Map<String, Object> advisedUserParams = new HashMap<>(request.userParams());
 		advisedUserParams.put("question_answer_context", documentContext);
 
@@ -32,7 +32,7 @@ import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisorChain;
 import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisor;
 import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisorChain;
 import org.springframework.ai.chat.model.ChatResponse;
-import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.chat.prompt.PromptTemplateCache;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.rag.Query;
 import org.springframework.ai.rag.augmentation.ContextualQueryAugmentor;
@@ -119,7 +119,8 @@ public class RetrievalAugmentationAdvisor implements CallAroundAdvisor, StreamAr
 		Map<String, Object> context = new HashMap<>(request.adviseContext());
 
 		// 0. Create a query from the user text and parameters.
-		Query query = new Query(new PromptTemplate(request.userText(), request.userParams()).render());
+		Query query = new Query(
+				PromptTemplateCache.getSharedInstance().renderOnce(request.userText(), request.userParams()));
 
 		// 1. Retrieve similar documents for the original query.
 		List<Document> documents = this.documentRetriever.retrieve(query);
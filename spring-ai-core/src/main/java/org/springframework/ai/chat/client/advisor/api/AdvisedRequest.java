@@ -30,7 +30,7 @@ import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.chat.prompt.PromptTemplateCache;
 import org.springframework.ai.model.Media;
 import org.springframework.ai.model.function.FunctionCallback;
 import org.springframework.ai.model.function.FunctionCallingOptions;
@@ -150,7 +150,8 @@ public record AdvisedRequest(
 		String processedSystemText = this.systemText();
 		if (StringUtils.hasText(processedSystemText)) {
 			if (!CollectionUtils.isEmpty(this.systemParams())) {
-				processedSystemText = new PromptTemplate(processedSystemText, this.systemParams()).render();
+				processedSystemText = PromptTemplateCache.getSharedInstance()
+					.renderOnce(processedSystemText, this.systemParams());
 			}
 			messages.add(new SystemMessage(processedSystemText));
 		}
@@ -166,7 +167,7 @@ public record AdvisedRequest(
 				userParams.put("spring_ai_soc_format", formatParam);
 			}
 			if (!CollectionUtils.isEmpty(userParams)) {
-				processedUserText = new PromptTemplate(processedUserText, userParams).render();
+				processedUserText = PromptTemplateCache.getSharedInstance().renderOnce(processedUserText, userParams);
 			}
 			messages.add(new UserMessage(processedUserText, this.media()));
 		}
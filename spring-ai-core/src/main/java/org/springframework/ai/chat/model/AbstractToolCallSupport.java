@@ -16,21 +16,37 @@
 
 package org.springframework.ai.chat.model;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.ToolResponseMessage;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.function.AsyncFunctionCallback;
 import org.springframework.ai.model.function.FunctionCallback;
 import org.springframework.ai.model.function.FunctionCallbackContext;
 import org.springframework.ai.model.function.FunctionCallingOptions;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
@@ -38,6 +54,18 @@ import org.springframework.util.CollectionUtils;
  * Abstract base class for tool call support. Provides functionality for handling function
  * callbacks and executing functions.
  *
+ * The tool calls of a model response are executed one after another, unless
+ * {@link FunctionCallingOptions#getConcurrentToolExecution()} is enabled for the request.
+ * They then run concurrently on the {@link #setToolExecutor(Executor) tool executor}, by
+ * default on virtual threads when the JVM supports them and on new platform threads
+ * otherwise, optionally bounded by
+ * {@link FunctionCallingOptions#getToolExecutionTimeout()}.
+ *
+ * The streaming chat models use {@link #handleToolCallsAsync(Prompt, ChatResponse)},
+ * which never blocks the thread delivering the response: {@link AsyncFunctionCallback}s
+ * are composed as is, while the other callbacks run on
+ * {@link Schedulers#boundedElastic()}.
+ *
  * @author Christian Tzolov
  * @author Grogdunn
  * @author Thomas Vitale
@@ -59,6 +87,8 @@ public abstract class AbstractToolCallSupport {
 	 */
 	protected final FunctionCallbackContext functionCallbackContext;
 
+	private Executor toolExecutor = defaultToolExecutor();
+
 	protected AbstractToolCallSupport(FunctionCallbackContext functionCallbackContext) {
 		this(functionCallbackContext, FunctionCallingOptions.builder().build(), List.of());
 	}
@@ -96,6 +126,18 @@ public abstract class AbstractToolCallSupport {
 		return this.functionCallbackRegister;
 	}
 
+	/**
+	 * Set the executor running the tool calls of the requests enabling
+	 * {@link FunctionCallingOptions#getConcurrentToolExecution()}. Thread-bound state,
+	 * such as the current observation, is only propagated to the tool calls if the
+	 * executor does so.
+	 * @param toolExecutor the executor running the tool calls concurrently.
+	 */
+	public void setToolExecutor(Executor toolExecutor) {
+		Assert.notNull(toolExecutor, "Tool executor must not be null");
+		this.toolExecutor = toolExecutor;
+	}
+
 	/**
 	 * Handle the runtime function callback configurations. Register the function
 	 * callbacks
@@ -129,6 +171,38 @@ public abstract class AbstractToolCallSupport {
 	}
 
 	protected List<Message> handleToolCalls(Prompt prompt, ChatResponse response) {
+		AssistantMessage assistantMessage = getToolCallMessage(response);
+		ToolExecution toolExecution = ToolExecution.of(prompt);
+
+		ToolResponseMessage toolMessageResponse = toolExecution.concurrent()
+				? this.executeFunctionsConcurrently(assistantMessage, toolExecution.toolContext(),
+						toolExecution.timeout())
+				: this.executeFunctions(assistantMessage, toolExecution.toolContext());
+
+		return this.buildToolCallConversation(prompt.getInstructions(), assistantMessage, toolMessageResponse);
+	}
+
+	/**
+	 * Non-blocking variant of {@link #handleToolCalls(Prompt, ChatResponse)}, for the
+	 * streaming tool call loops.
+	 * @param prompt the prompt that produced the response.
+	 * @param response the response holding the tool calls.
+	 * @return the tool call conversation to send back to the model.
+	 */
+	protected Mono<List<Message>> handleToolCallsAsync(Prompt prompt, ChatResponse response) {
+		return Mono.defer(() -> {
+			AssistantMessage assistantMessage = getToolCallMessage(response);
+			ToolExecution toolExecution = ToolExecution.of(prompt);
+
+			return this
+				.executeFunctionsAsync(assistantMessage, toolExecution.toolContext(), toolExecution.concurrent(),
+						toolExecution.timeout())
+				.map(toolMessageResponse -> this.buildToolCallConversation(prompt.getInstructions(),
+						assistantMessage, toolMessageResponse));
+		});
+	}
+
+	private static AssistantMessage getToolCallMessage(ChatResponse response) {
 		Optional<Generation> toolCallGeneration = response.getResults()
 			.stream()
 			.filter(g -> !CollectionUtils.isEmpty(g.getOutput().getToolCalls()))
@@ -136,17 +210,7 @@ public abstract class AbstractToolCallSupport {
 		if (toolCallGeneration.isEmpty()) {
 			throw new IllegalStateException("No tool call generation found in the response!");
 		}
-		AssistantMessage assistantMessage = toolCallGeneration.get().getOutput();
-
-		Map<String, Object> toolContextMap = Map.of();
-		if (prompt.getOptions() instanceof FunctionCallingOptions functionCallOptions
-				&& !CollectionUtils.isEmpty(functionCallOptions.getToolContext())) {
-			toolContextMap = functionCallOptions.getToolContext();
-		}
-		ToolResponseMessage toolMessageResponse = this.executeFunctions(assistantMessage,
-				new ToolContext(toolContextMap));
-
-		return this.buildToolCallConversation(prompt.getInstructions(), assistantMessage, toolMessageResponse);
+		return toolCallGeneration.get().getOutput();
 	}
 
 	protected List<Message> buildToolCallConversation(List<Message> previousMessages, AssistantMessage assistantMessage,
@@ -215,6 +279,175 @@ public abstract class AbstractToolCallSupport {
 		return new ToolResponseMessage(toolResponses, Map.of());
 	}
 
+	/**
+	 * Execute the tool calls concurrently on the tool executor. The tool responses are
+	 * listed in the order of the tool calls. If any of them fails, or does not complete
+	 * within the timeout, the failure of the first one in that order is rethrown once
+	 * the other calls completed. Timed out calls are not interrupted.
+	 * @param assistantMessage the assistant message holding the tool calls.
+	 * @param toolContext the context passed to every function.
+	 * @param timeout the maximum duration of each tool call, or {@code null} for none.
+	 * @return the tool responses.
+	 */
+	protected ToolResponseMessage executeFunctionsConcurrently(AssistantMessage assistantMessage,
+			ToolContext toolContext, @Nullable Duration timeout) {
+
+		List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+		if (toolCalls.size() < 2 && timeout == null) {
+			return this.executeFunctions(assistantMessage, toolContext);
+		}
+
+		// Fail before calling any function, as sequential execution fails before calling
+		// the following ones
+		List<FunctionCallback> functionCallbacks = new ArrayList<>(toolCalls.size());
+		for (AssistantMessage.ToolCall toolCall : toolCalls) {
+			FunctionCallback functionCallback = this.functionCallbackRegister.get(toolCall.name());
+			if (functionCallback == null) {
+				throw new IllegalStateException("No function callback found for function name: " + toolCall.name());
+			}
+			functionCallbacks.add(functionCallback);
+		}
+
+		List<CompletableFuture<String>> functionResponses = new ArrayList<>(toolCalls.size());
+		for (int i = 0; i < toolCalls.size(); i++) {
+			FunctionCallback functionCallback = functionCallbacks.get(i);
+			String functionArguments = toolCalls.get(i).arguments();
+			CompletableFuture<String> functionResponse;
+			try {
+				functionResponse = CompletableFuture
+					.supplyAsync(() -> functionCallback.call(functionArguments, toolContext), this.toolExecutor);
+			}
+			catch (RejectedExecutionException ex) {
+				functionResponse = CompletableFuture.failedFuture(ex);
+			}
+			if (timeout != null) {
+				functionResponse = functionResponse.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+			}
+			functionResponses.add(functionResponse);
+		}
+
+		// Never return while functions are still running, unless they timed out
+		CompletableFuture.allOf(functionResponses.toArray(new CompletableFuture<?>[0]))
+			.handle((result, ex) -> null)
+			.join();
+
+		List<ToolResponseMessage.ToolResponse> toolResponses = new ArrayList<>(toolCalls.size());
+		for (int i = 0; i < toolCalls.size(); i++) {
+			AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+			String functionResponse;
+			try {
+				functionResponse = functionResponses.get(i).join();
+			}
+			catch (CompletionException ex) {
+				Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+				if (cause instanceof TimeoutException) {
+					throw new IllegalStateException(
+							"Function [" + toolCall.name() + "] did not complete within " + timeout, cause);
+				}
+				if (cause instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw new IllegalStateException("Function [" + toolCall.name() + "] failed", cause);
+			}
+			toolResponses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), functionResponse));
+		}
+
+		return new ToolResponseMessage(toolResponses, Map.of());
+	}
+
+	/**
+	 * Execute the tool calls without blocking. {@link AsyncFunctionCallback}s are
+	 * subscribed to directly, the other callbacks are called on
+	 * {@link Schedulers#boundedElastic()}. The calls are made one after another unless
+	 * {@code concurrent} is set, with the same ordering and failure semantics as
+	 * {@link #executeFunctions} and {@link #executeFunctionsConcurrently}.
+	 * @param assistantMessage the assistant message holding the tool calls.
+	 * @param toolContext the context passed to every function.
+	 * @param concurrent whether the tool calls are executed concurrently.
+	 * @param timeout the maximum duration of each concurrent tool call, or {@code null}
+	 * for none.
+	 * @return the tool responses.
+	 */
+	protected Mono<ToolResponseMessage> executeFunctionsAsync(AssistantMessage assistantMessage,
+			ToolContext toolContext, boolean concurrent, @Nullable Duration timeout) {
+
+		return Mono.defer(() -> {
+			List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+			List<FunctionCallback> functionCallbacks = new ArrayList<>(toolCalls.size());
+			for (AssistantMessage.ToolCall toolCall : toolCalls) {
+				FunctionCallback functionCallback = this.functionCallbackRegister.get(toolCall.name());
+				if (functionCallback == null) {
+					throw new IllegalStateException(
+							"No function callback found for function name: " + toolCall.name());
+				}
+				functionCallbacks.add(functionCallback);
+			}
+
+			if (!concurrent) {
+				return Flux.range(0, toolCalls.size())
+					.concatMap(i -> callFunctionAsync(functionCallbacks.get(i), toolCalls.get(i), toolContext))
+					.collectList()
+					.map(functionResponses -> toToolResponseMessage(toolCalls, functionResponses));
+			}
+
+			// Wait for all the calls, then fail with the first failure in tool call order
+			return Flux.range(0, toolCalls.size()).flatMapSequential(i -> {
+				AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+				Mono<String> functionResponse = callFunctionAsync(functionCallbacks.get(i), toolCall, toolContext);
+				if (timeout != null) {
+					functionResponse = functionResponse.timeout(timeout)
+						.onErrorMap(TimeoutException.class, ex -> new IllegalStateException(
+								"Function [" + toolCall.name() + "] did not complete within " + timeout, ex));
+				}
+				return functionResponse.materialize();
+			}).collectList().map(signals -> {
+				List<String> functionResponses = new ArrayList<>(signals.size());
+				for (int i = 0; i < signals.size(); i++) {
+					Signal<String> signal = signals.get(i);
+					if (signal.isOnError()) {
+						Throwable error = signal.getThrowable();
+						if (error instanceof RuntimeException runtimeException) {
+							throw runtimeException;
+						}
+						throw new IllegalStateException("Function [" + toolCalls.get(i).name() + "] failed", error);
+					}
+					functionResponses.add(signal.get());
+				}
+				return toToolResponseMessage(toolCalls, functionResponses);
+			});
+		});
+	}
+
+	private static Mono<String> callFunctionAsync(FunctionCallback functionCallback,
+			AssistantMessage.ToolCall toolCall, ToolContext toolContext) {
+		Mono<String> functionResponse = (functionCallback instanceof AsyncFunctionCallback asyncFunctionCallback)
+				? Mono.defer(() -> asyncFunctionCallback.callAsync(toolCall.arguments(), toolContext))
+				: Mono.fromCallable(() -> functionCallback.call(toolCall.arguments(), toolContext))
+					.subscribeOn(Schedulers.boundedElastic());
+		return functionResponse.switchIfEmpty(Mono
+			.error(() -> new IllegalStateException("Function [" + toolCall.name() + "] returned no response")));
+	}
+
+	private static ToolResponseMessage toToolResponseMessage(List<AssistantMessage.ToolCall> toolCalls,
+			List<String> functionResponses) {
+		List<ToolResponseMessage.ToolResponse> toolResponses = new ArrayList<>(toolCalls.size());
+		for (int i = 0; i < toolCalls.size(); i++) {
+			AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+			toolResponses
+				.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), functionResponses.get(i)));
+		}
+		return new ToolResponseMessage(toolResponses, Map.of());
+	}
+
+	private static Executor defaultToolExecutor() {
+		try {
+			return new VirtualThreadTaskExecutor("tool-call-");
+		}
+		catch (UnsupportedOperationException ex) {
+			return new SimpleAsyncTaskExecutor("tool-call-");
+		}
+	}
+
 	protected boolean isToolCall(ChatResponse chatResponse, Set<String> toolCallFinishReasons) {
 		Assert.isTrue(!CollectionUtils.isEmpty(toolCallFinishReasons), "Tool call finish reasons cannot be empty!");
 
@@ -268,4 +501,25 @@ public abstract class AbstractToolCallSupport {
 		return false;
 	}
 
+	/**
+	 * How the tool calls of a prompt are executed.
+	 */
+	private record ToolExecution(ToolContext toolContext, boolean concurrent, @Nullable Duration timeout) {
+
+		static ToolExecution of(Prompt prompt) {
+			Map<String, Object> toolContextMap = Map.of();
+			boolean concurrent = false;
+			Duration timeout = null;
+			if (prompt.getOptions() instanceof FunctionCallingOptions functionCallOptions) {
+				if (!CollectionUtils.isEmpty(functionCallOptions.getToolContext())) {
+					toolContextMap = functionCallOptions.getToolContext();
+				}
+				concurrent = Boolean.TRUE.equals(functionCallOptions.getConcurrentToolExecution());
+				timeout = functionCallOptions.getToolExecutionTimeout();
+			}
+			return new ToolExecution(new ToolContext(toolContextMap), concurrent, timeout);
+		}
+
+	}
+
 }
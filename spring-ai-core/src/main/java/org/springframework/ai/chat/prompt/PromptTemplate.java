@@ -26,10 +26,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
-import org.antlr.runtime.Token;
-import org.antlr.runtime.TokenStream;
 import org.stringtemplate.v4.ST;
-import org.stringtemplate.v4.compiler.STLexer;
 
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
@@ -45,6 +42,8 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 
 	private ST st;
 
+	private Set<String> inputVariables;
+
 	private Map<String, Object> dynamicModel = new HashMap<>();
 
 	public PromptTemplate(Resource resource) {
@@ -54,36 +53,21 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 		catch (IOException ex) {
 			throw new RuntimeException("Failed to read resource", ex);
 		}
-		try {
-			this.st = new ST(this.template, '{', '}');
-		}
-		catch (Exception ex) {
-			throw new IllegalArgumentException("The template string is not valid.", ex);
-		}
+		compile();
 	}
 
 	public PromptTemplate(String template) {
 		this.template = template;
 		// If the template string is not valid, an exception will be thrown
-		try {
-			this.st = new ST(this.template, '{', '}');
-		}
-		catch (Exception ex) {
-			throw new IllegalArgumentException("The template string is not valid.", ex);
-		}
+		compile();
 	}
 
 	public PromptTemplate(String template, Map<String, Object> model) {
 		this.template = template;
 		// If the template string is not valid, an exception will be thrown
-		try {
-			this.st = new ST(this.template, '{', '}');
-			for (Entry<String, Object> entry : model.entrySet()) {
-				add(entry.getKey(), entry.getValue());
-			}
-		}
-		catch (Exception ex) {
-			throw new IllegalArgumentException("The template string is not valid.", ex);
+		compile();
+		for (Entry<String, Object> entry : model.entrySet()) {
+			add(entry.getKey(), entry.getValue());
 		}
 	}
 
@@ -95,17 +79,23 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 			throw new RuntimeException("Failed to read resource", ex);
 		}
 		// If the template string is not valid, an exception will be thrown
-		try {
-			this.st = new ST(this.template, '{', '}');
-			for (Entry<String, Object> entry : model.entrySet()) {
-				this.add(entry.getKey(), entry.getValue());
-			}
-		}
-		catch (Exception ex) {
-			throw new IllegalArgumentException("The template string is not valid.", ex);
+		compile();
+		for (Entry<String, Object> entry : model.entrySet()) {
+			this.add(entry.getKey(), entry.getValue());
 		}
 	}
 
+	/**
+	 * Compiles the template, or reuses the compiled one if the shared cache holds it. The
+	 * template is not added to the cache, so one-off texts never evict cached templates.
+	 */
+	private void compile() {
+		PromptTemplateCache.CompiledTemplate compiled = PromptTemplateCache.getSharedInstance()
+			.lookup(this.template);
+		this.st = compiled.newInstance();
+		this.inputVariables = compiled.inputVariables();
+	}
+
 	public void add(String name, Object value) {
 		this.st.add(name, value);
 		this.dynamicModel.put(name, value);
@@ -122,12 +112,18 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 	// Render Methods
 	@Override
 	public String render() {
+		if (PromptTemplateCache.isLiteral(this.template)) {
+			return this.template;
+		}
 		validate(this.dynamicModel);
 		return this.st.render();
 	}
 
 	@Override
 	public String render(Map<String, Object> model) {
+		if (PromptTemplateCache.isLiteral(this.template)) {
+			return this.template;
+		}
 		validate(model);
 		for (Entry<String, Object> entry : model.entrySet()) {
 			if (this.st.getAttribute(entry.getKey()) != null) {
@@ -189,29 +185,7 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 	}
 
 	public Set<String> getInputVariables() {
-		TokenStream tokens = this.st.impl.tokens;
-		Set<String> inputVariables = new HashSet<>();
-		boolean isInsideList = false;
-
-		for (int i = 0; i < tokens.size(); i++) {
-			Token token = tokens.get(i);
-
-			if (token.getType() == STLexer.LDELIM && i + 1 < tokens.size()
-					&& tokens.get(i + 1).getType() == STLexer.ID) {
-				if (i + 2 < tokens.size() && tokens.get(i + 2).getType() == STLexer.COLON) {
-					inputVariables.add(tokens.get(i + 1).getText());
-					isInsideList = true;
-				}
-			}
-			else if (token.getType() == STLexer.RDELIM) {
-				isInsideList = false;
-			}
-			else if (!isInsideList && token.getType() == STLexer.ID) {
-				inputVariables.add(token.getText());
-			}
-		}
-
-		return inputVariables;
+		return new HashSet<>(this.inputVariables);
 	}
 
 	private Set<String> getModelKeys(Map<String, Object> model) {
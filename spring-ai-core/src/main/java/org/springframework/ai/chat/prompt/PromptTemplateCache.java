@@ -0,0 +1,239 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.ai.chat.prompt;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.antlr.runtime.Token;
+import org.antlr.runtime.TokenStream;
+import org.stringtemplate.v4.ST;
+import org.stringtemplate.v4.compiler.STLexer;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cache of compiled prompt templates, keyed by the template text, so that a template is
+ * parsed once rather than on every rendering.
+ *
+ * An {@link ST} instance holds the attributes of a single rendering and cannot be shared
+ * across threads. The cache therefore keeps a prototype of each template that is never
+ * rendered, and every rendering works on a copy of it, which shares the compiled template
+ * without parsing it again. Templates without any placeholder are rendered as is, without
+ * involving StringTemplate at all.
+ *
+ * The cache holds at most {@code capacity} templates, evicting the least recently used
+ * one when full. {@link PromptTemplate} uses the {@link #getSharedInstance() shared
+ * instance}, whose capacity defaults to {@value #DEFAULT_CAPACITY} and can be set with
+ * the {@value #SHARED_CAPACITY_PROPERTY} system or {@link SpringProperties} property.
+ * Texts that are rendered once, such as the user text of a chat request, go through
+ * {@link #renderOnce(String, Map)} so that they do not evict the templates worth keeping.
+ * {@link PromptTemplate} instances reuse the cached templates the same way, without
+ * adding their own text to the cache.
+ *
+ * @since 1.0.0
+ */
+public final class PromptTemplateCache {
+
+	public static final int DEFAULT_CAPACITY = 256;
+
+	/**
+	 * Property setting the capacity of the {@link #getSharedInstance() shared instance}.
+	 */
+	public static final String SHARED_CAPACITY_PROPERTY = "spring.ai.prompt.template-cache.capacity";
+
+	private static final PromptTemplateCache sharedInstance = new PromptTemplateCache(sharedCapacity());
+
+	private final ConcurrentLruCache<String, CompiledTemplate> templates;
+
+	/**
+	 * @param capacity the maximum number of cached templates
+	 */
+	public PromptTemplateCache(int capacity) {
+		Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+		this.templates = new ConcurrentLruCache<>(capacity, CompiledTemplate::compile);
+	}
+
+	/**
+	 * @return the cache shared by {@link PromptTemplate} instances
+	 */
+	public static PromptTemplateCache getSharedInstance() {
+		return sharedInstance;
+	}
+
+	/**
+	 * Renders the template with the given attributes, as
+	 * {@code new PromptTemplate(template, model).render()} does.
+	 * @param template the template text
+	 * @param model the values of the template variables
+	 * @return the rendered text
+	 * @throws IllegalArgumentException if the template is not valid
+	 * @throws IllegalStateException if the model misses some of the template variables
+	 */
+	public String render(String template, Map<String, Object> model) {
+		Assert.notNull(template, "template must not be null");
+		Assert.notNull(model, "model must not be null");
+		if (isLiteral(template)) {
+			return template;
+		}
+		return render(this.templates.get(template), model);
+	}
+
+	/**
+	 * Renders a text that is not expected to be rendered again, without adding it to the
+	 * cache. The compiled template is reused if the text is already cached.
+	 * @param template the template text
+	 * @param model the values of the template variables
+	 * @return the rendered text
+	 * @throws IllegalArgumentException if the template is not valid
+	 * @throws IllegalStateException if the model misses some of the template variables
+	 */
+	public String renderOnce(String template, Map<String, Object> model) {
+		Assert.notNull(template, "template must not be null");
+		Assert.notNull(model, "model must not be null");
+		if (isLiteral(template)) {
+			return template;
+		}
+		return render(lookup(template), model);
+	}
+
+	/**
+	 * Returns the compiled template, which is the cached one if the text is already
+	 * cached. Otherwise the text is compiled without being added to the cache.
+	 * @throws IllegalArgumentException if the template is not valid
+	 */
+	CompiledTemplate lookup(String template) {
+		return this.templates.contains(template) ? this.templates.get(template) : CompiledTemplate.compile(template);
+	}
+
+	private static String render(CompiledTemplate compiled, Map<String, Object> model) {
+		if (!model.keySet().containsAll(compiled.inputVariables)) {
+			Set<String> missing = new HashSet<>(compiled.inputVariables);
+			missing.removeAll(model.keySet());
+			throw new IllegalStateException(
+					"Not all template variables were replaced. Missing variable names are " + missing);
+		}
+		ST st = new ST(compiled.prototype);
+		model.forEach(st::add);
+		return st.render();
+	}
+
+	/**
+	 * @param template the template text
+	 * @return the names of the variables of the template
+	 * @throws IllegalArgumentException if the template is not valid
+	 */
+	public Set<String> getInputVariables(String template) {
+		Assert.notNull(template, "template must not be null");
+		return this.templates.get(template).inputVariables;
+	}
+
+	/**
+	 * @return the number of cached templates
+	 */
+	public int size() {
+		return this.templates.size();
+	}
+
+	/**
+	 * Whether the template renders as its own text: it has no delimiter, no escape
+	 * sequence and no line break that StringTemplate would normalize.
+	 */
+	static boolean isLiteral(String template) {
+		boolean unixLineSeparator = "\n".equals(System.lineSeparator());
+		for (int i = 0; i < template.length(); i++) {
+			char c = template.charAt(i);
+			if (c == '{' || c == '}' || c == '\\' || c == '\r' || (c == '\n' && !unixLineSeparator)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int sharedCapacity() {
+		String capacity = SpringProperties.getProperty(SHARED_CAPACITY_PROPERTY);
+		if (!StringUtils.hasText(capacity)) {
+			return DEFAULT_CAPACITY;
+		}
+		try {
+			return Integer.parseInt(capacity.trim());
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalArgumentException(
+					"Invalid " + SHARED_CAPACITY_PROPERTY + " value, expected an integer: " + capacity, ex);
+		}
+	}
+
+	/**
+	 * A parsed template and its variables. The prototype is only ever copied.
+	 */
+	record CompiledTemplate(ST prototype, Set<String> inputVariables) {
+
+		static CompiledTemplate compile(String template) {
+			ST prototype;
+			try {
+				prototype = new ST(template, '{', '}');
+			}
+			catch (Exception ex) {
+				throw new IllegalArgumentException("The template string is not valid.", ex);
+			}
+			return new CompiledTemplate(prototype, Collections.unmodifiableSet(inputVariables(prototype)));
+		}
+
+		/**
+		 * Returns a new, unrendered, instance of the template, for the exclusive use of
+		 * the caller.
+		 */
+		ST newInstance() {
+			return new ST(this.prototype);
+		}
+
+		private static Set<String> inputVariables(ST st) {
+			TokenStream tokens = st.impl.tokens;
+			Set<String> inputVariables = new HashSet<>();
+			boolean isInsideList = false;
+
+			for (int i = 0; i < tokens.size(); i++) {
+				Token token = tokens.get(i);
+
+				if (token.getType() == STLexer.LDELIM && i + 1 < tokens.size()
+						&& tokens.get(i + 1).getType() == STLexer.ID) {
+					if (i + 2 < tokens.size() && tokens.get(i + 2).getType() == STLexer.COLON) {
+						inputVariables.add(tokens.get(i + 1).getText());
+						isInsideList = true;
+					}
+				}
+				else if (token.getType() == STLexer.RDELIM) {
+					isInsideList = false;
+				}
+				else if (!isInsideList && token.getType() == STLexer.ID) {
+					inputVariables.add(token.getText());
+				}
+			}
+
+			return inputVariables;
+		}
+
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.ai.converter;
 
 import java.lang.reflect.Type;
+import java.util.Map;
 import java.util.Objects;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -26,6 +27,7 @@ import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.github.victools.jsonschema.generator.Option;
@@ -40,6 +42,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.ai.util.JacksonUtils;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * An implementation of {@link StructuredOutputConverter} that transforms the LLM output
@@ -47,6 +51,11 @@ import org.springframework.lang.NonNull;
  * schema based on a given Java class or parameterized type reference, which is then used
  * to validate and transform the LLM output into the desired type.
  *
+ * Converters are immutable and thread-safe. Generating the schema and configuring the
+ * object mapper are comparatively expensive, so {@link #forType(Class)} and
+ * {@link #forType(ParameterizedTypeReference)} return a converter shared by all the
+ * callers targeting the same type, rather than creating one per request.
+ *
  * @param <T> The target type to which the output will be converted.
  * @author Mark Pollack
  * @author Christian Tzolov
@@ -57,6 +66,10 @@ import org.springframework.lang.NonNull;
  */
 public class BeanOutputConverter<T> implements StructuredOutputConverter<T> {
 
+	private static final SchemaGenerator SCHEMA_GENERATOR = createSchemaGenerator();
+
+	private static final Map<Type, BeanOutputConverter<?>> sharedConverters = new ConcurrentReferenceHashMap<>();
+
 	private final Logger logger = LoggerFactory.getLogger(BeanOutputConverter.class);
 
 	/**
@@ -67,6 +80,9 @@ public class BeanOutputConverter<T> implements StructuredOutputConverter<T> {
 	/** The object mapper used for deserialization and other JSON operations. */
 	private final ObjectMapper objectMapper;
 
+	/** Reads the target type, resolved once for all conversions. */
+	private final ObjectReader objectReader;
+
 	/** Holds the generated JSON schema for the target type. */
 	private String jsonSchema;
 
@@ -118,13 +134,37 @@ public class BeanOutputConverter<T> implements StructuredOutputConverter<T> {
 		Objects.requireNonNull(typeRef, "Type reference cannot be null;");
 		this.typeRef = typeRef;
 		this.objectMapper = objectMapper != null ? objectMapper : getObjectMapper();
+		this.objectReader = this.objectMapper.readerFor(this.typeRef);
 		generateSchema();
 	}
 
 	/**
-	 * Generates the JSON schema for the target type.
+	 * Returns the converter shared by all the callers targeting the given class,
+	 * creating it on first use.
+	 * @param clazz The target type's class.
+	 * @param <T> The target type.
+	 * @return the shared converter
 	 */
-	private void generateSchema() {
+	public static <T> BeanOutputConverter<T> forType(Class<T> clazz) {
+		Assert.notNull(clazz, "clazz must not be null");
+		return forType(ParameterizedTypeReference.forType(clazz));
+	}
+
+	/**
+	 * Returns the converter shared by all the callers targeting the given type, creating
+	 * it on first use.
+	 * @param typeRef The target class type reference.
+	 * @param <T> The target type.
+	 * @return the shared converter
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> BeanOutputConverter<T> forType(ParameterizedTypeReference<T> typeRef) {
+		Assert.notNull(typeRef, "typeRef must not be null");
+		return (BeanOutputConverter<T>) sharedConverters.computeIfAbsent(typeRef.getType(),
+				type -> new BeanOutputConverter<>(typeRef));
+	}
+
+	private static SchemaGenerator createSchemaGenerator() {
 		JacksonModule jacksonModule = new JacksonModule(JacksonOption.RESPECT_JSONPROPERTY_REQUIRED);
 		SchemaGeneratorConfigBuilder configBuilder = new SchemaGeneratorConfigBuilder(
 				com.github.victools.jsonschema.generator.SchemaVersion.DRAFT_2020_12,
@@ -132,8 +172,14 @@ public class BeanOutputConverter<T> implements StructuredOutputConverter<T> {
 			.with(jacksonModule)
 			.with(Option.FORBIDDEN_ADDITIONAL_PROPERTIES_BY_DEFAULT);
 		SchemaGeneratorConfig config = configBuilder.build();
-		SchemaGenerator generator = new SchemaGenerator(config);
-		JsonNode jsonNode = generator.generateSchema(this.typeRef.getType());
+		return new SchemaGenerator(config);
+	}
+
+	/**
+	 * Generates the JSON schema for the target type.
+	 */
+	private void generateSchema() {
+		JsonNode jsonNode = SCHEMA_GENERATOR.generateSchema(this.typeRef.getType());
 		ObjectWriter objectWriter = this.objectMapper.writer(new DefaultPrettyPrinter()
 			.withObjectIndenter(new DefaultIndenter().withLinefeed(System.lineSeparator())));
 		try {
@@ -173,7 +219,7 @@ public class BeanOutputConverter<T> implements StructuredOutputConverter<T> {
 				// Trim again to remove any potential whitespace
 				text = text.trim();
 			}
-			return (T) this.objectMapper.readValue(text, this.typeRef);
+			return this.objectReader.readValue(text);
 		}
 		catch (JsonProcessingException e) {
 			logger.error("Could not parse the given text to the desired target type:" + text + " into " + this.typeRef);
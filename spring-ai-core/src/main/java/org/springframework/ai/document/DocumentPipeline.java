@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.util.Assert;
+
+/**
+ * Streams documents from {@link DocumentReader}s or any {@link Publisher} through
+ * {@link DocumentTransformer}s into a {@link DocumentWriter}, without materializing the
+ * whole corpus between the stages. For instance:
+ *
+ * <pre class="code">
+ * long written = DocumentPipeline.from(pdfReaders)
+ *     .transform(new TokenTextSplitter(), 4)
+ *     .write(vectorStore, 64, 2)
+ *     .block();
+ * </pre>
+ *
+ * Each stage works on small batches of documents and requests more from the previous
+ * stage only when it has capacity, so that the number of documents held in memory is
+ * bounded by the batch sizes and parallelism of the stages rather than by the size of
+ * the corpus. Readers are read one after the other, each of them as a whole. Stages run
+ * concurrently with each other; transformers and writers, which typically block, are
+ * called on the configured {@link Scheduler}, {@link Schedulers#boundedElastic()} by
+ * default. Transformed documents keep the order of their input; batches are passed to
+ * the writer as soon as they are complete.
+ *
+ * Pipelines are immutable and lazy: nothing is read until the {@link Flux} returned by
+ * {@link #documents()} or the {@link Mono} returned by {@link #write} is subscribed to.
+ *
+ * @since 1.0.0
+ */
+public final class DocumentPipeline {
+
+	private final Function<Scheduler, Flux<Document>> assembly;
+
+	private final Scheduler scheduler;
+
+	private DocumentPipeline(Function<Scheduler, Flux<Document>> assembly, Scheduler scheduler) {
+		this.assembly = assembly;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Creates a pipeline streaming the documents of the given publisher.
+	 * @param documents the source documents
+	 * @return the pipeline
+	 */
+	public static DocumentPipeline from(Publisher<? extends Document> documents) {
+		Assert.notNull(documents, "documents must not be null");
+		return new DocumentPipeline(scheduler -> Flux.<Document>from(documents), Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Creates a pipeline streaming the documents of the given readers. Each reader is
+	 * read when the previous stage needs more documents, after the previous reader was
+	 * read.
+	 * @param readers the source readers
+	 * @return the pipeline
+	 */
+	public static DocumentPipeline from(DocumentReader... readers) {
+		Assert.notNull(readers, "readers must not be null");
+		return from(List.of(readers));
+	}
+
+	/**
+	 * Creates a pipeline streaming the documents of the given readers. Each reader is
+	 * read when the previous stage needs more documents, after the previous reader was
+	 * read.
+	 * @param readers the source readers
+	 * @return the pipeline
+	 */
+	public static DocumentPipeline from(Iterable<? extends DocumentReader> readers) {
+		Assert.notNull(readers, "readers must not be null");
+		return new DocumentPipeline(scheduler -> Flux.<DocumentReader>fromIterable(readers)
+			.concatMap(reader -> Mono.fromCallable(reader::get).subscribeOn(scheduler), 1)
+			.concatMapIterable(Function.identity(), 1), Schedulers.boundedElastic());
+	}
+
+	/**
+	 * @param scheduler the scheduler reading, transforming and writing the documents
+	 * @return a copy of this pipeline using the given scheduler
+	 */
+	public DocumentPipeline withScheduler(Scheduler scheduler) {
+		Assert.notNull(scheduler, "scheduler must not be null");
+		return new DocumentPipeline(this.assembly, scheduler);
+	}
+
+	/**
+	 * Adds a stage transforming the documents one at a time.
+	 * @param transformer the transformer, for instance a document splitter
+	 * @param parallelism the maximum number of documents transformed concurrently
+	 * @return a new pipeline ending with the given stage
+	 */
+	public DocumentPipeline transform(DocumentTransformer transformer, int parallelism) {
+		return transform(transformer, 1, parallelism);
+	}
+
+	/**
+	 * Adds a stage transforming the documents in batches.
+	 * @param transformer the transformer, for instance a document splitter or a metadata
+	 * enricher
+	 * @param batchSize the maximum number of documents passed to the transformer at once
+	 * @param parallelism the maximum number of batches transformed concurrently
+	 * @return a new pipeline ending with the given stage
+	 */
+	public DocumentPipeline transform(DocumentTransformer transformer, int batchSize, int parallelism) {
+		Assert.notNull(transformer, "transformer must not be null");
+		Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+		Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+		Function<Scheduler, Flux<Document>> upstream = this.assembly;
+		return new DocumentPipeline(scheduler -> upstream.apply(scheduler)
+			.buffer(batchSize)
+			.flatMapSequential(batch -> Mono.fromCallable(() -> transformer.apply(batch)).subscribeOn(scheduler),
+					parallelism, 1)
+			.concatMapIterable(Function.identity(), 1), this.scheduler);
+	}
+
+	/**
+	 * Returns the documents coming out of the last stage of this pipeline.
+	 * @return a cold {@link Flux} running the pipeline on subscription
+	 */
+	public Flux<Document> documents() {
+		return this.assembly.apply(this.scheduler);
+	}
+
+	/**
+	 * Writes the documents coming out of the last stage of this pipeline, one batch at a
+	 * time.
+	 * @param writer the writer, for instance a vector store
+	 * @param batchSize the maximum number of documents passed to the writer at once
+	 * @return a cold {@link Mono} running the pipeline on subscription and emitting the
+	 * number of documents written
+	 */
+	public Mono<Long> write(DocumentWriter writer, int batchSize) {
+		return write(writer, batchSize, 1);
+	}
+
+	/**
+	 * Writes the documents coming out of the last stage of this pipeline in concurrent
+	 * batches. Batches may be written out of order when {@code parallelism} is greater
+	 * than one.
+	 * @param writer the writer, for instance a vector store
+	 * @param batchSize the maximum number of documents passed to the writer at once
+	 * @param parallelism the maximum number of batches written concurrently
+	 * @return a cold {@link Mono} running the pipeline on subscription and emitting the
+	 * number of documents written
+	 */
+	public Mono<Long> write(DocumentWriter writer, int batchSize, int parallelism) {
+		Assert.notNull(writer, "writer must not be null");
+		Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+		Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+		return documents().buffer(batchSize)
+			.flatMap(batch -> Mono.fromRunnable(() -> writer.accept(batch))
+				.subscribeOn(this.scheduler)
+				.thenReturn((long) batch.size()), parallelism, 1)
+			.reduce(0L, Long::sum);
+	}
+
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.id;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.util.Assert;
+
+/**
+ * An ID generator hashing a canonical binary encoding of the contents, without Java
+ * serialization, and returning the hash as a UUID.
+ *
+ * The encoding only depends on the values of the contents, so that the IDs are stable
+ * across JVM runs and versions:
+ * <ul>
+ * <li>strings are encoded in UTF-8;</li>
+ * <li>integral numbers are encoded as longs and other numbers as doubles, so that
+ * {@code 1} and {@code 1L} give the same ID, while big numbers are encoded in decimal
+ * form;</li>
+ * <li>map entries are sorted by key, so that the iteration order of a map does not
+ * matter;</li>
+ * <li>collections and arrays are encoded element by element, in order;</li>
+ * <li>any other object is encoded through its {@code toString()} representation.</li>
+ * </ul>
+ * Every value is prefixed with its kind, and variable-length values with their length,
+ * so that different contents never share an encoding.
+ *
+ * The encoding is hashed with SHA-256 by default, or with the much faster but
+ * non-cryptographic 128-bit MurmurHash3 when the IDs do not need to resist deliberate
+ * collisions. Instances are thread-safe.
+ *
+ * @since 1.0.0
+ */
+public class ContentHashIdGenerator implements IdGenerator {
+
+	private static final byte NULL = 'N';
+
+	private static final byte STRING = 'S';
+
+	private static final byte INTEGRAL = 'I';
+
+	private static final byte DECIMAL = 'F';
+
+	private static final byte BIG_NUMBER = 'X';
+
+	private static final byte BOOLEAN = 'B';
+
+	private static final byte BYTES = 'Y';
+
+	private static final byte MAP = 'M';
+
+	private static final byte SEQUENCE = 'L';
+
+	private static final byte OTHER = 'O';
+
+	private static final Comparator<Map.Entry<?, ?>> KEY_ORDER = Comparator.comparing(
+			(Map.Entry<?, ?> entry) -> String.valueOf(entry.getKey()))
+		.thenComparing(entry -> (entry.getKey() != null) ? entry.getKey().getClass().getName() : "");
+
+	/**
+	 * The hash function applied to the canonical encoding of the contents.
+	 */
+	public enum Algorithm {
+
+		/**
+		 * SHA-256, truncated to 128 bits.
+		 */
+		SHA_256,
+
+		/**
+		 * The x64 128-bit variant of MurmurHash3, with a zero seed.
+		 */
+		MURMUR3_128
+
+	}
+
+	private final Algorithm algorithm;
+
+	private final MessageDigest messageDigest;
+
+	public ContentHashIdGenerator() {
+		this(Algorithm.SHA_256);
+	}
+
+	public ContentHashIdGenerator(Algorithm algorithm) {
+		Assert.notNull(algorithm, "algorithm must not be null");
+		this.algorithm = algorithm;
+		try {
+			this.messageDigest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	public Algorithm getAlgorithm() {
+		return this.algorithm;
+	}
+
+	@Override
+	public String generateId(Object... contents) {
+		Assert.notNull(contents, "Contents must not be null");
+		Encoder encoder = new Encoder();
+		for (Object content : contents) {
+			encoder.write(content);
+		}
+		long mostSignificantBits;
+		long leastSignificantBits;
+		if (this.algorithm == Algorithm.SHA_256) {
+			MessageDigest digest = getMessageDigest();
+			digest.update(encoder.bytes, 0, encoder.size);
+			byte[] hash = digest.digest();
+			mostSignificantBits = Encoder.readLong(hash, 0);
+			leastSignificantBits = Encoder.readLong(hash, 8);
+		}
+		else {
+			long[] hash = Murmur3.hash128(encoder.bytes, encoder.size);
+			mostSignificantBits = hash[0];
+			leastSignificantBits = hash[1];
+		}
+		// Mark the UUID as a version 8, custom, UUID with the IETF variant
+		mostSignificantBits = (mostSignificantBits & ~0xF000L) | 0x8000L;
+		leastSignificantBits = (leastSignificantBits & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+		return new UUID(mostSignificantBits, leastSignificantBits).toString();
+	}
+
+	private MessageDigest getMessageDigest() {
+		try {
+			return (MessageDigest) this.messageDigest.clone();
+		}
+		catch (CloneNotSupportedException ex) {
+			throw new IllegalStateException("Unsupported clone for MessageDigest.", ex);
+		}
+	}
+
+	/**
+	 * Writes the canonical encoding of values into a growing byte array.
+	 */
+	private static final class Encoder {
+
+		private byte[] bytes = new byte[256];
+
+		private int size;
+
+		void write(Object value) {
+			if (value == null) {
+				writeByte(NULL);
+			}
+			else if (value instanceof CharSequence text) {
+				writeByte(STRING);
+				writeText(text);
+			}
+			else if (value instanceof Byte || value instanceof Short || value instanceof Integer
+					|| value instanceof Long) {
+				writeByte(INTEGRAL);
+				writeLong(((Number) value).longValue());
+			}
+			else if (value instanceof Float || value instanceof Double) {
+				writeByte(DECIMAL);
+				writeLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+			}
+			else if (value instanceof BigDecimal || value instanceof BigInteger) {
+				writeByte(BIG_NUMBER);
+				writeText(value.toString());
+			}
+			else if (value instanceof Boolean bool) {
+				writeByte(BOOLEAN);
+				writeByte(bool ? (byte) 1 : (byte) 0);
+			}
+			else if (value instanceof byte[] array) {
+				writeByte(BYTES);
+				writeInt(array.length);
+				ensureCapacity(array.length);
+				System.arraycopy(array, 0, this.bytes, this.size, array.length);
+				this.size += array.length;
+			}
+			else if (value instanceof Map<?, ?> map) {
+				writeByte(MAP);
+				writeInt(map.size());
+				List<Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+				entries.sort(KEY_ORDER);
+				for (Map.Entry<?, ?> entry : entries) {
+					write(entry.getKey());
+					write(entry.getValue());
+				}
+			}
+			else if (value instanceof Collection<?> collection) {
+				writeByte(SEQUENCE);
+				writeInt(collection.size());
+				for (Object element : collection) {
+					write(element);
+				}
+			}
+			else if (value instanceof Object[] array) {
+				write(Arrays.asList(array));
+			}
+			else {
+				writeByte(OTHER);
+				writeText(value.toString());
+			}
+		}
+
+		private void writeText(CharSequence text) {
+			// Reserve the length prefix and fill it in once the text is encoded
+			int lengthPosition = this.size;
+			writeInt(0);
+			int length = text.length();
+			ensureCapacity(length * 3);
+			for (int i = 0; i < length; i++) {
+				char c = text.charAt(i);
+				if (c < 0x80) {
+					this.bytes[this.size++] = (byte) c;
+				}
+				else if (c < 0x800) {
+					this.bytes[this.size++] = (byte) (0xC0 | (c >> 6));
+					this.bytes[this.size++] = (byte) (0x80 | (c & 0x3F));
+				}
+				else if (Character.isHighSurrogate(c) && i + 1 < length
+						&& Character.isLowSurrogate(text.charAt(i + 1))) {
+					int codePoint = Character.toCodePoint(c, text.charAt(++i));
+					this.bytes[this.size++] = (byte) (0xF0 | (codePoint >> 18));
+					this.bytes[this.size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+					this.bytes[this.size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+					this.bytes[this.size++] = (byte) (0x80 | (codePoint & 0x3F));
+				}
+				else if (Character.isSurrogate(c)) {
+					// Unpaired surrogate, encoded as '?' like String.getBytes does
+					this.bytes[this.size++] = (byte) '?';
+				}
+				else {
+					this.bytes[this.size++] = (byte) (0xE0 | (c >> 12));
+					this.bytes[this.size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+					this.bytes[this.size++] = (byte) (0x80 | (c & 0x3F));
+				}
+			}
+			int byteLength = this.size - lengthPosition - 4;
+			this.bytes[lengthPosition] = (byte) (byteLength >>> 24);
+			this.bytes[lengthPosition + 1] = (byte) (byteLength >>> 16);
+			this.bytes[lengthPosition + 2] = (byte) (byteLength >>> 8);
+			this.bytes[lengthPosition + 3] = (byte) byteLength;
+		}
+
+		private void writeByte(byte value) {
+			ensureCapacity(1);
+			this.bytes[this.size++] = value;
+		}
+
+		private void writeInt(int value) {
+			ensureCapacity(4);
+			for (int shift = 24; shift >= 0; shift -= 8) {
+				this.bytes[this.size++] = (byte) (value >>> shift);
+			}
+		}
+
+		private void writeLong(long value) {
+			ensureCapacity(8);
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				this.bytes[this.size++] = (byte) (value >>> shift);
+			}
+		}
+
+		private void ensureCapacity(int extra) {
+			if (this.size + extra > this.bytes.length) {
+				this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.size + extra));
+			}
+		}
+
+		static long readLong(byte[] bytes, int offset) {
+			long value = 0;
+			for (int i = 0; i < 8; i++) {
+				value = (value << 8) | (bytes[offset + i] & 0xFF);
+			}
+			return value;
+		}
+
+	}
+
+	/**
+	 * The x64 128-bit variant of MurmurHash3, as published by Austin Appleby.
+	 */
+	static final class Murmur3 {
+
+		private static final long C1 = 0x87c37b91114253d5L;
+
+		private static final long C2 = 0x4cf5ad432745937fL;
+
+		private static final VarHandle LITTLE_ENDIAN_LONG = MethodHandles.byteArrayViewVarHandle(long[].class,
+				ByteOrder.LITTLE_ENDIAN);
+
+		private Murmur3() {
+		}
+
+		static long[] hash128(byte[] data, int length) {
+			long h1 = 0;
+			long h2 = 0;
+			int blocks = length / 16;
+			for (int i = 0; i < blocks; i++) {
+				long k1 = littleEndianLong(data, i * 16);
+				long k2 = littleEndianLong(data, i * 16 + 8);
+
+				h1 ^= mixK1(k1);
+				h1 = Long.rotateLeft(h1, 27);
+				h1 += h2;
+				h1 = h1 * 5 + 0x52dce729;
+
+				h2 ^= mixK2(k2);
+				h2 = Long.rotateLeft(h2, 31);
+				h2 += h1;
+				h2 = h2 * 5 + 0x38495ab5;
+			}
+
+			int tail = blocks * 16;
+			long k1 = 0;
+			long k2 = 0;
+			for (int i = (length & 15) - 1; i >= 8; i--) {
+				k2 ^= (long) (data[tail + i] & 0xFF) << ((i - 8) * 8);
+			}
+			for (int i = Math.min(length & 15, 8) - 1; i >= 0; i--) {
+				k1 ^= (long) (data[tail + i] & 0xFF) << (i * 8);
+			}
+			if ((length & 15) > 8) {
+				h2 ^= mixK2(k2);
+			}
+			if ((length & 15) > 0) {
+				h1 ^= mixK1(k1);
+			}
+
+			h1 ^= length;
+			h2 ^= length;
+			h1 += h2;
+			h2 += h1;
+			h1 = fmix64(h1);
+			h2 = fmix64(h2);
+			h1 += h2;
+			h2 += h1;
+			return new long[] { h1, h2 };
+		}
+
+		private static long mixK1(long k1) {
+			k1 *= C1;
+			k1 = Long.rotateLeft(k1, 31);
+			return k1 * C2;
+		}
+
+		private static long mixK2(long k2) {
+			k2 *= C2;
+			k2 = Long.rotateLeft(k2, 33);
+			return k2 * C1;
+		}
+
+		private static long fmix64(long k) {
+			k ^= k >>> 33;
+			k *= 0xff51afd7ed558ccdL;
+			k ^= k >>> 33;
+			k *= 0xc4ceb9fe1a85ec53L;
+			k ^= k >>> 33;
+			return k;
+		}
+
+		private static long littleEndianLong(byte[] data, int offset) {
+			return (long) LITTLE_ENDIAN_LONG.get(data, offset);
+		}
+
+	}
+
+}
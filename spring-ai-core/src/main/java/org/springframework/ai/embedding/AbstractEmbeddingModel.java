@@ -16,13 +16,8 @@
 
 package org.springframework.ai.embedding;
 
-import java.io.IOException;
-import java.util.Map;
-import java.util.Properties;
+import java.util.OptionalInt;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
-
-import org.springframework.core.io.DefaultResourceLoader;
 
 /**
  * Abstract implementation of the {@link EmbeddingModel} interface that provides
@@ -32,53 +27,36 @@ import org.springframework.core.io.DefaultResourceLoader;
  */
 public abstract class AbstractEmbeddingModel implements EmbeddingModel {
 
-	private static Map<String, Integer> KNOWN_EMBEDDING_DIMENSIONS = loadKnownModelDimensions();
-
 	protected final AtomicInteger embeddingDimensions = new AtomicInteger(-1);
 
 	/**
 	 * Return the dimension of the requested embedding generative name. If the generative
 	 * name is unknown uses the EmbeddingModel to perform a dummy EmbeddingModel#embed and
-	 * count the response dimensions.
+	 * count the response dimensions, once per embedding model.
 	 * @param embeddingModel Fall-back client to determine, empirically the dimensions.
 	 * @param modelName Embedding generative name to retrieve the dimensions for.
 	 * @param dummyContent Dummy content to use for the empirical dimension calculation.
 	 * @return Returns the embedding dimensions for the modelName.
 	 */
 	public static int dimensions(EmbeddingModel embeddingModel, String modelName, String dummyContent) {
-
-		if (KNOWN_EMBEDDING_DIMENSIONS.containsKey(modelName)) {
+		OptionalInt knownDimensions = EmbeddingDimensions.getKnownDimensions(modelName);
+		if (knownDimensions.isPresent()) {
 			// Retrieve the dimension from a pre-configured file.
-			return KNOWN_EMBEDDING_DIMENSIONS.get(modelName);
-		}
-		else {
-			// Determine the dimensions empirically.
-			// Generate an embedding and count the dimension size;
-			return embeddingModel.embed(dummyContent).length;
-		}
-	}
-
-	private static Map<String, Integer> loadKnownModelDimensions() {
-		try {
-			Properties properties = new Properties();
-			properties.load(new DefaultResourceLoader()
-				.getResource("classpath:/embedding/embedding-model-dimensions.properties")
-				.getInputStream());
-			return properties.entrySet()
-				.stream()
-				.collect(Collectors.toMap(e -> e.getKey().toString(), e -> Integer.parseInt(e.getValue().toString())));
-		}
-		catch (IOException e) {
-			throw new RuntimeException(e);
+			return knownDimensions.getAsInt();
 		}
+		// Determine the dimensions empirically.
+		// Generate an embedding and count the dimension size;
+		return EmbeddingDimensions.resolve(embeddingModel, () -> embeddingModel.embed(dummyContent).length);
 	}
 
 	@Override
 	public int dimensions() {
-		if (this.embeddingDimensions.get() < 0) {
-			this.embeddingDimensions.set(dimensions(this, "Test", "Hello World"));
+		int dimensions = this.embeddingDimensions.get();
+		if (dimensions < 0) {
+			dimensions = EmbeddingDimensions.resolve(this, () -> embed("Hello World").length);
+			this.embeddingDimensions.compareAndSet(-1, dimensions);
 		}
-		return this.embeddingDimensions.get();
+		return dimensions;
 	}
 
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.ai.document.Document;
+import org.springframework.util.Assert;
+
+/**
+ * Throttles the embedding requests sent by a {@link ConcurrentBatchExecution}. The
+ * limiter is called once before each batch is sent, from the thread submitting the
+ * batches, and blocks until the request is allowed.
+ *
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface BatchRateLimiter {
+
+	/**
+	 * Blocks until the given batch may be sent to the embedding model.
+	 * @param batch the documents about to be embedded in one request
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 */
+	void acquire(List<Document> batch) throws InterruptedException;
+
+	/**
+	 * Creates a limiter that spaces requests evenly so that at most
+	 * {@code requestsPerSecond} requests are sent per second.
+	 * @param requestsPerSecond the maximum request rate
+	 * @return the rate limiter
+	 */
+	static BatchRateLimiter perSecond(double requestsPerSecond) {
+		Assert.isTrue(requestsPerSecond > 0, "requestsPerSecond must be greater than 0");
+		long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+		return new BatchRateLimiter() {
+
+			private long nextRequestNanos = System.nanoTime();
+
+			@Override
+			public void acquire(List<Document> batch) throws InterruptedException {
+				long waitNanos;
+				synchronized (this) {
+					long now = System.nanoTime();
+					long scheduled = Math.max(now, this.nextRequestNanos);
+					this.nextRequestNanos = scheduled + intervalNanos;
+					waitNanos = scheduled - now;
+				}
+				if (waitNanos > 0) {
+					TimeUnit.NANOSECONDS.sleep(waitNanos);
+				}
+			}
+
+		};
+	}
+
+}
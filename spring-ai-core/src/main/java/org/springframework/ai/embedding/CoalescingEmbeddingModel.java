@@ -0,0 +1,213 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.ai.document.Document;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link EmbeddingModel} decorator coalescing concurrent {@link #embed(String)} calls
+ * into batched requests to the delegate.
+ *
+ * The first call opens a batch and waits for up to {@code maxWait} for other calls to
+ * join it, or until it holds {@code maxBatchSize} texts. It then sends the batch as a
+ * single {@link EmbeddingRequest} with the default options, and every caller gets the
+ * embedding of its own text, or the failure of the request. Batches are sent from the
+ * calling threads, so no thread is created and nothing needs to be closed. A single call
+ * in isolation is delayed by {@code maxWait}, which should therefore be kept short.
+ *
+ * The other operations are passed through to the delegate unchanged, since they
+ * already send batches of their own.
+ *
+ * @since 1.0.0
+ */
+public final class CoalescingEmbeddingModel implements EmbeddingModel {
+
+	public static final Duration DEFAULT_MAX_WAIT = Duration.ofMillis(2);
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+	private final EmbeddingModel delegate;
+
+	private final long maxWaitNanos;
+
+	private final int maxBatchSize;
+
+	private final Object lock = new Object();
+
+	@Nullable
+	private Batch openBatch;
+
+	private CoalescingEmbeddingModel(Builder builder) {
+		this.delegate = builder.delegate;
+		this.maxWaitNanos = builder.maxWait.toNanos();
+		this.maxBatchSize = builder.maxBatchSize;
+	}
+
+	public static Builder builder(EmbeddingModel delegate) {
+		return new Builder(delegate);
+	}
+
+	@Override
+	public float[] embed(String text) {
+		Assert.notNull(text, "Text must not be null");
+		Batch batch;
+		int index;
+		boolean leader;
+		synchronized (this.lock) {
+			leader = (this.openBatch == null);
+			if (leader) {
+				this.openBatch = new Batch();
+			}
+			batch = this.openBatch;
+			index = batch.texts.size();
+			batch.texts.add(text);
+			if (batch.texts.size() >= this.maxBatchSize) {
+				this.openBatch = null;
+				batch.full.countDown();
+			}
+		}
+
+		if (leader) {
+			awaitFollowers(batch);
+			synchronized (this.lock) {
+				if (this.openBatch == batch) {
+					this.openBatch = null;
+				}
+			}
+			send(batch);
+		}
+
+		try {
+			return batch.embeddings.join().get(index);
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw ex;
+		}
+	}
+
+	private void awaitFollowers(Batch batch) {
+		try {
+			batch.full.await(this.maxWaitNanos, TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException ex) {
+			// Send what was gathered so far, the followers are waiting for it
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void send(Batch batch) {
+		try {
+			EmbeddingResponse response = this.delegate
+				.call(new EmbeddingRequest(batch.texts, EmbeddingOptionsBuilder.builder().build()));
+			List<float[]> embeddings = new ArrayList<>(batch.texts.size());
+			for (Embedding embedding : response.getResults()) {
+				embeddings.add(embedding.getOutput());
+			}
+			Assert.state(embeddings.size() == batch.texts.size(),
+					() -> "Expected " + batch.texts.size() + " embeddings but got " + embeddings.size());
+			batch.embeddings.complete(embeddings);
+		}
+		catch (Throwable ex) {
+			batch.embeddings.completeExceptionally(ex);
+		}
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		return this.delegate.call(request);
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		return this.delegate.embed(document);
+	}
+
+	@Override
+	public int dimensions() {
+		return this.delegate.dimensions();
+	}
+
+	/**
+	 * Texts gathered by concurrent calls. The texts are only added while the batch is
+	 * open, under the lock, and only read once it is closed.
+	 */
+	private static final class Batch {
+
+		final List<String> texts = new ArrayList<>();
+
+		final CountDownLatch full = new CountDownLatch(1);
+
+		final CompletableFuture<List<float[]>> embeddings = new CompletableFuture<>();
+
+	}
+
+	public static final class Builder {
+
+		private final EmbeddingModel delegate;
+
+		private Duration maxWait = DEFAULT_MAX_WAIT;
+
+		private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+		private Builder(EmbeddingModel delegate) {
+			Assert.notNull(delegate, "delegate must not be null");
+			this.delegate = delegate;
+		}
+
+		/**
+		 * @param maxWait how long the first call of a batch waits for other calls.
+		 * Defaults to 2 milliseconds.
+		 * @return this builder
+		 */
+		public Builder withMaxWait(Duration maxWait) {
+			Assert.notNull(maxWait, "maxWait must not be null");
+			Assert.isTrue(!maxWait.isNegative(), "maxWait must not be negative");
+			this.maxWait = maxWait;
+			return this;
+		}
+
+		/**
+		 * @param maxBatchSize the maximum number of texts sent in one request. Defaults to
+		 * {@value #DEFAULT_MAX_BATCH_SIZE}.
+		 * @return this builder
+		 */
+		public Builder withMaxBatchSize(int maxBatchSize) {
+			Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be greater than 0");
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		public CoalescingEmbeddingModel build() {
+			return new CoalescingEmbeddingModel(this);
+		}
+
+	}
+
+}
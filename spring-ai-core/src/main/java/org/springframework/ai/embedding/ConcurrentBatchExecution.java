@@ -0,0 +1,211 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.ai.document.Document;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Describes how the batches formed by a {@link BatchingStrategy} are sent to an
+ * {@link EmbeddingModel} concurrently, see
+ * {@link EmbeddingModel#embed(List, EmbeddingOptions, BatchingStrategy, ConcurrentBatchExecution)}.
+ *
+ * At most {@code maxConcurrency} requests are in flight at any time; the submitting
+ * thread waits for a request to complete before sending the next batch. Requests run on
+ * the configured {@link Executor}, by default on virtual threads when the JVM supports
+ * them and on new platform threads otherwise. An optional {@link BatchRateLimiter} is
+ * consulted before each request. The embeddings are returned in the same order as with
+ * sequential execution, and the first failure is rethrown once all the requests in
+ * flight completed.
+ *
+ * @since 1.0.0
+ */
+public final class ConcurrentBatchExecution {
+
+	public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+	private final int maxConcurrency;
+
+	private final Executor executor;
+
+	@Nullable
+	private final BatchRateLimiter rateLimiter;
+
+	private ConcurrentBatchExecution(Builder builder) {
+		this.maxConcurrency = builder.maxConcurrency;
+		this.executor = (builder.executor != null) ? builder.executor : defaultExecutor();
+		this.rateLimiter = builder.rateLimiter;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	@Nullable
+	public BatchRateLimiter getRateLimiter() {
+		return this.rateLimiter;
+	}
+
+	/**
+	 * Embeds the batches and assigns the resulting embeddings to their documents.
+	 * @param embeddingModel the model to call
+	 * @param batches the document batches, one request each
+	 * @param options the embedding options of every request
+	 * @return the embeddings, batch after batch
+	 */
+	List<float[]> embed(EmbeddingModel embeddingModel, List<List<Document>> batches, EmbeddingOptions options) {
+		List<CompletableFuture<EmbeddingResponse>> responses = new ArrayList<>(batches.size());
+		Semaphore inFlight = new Semaphore(this.maxConcurrency);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		try {
+			for (List<Document> batch : batches) {
+				inFlight.acquire();
+				if (failure.get() != null) {
+					break;
+				}
+				if (this.rateLimiter != null) {
+					this.rateLimiter.acquire(batch);
+				}
+				EmbeddingRequest request = new EmbeddingRequest(batch.stream().map(Document::getContent).toList(),
+						options);
+				CompletableFuture<EmbeddingResponse> response;
+				try {
+					response = CompletableFuture.supplyAsync(() -> embeddingModel.call(request), this.executor);
+				}
+				catch (RejectedExecutionException ex) {
+					failure.compareAndSet(null, ex);
+					break;
+				}
+				responses.add(response.whenComplete((result, ex) -> {
+					if (ex != null) {
+						failure.compareAndSet(null, ex);
+					}
+					inFlight.release();
+				}));
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			failure.compareAndSet(null, ex);
+		}
+
+		// Never return while requests are still running
+		CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).handle((result, ex) -> null).join();
+		Throwable error = failure.get();
+		if (error != null) {
+			Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause()
+					: error;
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Failed to embed the document batches", cause);
+		}
+
+		List<float[]> embeddings = new ArrayList<>();
+		for (int i = 0; i < batches.size(); i++) {
+			List<Document> batch = batches.get(i);
+			EmbeddingResponse response = responses.get(i).join();
+			for (int j = 0; j < batch.size(); j++) {
+				float[] output = response.getResults().get(j).getOutput();
+				embeddings.add(output);
+				batch.get(j).setEmbedding(output);
+			}
+		}
+		return embeddings;
+	}
+
+	private static Executor defaultExecutor() {
+		try {
+			return new VirtualThreadTaskExecutor("embedding-batch-");
+		}
+		catch (UnsupportedOperationException ex) {
+			return new SimpleAsyncTaskExecutor("embedding-batch-");
+		}
+	}
+
+	public static final class Builder {
+
+		private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+		@Nullable
+		private Executor executor;
+
+		@Nullable
+		private BatchRateLimiter rateLimiter;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param maxConcurrency the maximum number of embedding requests in flight.
+		 * Defaults to {@value #DEFAULT_MAX_CONCURRENCY}.
+		 * @return this builder
+		 */
+		public Builder withMaxConcurrency(int maxConcurrency) {
+			Assert.isTrue(maxConcurrency > 0, "maxConcurrency must be greater than 0");
+			this.maxConcurrency = maxConcurrency;
+			return this;
+		}
+
+		/**
+		 * @param executor the executor sending the embedding requests. Defaults to
+		 * virtual threads when available.
+		 * @return this builder
+		 */
+		public Builder withExecutor(Executor executor) {
+			Assert.notNull(executor, "executor must not be null");
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * @param rateLimiter the limiter consulted before each request
+		 * @return this builder
+		 */
+		public Builder withRateLimiter(BatchRateLimiter rateLimiter) {
+			Assert.notNull(rateLimiter, "rateLimiter must not be null");
+			this.rateLimiter = rateLimiter;
+			return this;
+		}
+
+		public ConcurrentBatchExecution build() {
+			return new ConcurrentBatchExecution(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Registry of the dimensions of the vectors produced by embedding models, so that they
+ * are determined at most once per {@link EmbeddingModel} instance, and thus per model
+ * and options combination, rather than every time {@link EmbeddingModel#dimensions()}
+ * is called.
+ *
+ * The dimensions of well-known models are read from
+ * {@code embedding/embedding-model-dimensions.properties}. Other models are probed by
+ * embedding a text once; concurrent callers wait for the same probe. Resolved dimensions
+ * are kept for as long as the embedding model is reachable, and released with it, the
+ * model being only weakly referenced. Models can be probed
+ * ahead of time with {@link #warmUp(EmbeddingModel, Executor)}, while code on a request
+ * path, such as observation, can use {@link #getIfResolved(EmbeddingModel)} to never
+ * trigger a probe.
+ *
+ * @since 1.0.0
+ */
+public final class EmbeddingDimensions {
+
+	private static final String KNOWN_DIMENSIONS_LOCATION = "classpath:/embedding/embedding-model-dimensions.properties";
+
+	private static final Map<String, Integer> KNOWN_DIMENSIONS = loadKnownDimensions();
+
+	// Weak keys, strong values: the futures do not reference the models
+	private static final Map<EmbeddingModel, CompletableFuture<Integer>> resolved = new WeakHashMap<>();
+
+	private EmbeddingDimensions() {
+	}
+
+	/**
+	 * @param modelName the name of an embedding model
+	 * @return the dimensions of the model if it is a well-known one
+	 */
+	public static OptionalInt getKnownDimensions(@Nullable String modelName) {
+		Integer dimensions = (modelName != null) ? KNOWN_DIMENSIONS.get(modelName) : null;
+		return (dimensions != null) ? OptionalInt.of(dimensions) : OptionalInt.empty();
+	}
+
+	/**
+	 * Returns the dimensions of the embedding model, determining them with the given
+	 * probe the first time only.
+	 * @param embeddingModel the embedding model
+	 * @param probe determines the dimensions, typically by embedding a text
+	 * @return the dimensions of the embedding model
+	 */
+	public static int resolve(EmbeddingModel embeddingModel, IntSupplier probe) {
+		Assert.notNull(embeddingModel, "embeddingModel must not be null");
+		Assert.notNull(probe, "probe must not be null");
+		CompletableFuture<Integer> dimensions;
+		CompletableFuture<Integer> probing = null;
+		synchronized (resolved) {
+			dimensions = resolved.get(embeddingModel);
+			if (dimensions == null) {
+				probing = new CompletableFuture<>();
+				resolved.put(embeddingModel, probing);
+				dimensions = probing;
+			}
+		}
+		if (probing != null) {
+			try {
+				probing.complete(probe.getAsInt());
+			}
+			catch (RuntimeException ex) {
+				// Let the next caller try again
+				synchronized (resolved) {
+					resolved.remove(embeddingModel, probing);
+				}
+				probing.completeExceptionally(ex);
+				throw ex;
+			}
+		}
+		try {
+			return dimensions.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * @param embeddingModel the embedding model
+	 * @return the dimensions of the embedding model, if they were already resolved
+	 */
+	public static OptionalInt getIfResolved(EmbeddingModel embeddingModel) {
+		CompletableFuture<Integer> dimensions;
+		synchronized (resolved) {
+			dimensions = resolved.get(embeddingModel);
+		}
+		if (dimensions != null && dimensions.isDone() && !dimensions.isCompletedExceptionally()) {
+			return OptionalInt.of(dimensions.join());
+		}
+		return OptionalInt.empty();
+	}
+
+	/**
+	 * Resolves the dimensions of the embedding model in the background, typically at
+	 * startup, so that later calls to {@link EmbeddingModel#dimensions()} do not wait.
+	 * @param embeddingModel the embedding model
+	 * @param executor the executor to resolve the dimensions on
+	 * @return the future dimensions
+	 */
+	public static CompletableFuture<Integer> warmUp(EmbeddingModel embeddingModel, Executor executor) {
+		Assert.notNull(embeddingModel, "embeddingModel must not be null");
+		Assert.notNull(executor, "executor must not be null");
+		return CompletableFuture.supplyAsync(embeddingModel::dimensions, executor);
+	}
+
+	private static Map<String, Integer> loadKnownDimensions() {
+		try (InputStream inputStream = new DefaultResourceLoader().getResource(KNOWN_DIMENSIONS_LOCATION)
+			.getInputStream()) {
+			Properties properties = new Properties();
+			properties.load(inputStream);
+			return properties.entrySet()
+				.stream()
+				.collect(Collectors.toUnmodifiableMap(e -> e.getKey().toString(),
+						e -> Integer.parseInt(e.getValue().toString())));
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to load " + KNOWN_DIMENSIONS_LOCATION, ex);
+		}
+	}
+
+}
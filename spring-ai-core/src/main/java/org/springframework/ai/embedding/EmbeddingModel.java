@@ -17,7 +17,9 @@
 package org.springframework.ai.embedding;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.model.Model;
@@ -77,7 +79,9 @@ public interface EmbeddingModel extends Model<EmbeddingRequest, EmbeddingRespons
 	 * @param options {@link EmbeddingOptions}.
 	 * @param batchingStrategy {@link BatchingStrategy}.
 	 * @return a list of float[] that represents the vectors for the incoming
-	 * {@link Document}s.
+	 * {@link Document}s, in the order of the documents even if the batching strategy
+	 * reorders them. Strategies returning other {@link Document} instances than the
+	 * incoming ones get the vectors in the order of their batches.
 	 */
 	default List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
 		Assert.notNull(documents, "Documents must not be null");
@@ -96,7 +100,28 @@ public interface EmbeddingModel extends Model<EmbeddingRequest, EmbeddingRespons
 				document.setEmbedding(output);
 			}
 		}
-		return embeddings;
+		return inDocumentOrder(documents, batch, embeddings);
+	}
+
+	/**
+	 * Embeds a batch of {@link Document}s into vectors based on a
+	 * {@link BatchingStrategy}, sending the sub-batches concurrently as described by the
+	 * {@link ConcurrentBatchExecution}.
+	 * @param documents list of {@link Document}s.
+	 * @param options {@link EmbeddingOptions}.
+	 * @param batchingStrategy {@link BatchingStrategy}.
+	 * @param execution {@link ConcurrentBatchExecution}.
+	 * @return a list of float[] that represents the vectors for the incoming
+	 * {@link Document}s, in the same order as
+	 * {@link #embed(List, EmbeddingOptions, BatchingStrategy)}: the order of the
+	 * documents, even if the batching strategy reorders them.
+	 */
+	default List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy,
+			ConcurrentBatchExecution execution) {
+		Assert.notNull(documents, "Documents must not be null");
+		Assert.notNull(execution, "ConcurrentBatchExecution must not be null");
+		List<List<Document>> batches = batchingStrategy.batch(documents);
+		return inDocumentOrder(documents, batches, execution.embed(this, batches, options));
 	}
 
 	/**
@@ -109,12 +134,39 @@ public interface EmbeddingModel extends Model<EmbeddingRequest, EmbeddingRespons
 		return this.call(new EmbeddingRequest(texts, EmbeddingOptionsBuilder.builder().build()));
 	}
 
+	/**
+	 * Puts the embeddings, listed batch after batch, back in the order of the documents,
+	 * which a batching strategy such as
+	 * {@link TokenCountBatchingStrategy.Packing#FIRST_FIT_DECREASING} may change.
+	 */
+	private static List<float[]> inDocumentOrder(List<Document> documents, List<List<Document>> batches,
+			List<float[]> embeddings) {
+		Map<Document, float[]> byDocument = new IdentityHashMap<>(embeddings.size());
+		int index = 0;
+		boolean reordered = false;
+		for (List<Document> batch : batches) {
+			for (Document document : batch) {
+				reordered |= index >= documents.size() || documents.get(index) != document;
+				byDocument.put(document, embeddings.get(index++));
+			}
+		}
+		if (!reordered || !byDocument.keySet().containsAll(documents)) {
+			return embeddings;
+		}
+		List<float[]> ordered = new ArrayList<>(documents.size());
+		for (Document document : documents) {
+			ordered.add(byDocument.get(document));
+		}
+		return ordered;
+	}
+
 	/**
 	 * @return the number of dimensions of the embedded vectors. It is generative
-	 * specific.
+	 * specific. The default implementation embeds a text the first time only, see
+	 * {@link EmbeddingDimensions}.
 	 */
 	default int dimensions() {
-		return embed("Test String").length;
+		return EmbeddingDimensions.resolve(this, () -> embed("Test String").length);
 	}
 
 }
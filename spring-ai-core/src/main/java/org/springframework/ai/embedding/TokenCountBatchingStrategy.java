@@ -17,9 +17,9 @@
 package org.springframework.ai.embedding;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.IntStream;
 
 import com.knuddels.jtokkit.api.EncodingType;
 
@@ -44,7 +44,10 @@ import org.springframework.util.Assert;
  * token count of 8191, the actual max input token count used will be 7371.
  *
  * The strategy batches documents based on their token counts, ensuring that each batch
- * does not exceed the calculated max input token count.
+ * does not exceed the calculated max input token count nor, optionally, a maximum number
+ * of documents. By default the documents are packed {@link Packing#SEQUENTIAL
+ * sequentially}, so the batches keep the input order. {@link Packing#FIRST_FIT_DECREASING}
+ * packs the batches more tightly and so minimises the number of embedding requests.
  *
  * @author Soby Chacko
  * @author Mark Pollack
@@ -72,6 +75,10 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 
 	private final MetadataMode metadataMode;
 
+	private final int maxBatchSize;
+
+	private final Packing packing;
+
 	public TokenCountBatchingStrategy() {
 		this(EncodingType.CL100K_BASE, MAX_INPUT_TOKEN_COUNT, DEFAULT_TOKEN_COUNT_RESERVE_PERCENTAGE);
 	}
@@ -105,6 +112,8 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 		this.maxInputTokenCount = (int) Math.round(maxInputTokenCount * (1 - reservePercentage));
 		this.contentFormater = contentFormatter;
 		this.metadataMode = metadataMode;
+		this.maxBatchSize = Integer.MAX_VALUE;
+		this.packing = Packing.SEQUENTIAL;
 	}
 
 	/**
@@ -119,39 +128,67 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 	 */
 	public TokenCountBatchingStrategy(TokenCountEstimator tokenCountEstimator, int maxInputTokenCount,
 			double reservePercentage, ContentFormatter contentFormatter, MetadataMode metadataMode) {
+		this(tokenCountEstimator, maxInputTokenCount, reservePercentage, contentFormatter, metadataMode,
+				Integer.MAX_VALUE, Packing.SEQUENTIAL);
+	}
+
+	/**
+	 * Constructs a TokenCountBatchingStrategy with the specified parameters.
+	 * @param tokenCountEstimator the TokenCountEstimator to be used for estimating token
+	 * counts.
+	 * @param maxInputTokenCount the initial upper limit for input tokens.
+	 * @param reservePercentage the percentage of tokens to reserve from the max input
+	 * token count to create a buffer.
+	 * @param contentFormatter the ContentFormatter to be used for formatting content.
+	 * @param metadataMode the MetadataMode to be used for handling metadata.
+	 * @param maxBatchSize the maximum number of documents in a batch, as embedding APIs
+	 * usually also limit the number of inputs per request.
+	 * @param packing the {@link Packing} used to assign documents to batches.
+	 */
+	public TokenCountBatchingStrategy(TokenCountEstimator tokenCountEstimator, int maxInputTokenCount,
+			double reservePercentage, ContentFormatter contentFormatter, MetadataMode metadataMode, int maxBatchSize,
+			Packing packing) {
 		Assert.notNull(tokenCountEstimator, "TokenCountEstimator must not be null");
+		Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be greater than 0");
+		Assert.notNull(packing, "Packing must not be null");
 		this.tokenCountEstimator = tokenCountEstimator;
 		this.maxInputTokenCount = (int) Math.round(maxInputTokenCount * (1 - reservePercentage));
 		this.contentFormater = contentFormatter;
 		this.metadataMode = metadataMode;
+		this.maxBatchSize = maxBatchSize;
+		this.packing = packing;
 	}
 
 	@Override
 	public List<List<Document>> batch(List<Document> documents) {
-		List<List<Document>> batches = new ArrayList<>();
-		int currentSize = 0;
-		List<Document> currentBatch = new ArrayList<>();
-		Map<Document, Integer> documentTokens = new HashMap<>();
-
-		for (Document document : documents) {
+		int[] tokenCounts = new int[documents.size()];
+		for (int i = 0; i < tokenCounts.length; i++) {
+			Document document = documents.get(i);
 			int tokenCount = this.tokenCountEstimator
 				.estimate(document.getFormattedContent(this.contentFormater, this.metadataMode));
 			if (tokenCount > this.maxInputTokenCount) {
 				throw new IllegalArgumentException(
 						"Tokens in a single document exceeds the maximum number of allowed input tokens");
 			}
-			documentTokens.put(document, tokenCount);
+			tokenCounts[i] = tokenCount;
 		}
+		return (this.packing == Packing.FIRST_FIT_DECREASING) ? packFirstFitDecreasing(documents, tokenCounts)
+				: packSequentially(documents, tokenCounts);
+	}
 
-		for (Document document : documentTokens.keySet()) {
-			Integer tokenCount = documentTokens.get(document);
-			if (currentSize + tokenCount > this.maxInputTokenCount) {
+	private List<List<Document>> packSequentially(List<Document> documents, int[] tokenCounts) {
+		List<List<Document>> batches = new ArrayList<>();
+		int currentSize = 0;
+		List<Document> currentBatch = new ArrayList<>();
+		for (int i = 0; i < tokenCounts.length; i++) {
+			if (!currentBatch.isEmpty() && (currentSize + tokenCounts[i] > this.maxInputTokenCount
+					|| currentBatch.size() == this.maxBatchSize)) {
 				batches.add(currentBatch);
 				currentBatch = new ArrayList<>();
 				currentSize = 0;
 			}
-			currentBatch.add(document);
-			currentSize += tokenCount;
+			currentBatch.add(documents.get(i));
+			currentSize += tokenCounts[i];
 		}
 		if (!currentBatch.isEmpty()) {
 			batches.add(currentBatch);
@@ -159,4 +196,65 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 		return batches;
 	}
 
+	/**
+	 * Places the documents from the largest to the smallest into the first batch that
+	 * still has room for them. Documents keep their input order within a batch.
+	 */
+	private List<List<Document>> packFirstFitDecreasing(List<Document> documents, int[] tokenCounts) {
+		int[] order = IntStream.range(0, tokenCounts.length)
+			.boxed()
+			.sorted(Comparator.comparingInt((Integer i) -> tokenCounts[i]).reversed())
+			.mapToInt(Integer::intValue)
+			.toArray();
+
+		List<List<Integer>> batches = new ArrayList<>();
+		List<Integer> batchSizes = new ArrayList<>();
+		for (int index : order) {
+			int batch = 0;
+			while (batch < batches.size() && (batchSizes.get(batch) + tokenCounts[index] > this.maxInputTokenCount
+					|| batches.get(batch).size() == this.maxBatchSize)) {
+				batch++;
+			}
+			if (batch == batches.size()) {
+				batches.add(new ArrayList<>());
+				batchSizes.add(0);
+			}
+			batches.get(batch).add(index);
+			batchSizes.set(batch, batchSizes.get(batch) + tokenCounts[index]);
+		}
+
+		List<List<Document>> result = new ArrayList<>(batches.size());
+		for (List<Integer> batch : batches) {
+			batch.sort(null);
+			List<Document> batchDocuments = new ArrayList<>(batch.size());
+			for (int index : batch) {
+				batchDocuments.add(documents.get(index));
+			}
+			result.add(batchDocuments);
+		}
+		return result;
+	}
+
+	/**
+	 * How documents are assigned to batches.
+	 */
+	public enum Packing {
+
+		/**
+		 * Fills one batch after the other in input order (next-fit). The concatenation
+		 * of the batches equals the input.
+		 */
+		SEQUENTIAL,
+
+		/**
+		 * Sorts the documents by decreasing token count and puts each one into the first
+		 * batch with enough room left. Produces fewer, fuller batches than
+		 * {@link #SEQUENTIAL} but does not keep the input order across batches.
+		 * {@link EmbeddingModel#embed(List, EmbeddingOptions, BatchingStrategy)} still
+		 * returns the embeddings in input order.
+		 */
+		FIRST_FIT_DECREASING
+
+	}
+
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.observation.ObservationRegistry;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.id.ContentHashIdGenerator;
+import org.springframework.ai.document.id.IdGenerator;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.EmbeddingResponseMetadata;
+import org.springframework.ai.embedding.observation.DefaultEmbeddingModelObservationConvention;
+import org.springframework.ai.embedding.observation.EmbeddingModelObservationContext;
+import org.springframework.ai.embedding.observation.EmbeddingModelObservationConvention;
+import org.springframework.ai.embedding.observation.EmbeddingModelObservationDocumentation;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.observation.conventions.AiProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link EmbeddingModel} decorator caching the embeddings of the texts it has already
+ * embedded. Cache entries are keyed by a hash of the text combined with a hash of a
+ * namespace, identifying the delegate model, and all the request options merged over the
+ * default options of the delegate, the latter being computed once per request.
+ *
+ * The default options of the delegate are not exposed by {@link EmbeddingModel} and
+ * should be given with {@link Builder#withDefaultOptions(EmbeddingOptions)}, so that
+ * requests relying on them, such as the ones of vector stores, are keyed by the actual
+ * model and options. A namespace is required when the cache backend is set explicitly,
+ * since it may then be shared by several models.
+ *
+ * Only the texts missing from the cache are sent to the delegate, in a single request,
+ * and the response lists the embeddings in the order of the original request. Its
+ * metadata is the one of the delegate response, so that the usage only accounts for the
+ * texts actually embedded, or empty when all the texts were cached.
+ *
+ * {@link #embed(Document)} formats the document in a model-specific way and is not
+ * cached, while the batch operations, such as the ones used by vector stores, all go
+ * through {@link #call(EmbeddingRequest)}.
+ *
+ * When an {@link ObservationRegistry} is configured, every request is observed as an
+ * embedding operation of the {@code spring_ai} provider, recording the cache result on
+ * its {@link EmbeddingModelObservationContext}, while the delegate observes the request
+ * it receives for the missing texts. The response is not set on the observation, so
+ * that the token usage is only accounted for by the delegate.
+ *
+ * @since 1.0.0
+ */
+public final class CachingEmbeddingModel implements EmbeddingModel {
+
+	private static final EmbeddingModelObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultEmbeddingModelObservationConvention();
+
+	private final EmbeddingModel delegate;
+
+	private final EmbeddingCache cache;
+
+	private final String namespace;
+
+	@Nullable
+	private final EmbeddingOptions defaultOptions;
+
+	private final Map<String, Object> defaultOptionValues;
+
+	private final IdGenerator keyGenerator = new ContentHashIdGenerator();
+
+	private final ObservationRegistry observationRegistry;
+
+	@Nullable
+	private final EmbeddingModelObservationConvention observationConvention;
+
+	private CachingEmbeddingModel(Builder builder) {
+		this.delegate = builder.delegate;
+		this.cache = builder.cache;
+		this.namespace = (builder.namespace != null) ? builder.namespace : builder.delegate.getClass().getName();
+		this.defaultOptions = builder.defaultOptions;
+		this.defaultOptionValues = Collections.unmodifiableMap(ModelOptionsUtils.objectToMap(builder.defaultOptions));
+		this.observationRegistry = builder.observationRegistry;
+		this.observationConvention = builder.observationConvention;
+	}
+
+	public static Builder builder(EmbeddingModel delegate) {
+		return new Builder(delegate);
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		// The observed model and dimensions fall back to the default ones of the delegate
+		EmbeddingOptions options = request.getOptions();
+		EmbeddingOptionsBuilder observedOptions = EmbeddingOptionsBuilder.builder();
+		if (this.defaultOptions != null) {
+			observedOptions.withModel(this.defaultOptions.getModel())
+				.withDimensions(this.defaultOptions.getDimensions());
+		}
+		if (options != null && options.getModel() != null) {
+			observedOptions.withModel(options.getModel());
+		}
+		if (options != null && options.getDimensions() != null) {
+			observedOptions.withDimensions(options.getDimensions());
+		}
+
+		var observationContext = EmbeddingModelObservationContext.builder()
+			.embeddingRequest(request)
+			.provider(AiProvider.SPRING_AI.value())
+			.requestOptions(observedOptions.build())
+			.build();
+
+		return EmbeddingModelObservationDocumentation.EMBEDDING_MODEL_OPERATION
+			.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
+					this.observationRegistry)
+			.observe(() -> call(request, observationContext));
+	}
+
+	private EmbeddingResponse call(EmbeddingRequest request, EmbeddingModelObservationContext observationContext) {
+		EmbeddingOptions options = request.getOptions();
+
+		// The request options override the non-null default ones, and are hashed once
+		// for all the texts
+		Map<String, Object> optionValues = new HashMap<>(this.defaultOptionValues);
+		optionValues.putAll(ModelOptionsUtils.objectToMap(options));
+		String optionsKey = this.keyGenerator.generateId(this.namespace, optionValues);
+
+		List<String> texts = request.getInstructions();
+		List<String> keys = new ArrayList<>(texts.size());
+		for (String text : texts) {
+			keys.add(this.keyGenerator.generateId(optionsKey, text));
+		}
+		Map<String, float[]> cached = this.cache.getAll(keys);
+
+		// Texts to embed by key, each of them once
+		Map<String, String> misses = new LinkedHashMap<>();
+		int hits = 0;
+		for (int i = 0; i < texts.size(); i++) {
+			if (cached.containsKey(keys.get(i))) {
+				hits++;
+			}
+			else {
+				misses.putIfAbsent(keys.get(i), texts.get(i));
+			}
+		}
+		observationContext.setCacheResult(hits, misses.size());
+
+		EmbeddingResponseMetadata metadata = new EmbeddingResponseMetadata();
+		Map<String, Embedding> embedded = new HashMap<>();
+		if (!misses.isEmpty()) {
+			List<String> missKeys = new ArrayList<>(misses.keySet());
+			EmbeddingResponse response = this.delegate
+				.call(new EmbeddingRequest(new ArrayList<>(misses.values()), options));
+			Map<String, float[]> fresh = new HashMap<>();
+			List<Embedding> results = response.getResults();
+			for (int i = 0; i < results.size(); i++) {
+				embedded.put(missKeys.get(i), results.get(i));
+				fresh.put(missKeys.get(i), results.get(i).getOutput().clone());
+			}
+			this.cache.putAll(fresh);
+			metadata = response.getMetadata();
+		}
+
+		List<Embedding> embeddings = new ArrayList<>(texts.size());
+		for (int i = 0; i < texts.size(); i++) {
+			String key = keys.get(i);
+			float[] hit = cached.get(key);
+			if (hit != null) {
+				embeddings.add(new Embedding(hit.clone(), i));
+			}
+			else {
+				Embedding result = embedded.get(key);
+				Assert.state(result != null, "No embedding returned for the text at index " + i);
+				embeddings.add(new Embedding(result.getOutput(), i, result.getMetadata()));
+			}
+		}
+		return new EmbeddingResponse(embeddings, metadata);
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		return this.delegate.embed(document);
+	}
+
+	@Override
+	public int dimensions() {
+		return this.delegate.dimensions();
+	}
+
+	public static final class Builder {
+
+		private final EmbeddingModel delegate;
+
+		private EmbeddingCache cache = new InMemoryEmbeddingCache();
+
+		private boolean cacheSet;
+
+		@Nullable
+		private String namespace;
+
+		@Nullable
+		private EmbeddingOptions defaultOptions;
+
+		private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+		@Nullable
+		private EmbeddingModelObservationConvention observationConvention;
+
+		private Builder(EmbeddingModel delegate) {
+			Assert.notNull(delegate, "delegate must not be null");
+			this.delegate = delegate;
+		}
+
+		/**
+		 * @param cache the cache backend, which requires a {@link #withNamespace(String)
+		 * namespace}. Defaults to an {@link InMemoryEmbeddingCache} dedicated to this
+		 * model.
+		 * @return this builder
+		 */
+		public Builder withCache(EmbeddingCache cache) {
+			Assert.notNull(cache, "cache must not be null");
+			this.cache = cache;
+			this.cacheSet = true;
+			return this;
+		}
+
+		/**
+		 * @param namespace the name distinguishing the embeddings of the delegate from
+		 * the ones of other models sharing the cache backend, for instance the provider
+		 * and its base URL. Defaults to the class name of the delegate when the cache
+		 * backend is not set.
+		 * @return this builder
+		 */
+		public Builder withNamespace(String namespace) {
+			Assert.hasText(namespace, "namespace must not be empty");
+			this.namespace = namespace;
+			return this;
+		}
+
+		/**
+		 * @param defaultOptions the default options of the delegate, which apply to the
+		 * options missing from the requests
+		 * @return this builder
+		 */
+		public Builder withDefaultOptions(EmbeddingOptions defaultOptions) {
+			Assert.notNull(defaultOptions, "defaultOptions must not be null");
+			this.defaultOptions = defaultOptions;
+			return this;
+		}
+
+		/**
+		 * @param observationRegistry the registry observing the requests and their cache
+		 * result
+		 * @return this builder
+		 */
+		public Builder withObservationRegistry(ObservationRegistry observationRegistry) {
+			Assert.notNull(observationRegistry, "observationRegistry must not be null");
+			this.observationRegistry = observationRegistry;
+			return this;
+		}
+
+		/**
+		 * @param observationConvention the convention overriding the default one of the
+		 * observations
+		 * @return this builder
+		 */
+		public Builder withObservationConvention(EmbeddingModelObservationConvention observationConvention) {
+			Assert.notNull(observationConvention, "observationConvention must not be null");
+			this.observationConvention = observationConvention;
+			return this;
+		}
+
+		public CachingEmbeddingModel build() {
+			Assert.state(!this.cacheSet || this.namespace != null,
+					"A namespace is required when the cache backend is set, as it may be shared by several models");
+			return new CachingEmbeddingModel(this);
+		}
+
+	}
+
+}
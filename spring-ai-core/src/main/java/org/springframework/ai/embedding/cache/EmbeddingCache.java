@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Storage backend of a {@link CachingEmbeddingModel}. Keys are opaque strings derived
+ * from the model, the options and the embedded text. Implementations decide on eviction
+ * and must be thread-safe. Remote backends, such as Redis, should override the bulk
+ * operations to fetch and store a whole request in one round trip.
+ *
+ * @since 1.0.0
+ * @see InMemoryEmbeddingCache
+ */
+public interface EmbeddingCache {
+
+	/**
+	 * @param key the cache key
+	 * @return the cached embedding or {@code null} if there is none
+	 */
+	@Nullable
+	float[] get(String key);
+
+	/**
+	 * @param key the cache key
+	 * @param embedding the embedding to cache
+	 */
+	void put(String key, float[] embedding);
+
+	/**
+	 * @param keys the cache keys
+	 * @return the cached embeddings by key, without the keys that are not cached
+	 */
+	default Map<String, float[]> getAll(List<String> keys) {
+		Map<String, float[]> embeddings = new HashMap<>();
+		for (String key : keys) {
+			float[] embedding = get(key);
+			if (embedding != null) {
+				embeddings.put(key, embedding);
+			}
+		}
+		return embeddings;
+	}
+
+	/**
+	 * @param embeddings the embeddings to cache, by key
+	 */
+	default void putAll(Map<String, float[]> embeddings) {
+		embeddings.forEach(this::put);
+	}
+
+}
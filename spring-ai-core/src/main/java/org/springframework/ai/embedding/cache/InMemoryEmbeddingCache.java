@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding.cache;
+
+import java.time.Duration;
+
+import org.springframework.ai.util.LruCache;
+import org.springframework.lang.Nullable;
+
+/**
+ * In-process {@link EmbeddingCache} holding at most {@code maxSize} embeddings, evicting
+ * the least recently used one when full. Embeddings can additionally expire a fixed time
+ * after they were cached.
+ *
+ * @since 1.0.0
+ */
+public class InMemoryEmbeddingCache implements EmbeddingCache {
+
+	public static final int DEFAULT_MAX_SIZE = 10_000;
+
+	private final LruCache<String, float[]> embeddings;
+
+	/**
+	 * Creates a cache of {@value #DEFAULT_MAX_SIZE} embeddings that do not expire.
+	 */
+	public InMemoryEmbeddingCache() {
+		this(DEFAULT_MAX_SIZE, null);
+	}
+
+	/**
+	 * @param maxSize the maximum number of cached embeddings
+	 * @param timeToLive how long embeddings are kept after they were cached or
+	 * {@code null} for no expiry
+	 */
+	public InMemoryEmbeddingCache(int maxSize, @Nullable Duration timeToLive) {
+		this.embeddings = new LruCache<>(maxSize, timeToLive);
+	}
+
+	@Override
+	@Nullable
+	public float[] get(String key) {
+		return this.embeddings.get(key);
+	}
+
+	@Override
+	public void put(String key, float[] embedding) {
+		this.embeddings.put(key, embedding);
+	}
+
+	/**
+	 * @return the number of cached embeddings, including expired ones not evicted yet
+	 */
+	public int size() {
+		return this.embeddings.size();
+	}
+
+	public void clear() {
+		this.embeddings.clear();
+	}
+
+}
@@ -37,6 +37,9 @@ public class DefaultEmbeddingModelObservationConvention implements EmbeddingMode
 	private static final KeyValue RESPONSE_MODEL_NONE = KeyValue
 		.of(EmbeddingModelObservationDocumentation.LowCardinalityKeyNames.RESPONSE_MODEL, KeyValue.NONE_VALUE);
 
+	private static final KeyValue CACHE_RESULT_NONE = KeyValue
+		.of(EmbeddingModelObservationDocumentation.LowCardinalityKeyNames.CACHE_RESULT, KeyValue.NONE_VALUE);
+
 	@Override
 	public String getName() {
 		return DEFAULT_NAME;
@@ -54,7 +57,7 @@ public class DefaultEmbeddingModelObservationConvention implements EmbeddingMode
 	@Override
 	public KeyValues getLowCardinalityKeyValues(EmbeddingModelObservationContext context) {
 		return KeyValues.of(aiOperationType(context), aiProvider(context), requestModel(context),
-				responseModel(context));
+				responseModel(context), cacheResult(context));
 	}
 
 	protected KeyValue aiOperationType(EmbeddingModelObservationContext context) {
@@ -84,6 +87,20 @@ public class DefaultEmbeddingModelObservationConvention implements EmbeddingMode
 		return RESPONSE_MODEL_NONE;
 	}
 
+	protected KeyValue cacheResult(EmbeddingModelObservationContext context) {
+		if (context.getCacheHits() == null || context.getCacheMisses() == null) {
+			return CACHE_RESULT_NONE;
+		}
+		String result;
+		if (context.getCacheMisses() == 0) {
+			result = "hit";
+		}
+		else {
+			result = (context.getCacheHits() == 0) ? "miss" : "partial";
+		}
+		return KeyValue.of(EmbeddingModelObservationDocumentation.LowCardinalityKeyNames.CACHE_RESULT, result);
+	}
+
 	@Override
 	public KeyValues getHighCardinalityKeyValues(EmbeddingModelObservationContext context) {
 		var keyValues = KeyValues.empty();
@@ -92,6 +109,9 @@ public class DefaultEmbeddingModelObservationConvention implements EmbeddingMode
 		// Response
 		keyValues = usageInputTokens(keyValues, context);
 		keyValues = usageTotalTokens(keyValues, context);
+		// Cache
+		keyValues = cacheHits(keyValues, context);
+		keyValues = cacheMisses(keyValues, context);
 		return keyValues;
 	}
 
@@ -130,4 +150,23 @@ public class DefaultEmbeddingModelObservationConvention implements EmbeddingMode
 		return keyValues;
 	}
 
+	// Cache
+
+	protected KeyValues cacheHits(KeyValues keyValues, EmbeddingModelObservationContext context) {
+		if (context.getCacheHits() != null) {
+			return keyValues.and(EmbeddingModelObservationDocumentation.HighCardinalityKeyNames.CACHE_HITS.asString(),
+					String.valueOf(context.getCacheHits()));
+		}
+		return keyValues;
+	}
+
+	protected KeyValues cacheMisses(KeyValues keyValues, EmbeddingModelObservationContext context) {
+		if (context.getCacheMisses() != null) {
+			return keyValues.and(
+					EmbeddingModelObservationDocumentation.HighCardinalityKeyNames.CACHE_MISSES.asString(),
+					String.valueOf(context.getCacheMisses()));
+		}
+		return keyValues;
+	}
+
 }
@@ -22,6 +22,7 @@ import org.springframework.ai.embedding.EmbeddingResponse;
 import org.springframework.ai.model.observation.ModelObservationContext;
 import org.springframework.ai.observation.AiOperationMetadata;
 import org.springframework.ai.observation.conventions.AiOperationType;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -34,6 +35,12 @@ public class EmbeddingModelObservationContext extends ModelObservationContext<Em
 
 	private final EmbeddingOptions requestOptions;
 
+	@Nullable
+	private Integer cacheHits;
+
+	@Nullable
+	private Integer cacheMisses;
+
 	EmbeddingModelObservationContext(EmbeddingRequest embeddingRequest, String provider,
 			EmbeddingOptions requestOptions) {
 		super(embeddingRequest,
@@ -53,6 +60,34 @@ public class EmbeddingModelObservationContext extends ModelObservationContext<Em
 		return this.requestOptions;
 	}
 
+	/**
+	 * {@return the number of texts found in the embedding cache, or {@code null} when the
+	 * request was not looked up in a cache}
+	 */
+	@Nullable
+	public Integer getCacheHits() {
+		return this.cacheHits;
+	}
+
+	/**
+	 * {@return the number of distinct texts missing from the embedding cache, or
+	 * {@code null} when the request was not looked up in a cache}
+	 */
+	@Nullable
+	public Integer getCacheMisses() {
+		return this.cacheMisses;
+	}
+
+	/**
+	 * Records the result of looking up the texts of the request in an embedding cache.
+	 * @param hits the number of texts found in the cache
+	 * @param misses the number of distinct texts missing from the cache
+	 */
+	public void setCacheResult(int hits, int misses) {
+		this.cacheHits = hits;
+		this.cacheMisses = misses;
+	}
+
 	public static final class Builder {
 
 		private EmbeddingRequest embeddingRequest;
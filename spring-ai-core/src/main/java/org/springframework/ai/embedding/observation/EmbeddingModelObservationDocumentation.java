@@ -22,6 +22,7 @@ import io.micrometer.observation.ObservationConvention;
 import io.micrometer.observation.docs.ObservationDocumentation;
 
 import org.springframework.ai.observation.conventions.AiObservationAttributes;
+import org.springframework.ai.observation.conventions.AiObservationMetricAttributes;
 import org.springframework.ai.observation.conventions.AiOperationType;
 
 /**
@@ -93,6 +94,17 @@ public enum EmbeddingModelObservationDocumentation implements ObservationDocumen
 			public String asString() {
 				return AiObservationAttributes.RESPONSE_MODEL.value();
 			}
+		},
+
+		/**
+		 * Whether the texts were found in the embedding cache (hit, miss, partial), or
+		 * none when the request was not looked up in a cache.
+		 */
+		CACHE_RESULT {
+			@Override
+			public String asString() {
+				return AiObservationMetricAttributes.CACHE_RESULT.value();
+			}
 		}
 
 	}
@@ -134,6 +146,28 @@ public enum EmbeddingModelObservationDocumentation implements ObservationDocumen
 			public String asString() {
 				return AiObservationAttributes.USAGE_TOTAL_TOKENS.value();
 			}
+		},
+
+		// Cache
+
+		/**
+		 * The number of texts found in the embedding cache.
+		 */
+		CACHE_HITS {
+			@Override
+			public String asString() {
+				return AiObservationAttributes.CACHE_HITS.value();
+			}
+		},
+
+		/**
+		 * The number of distinct texts missing from the embedding cache.
+		 */
+		CACHE_MISSES {
+			@Override
+			public String asString() {
+				return AiObservationAttributes.CACHE_MISSES.value();
+			}
 		}
 
 	}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding.quantization;
+
+import org.springframework.ai.util.VectorUtils;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Quantization#BINARY Binary} quantized embedding, holding whether every dimension
+ * is positive. The Hamming distance of two binary embeddings estimates the angle between
+ * the original embeddings.
+ *
+ * @since 1.0.0
+ */
+public final class BinaryEmbedding implements QuantizedEmbedding {
+
+	private final long[] bits;
+
+	private final int dimensions;
+
+	private BinaryEmbedding(long[] bits, int dimensions) {
+		this.bits = bits;
+		this.dimensions = dimensions;
+	}
+
+	/**
+	 * Quantizes an embedding.
+	 * @param embedding the full precision embedding
+	 * @return the quantized embedding
+	 */
+	public static BinaryEmbedding quantize(float[] embedding) {
+		Assert.notNull(embedding, "embedding must not be null");
+		long[] bits = new long[(embedding.length + 63) >>> 6];
+		for (int i = 0; i < embedding.length; i++) {
+			if (embedding[i] > 0) {
+				bits[i >>> 6] |= 1L << i;
+			}
+		}
+		return new BinaryEmbedding(bits, embedding.length);
+	}
+
+	/**
+	 * Restores an embedding previously quantized by {@link #quantize(float[])}, e.g.
+	 * after reading it from storage.
+	 * @param bits the sign bits, 64 dimensions per long
+	 * @param dimensions the dimensions of the full precision embedding
+	 * @return the quantized embedding
+	 */
+	public static BinaryEmbedding of(long[] bits, int dimensions) {
+		Assert.notNull(bits, "bits must not be null");
+		Assert.isTrue(bits.length == (dimensions + 63) >>> 6, "bits length must match the dimensions");
+		return new BinaryEmbedding(bits, dimensions);
+	}
+
+	@Override
+	public Quantization getQuantization() {
+		return Quantization.BINARY;
+	}
+
+	@Override
+	public int getDimensions() {
+		return this.dimensions;
+	}
+
+	/**
+	 * {@return the bits of the dimensions, packed 64 per long, not to be modified}
+	 */
+	public long[] getBits() {
+		return this.bits;
+	}
+
+	/**
+	 * {@return the number of dimensions whose sign differs from the other embedding}
+	 * @param other an embedding of the same dimensions
+	 */
+	public int hammingDistance(BinaryEmbedding other) {
+		return VectorUtils.hammingDistance(this.bits, other.bits);
+	}
+
+	@Override
+	public double similarity(QuantizedEmbedding other) {
+		Assert.isInstanceOf(BinaryEmbedding.class, other, "Cannot compare with a different quantization");
+		if (this.dimensions == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		return Math.cos(Math.PI * hammingDistance((BinaryEmbedding) other) / this.dimensions);
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding.quantization;
+
+import org.springframework.ai.util.VectorUtils;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Quantization#INT8 Int8} quantized embedding. Every dimension is scaled by the
+ * largest absolute value of the embedding and rounded to a byte between {@code -127} and
+ * {@code 127}, so that the original value is about {@code value * scale}.
+ *
+ * @since 1.0.0
+ */
+public final class Int8Embedding implements QuantizedEmbedding {
+
+	private final byte[] values;
+
+	private final float scale;
+
+	private final float norm;
+
+	private Int8Embedding(byte[] values, float scale, float norm) {
+		this.values = values;
+		this.scale = scale;
+		this.norm = norm;
+	}
+
+	/**
+	 * Quantizes an embedding.
+	 * @param embedding the full precision embedding
+	 * @return the quantized embedding
+	 */
+	public static Int8Embedding quantize(float[] embedding) {
+		Assert.notNull(embedding, "embedding must not be null");
+		float max = 0;
+		for (float value : embedding) {
+			max = Math.max(max, Math.abs(value));
+		}
+		float scale = max / 127;
+		byte[] values = new byte[embedding.length];
+		if (scale > 0) {
+			for (int i = 0; i < embedding.length; i++) {
+				values[i] = (byte) Math.round(embedding[i] / scale);
+			}
+		}
+		return new Int8Embedding(values, scale, (float) VectorUtils.norm(embedding));
+	}
+
+	/**
+	 * Restores an embedding previously quantized by {@link #quantize(float[])}, e.g.
+	 * after reading it from storage.
+	 * @param values the quantized values
+	 * @param scale the scale of the values
+	 * @param norm the norm of the full precision embedding
+	 * @return the quantized embedding
+	 */
+	public static Int8Embedding of(byte[] values, float scale, float norm) {
+		Assert.notNull(values, "values must not be null");
+		return new Int8Embedding(values, scale, norm);
+	}
+
+	@Override
+	public Quantization getQuantization() {
+		return Quantization.INT8;
+	}
+
+	@Override
+	public int getDimensions() {
+		return this.values.length;
+	}
+
+	/**
+	 * {@return the quantized values, not to be modified}
+	 */
+	public byte[] getValues() {
+		return this.values;
+	}
+
+	/**
+	 * {@return the factor from the quantized values to the original ones}
+	 */
+	public float getScale() {
+		return this.scale;
+	}
+
+	/**
+	 * {@return the Euclidean norm of the original embedding}
+	 */
+	public float getNorm() {
+		return this.norm;
+	}
+
+	/**
+	 * Estimates the dot product of the original embeddings.
+	 * @param other an embedding of the same dimensions
+	 * @return the estimated dot product
+	 */
+	public float dotProduct(Int8Embedding other) {
+		return VectorUtils.dotProduct(this.values, other.values) * this.scale * other.scale;
+	}
+
+	@Override
+	public double similarity(QuantizedEmbedding other) {
+		Assert.isInstanceOf(Int8Embedding.class, other, "Cannot compare with a different quantization");
+		Int8Embedding int8 = (Int8Embedding) other;
+		if (this.norm == 0 || int8.norm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		return Math.max(-1, Math.min(1, dotProduct(int8) / (this.norm * int8.norm)));
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding.quantization;
+
+/**
+ * Compact representations of {@code float[]} embeddings. Searches can retrieve
+ * candidates by comparing the quantized embeddings, which are cheaper to store and to
+ * compare, then re-score the candidates with the full precision embeddings.
+ *
+ * @since 1.0.0
+ * @see QuantizedEmbedding
+ */
+public enum Quantization {
+
+	/**
+	 * One signed byte per dimension, scaled per embedding: 4 times smaller than
+	 * {@code float[]}, and close to the full precision similarity.
+	 */
+	INT8 {
+
+		@Override
+		public Int8Embedding quantize(float[] embedding) {
+			return Int8Embedding.quantize(embedding);
+		}
+
+	},
+
+	/**
+	 * One bit per dimension, its sign: 32 times smaller than {@code float[]}, and only
+	 * suited to pre-select candidates among embeddings of many dimensions.
+	 */
+	BINARY {
+
+		@Override
+		public BinaryEmbedding quantize(float[] embedding) {
+			return BinaryEmbedding.quantize(embedding);
+		}
+
+	};
+
+	/**
+	 * Quantizes an embedding.
+	 * @param embedding the full precision embedding
+	 * @return the quantized embedding
+	 */
+	public abstract QuantizedEmbedding quantize(float[] embedding);
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding.quantization;
+
+/**
+ * An embedding quantized with a {@link Quantization}. Quantized embeddings are only
+ * compared with embeddings of the same quantization and dimensions.
+ *
+ * @since 1.0.0
+ */
+public sealed interface QuantizedEmbedding permits Int8Embedding, BinaryEmbedding {
+
+	/**
+	 * {@return the quantization of this embedding}
+	 */
+	Quantization getQuantization();
+
+	/**
+	 * {@return the number of dimensions of the original embedding}
+	 */
+	int getDimensions();
+
+	/**
+	 * Estimates the cosine similarity of the original embeddings.
+	 * @param other an embedding of the same quantization and dimensions
+	 * @return the estimated cosine similarity, between {@code -1} and {@code 1}
+	 */
+	double similarity(QuantizedEmbedding other);
+
+}
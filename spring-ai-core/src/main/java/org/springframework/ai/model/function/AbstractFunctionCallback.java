@@ -116,6 +116,24 @@ abstract class AbstractFunctionCallback<I, O> implements BiFunction<I, ToolConte
 		return this.andThen(this.responseConverter).apply(request, null);
 	}
 
+	/**
+	 * Convert the tool call JSON arguments into the function request object.
+	 * @param functionArguments the JSON arguments provided by the model.
+	 * @return the function request.
+	 */
+	protected I toRequest(String functionArguments) {
+		return fromJson(functionArguments, this.inputType);
+	}
+
+	/**
+	 * Convert the function response into the string sent back to the model.
+	 * @param response the function response.
+	 * @return the converted response.
+	 */
+	protected String toResponseString(O response) {
+		return this.responseConverter.apply(response);
+	}
+
 	private <T> T fromJson(String json, Class<T> targetClass) {
 		try {
 			return this.objectMapper.readValue(json, targetClass);
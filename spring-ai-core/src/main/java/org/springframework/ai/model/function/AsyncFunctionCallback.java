@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.ai.model.function;
+
+import java.util.concurrent.CompletionStage;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link FunctionCallback} whose function completes asynchronously, for instance a call
+ * to a remote service through a non-blocking client. The streaming tool call loop of the
+ * chat models composes {@link #callAsync(String, ToolContext)} without blocking, while
+ * other callbacks are run on a bounded elastic scheduler.
+ *
+ * Functions returning a {@link CompletionStage} can be adapted with
+ * {@link Mono#fromCompletionStage(CompletionStage)}. The blocking {@code call} methods
+ * wait for the asynchronous result and must not be used from a non-blocking thread.
+ *
+ * @since 1.0.0
+ * @see AsyncFunctionCallbackWrapper
+ */
+public interface AsyncFunctionCallback extends FunctionCallback {
+
+	/**
+	 * Called when a model detects and triggers a function call. The function must not
+	 * block the subscribing thread.
+	 * @param functionInput JSON string with the function arguments provided by the AI
+	 * model.
+	 * @param toolContext the user provided state passed to the function, if any.
+	 * @return the function call response.
+	 */
+	Mono<String> callAsync(String functionInput, @Nullable ToolContext toolContext);
+
+	@Override
+	default String call(String functionInput) {
+		return callAsync(functionInput, null).block();
+	}
+
+	@Override
+	default String call(String functionInput, ToolContext toolContext) {
+		return callAsync(functionInput, toolContext).block();
+	}
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.model.function;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.model.function.FunctionCallbackContext.SchemaType;
+import org.springframework.ai.util.JacksonUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link AsyncFunctionCallback} wrapping a function that returns a {@link Mono} of its
+ * output, which the streaming tool call loop composes without blocking. The blocking
+ * {@code call} methods wait for the output.
+ *
+ * Like with {@link FunctionCallbackWrapper}, the output is converted into a JSON string
+ * by default; provide a custom responseConverter to override this.
+ *
+ * @param <I> the function input type.
+ * @param <O> the function output type.
+ * @since 1.0.0
+ * @see FunctionCallbackWrapper#asyncBuilder(Function)
+ */
+public final class AsyncFunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O>
+		implements AsyncFunctionCallback {
+
+	private final BiFunction<I, ToolContext, Mono<O>> biFunction;
+
+	@Nullable
+	private final FunctionResultCache resultCache;
+
+	private AsyncFunctionCallbackWrapper(String name, String description, String inputTypeSchema, Class<I> inputType,
+			Function<O, String> responseConverter, ObjectMapper objectMapper,
+			BiFunction<I, ToolContext, Mono<O>> function, @Nullable FunctionResultCache resultCache) {
+		super(name, description, inputTypeSchema, inputType, responseConverter, objectMapper);
+		Assert.notNull(function, "Function must not be null");
+		this.biFunction = function;
+		this.resultCache = resultCache;
+	}
+
+	public static <I, O> Builder<I, O> builder(BiFunction<I, ToolContext, Mono<O>> biFunction) {
+		return new Builder<>(biFunction);
+	}
+
+	public static <I, O> Builder<I, O> builder(Function<I, Mono<O>> function) {
+		return new Builder<>(function);
+	}
+
+	@Override
+	public O apply(I input, ToolContext context) {
+		return this.biFunction.apply(input, context).block();
+	}
+
+	@Override
+	public String call(String functionArguments) {
+		return callAsync(functionArguments, null).block();
+	}
+
+	@Override
+	public String call(String functionInput, ToolContext toolContext) {
+		return callAsync(functionInput, toolContext).block();
+	}
+
+	@Override
+	public Mono<String> callAsync(String functionInput, @Nullable ToolContext toolContext) {
+		if (this.resultCache == null) {
+			return doCallAsync(functionInput, toolContext);
+		}
+		return this.resultCache.getOrCallAsync(getName(), functionInput, toolContext,
+				() -> doCallAsync(functionInput, toolContext));
+	}
+
+	private Mono<String> doCallAsync(String functionInput, @Nullable ToolContext toolContext) {
+		return Mono.defer(() -> this.biFunction.apply(toRequest(functionInput), toolContext))
+			.map(this::toResponseString)
+			.switchIfEmpty(Mono.fromCallable(() -> toResponseString(null)));
+	}
+
+	public static class Builder<I, O> {
+
+		private final BiFunction<I, ToolContext, Mono<O>> biFunction;
+
+		private final Function<I, Mono<O>> function;
+
+		private String name;
+
+		private String description;
+
+		private Class<I> inputType;
+
+		private SchemaType schemaType = SchemaType.JSON_SCHEMA;
+
+		// By default the response is converted to a JSON string.
+		private Function<O, String> responseConverter = ModelOptionsUtils::toJsonString;
+
+		private String inputTypeSchema;
+
+		private ObjectMapper objectMapper;
+
+		private FunctionResultCache resultCache;
+
+		public Builder(BiFunction<I, ToolContext, Mono<O>> biFunction) {
+			Assert.notNull(biFunction, "Function must not be null");
+			this.biFunction = biFunction;
+			this.function = null;
+		}
+
+		public Builder(Function<I, Mono<O>> function) {
+			Assert.notNull(function, "Function must not be null");
+			this.biFunction = null;
+			this.function = function;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <I, O> Class<I> resolveInputType(BiFunction<I, ToolContext, O> biFunction) {
+			return (Class<I>) TypeResolverHelper
+				.getBiFunctionInputClass((Class<BiFunction<I, ToolContext, O>>) biFunction.getClass());
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <I, O> Class<I> resolveInputType(Function<I, O> function) {
+			return (Class<I>) TypeResolverHelper.getFunctionInputClass((Class<Function<I, O>>) function.getClass());
+		}
+
+		public Builder<I, O> withName(String name) {
+			Assert.hasText(name, "Name must not be empty");
+			this.name = name;
+			return this;
+		}
+
+		public Builder<I, O> withDescription(String description) {
+			Assert.hasText(description, "Description must not be empty");
+			this.description = description;
+			return this;
+		}
+
+		@SuppressWarnings("unchecked")
+		public Builder<I, O> withInputType(Class<?> inputType) {
+			this.inputType = (Class<I>) inputType;
+			return this;
+		}
+
+		public Builder<I, O> withResponseConverter(Function<O, String> responseConverter) {
+			Assert.notNull(responseConverter, "ResponseConverter must not be null");
+			this.responseConverter = responseConverter;
+			return this;
+		}
+
+		public Builder<I, O> withInputTypeSchema(String inputTypeSchema) {
+			Assert.hasText(inputTypeSchema, "InputTypeSchema must not be empty");
+			this.inputTypeSchema = inputTypeSchema;
+			return this;
+		}
+
+		public Builder<I, O> withObjectMapper(ObjectMapper objectMapper) {
+			Assert.notNull(objectMapper, "ObjectMapper must not be null");
+			this.objectMapper = objectMapper;
+			return this;
+		}
+
+		public Builder<I, O> withSchemaType(SchemaType schemaType) {
+			Assert.notNull(schemaType, "SchemaType must not be null");
+			this.schemaType = schemaType;
+			return this;
+		}
+
+		/**
+		 * Cache the results of the function, which must only depend on its arguments and
+		 * tool context.
+		 * @param resultCache the cache of the function results, typically dedicated to
+		 * this function
+		 * @return this builder
+		 */
+		public Builder<I, O> withResultCache(FunctionResultCache resultCache) {
+			Assert.notNull(resultCache, "ResultCache must not be null");
+			this.resultCache = resultCache;
+			return this;
+		}
+
+		public AsyncFunctionCallbackWrapper<I, O> build() {
+
+			Assert.hasText(this.name, "Name must not be empty");
+			Assert.hasText(this.description, "Description must not be empty");
+			Assert.notNull(this.responseConverter, "ResponseConverter must not be null");
+
+			if (this.objectMapper == null) {
+				this.objectMapper = JsonMapper.builder()
+					.addModules(JacksonUtils.instantiateAvailableModules())
+					.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+					.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+					.build();
+			}
+
+			if (this.inputType == null) {
+				this.inputType = (this.function != null) ? resolveInputType(this.function)
+						: resolveInputType(this.biFunction);
+			}
+
+			if (this.inputTypeSchema == null) {
+				boolean upperCaseTypeValues = this.schemaType == SchemaType.OPEN_API_SCHEMA;
+				this.inputTypeSchema = ModelOptionsUtils.getJsonSchema(this.inputType, upperCaseTypeValues);
+			}
+
+			BiFunction<I, ToolContext, Mono<O>> finalBiFunction = (this.biFunction != null) ? this.biFunction
+					: (request, context) -> this.function.apply(request);
+
+			return new AsyncFunctionCallbackWrapper<>(this.name, this.description, this.inputTypeSchema,
+					this.inputType, this.responseConverter, this.objectMapper, finalBiFunction, this.resultCache);
+		}
+
+	}
+
+}
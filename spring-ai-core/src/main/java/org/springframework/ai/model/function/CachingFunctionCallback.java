@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.ai.model.function;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link FunctionCallback} decorator returning the results of the calls it has already
+ * made from a {@link FunctionResultCache}, for callbacks not built with
+ * {@link FunctionCallbackWrapper.Builder#withResultCache(FunctionResultCache)} or
+ * {@link AsyncFunctionCallbackWrapper.Builder#withResultCache(FunctionResultCache)}.
+ * Only functions whose result depends on their arguments and tool context alone should
+ * be cached.
+ *
+ * Asynchronous calls are composed without blocking when the delegate is an
+ * {@link AsyncFunctionCallback}, and run on a bounded elastic scheduler otherwise, so
+ * that cache misses never block the subscribing thread.
+ *
+ * @since 1.0.0
+ */
+public final class CachingFunctionCallback implements AsyncFunctionCallback {
+
+	private final FunctionCallback delegate;
+
+	private final FunctionResultCache cache;
+
+	/**
+	 * @param delegate the function callback to cache the results of
+	 * @param cache the cache of the function results
+	 */
+	public CachingFunctionCallback(FunctionCallback delegate, FunctionResultCache cache) {
+		Assert.notNull(delegate, "delegate must not be null");
+		Assert.notNull(cache, "cache must not be null");
+		this.delegate = delegate;
+		this.cache = cache;
+	}
+
+	@Override
+	public String getName() {
+		return this.delegate.getName();
+	}
+
+	@Override
+	public String getDescription() {
+		return this.delegate.getDescription();
+	}
+
+	@Override
+	public String getInputTypeSchema() {
+		return this.delegate.getInputTypeSchema();
+	}
+
+	@Override
+	public String call(String functionArguments) {
+		return this.cache.getOrCall(getName(), functionArguments, null,
+				() -> this.delegate.call(functionArguments));
+	}
+
+	@Override
+	public String call(String functionArguments, ToolContext toolContext) {
+		return this.cache.getOrCall(getName(), functionArguments, toolContext,
+				() -> this.delegate.call(functionArguments, toolContext));
+	}
+
+	@Override
+	public Mono<String> callAsync(String functionArguments, @Nullable ToolContext toolContext) {
+		return this.cache.getOrCallAsync(getName(), functionArguments, toolContext, () -> {
+			if (this.delegate instanceof AsyncFunctionCallback asyncDelegate) {
+				return asyncDelegate.callAsync(functionArguments, toolContext);
+			}
+			return Mono
+				.fromCallable(() -> (toolContext != null) ? this.delegate.call(functionArguments, toolContext)
+						: this.delegate.call(functionArguments))
+				.subscribeOn(Schedulers.boundedElastic());
+		});
+	}
+
+}
@@ -23,11 +23,13 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import reactor.core.publisher.Mono;
 
 import org.springframework.ai.chat.model.ToolContext;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.model.function.FunctionCallbackContext.SchemaType;
 import org.springframework.ai.util.JacksonUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -36,6 +38,14 @@ import org.springframework.util.Assert;
  * String before sending it to the Model. Provide a custom function responseConverter
  * implementation to override this.
  *
+ * The wrapped function is blocking, so the streaming tool call loop runs it on a bounded
+ * elastic scheduler. Functions returning a {@link Mono} of their output are built with
+ * {@link #asyncBuilder(Function)} or {@link #asyncBuilder(BiFunction)} instead, into an
+ * {@link AsyncFunctionCallbackWrapper} that the loop composes without blocking.
+ *
+ * Functions built with a {@link FunctionResultCache} return the results of the calls
+ * already made with the same arguments and tool context from the cache.
+ *
  * @author Christian Tzolov
  * @author Sebastien Deleuze
  *
@@ -44,11 +54,16 @@ public final class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallbac
 
 	private final BiFunction<I, ToolContext, O> biFunction;
 
+	@Nullable
+	private final FunctionResultCache resultCache;
+
 	private FunctionCallbackWrapper(String name, String description, String inputTypeSchema, Class<I> inputType,
-			Function<O, String> responseConverter, ObjectMapper objectMapper, BiFunction<I, ToolContext, O> function) {
+			Function<O, String> responseConverter, ObjectMapper objectMapper, BiFunction<I, ToolContext, O> function,
+			@Nullable FunctionResultCache resultCache) {
 		super(name, description, inputTypeSchema, inputType, responseConverter, objectMapper);
 		Assert.notNull(function, "Function must not be null");
 		this.biFunction = function;
+		this.resultCache = resultCache;
 	}
 
 	public static <I, O> Builder<I, O> builder(BiFunction<I, ToolContext, O> biFunction) {
@@ -59,11 +74,38 @@ public final class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallbac
 		return new Builder<>(function);
 	}
 
+	public static <I, O> AsyncFunctionCallbackWrapper.Builder<I, O> asyncBuilder(
+			BiFunction<I, ToolContext, Mono<O>> asyncBiFunction) {
+		return AsyncFunctionCallbackWrapper.builder(asyncBiFunction);
+	}
+
+	public static <I, O> AsyncFunctionCallbackWrapper.Builder<I, O> asyncBuilder(
+			Function<I, Mono<O>> asyncFunction) {
+		return AsyncFunctionCallbackWrapper.builder(asyncFunction);
+	}
+
 	@Override
 	public O apply(I input, ToolContext context) {
 		return this.biFunction.apply(input, context);
 	}
 
+	@Override
+	public String call(String functionArguments) {
+		if (this.resultCache == null) {
+			return super.call(functionArguments);
+		}
+		return this.resultCache.getOrCall(getName(), functionArguments, null, () -> super.call(functionArguments));
+	}
+
+	@Override
+	public String call(String functionInput, ToolContext toolContext) {
+		if (this.resultCache == null) {
+			return super.call(functionInput, toolContext);
+		}
+		return this.resultCache.getOrCall(getName(), functionInput, toolContext,
+				() -> super.call(functionInput, toolContext));
+	}
+
 	public static class Builder<I, O> {
 
 		private final BiFunction<I, ToolContext, O> biFunction;
@@ -85,6 +127,8 @@ public final class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallbac
 
 		private ObjectMapper objectMapper;
 
+		private FunctionResultCache resultCache;
+
 		public Builder(BiFunction<I, ToolContext, O> biFunction) {
 			Assert.notNull(biFunction, "Function must not be null");
 			this.biFunction = biFunction;
@@ -150,6 +194,19 @@ public final class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallbac
 			return this;
 		}
 
+		/**
+		 * Cache the results of the function, which must only depend on its arguments and
+		 * tool context.
+		 * @param resultCache the cache of the function results, typically dedicated to
+		 * this function
+		 * @return this builder
+		 */
+		public Builder<I, O> withResultCache(FunctionResultCache resultCache) {
+			Assert.notNull(resultCache, "ResultCache must not be null");
+			this.resultCache = resultCache;
+			return this;
+		}
+
 		public FunctionCallbackWrapper<I, O> build() {
 
 			Assert.hasText(this.name, "Name must not be empty");
@@ -182,7 +239,7 @@ public final class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallbac
 					: (request, context) -> this.function.apply(request);
 
 			return new FunctionCallbackWrapper<>(this.name, this.description, this.inputTypeSchema, this.inputType,
-					this.responseConverter, this.objectMapper, finalBiFunction);
+					this.responseConverter, this.objectMapper, finalBiFunction, this.resultCache);
 		}
 
 	}
@@ -16,6 +16,7 @@
 
 package org.springframework.ai.model.function;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -76,6 +77,34 @@ public interface FunctionCallingOptions extends ChatOptions {
 		}
 	}
 
+	/**
+	 * @return whether the tool calls of a single model response are executed
+	 * concurrently rather than one after another. Sequential by default.
+	 */
+	default Boolean getConcurrentToolExecution() {
+		return null;
+	}
+
+	default void setConcurrentToolExecution(Boolean concurrentToolExecution) {
+		if (concurrentToolExecution != null) {
+			throw new UnsupportedOperationException("Setting Concurrent Tool Execution is not supported!");
+		}
+	}
+
+	/**
+	 * @return how long each tool call may take when the tool calls are executed
+	 * concurrently, or {@code null} to wait for them indefinitely.
+	 */
+	default Duration getToolExecutionTimeout() {
+		return null;
+	}
+
+	default void setToolExecutionTimeout(Duration toolExecutionTimeout) {
+		if (toolExecutionTimeout != null) {
+			throw new UnsupportedOperationException("Setting Tool Execution Timeout is not supported!");
+		}
+	}
+
 	Map<String, Object> getToolContext();
 
 	void setToolContext(Map<String, Object> tooContext);
@@ -16,6 +16,7 @@
 
 package org.springframework.ai.model.function;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -115,6 +116,16 @@ public class FunctionCallingOptionsBuilder {
 		return this;
 	}
 
+	public FunctionCallingOptionsBuilder withConcurrentToolExecution(Boolean concurrentToolExecution) {
+		this.options.setConcurrentToolExecution(concurrentToolExecution);
+		return this;
+	}
+
+	public FunctionCallingOptionsBuilder withToolExecutionTimeout(Duration toolExecutionTimeout) {
+		this.options.setToolExecutionTimeout(toolExecutionTimeout);
+		return this;
+	}
+
 	public FunctionCallingOptionsBuilder withToolContext(Map<String, Object> context) {
 		Assert.notNull(context, "Tool context must not be null");
 		Map<String, Object> newContext = new HashMap<>(this.options.getToolContext());
@@ -160,6 +171,10 @@ public class FunctionCallingOptionsBuilder {
 
 		private Boolean proxyToolCalls = false;
 
+		private Boolean concurrentToolExecution;
+
+		private Duration toolExecutionTimeout;
+
 		private Map<String, Object> context = new HashMap<>();
 
 		public static FunctionCallingOptionsBuilder builder() {
@@ -267,6 +282,28 @@ public class FunctionCallingOptionsBuilder {
 			this.proxyToolCalls = proxyToolCalls;
 		}
 
+		@Override
+		public Boolean getConcurrentToolExecution() {
+			return this.concurrentToolExecution;
+		}
+
+		@Override
+		public void setConcurrentToolExecution(Boolean concurrentToolExecution) {
+			this.concurrentToolExecution = concurrentToolExecution;
+		}
+
+		@Override
+		public Duration getToolExecutionTimeout() {
+			return this.toolExecutionTimeout;
+		}
+
+		@Override
+		public void setToolExecutionTimeout(Duration toolExecutionTimeout) {
+			Assert.isTrue(toolExecutionTimeout == null || toolExecutionTimeout.toMillis() > 0,
+					"Tool execution timeout must be at least one millisecond");
+			this.toolExecutionTimeout = toolExecutionTimeout;
+		}
+
 		public Map<String, Object> getToolContext() {
 			return Collections.unmodifiableMap(this.context);
 		}
@@ -289,6 +326,8 @@ public class FunctionCallingOptionsBuilder {
 				.withFunctions(new HashSet<>(this.functions))
 				.withFunctionCallbacks(new ArrayList<>(this.functionCallbacks))
 				.withProxyToolCalls(this.proxyToolCalls)
+				.withConcurrentToolExecution(this.concurrentToolExecution)
+				.withToolExecutionTimeout(this.toolExecutionTimeout)
 				.withToolContext(new HashMap<>(this.getToolContext()))
 				.build();
 		}
@@ -307,7 +346,11 @@ public class FunctionCallingOptionsBuilder {
 				.withTopK(options.getTopK() != null ? options.getTopK() : this.topK)
 				.withTopP(options.getTopP() != null ? options.getTopP() : this.topP)
 				.withProxyToolCalls(
-						options.getProxyToolCalls() != null ? options.getProxyToolCalls() : this.proxyToolCalls);
+						options.getProxyToolCalls() != null ? options.getProxyToolCalls() : this.proxyToolCalls)
+				.withConcurrentToolExecution(options.getConcurrentToolExecution() != null
+						? options.getConcurrentToolExecution() : this.concurrentToolExecution)
+				.withToolExecutionTimeout(options.getToolExecutionTimeout() != null
+						? options.getToolExecutionTimeout() : this.toolExecutionTimeout);
 
 			Set<String> functions = new HashSet<>();
 			if (!CollectionUtils.isEmpty(this.functions)) {
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.ai.model.function;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.document.id.ContentHashIdGenerator;
+import org.springframework.ai.document.id.IdGenerator;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.observation.conventions.AiObservationMetricAttributes;
+import org.springframework.ai.observation.conventions.AiObservationMetricNames;
+import org.springframework.ai.util.LruCache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * In-process cache of the results of function calls, holding at most {@code maxSize}
+ * results and evicting the least recently used one when full. Results can additionally
+ * expire a fixed time after they were cached.
+ *
+ * Results are keyed by a hash of the function name, the arguments and the tool context.
+ * The JSON arguments are parsed first, so that the order of their properties and their
+ * formatting do not matter, while arguments that are not valid JSON are used as is.
+ * Failed calls are not cached, and concurrent calls missing the same key may all call the
+ * function.
+ *
+ * By default the tool context is identified by its entries. Strings, numbers, booleans,
+ * maps, collections and arrays are hashed by value, while any other value is hashed
+ * through its {@code toString()} representation, which must then identify it by value:
+ * distinct values with the same representation share results, and values keeping the
+ * identity-based {@link Object#toString()} never hit. Contexts holding such values should
+ * provide their own key with {@link Builder#withToolContextKey(Function)}.
+ *
+ * Only functions whose result depends on their arguments and tool context alone, and
+ * that have no side effects, should be cached. A cache is typically created per function,
+ * so that each has its own size and time to live, and attached to it with
+ * {@link FunctionCallbackWrapper.Builder#withResultCache(FunctionResultCache)},
+ * {@link AsyncFunctionCallbackWrapper.Builder#withResultCache(FunctionResultCache)} or
+ * {@link CachingFunctionCallback}.
+ *
+ * When a {@link MeterRegistry} is configured, the {@code spring.ai.tool.cache.requests}
+ * counter records the cache hits and misses, tagged with the function name and the
+ * {@code spring.ai.cache.result}.
+ *
+ * @since 1.0.0
+ */
+public final class FunctionResultCache {
+
+	public static final int DEFAULT_MAX_SIZE = 1_000;
+
+	private static final String DESCRIPTION = "Measures the number of function calls looked up in the result cache";
+
+	@Nullable
+	private final MeterRegistry meterRegistry;
+
+	@Nullable
+	private final Function<ToolContext, ?> toolContextKey;
+
+	private final IdGenerator keyGenerator = new ContentHashIdGenerator();
+
+	private final LruCache<String, String> results;
+
+	private FunctionResultCache(Builder builder) {
+		this.meterRegistry = builder.meterRegistry;
+		this.toolContextKey = builder.toolContextKey;
+		this.results = new LruCache<>(builder.maxSize, builder.timeToLive);
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the cached result of the call, or calls the function and caches its result.
+	 * @param functionName the name of the called function
+	 * @param functionArguments the JSON arguments provided by the model
+	 * @param toolContext the tool context of the call, if any
+	 * @param function calls the function
+	 * @return the function call response
+	 */
+	public String getOrCall(String functionName, String functionArguments, @Nullable ToolContext toolContext,
+			Supplier<String> function) {
+		Assert.notNull(function, "function must not be null");
+		String key = key(functionName, functionArguments, toolContext);
+		String cached = this.results.get(key);
+		if (cached != null) {
+			record(functionName, "hit");
+			return cached;
+		}
+		record(functionName, "miss");
+		String response = function.get();
+		if (response != null) {
+			this.results.put(key, response);
+		}
+		return response;
+	}
+
+	/**
+	 * Returns the cached result of the call, or subscribes to the function call and
+	 * caches its result. The cache is looked up on subscription.
+	 * @param functionName the name of the called function
+	 * @param functionArguments the JSON arguments provided by the model
+	 * @param toolContext the tool context of the call, if any
+	 * @param function calls the function
+	 * @return the function call response
+	 */
+	public Mono<String> getOrCallAsync(String functionName, String functionArguments,
+			@Nullable ToolContext toolContext, Supplier<Mono<String>> function) {
+		Assert.notNull(function, "function must not be null");
+		return Mono.defer(() -> {
+			String key = key(functionName, functionArguments, toolContext);
+			String cached = this.results.get(key);
+			if (cached != null) {
+				record(functionName, "hit");
+				return Mono.just(cached);
+			}
+			record(functionName, "miss");
+			return function.get().doOnNext(response -> this.results.put(key, response));
+		});
+	}
+
+	/**
+	 * @return the number of cached results, including expired ones not evicted yet
+	 */
+	public int size() {
+		return this.results.size();
+	}
+
+	public void clear() {
+		this.results.clear();
+	}
+
+	private String key(String functionName, @Nullable String functionArguments, @Nullable ToolContext toolContext) {
+		Object context = Map.of();
+		if (toolContext != null && !CollectionUtils.isEmpty(toolContext.getContext())) {
+			context = (this.toolContextKey != null) ? this.toolContextKey.apply(toolContext) : toolContext.getContext();
+		}
+		return this.keyGenerator.generateId(functionName, canonicalArguments(functionArguments), context);
+	}
+
+	/**
+	 * Parse the JSON arguments into maps, lists and scalar values, which the key
+	 * generator hashes independently of the order of the map entries.
+	 */
+	@Nullable
+	static Object canonicalArguments(@Nullable String functionArguments) {
+		if (!StringUtils.hasText(functionArguments)) {
+			return null;
+		}
+		try {
+			return ModelOptionsUtils.OBJECT_MAPPER.readValue(functionArguments, Object.class);
+		}
+		catch (JsonProcessingException ex) {
+			return functionArguments;
+		}
+	}
+
+	private void record(String functionName, String result) {
+		if (this.meterRegistry == null) {
+			return;
+		}
+		Counter.builder(AiObservationMetricNames.TOOL_CACHE_REQUESTS.value())
+			.description(DESCRIPTION)
+			.tag(AiObservationMetricAttributes.TOOL_NAME.value(), functionName)
+			.tag(AiObservationMetricAttributes.CACHE_RESULT.value(), result)
+			.register(this.meterRegistry)
+			.increment();
+	}
+
+	public static final class Builder {
+
+		private int maxSize = DEFAULT_MAX_SIZE;
+
+		@Nullable
+		private Duration timeToLive;
+
+		@Nullable
+		private MeterRegistry meterRegistry;
+
+		@Nullable
+		private Function<ToolContext, ?> toolContextKey;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param maxSize the maximum number of cached results. Defaults to
+		 * {@value #DEFAULT_MAX_SIZE}.
+		 * @return this builder
+		 */
+		public Builder withMaxSize(int maxSize) {
+			Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+			this.maxSize = maxSize;
+			return this;
+		}
+
+		/**
+		 * @param timeToLive how long results are kept after they were cached. Results do
+		 * not expire by default.
+		 * @return this builder
+		 */
+		public Builder withTimeToLive(Duration timeToLive) {
+			Assert.notNull(timeToLive, "timeToLive must not be null");
+			Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+			this.timeToLive = timeToLive;
+			return this;
+		}
+
+		/**
+		 * @param meterRegistry the registry recording cache hits and misses
+		 * @return this builder
+		 */
+		public Builder withMeterRegistry(MeterRegistry meterRegistry) {
+			Assert.notNull(meterRegistry, "meterRegistry must not be null");
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
+		/**
+		 * @param toolContextKey computes the value identifying a non-empty tool context in
+		 * the cache keys, such as the identifier of the user. Defaults to the entries of
+		 * the context.
+		 * @return this builder
+		 */
+		public Builder withToolContextKey(Function<ToolContext, ?> toolContextKey) {
+			Assert.notNull(toolContextKey, "toolContextKey must not be null");
+			this.toolContextKey = toolContextKey;
+			return this;
+		}
+
+		public FunctionResultCache build() {
+			return new FunctionResultCache(this);
+		}
+
+	}
+
+}
@@ -24,6 +24,7 @@ import java.util.Set;
 import java.util.function.Function;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
@@ -69,6 +70,11 @@ public class ToolCallHelper extends AbstractToolCallSupport {
 		return super.handleToolCalls(prompt, response);
 	}
 
+	@Override
+	public Mono<List<Message>> handleToolCallsAsync(Prompt prompt, ChatResponse response) {
+		return super.handleToolCallsAsync(prompt, response);
+	}
+
 	public Flux<ChatResponse> processStream(ChatModel chatModel, Prompt prompt, Set<String> finishReasons,
 			Function<AssistantMessage.ToolCall, String> customFunction) {
 
@@ -133,7 +133,18 @@ public enum AiObservationAttributes {
 	/**
 	 * The full response received from the model.
 	 */
-	COMPLETION("gen_ai.completion");
+	COMPLETION("gen_ai.completion"),
+
+	// Spring AI Cache
+
+	/**
+	 * The number of inputs found in the cache.
+	 */
+	CACHE_HITS("spring.ai.cache.hits"),
+	/**
+	 * The number of distinct inputs missing from the cache.
+	 */
+	CACHE_MISSES("spring.ai.cache.misses");
 
 	private final String value;
 
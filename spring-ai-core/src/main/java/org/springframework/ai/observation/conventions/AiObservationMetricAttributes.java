@@ -33,7 +33,17 @@ public enum AiObservationMetricAttributes {
 	/**
 	 * The type of token being counted (input, output, total).
 	 */
-	TOKEN_TYPE("gen_ai.token.type");
+	TOKEN_TYPE("gen_ai.token.type"),
+
+	/**
+	 * Whether a cached result was found (hit, miss, partial).
+	 */
+	CACHE_RESULT("spring.ai.cache.result"),
+
+	/**
+	 * The name of the tool, or function, being called.
+	 */
+	TOOL_NAME("gen_ai.tool.name");
 
 	private final String value;
 
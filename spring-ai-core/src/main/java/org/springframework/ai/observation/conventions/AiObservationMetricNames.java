@@ -31,7 +31,8 @@ public enum AiObservationMetricNames {
 // @formatter:off
 
 	OPERATION_DURATION("gen_ai.client.operation.duration"),
-	TOKEN_USAGE("gen_ai.client.token.usage");
+	TOKEN_USAGE("gen_ai.client.token.usage"),
+	TOOL_CACHE_REQUESTS("spring.ai.tool.cache.requests");
 
 	private final String value;
 
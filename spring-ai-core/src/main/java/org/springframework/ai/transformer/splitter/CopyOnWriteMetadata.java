@@ -0,0 +1,172 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.transformer.splitter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Metadata of a chunk, sharing the metadata map of its parent document with the other
+ * chunks of that document until it is first modified. The shared map is never modified;
+ * the first write copies it into a map owned by this chunk. It is serialized as a plain
+ * {@link HashMap}, like the metadata maps of documents usually are.
+ *
+ * @since 1.0.0
+ */
+final class CopyOnWriteMetadata extends AbstractMap<String, Object> implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private transient Map<String, Object> delegate;
+
+	private transient boolean copied;
+
+	CopyOnWriteMetadata(Map<String, Object> shared) {
+		this.delegate = shared;
+	}
+
+	private Map<String, Object> writable() {
+		if (!this.copied) {
+			this.delegate = new HashMap<>(this.delegate);
+			this.copied = true;
+		}
+		return this.delegate;
+	}
+
+	@Override
+	public int size() {
+		return this.delegate.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.delegate.containsKey(key);
+	}
+
+	@Override
+	public Object get(Object key) {
+		return this.delegate.get(key);
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		return writable().put(key, value);
+	}
+
+	@Override
+	public Object remove(Object key) {
+		return this.delegate.containsKey(key) ? writable().remove(key) : null;
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ?> map) {
+		if (!map.isEmpty()) {
+			writable().putAll(map);
+		}
+	}
+
+	@Override
+	public void clear() {
+		if (this.copied) {
+			this.delegate.clear();
+		}
+		else {
+			this.delegate = new HashMap<>();
+			this.copied = true;
+		}
+	}
+
+	@Serial
+	private Object writeReplace() {
+		return new HashMap<>(this.delegate);
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return new AbstractSet<>() {
+
+			@Override
+			public Iterator<Entry<String, Object>> iterator() {
+				return CopyOnWriteMetadata.this.copied ? CopyOnWriteMetadata.this.delegate.entrySet().iterator()
+						: new SharedEntryIterator(CopyOnWriteMetadata.this.delegate.keySet().iterator());
+			}
+
+			@Override
+			public int size() {
+				return CopyOnWriteMetadata.this.delegate.size();
+			}
+
+		};
+	}
+
+	/**
+	 * Iterates over the shared map and routes modifications through the enclosing map, so
+	 * that the shared map is copied before it is changed. The iteration itself keeps
+	 * going over the unchanged shared map.
+	 */
+	private final class SharedEntryIterator implements Iterator<Entry<String, Object>> {
+
+		private final Iterator<String> keys;
+
+		@Nullable
+		private String current;
+
+		SharedEntryIterator(Iterator<String> keys) {
+			this.keys = keys;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.keys.hasNext();
+		}
+
+		@Override
+		public Entry<String, Object> next() {
+			String key = this.keys.next();
+			this.current = key;
+			return new SimpleEntry<>(key, get(key)) {
+
+				@Override
+				public Object setValue(Object value) {
+					super.setValue(value);
+					return put(key, value);
+				}
+
+			};
+		}
+
+		@Override
+		public void remove() {
+			if (this.current == null) {
+				throw new IllegalStateException();
+			}
+			CopyOnWriteMetadata.this.remove(this.current);
+			this.current = null;
+		}
+
+	}
+
+}
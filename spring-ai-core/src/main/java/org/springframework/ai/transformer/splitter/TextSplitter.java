@@ -17,9 +17,13 @@
 package org.springframework.ai.transformer.splitter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +31,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.ContentFormatter;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.document.DocumentTransformer;
+import org.springframework.lang.Nullable;
 
 public abstract class TextSplitter implements DocumentTransformer {
 
@@ -38,6 +43,12 @@ public abstract class TextSplitter implements DocumentTransformer {
 	 */
 	private boolean copyContentFormatter = true;
 
+	/**
+	 * If set, independent documents are split concurrently on this executor.
+	 */
+	@Nullable
+	private Executor executor;
+
 	@Override
 	public List<Document> apply(List<Document> documents) {
 		return doSplitDocuments(documents);
@@ -59,6 +70,30 @@ public abstract class TextSplitter implements DocumentTransformer {
 		this.copyContentFormatter = copyContentFormatter;
 	}
 
+	public boolean isParallel() {
+		return this.executor != null;
+	}
+
+	/**
+	 * Splits independent documents concurrently on the common {@link ForkJoinPool}. The
+	 * chunks are returned in the same order as with sequential splitting.
+	 * @param parallel whether to split documents concurrently
+	 */
+	public void setParallel(boolean parallel) {
+		this.executor = (parallel) ? ForkJoinPool.commonPool() : null;
+	}
+
+	/**
+	 * Splits independent documents concurrently on the given executor. The chunks are
+	 * returned in the same order as with sequential splitting. Implementations of
+	 * {@link #splitText(String)} must be thread-safe when an executor is set.
+	 * @param executor the executor to split documents on or {@code null} to split them
+	 * sequentially on the calling thread
+	 */
+	public void setExecutor(@Nullable Executor executor) {
+		this.executor = executor;
+	}
+
 	private List<Document> doSplitDocuments(List<Document> documents) {
 		List<String> texts = new ArrayList<>();
 		List<Map<String, Object>> metadataList = new ArrayList<>();
@@ -76,33 +111,65 @@ public abstract class TextSplitter implements DocumentTransformer {
 	private List<Document> createDocuments(List<String> texts, List<ContentFormatter> formatters,
 			List<Map<String, Object>> metadataList) {
 
-		// Process the data in a column oriented way and recreate the Document
-		List<Document> documents = new ArrayList<>();
+		Executor executor = this.executor;
+		if (executor == null || texts.size() < 2) {
+			// Process the data in a column oriented way and recreate the Document
+			List<Document> documents = new ArrayList<>();
+			for (int i = 0; i < texts.size(); i++) {
+				documents.addAll(createDocuments(texts.get(i), formatters.get(i), metadataList.get(i)));
+			}
+			return documents;
+		}
 
+		List<CompletableFuture<List<Document>>> splits = new ArrayList<>(texts.size());
 		for (int i = 0; i < texts.size(); i++) {
-			String text = texts.get(i);
-			Map<String, Object> metadata = metadataList.get(i);
-			List<String> chunks = splitText(text);
-			if (chunks.size() > 1) {
-				logger.info("Splitting up document into " + chunks.size() + " chunks.");
+			int index = i;
+			splits.add(CompletableFuture.supplyAsync(
+					() -> createDocuments(texts.get(index), formatters.get(index), metadataList.get(index)), executor));
+		}
+		List<Document> documents = new ArrayList<>();
+		try {
+			for (CompletableFuture<List<Document>> split : splits) {
+				documents.addAll(split.join());
 			}
-			for (String chunk : chunks) {
-				// only primitive values are in here -
-				Map<String, Object> metadataCopy = metadata.entrySet()
-					.stream()
-					.filter(e -> e.getKey() != null && e.getValue() != null)
-					.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-				Document newDoc = new Document(chunk, metadataCopy);
-
-				if (this.copyContentFormatter) {
-					// Transfer the content-formatter of the parent to the chunked
-					// documents it was slit into.
-					newDoc.setContentFormatter(formatters.get(i));
-				}
-
-				// TODO copy over other properties.
-				documents.add(newDoc);
+		}
+		catch (CompletionException ex) {
+			splits.forEach(split -> split.cancel(false));
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
 			}
+			throw ex;
+		}
+		return documents;
+	}
+
+	private List<Document> createDocuments(String text, ContentFormatter formatter, Map<String, Object> metadata) {
+		List<String> chunks = splitText(text);
+		if (chunks.size() > 1) {
+			logger.debug("Splitting up document into {} chunks.", chunks.size());
+		}
+
+		// only primitive values are in here - the chunks share one filtered copy of the
+		// metadata until they are modified
+		Map<String, Object> sharedMetadata = new HashMap<>(metadata.size());
+		metadata.forEach((key, value) -> {
+			if (key != null && value != null) {
+				sharedMetadata.put(key, value);
+			}
+		});
+
+		List<Document> documents = new ArrayList<>(chunks.size());
+		for (String chunk : chunks) {
+			Document newDoc = new Document(chunk, new CopyOnWriteMetadata(sharedMetadata));
+
+			if (this.copyContentFormatter) {
+				// Transfer the content-formatter of the parent to the chunked
+				// documents it was slit into.
+				newDoc.setContentFormatter(formatter);
+			}
+
+			// TODO copy over other properties.
+			documents.add(newDoc);
 		}
 		return documents;
 	}
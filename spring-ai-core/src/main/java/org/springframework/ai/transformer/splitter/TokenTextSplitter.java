@@ -16,6 +16,7 @@
 
 package org.springframework.ai.transformer.splitter;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,8 +26,6 @@ import com.knuddels.jtokkit.api.EncodingRegistry;
 import com.knuddels.jtokkit.api.EncodingType;
 import com.knuddels.jtokkit.api.IntArrayList;
 
-import org.springframework.util.Assert;
-
 /**
  * @author Raphael Yu
  * @author Christian Tzolov
@@ -88,21 +87,35 @@ public class TokenTextSplitter extends TextSplitter {
 		return doSplit(text, this.chunkSize);
 	}
 
+	/**
+	 * Splits the text into chunks of at most {@code chunkSize} tokens. The text is
+	 * encoded once and the chunks are decoded from slices of that encoding. When a chunk
+	 * is truncated at its last punctuation mark, the tokens it consumed are derived from
+	 * the decoded bytes instead of encoding the truncated text again.
+	 * @param text the text to split
+	 * @param chunkSize the maximum number of tokens of a chunk
+	 * @return the chunks
+	 */
 	protected List<String> doSplit(String text, int chunkSize) {
 		if (text == null || text.trim().isEmpty()) {
 			return new ArrayList<>();
 		}
 
-		List<Integer> tokens = getEncodedTokens(text);
+		IntArrayList tokens = this.encoding.encode(text);
+		IntArrayList chunk = new IntArrayList(Math.min(chunkSize, tokens.size()));
+		IntArrayList singleToken = new IntArrayList(1);
 		List<String> chunks = new ArrayList<>();
-		int num_chunks = 0;
-		while (!tokens.isEmpty() && num_chunks < this.maxNumChunks) {
-			List<Integer> chunk = tokens.subList(0, Math.min(chunkSize, tokens.size()));
-			String chunkText = decodeTokens(chunk);
+		int position = 0;
+		int numChunks = 0;
+		while (position < tokens.size() && numChunks < this.maxNumChunks) {
+			int chunkLength = Math.min(chunkSize, tokens.size() - position);
+			slice(tokens, position, chunkLength, chunk);
+			byte[] chunkBytes = this.encoding.decodeBytes(chunk);
+			String chunkText = new String(chunkBytes, StandardCharsets.UTF_8);
 
 			// Skip the chunk if it is empty or whitespace
 			if (chunkText.trim().isEmpty()) {
-				tokens = tokens.subList(chunk.size(), tokens.size());
+				position += chunkLength;
 				continue;
 			}
 
@@ -113,6 +126,7 @@ public class TokenTextSplitter extends TextSplitter {
 			if (lastPunctuation != -1 && lastPunctuation > this.minChunkSizeChars) {
 				// Truncate the chunk text at the punctuation mark
 				chunkText = chunkText.substring(0, lastPunctuation + 1);
+				chunkLength = tokensCovering(chunk, chunkBytes, lastPunctuationByte(chunkBytes) + 1, singleToken);
 			}
 
 			String chunkTextToAppend = (this.keepSeparator) ? chunkText.trim()
@@ -121,15 +135,16 @@ public class TokenTextSplitter extends TextSplitter {
 				chunks.add(chunkTextToAppend);
 			}
 
-			// Remove the tokens corresponding to the chunk text from the remaining tokens
-			tokens = tokens.subList(getEncodedTokens(chunkText).size(), tokens.size());
+			// Move past the tokens corresponding to the chunk text
+			position += chunkLength;
 
-			num_chunks++;
+			numChunks++;
 		}
 
 		// Handle the remaining tokens
-		if (!tokens.isEmpty()) {
-			String remaining_text = decodeTokens(tokens).replace(System.lineSeparator(), " ").trim();
+		if (position < tokens.size()) {
+			slice(tokens, position, tokens.size() - position, chunk);
+			String remaining_text = this.encoding.decode(chunk).replace(System.lineSeparator(), " ").trim();
 			if (remaining_text.length() > this.minChunkLengthToEmbed) {
 				chunks.add(remaining_text);
 			}
@@ -138,16 +153,46 @@ public class TokenTextSplitter extends TextSplitter {
 		return chunks;
 	}
 
-	private List<Integer> getEncodedTokens(String text) {
-		Assert.notNull(text, "Text must not be null");
-		return this.encoding.encode(text).boxed();
+	private static void slice(IntArrayList tokens, int from, int length, IntArrayList target) {
+		target.clear();
+		for (int i = from; i < from + length; i++) {
+			target.add(tokens.get(i));
+		}
+	}
+
+	/**
+	 * Returns the index of the last punctuation byte. These are all ASCII characters,
+	 * which never occur inside a multibyte UTF-8 sequence.
+	 */
+	private static int lastPunctuationByte(byte[] bytes) {
+		for (int i = bytes.length - 1; i >= 0; i--) {
+			byte b = bytes[i];
+			if (b == '.' || b == '?' || b == '!' || b == '\n') {
+				return i;
+			}
+		}
+		return -1;
 	}
 
-	private String decodeTokens(List<Integer> tokens) {
-		Assert.notNull(tokens, "Tokens must not be null");
-		var tokensIntArray = new IntArrayList(tokens.size());
-		tokens.forEach(tokensIntArray::add);
-		return this.encoding.decode(tokensIntArray);
+	/**
+	 * Returns the number of leading chunk tokens needed to cover the first
+	 * {@code byteCount} decoded bytes. Trailing tokens are decoded one at a time, which
+	 * is cheap as the cut point is usually close to the end of the chunk.
+	 */
+	private int tokensCovering(IntArrayList chunk, byte[] chunkBytes, int byteCount, IntArrayList singleToken) {
+		int excessBytes = chunkBytes.length - byteCount;
+		int length = chunk.size();
+		while (length > 1) {
+			singleToken.clear();
+			singleToken.add(chunk.get(length - 1));
+			int tokenBytes = this.encoding.decodeBytes(singleToken).length;
+			if (tokenBytes > excessBytes) {
+				break;
+			}
+			excessBytes -= tokenBytes;
+			length--;
+		}
+		return length;
 	}
 
 	public static final class Builder {
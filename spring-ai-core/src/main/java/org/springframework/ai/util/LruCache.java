@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.ai.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Thread-safe in-process cache holding at most {@code maxSize} values, evicting the least
+ * recently used one when full. Values can additionally expire a fixed time after they
+ * were cached.
+ *
+ * Unlike Spring's {@code ConcurrentLruCache}, values are put explicitly rather than
+ * computed on a miss, so that callers can cache the results of asynchronous or failing
+ * computations selectively.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ * @since 1.0.0
+ */
+public final class LruCache<K, V> {
+
+	private final int maxSize;
+
+	private final long timeToLiveNanos;
+
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	/**
+	 * @param maxSize the maximum number of cached values
+	 * @param timeToLive how long values are kept after they were cached or {@code null}
+	 * for no expiry
+	 */
+	public LruCache(int maxSize, @Nullable Duration timeToLive) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+		Assert.isTrue(timeToLive == null || !timeToLive.isNegative() && !timeToLive.isZero(),
+				"timeToLive must be positive");
+		this.maxSize = maxSize;
+		this.timeToLiveNanos = (timeToLive != null) ? timeToLive.toNanos() : 0;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				return size() > LruCache.this.maxSize;
+			}
+
+		};
+	}
+
+	/**
+	 * @param key the key of the value
+	 * @return the cached value or {@code null} if it is missing or expired
+	 */
+	@Nullable
+	public synchronized V get(K key) {
+		Entry<V> entry = this.entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (this.timeToLiveNanos > 0 && System.nanoTime() - entry.cachedAtNanos() > this.timeToLiveNanos) {
+			this.entries.remove(key);
+			return null;
+		}
+		return entry.value();
+	}
+
+	/**
+	 * @param key the key of the value
+	 * @param value the value to cache
+	 */
+	public synchronized void put(K key, V value) {
+		Assert.notNull(value, "value must not be null");
+		this.entries.put(key, new Entry<>(value, System.nanoTime()));
+	}
+
+	/**
+	 * @return the number of cached values, including expired ones not evicted yet
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	public synchronized void clear() {
+		this.entries.clear();
+	}
+
+	private record Entry<V>(V value, long cachedAtNanos) {
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link VectorOperations} implementation based on the incubating JDK Vector API. It
+ * uses the widest vector shape supported by the CPU, e.g. 8 floats per operation with
+ * AVX2 and 16 with AVX-512.
+ *
+ * This class must only be loaded when the {@code jdk.incubator.vector} module is
+ * available, and only instantiated when {@link #isSupported()}, see {@link VectorUtils}.
+ *
+ * @since 1.0.0
+ */
+final class PanamaVectorOperations implements VectorOperations {
+
+	private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+	private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+
+	// Bytes are loaded at least 8 at a time and widened into one or more int vectors
+	private static final VectorSpecies<Byte> BYTE_SPECIES = (INT_SPECIES.length() > 8) ? ByteVector.SPECIES_128
+			: ByteVector.SPECIES_64;
+
+	private static final int INT_PARTS = BYTE_SPECIES.length() / INT_SPECIES.length();
+
+	/**
+	 * Checks whether the kernels can be used on this JVM: the preferred vector shape must
+	 * hold at least 4 floats to beat the scalar loops, and the byte buffer loads of the
+	 * Java 17 Vector API must still exist in the running JDK.
+	 * @return whether this implementation is supported
+	 */
+	static boolean isSupported() {
+		if (SPECIES.length() < 4) {
+			return false;
+		}
+		try {
+			FloatVector.fromByteBuffer(SPECIES, ByteBuffer.allocate(SPECIES.vectorByteSize()), 0,
+					ByteOrder.nativeOrder());
+			return true;
+		}
+		catch (LinkageError ex) {
+			return false;
+		}
+	}
+
+	@Override
+	public float dotProduct(float[] vectorX, float[] vectorY) {
+		int bound = SPECIES.loopBound(vectorX.length);
+		FloatVector sum = FloatVector.zero(SPECIES);
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			FloatVector x = FloatVector.fromArray(SPECIES, vectorX, i);
+			FloatVector y = FloatVector.fromArray(SPECIES, vectorY, i);
+			sum = sum.add(x.mul(y));
+		}
+		float result = sum.reduceLanes(VectorOperators.ADD);
+		for (; i < vectorX.length; i++) {
+			result += vectorX[i] * vectorY[i];
+		}
+		return result;
+	}
+
+	@Override
+	public float squaredNorm(float[] vector) {
+		return dotProduct(vector, vector);
+	}
+
+	@Override
+	public float squaredEuclideanDistance(float[] vectorX, float[] vectorY) {
+		int bound = SPECIES.loopBound(vectorX.length);
+		FloatVector sum = FloatVector.zero(SPECIES);
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			FloatVector diff = FloatVector.fromArray(SPECIES, vectorX, i)
+				.sub(FloatVector.fromArray(SPECIES, vectorY, i));
+			sum = sum.add(diff.mul(diff));
+		}
+		float result = sum.reduceLanes(VectorOperators.ADD);
+		for (; i < vectorX.length; i++) {
+			float diff = vectorX[i] - vectorY[i];
+			result += diff * diff;
+		}
+		return result;
+	}
+
+	@Override
+	public float dotProduct(ByteBuffer bufferX, int offsetX, float[] vectorY) {
+		ByteOrder order = bufferX.order();
+		int bound = SPECIES.loopBound(vectorY.length);
+		FloatVector sum = FloatVector.zero(SPECIES);
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			FloatVector x = FloatVector.fromByteBuffer(SPECIES, bufferX, offsetX + i * Float.BYTES, order);
+			FloatVector y = FloatVector.fromArray(SPECIES, vectorY, i);
+			sum = sum.add(x.mul(y));
+		}
+		return sum.reduceLanes(VectorOperators.ADD)
+				+ ScalarVectorOperations.dotProduct(bufferX, offsetX, vectorY, i);
+	}
+
+	@Override
+	public float dotProduct(ByteBuffer bufferX, int offsetX, ByteBuffer bufferY, int offsetY, int length) {
+		ByteOrder orderX = bufferX.order();
+		ByteOrder orderY = bufferY.order();
+		int bound = SPECIES.loopBound(length);
+		FloatVector sum = FloatVector.zero(SPECIES);
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			FloatVector x = FloatVector.fromByteBuffer(SPECIES, bufferX, offsetX + i * Float.BYTES, orderX);
+			FloatVector y = FloatVector.fromByteBuffer(SPECIES, bufferY, offsetY + i * Float.BYTES, orderY);
+			sum = sum.add(x.mul(y));
+		}
+		return sum.reduceLanes(VectorOperators.ADD)
+				+ ScalarVectorOperations.dotProduct(bufferX, offsetX, bufferY, offsetY, i, length);
+	}
+
+	@Override
+	public int dotProduct(byte[] vectorX, int offsetX, byte[] vectorY, int offsetY, int length) {
+		int bound = BYTE_SPECIES.loopBound(length);
+		IntVector sum = IntVector.zero(INT_SPECIES);
+		int i = 0;
+		for (; i < bound; i += BYTE_SPECIES.length()) {
+			ByteVector x = ByteVector.fromArray(BYTE_SPECIES, vectorX, offsetX + i);
+			ByteVector y = ByteVector.fromArray(BYTE_SPECIES, vectorY, offsetY + i);
+			for (int part = 0; part < INT_PARTS; part++) {
+				IntVector xInts = (IntVector) x.convertShape(VectorOperators.B2I, INT_SPECIES, part);
+				IntVector yInts = (IntVector) y.convertShape(VectorOperators.B2I, INT_SPECIES, part);
+				sum = sum.add(xInts.mul(yInts));
+			}
+		}
+		return sum.reduceLanes(VectorOperators.ADD)
+				+ ScalarVectorOperations.dotProduct(vectorX, offsetX, vectorY, offsetY, i, length);
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Portable {@link VectorOperations} implementation. The loops use independent
+ * accumulators so the JIT compiler can pipeline the floating point additions.
+ *
+ * @since 1.0.0
+ */
+final class ScalarVectorOperations implements VectorOperations {
+
+	@Override
+	public float dotProduct(float[] vectorX, float[] vectorY) {
+		int length = vectorX.length;
+		int bound = length & ~3;
+		float sum0 = 0;
+		float sum1 = 0;
+		float sum2 = 0;
+		float sum3 = 0;
+		int i = 0;
+		for (; i < bound; i += 4) {
+			sum0 += vectorX[i] * vectorY[i];
+			sum1 += vectorX[i + 1] * vectorY[i + 1];
+			sum2 += vectorX[i + 2] * vectorY[i + 2];
+			sum3 += vectorX[i + 3] * vectorY[i + 3];
+		}
+		float result = (sum0 + sum1) + (sum2 + sum3);
+		for (; i < length; i++) {
+			result += vectorX[i] * vectorY[i];
+		}
+		return result;
+	}
+
+	@Override
+	public float squaredNorm(float[] vector) {
+		return dotProduct(vector, vector);
+	}
+
+	@Override
+	public float squaredEuclideanDistance(float[] vectorX, float[] vectorY) {
+		int length = vectorX.length;
+		int bound = length & ~3;
+		float sum0 = 0;
+		float sum1 = 0;
+		float sum2 = 0;
+		float sum3 = 0;
+		int i = 0;
+		for (; i < bound; i += 4) {
+			float diff0 = vectorX[i] - vectorY[i];
+			float diff1 = vectorX[i + 1] - vectorY[i + 1];
+			float diff2 = vectorX[i + 2] - vectorY[i + 2];
+			float diff3 = vectorX[i + 3] - vectorY[i + 3];
+			sum0 += diff0 * diff0;
+			sum1 += diff1 * diff1;
+			sum2 += diff2 * diff2;
+			sum3 += diff3 * diff3;
+		}
+		float result = (sum0 + sum1) + (sum2 + sum3);
+		for (; i < length; i++) {
+			float diff = vectorX[i] - vectorY[i];
+			result += diff * diff;
+		}
+		return result;
+	}
+
+	@Override
+	public float dotProduct(ByteBuffer bufferX, int offsetX, float[] vectorY) {
+		return dotProduct(bufferX, offsetX, vectorY, 0);
+	}
+
+	@Override
+	public float dotProduct(ByteBuffer bufferX, int offsetX, ByteBuffer bufferY, int offsetY, int length) {
+		return dotProduct(bufferX, offsetX, bufferY, offsetY, 0, length);
+	}
+
+	/**
+	 * Dot product of the floats of the buffer starting at the given byte offset and the
+	 * vector, from index {@code from} to the end of the vector.
+	 */
+	static float dotProduct(ByteBuffer bufferX, int offsetX, float[] vectorY, int from) {
+		int length = vectorY.length;
+		int bound = from + ((length - from) & ~3);
+		float sum0 = 0;
+		float sum1 = 0;
+		float sum2 = 0;
+		float sum3 = 0;
+		int i = from;
+		for (; i < bound; i += 4) {
+			int offset = offsetX + i * Float.BYTES;
+			sum0 += bufferX.getFloat(offset) * vectorY[i];
+			sum1 += bufferX.getFloat(offset + Float.BYTES) * vectorY[i + 1];
+			sum2 += bufferX.getFloat(offset + 2 * Float.BYTES) * vectorY[i + 2];
+			sum3 += bufferX.getFloat(offset + 3 * Float.BYTES) * vectorY[i + 3];
+		}
+		float result = (sum0 + sum1) + (sum2 + sum3);
+		for (; i < length; i++) {
+			result += bufferX.getFloat(offsetX + i * Float.BYTES) * vectorY[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Dot product of the floats of the buffers starting at the given byte offsets, from
+	 * index {@code from} to {@code length}.
+	 */
+	static float dotProduct(ByteBuffer bufferX, int offsetX, ByteBuffer bufferY, int offsetY, int from,
+			int length) {
+		int bound = from + ((length - from) & ~3);
+		float sum0 = 0;
+		float sum1 = 0;
+		float sum2 = 0;
+		float sum3 = 0;
+		int i = from;
+		for (; i < bound; i += 4) {
+			int x = offsetX + i * Float.BYTES;
+			int y = offsetY + i * Float.BYTES;
+			sum0 += bufferX.getFloat(x) * bufferY.getFloat(y);
+			sum1 += bufferX.getFloat(x + Float.BYTES) * bufferY.getFloat(y + Float.BYTES);
+			sum2 += bufferX.getFloat(x + 2 * Float.BYTES) * bufferY.getFloat(y + 2 * Float.BYTES);
+			sum3 += bufferX.getFloat(x + 3 * Float.BYTES) * bufferY.getFloat(y + 3 * Float.BYTES);
+		}
+		float result = (sum0 + sum1) + (sum2 + sum3);
+		for (; i < length; i++) {
+			result += bufferX.getFloat(offsetX + i * Float.BYTES) * bufferY.getFloat(offsetY + i * Float.BYTES);
+		}
+		return result;
+	}
+
+	@Override
+	public int dotProduct(byte[] vectorX, int offsetX, byte[] vectorY, int offsetY, int length) {
+		return dotProduct(vectorX, offsetX, vectorY, offsetY, 0, length);
+	}
+
+	/**
+	 * Dot product of the signed bytes of the vectors starting at the given offsets, from
+	 * {@code from} to {@code length}. The products of two bytes fit in a short and their
+	 * sum in an int for any realistic number of dimensions.
+	 */
+	static int dotProduct(byte[] vectorX, int offsetX, byte[] vectorY, int offsetY, int from, int length) {
+		int bound = from + ((length - from) & ~3);
+		int sum0 = 0;
+		int sum1 = 0;
+		int sum2 = 0;
+		int sum3 = 0;
+		int i = from;
+		for (; i < bound; i += 4) {
+			sum0 += vectorX[offsetX + i] * vectorY[offsetY + i];
+			sum1 += vectorX[offsetX + i + 1] * vectorY[offsetY + i + 1];
+			sum2 += vectorX[offsetX + i + 2] * vectorY[offsetY + i + 2];
+			sum3 += vectorX[offsetX + i + 3] * vectorY[offsetY + i + 3];
+		}
+		int result = sum0 + sum1 + sum2 + sum3;
+		for (; i < length; i++) {
+			result += vectorX[offsetX + i] * vectorY[offsetY + i];
+		}
+		return result;
+	}
+
+}
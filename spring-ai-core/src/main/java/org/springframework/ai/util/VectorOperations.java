@@ -0,0 +1,42 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Similarity kernels over {@code float[]} vectors, float vectors stored in (typically
+ * direct) {@link ByteBuffer byte buffers}, and quantized {@code byte[]} vectors used by
+ * {@link VectorUtils}. The callers validate the arguments, implementations only compute.
+ * Buffer offsets are in bytes and the floats are read in the byte order of the buffer.
+ *
+ * @since 1.0.0
+ */
+interface VectorOperations {
+
+	float dotProduct(float[] vectorX, float[] vectorY);
+
+	float squaredNorm(float[] vector);
+
+	float squaredEuclideanDistance(float[] vectorX, float[] vectorY);
+
+	float dotProduct(ByteBuffer bufferX, int offsetX, float[] vectorY);
+
+	float dotProduct(ByteBuffer bufferX, int offsetX, ByteBuffer bufferY, int offsetY, int length);
+
+	int dotProduct(byte[] vectorX, int offsetX, byte[] vectorY, int offsetY, int length);
+
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.util;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Utility methods for similarity computations over embedding vectors, such as the ones
+ * needed by in-memory vector stores, re-rankers or de-duplication.
+ * <p>
+ * When the incubating {@code jdk.incubator.vector} module is available (the JVM is
+ * started with {@code --add-modules jdk.incubator.vector}) the kernels are executed with
+ * SIMD instructions through the JDK Vector API. Otherwise portable scalar loops are used.
+ *
+ * @since 1.0.0
+ */
+public abstract class VectorUtils {
+
+	private static final Logger logger = LoggerFactory.getLogger(VectorUtils.class);
+
+	private static final String VECTOR_MODULE_NAME = "jdk.incubator.vector";
+
+	private static final String PANAMA_OPERATIONS_CLASS_NAME = "org.springframework.ai.util.PanamaVectorOperations";
+
+	private static final VectorOperations OPERATIONS = createOperations();
+
+	private VectorUtils() {
+	}
+
+	/**
+	 * Computes the dot product of two vectors.
+	 * @param vectorX the first vector
+	 * @param vectorY the second vector
+	 * @return the dot product
+	 */
+	public static float dotProduct(float[] vectorX, float[] vectorY) {
+		assertSameLength(vectorX, vectorY);
+		return OPERATIONS.dotProduct(vectorX, vectorY);
+	}
+
+	/**
+	 * Computes the squared Euclidean norm of a vector, i.e. its dot product with itself.
+	 * @param vector the vector
+	 * @return the squared norm
+	 */
+	public static float squaredNorm(float[] vector) {
+		Assert.notNull(vector, "Vector must not be null");
+		return OPERATIONS.squaredNorm(vector);
+	}
+
+	/**
+	 * Computes the Euclidean norm of a vector.
+	 * @param vector the vector
+	 * @return the norm
+	 */
+	public static double norm(float[] vector) {
+		return Math.sqrt(squaredNorm(vector));
+	}
+
+	/**
+	 * Computes the cosine similarity of two vectors.
+	 * @param vectorX the first vector
+	 * @param vectorY the second vector
+	 * @return the cosine similarity, between {@code -1} and {@code 1}
+	 * @throws IllegalArgumentException if one of the vectors has a zero norm
+	 */
+	public static double cosineSimilarity(float[] vectorX, float[] vectorY) {
+		assertSameLength(vectorX, vectorY);
+		float dotProduct = OPERATIONS.dotProduct(vectorX, vectorY);
+		float normX = OPERATIONS.squaredNorm(vectorX);
+		float normY = OPERATIONS.squaredNorm(vectorY);
+		if (normX == 0 || normY == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		return dotProduct / (Math.sqrt(normX) * Math.sqrt(normY));
+	}
+
+	/**
+	 * Computes the squared Euclidean distance of two vectors.
+	 * @param vectorX the first vector
+	 * @param vectorY the second vector
+	 * @return the squared distance
+	 */
+	public static float squaredEuclideanDistance(float[] vectorX, float[] vectorY) {
+		assertSameLength(vectorX, vectorY);
+		return OPERATIONS.squaredEuclideanDistance(vectorX, vectorY);
+	}
+
+	/**
+	 * Computes the Euclidean distance of two vectors.
+	 * @param vectorX the first vector
+	 * @param vectorY the second vector
+	 * @return the distance
+	 */
+	public static double euclideanDistance(float[] vectorX, float[] vectorY) {
+		return Math.sqrt(squaredEuclideanDistance(vectorX, vectorY));
+	}
+
+	/**
+	 * Computes the dot product of a vector stored in a byte buffer, such as a direct
+	 * buffer packing many embeddings, and a vector. The floats of the buffer are read in
+	 * its byte order.
+	 * @param buffer the buffer holding the first vector
+	 * @param offset the byte offset of the first vector in its buffer
+	 * @param vector the second vector
+	 * @return the dot product
+	 */
+	public static float dotProduct(ByteBuffer buffer, int offset, float[] vector) {
+		Assert.isTrue(buffer != null && vector != null, "Vectors must not be null");
+		Objects.checkFromIndexSize(offset, vector.length * Float.BYTES, buffer.limit());
+		return OPERATIONS.dotProduct(buffer, offset, vector);
+	}
+
+	/**
+	 * Computes the dot product of two vectors stored in byte buffers. The floats of each
+	 * buffer are read in its byte order.
+	 * @param bufferX the buffer holding the first vector
+	 * @param offsetX the byte offset of the first vector in its buffer
+	 * @param bufferY the buffer holding the second vector
+	 * @param offsetY the byte offset of the second vector in its buffer
+	 * @param length the number of floats of the vectors
+	 * @return the dot product
+	 */
+	public static float dotProduct(ByteBuffer bufferX, int offsetX, ByteBuffer bufferY, int offsetY, int length) {
+		Assert.isTrue(bufferX != null && bufferY != null, "Vectors must not be null");
+		Objects.checkFromIndexSize(offsetX, length * Float.BYTES, bufferX.limit());
+		Objects.checkFromIndexSize(offsetY, length * Float.BYTES, bufferY.limit());
+		return OPERATIONS.dotProduct(bufferX, offsetX, bufferY, offsetY, length);
+	}
+
+	/**
+	 * Computes the squared Euclidean norm of a vector stored in a byte buffer.
+	 * @param buffer the buffer holding the vector
+	 * @param offset the byte offset of the vector in its buffer
+	 * @param length the number of floats of the vector
+	 * @return the squared norm
+	 */
+	public static float squaredNorm(ByteBuffer buffer, int offset, int length) {
+		return dotProduct(buffer, offset, buffer, offset, length);
+	}
+
+	/**
+	 * Computes the dot product of two vectors of signed bytes, such as int8 quantized
+	 * embeddings.
+	 * @param vectorX the first vector
+	 * @param vectorY the second vector
+	 * @return the dot product
+	 */
+	public static int dotProduct(byte[] vectorX, byte[] vectorY) {
+		Assert.isTrue(vectorX != null && vectorY != null, "Vectors must not be null");
+		if (vectorX.length != vectorY.length) {
+			throw new IllegalArgumentException("Vectors lengths must be equal");
+		}
+		return OPERATIONS.dotProduct(vectorX, 0, vectorY, 0, vectorX.length);
+	}
+
+	/**
+	 * Computes the dot product of two vectors of signed bytes stored at the given offsets
+	 * of larger arrays, such as int8 quantized embeddings packed one after the other.
+	 * @param vectorX the array holding the first vector
+	 * @param offsetX the index of the first vector in its array
+	 * @param vectorY the array holding the second vector
+	 * @param offsetY the index of the second vector in its array
+	 * @param length the length of the vectors
+	 * @return the dot product
+	 */
+	public static int dotProduct(byte[] vectorX, int offsetX, byte[] vectorY, int offsetY, int length) {
+		Assert.isTrue(vectorX != null && vectorY != null, "Vectors must not be null");
+		Objects.checkFromIndexSize(offsetX, length, vectorX.length);
+		Objects.checkFromIndexSize(offsetY, length, vectorY.length);
+		return OPERATIONS.dotProduct(vectorX, offsetX, vectorY, offsetY, length);
+	}
+
+	/**
+	 * Computes the Hamming distance of two bit vectors packed into longs, such as binary
+	 * quantized embeddings, i.e. the number of bits that differ.
+	 * @param vectorX the first vector
+	 * @param vectorY the second vector
+	 * @return the number of differing bits
+	 */
+	public static int hammingDistance(long[] vectorX, long[] vectorY) {
+		Assert.isTrue(vectorX != null && vectorY != null, "Vectors must not be null");
+		if (vectorX.length != vectorY.length) {
+			throw new IllegalArgumentException("Vectors lengths must be equal");
+		}
+		return hammingDistance(vectorX, 0, vectorY, 0, vectorX.length);
+	}
+
+	/**
+	 * Computes the Hamming distance of two bit vectors stored at the given offsets of
+	 * larger arrays, such as binary quantized embeddings packed one after the other.
+	 * @param vectorX the array holding the first vector
+	 * @param offsetX the index of the first vector in its array
+	 * @param vectorY the array holding the second vector
+	 * @param offsetY the index of the second vector in its array
+	 * @param length the number of longs of the vectors
+	 * @return the number of differing bits
+	 */
+	public static int hammingDistance(long[] vectorX, int offsetX, long[] vectorY, int offsetY, int length) {
+		Assert.isTrue(vectorX != null && vectorY != null, "Vectors must not be null");
+		Objects.checkFromIndexSize(offsetX, length, vectorX.length);
+		Objects.checkFromIndexSize(offsetY, length, vectorY.length);
+		// Long.bitCount is intrinsified into a single population count instruction
+		int distance = 0;
+		for (int i = 0; i < length; i++) {
+			distance += Long.bitCount(vectorX[offsetX + i] ^ vectorY[offsetY + i]);
+		}
+		return distance;
+	}
+
+	/**
+	 * {@return whether the kernels are executed through the JDK Vector API}
+	 */
+	public static boolean isVectorApiEnabled() {
+		return !(OPERATIONS instanceof ScalarVectorOperations);
+	}
+
+	private static void assertSameLength(float[] vectorX, float[] vectorY) {
+		Assert.isTrue(vectorX != null && vectorY != null, "Vectors must not be null");
+		if (vectorX.length != vectorY.length) {
+			throw new IllegalArgumentException("Vectors lengths must be equal");
+		}
+	}
+
+	private static VectorOperations createOperations() {
+		if (ModuleLayer.boot().findModule(VECTOR_MODULE_NAME).isPresent()) {
+			try {
+				Class<?> type = ClassUtils.forName(PANAMA_OPERATIONS_CLASS_NAME, VectorUtils.class.getClassLoader());
+				if (Boolean.TRUE.equals(type.getDeclaredMethod("isSupported").invoke(null))) {
+					VectorOperations operations = (VectorOperations) type.getDeclaredConstructor().newInstance();
+					logger.debug("Using the JDK Vector API for vector operations");
+					return operations;
+				}
+				logger.debug("JDK Vector API not supported on this JVM, falling back to scalar vector operations");
+			}
+			catch (Throwable ex) {
+				logger.debug("JDK Vector API not usable, falling back to scalar vector operations", ex);
+			}
+		}
+		return new ScalarVectorOperations();
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.List;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.document.Document;
+import org.springframework.util.Assert;
+
+/**
+ * Non-blocking companion of the {@link VectorStore} interface, for reactive callers such
+ * as the streaming chat path. Stores whose client offers an asynchronous API implement
+ * it natively; any other store can be adapted with {@link #of(VectorStore, Scheduler)},
+ * which runs the blocking operations on a scheduler.
+ *
+ * Embedding models are blocking, so even native implementations compute the embeddings
+ * on a scheduler; only the database round trips are non-blocking.
+ *
+ * @since 1.0.0
+ */
+public interface AsyncVectorStore {
+
+	/**
+	 * Adds the documents to the vector store.
+	 * @param documents the documents to store
+	 * @return completes once the documents are stored
+	 */
+	Mono<Void> addAsync(List<Document> documents);
+
+	/**
+	 * Deletes documents from the vector store.
+	 * @param idList the ids of the documents to delete
+	 * @return whether the documents were deleted
+	 */
+	Mono<Boolean> deleteAsync(List<String> idList);
+
+	/**
+	 * Retrieves the documents most similar to the query of the request, see
+	 * {@link VectorStore#similaritySearch(SearchRequest)}.
+	 * @param request the search request
+	 * @return the matching documents
+	 */
+	Mono<List<Document>> similaritySearchAsync(SearchRequest request);
+
+	/**
+	 * Retrieves the documents most similar to the query, using the default
+	 * {@link SearchRequest} search criteria.
+	 * @param query the query text
+	 * @return the matching documents
+	 */
+	default Mono<List<Document>> similaritySearchAsync(String query) {
+		return similaritySearchAsync(SearchRequest.query(query));
+	}
+
+	/**
+	 * Returns the vector store itself if it is an {@link AsyncVectorStore}, or an adapter
+	 * running its blocking operations on {@link Schedulers#boundedElastic()}.
+	 * @param vectorStore the vector store
+	 * @return the non-blocking vector store
+	 */
+	static AsyncVectorStore of(VectorStore vectorStore) {
+		return of(vectorStore, Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Returns the vector store itself if it is an {@link AsyncVectorStore}, or an adapter
+	 * running its blocking operations on the given scheduler.
+	 * @param vectorStore the vector store
+	 * @param scheduler the scheduler for blocking operations
+	 * @return the non-blocking vector store
+	 */
+	static AsyncVectorStore of(VectorStore vectorStore, Scheduler scheduler) {
+		Assert.notNull(vectorStore, "vectorStore must not be null");
+		Assert.notNull(scheduler, "scheduler must not be null");
+		if (vectorStore instanceof AsyncVectorStore asyncVectorStore) {
+			return asyncVectorStore;
+		}
+		return new AsyncVectorStore() {
+
+			@Override
+			public Mono<Void> addAsync(List<Document> documents) {
+				return Mono.<Void>fromRunnable(() -> vectorStore.add(documents)).subscribeOn(scheduler);
+			}
+
+			@Override
+			public Mono<Boolean> deleteAsync(List<String> idList) {
+				return Mono.fromCallable(() -> vectorStore.delete(idList).orElse(false)).subscribeOn(scheduler);
+			}
+
+			@Override
+			public Mono<List<Document>> similaritySearchAsync(SearchRequest request) {
+				return Mono.fromCallable(() -> vectorStore.similaritySearch(request)).subscribeOn(scheduler);
+			}
+
+		};
+	}
+
+}
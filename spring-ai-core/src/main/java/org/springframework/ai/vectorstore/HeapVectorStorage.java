@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import org.springframework.ai.util.VectorUtils;
+
+/**
+ * {@link VectorStorage} keeping a private copy of every embedding on the heap, so that
+ * the scores and norms cannot be invalidated by callers modifying the {@code float[]}
+ * embeddings of their documents after adding them.
+ *
+ * @since 1.0.0
+ */
+final class HeapVectorStorage extends VectorStorage {
+
+	private float[][] vectors = new float[0][];
+
+	@Override
+	float[] get(int slot) {
+		return this.vectors[slot].clone();
+	}
+
+	@Override
+	float dotProduct(int slot, float[] query) {
+		return VectorUtils.dotProduct(this.vectors[slot], query);
+	}
+
+	@Override
+	float dotProduct(int slot, int otherSlot) {
+		return VectorUtils.dotProduct(this.vectors[slot], this.vectors[otherSlot]);
+	}
+
+	@Override
+	protected float squaredNorm(int slot) {
+		return VectorUtils.squaredNorm(this.vectors[slot]);
+	}
+
+	@Override
+	protected void initialize(int dimensions) {
+	}
+
+	@Override
+	protected void ensureCapacity(int capacity) {
+		if (capacity > this.vectors.length) {
+			float[][] grown = new float[Math.max(capacity, Math.max(16, this.vectors.length * 2))][];
+			System.arraycopy(this.vectors, 0, grown, 0, this.vectors.length);
+			this.vectors = grown;
+		}
+	}
+
+	@Override
+	protected void write(int slot, float[] embedding) {
+		this.vectors[slot] = embedding.clone();
+	}
+
+	@Override
+	protected void free(int slot) {
+		this.vectors[slot] = null;
+	}
+
+	@Override
+	protected void release() {
+		this.vectors = new float[0][];
+	}
+
+}
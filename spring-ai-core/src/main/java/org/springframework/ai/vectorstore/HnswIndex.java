@@ -0,0 +1,433 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+import org.springframework.ai.util.VectorUtils;
+import org.springframework.util.Assert;
+
+/**
+ * In-memory HNSW (Hierarchical Navigable Small World) graph index used by the
+ * {@link SimpleVectorStore} to answer approximate nearest neighbour queries with cosine
+ * similarity. Nodes do not copy the embeddings: they are scored through the slots of the
+ * {@link VectorStorage} holding them, using the norms it keeps.
+ *
+ * The index is maintained incrementally: {@link #add(String, float[])} links a new node
+ * into every layer up to its randomly drawn level and {@link #remove(String)} unlinks a
+ * node and reconnects the nodes that linked to it. Links are directed, so every node also
+ * tracks its inbound links, and a removed node is never left referenced by the graph.
+ *
+ * Like the storage it reads, this class is not thread-safe: callers guard writes against
+ * concurrent searches with the same lock as the storage.
+ *
+ * @since 1.0.0
+ * @see <a href="https://arxiv.org/abs/1603.09320">Efficient and robust approximate
+ * nearest neighbor search using Hierarchical Navigable Small World graphs</a>
+ */
+final class HnswIndex {
+
+	private static final Comparator<Candidate> BY_SIMILARITY = Comparator.comparingDouble(Candidate::similarity);
+
+	private final int m;
+
+	private final int maxM0;
+
+	private final int efConstruction;
+
+	private final int efSearch;
+
+	private final double levelMultiplier;
+
+	private final VectorStorage storage;
+
+	private final Map<String, Node> nodes = new HashMap<>();
+
+	private final Random random = new Random(42);
+
+	private Node entryPoint;
+
+	private int nextOrdinal;
+
+	HnswIndex(VectorStorage storage, int m, int efConstruction, int efSearch) {
+		Assert.notNull(storage, "storage must not be null");
+		Assert.isTrue(m >= 2, "m must be at least 2");
+		Assert.isTrue(efConstruction > 0, "efConstruction must be greater than 0");
+		Assert.isTrue(efSearch > 0, "efSearch must be greater than 0");
+		this.storage = storage;
+		this.m = m;
+		this.maxM0 = 2 * m;
+		this.efConstruction = Math.max(efConstruction, m);
+		this.efSearch = efSearch;
+		this.levelMultiplier = 1 / Math.log(m);
+	}
+
+	int size() {
+		return this.nodes.size();
+	}
+
+	/**
+	 * Inserts or replaces the node for the given id, whose embedding must already be
+	 * held by the storage.
+	 * @param id the document id
+	 * @param vector the embedding of the document, only used to find its neighbours
+	 */
+	void add(String id, float[] vector) {
+		Assert.notNull(id, "id must not be null");
+		Assert.notNull(vector, "vector must not be null");
+		int slot = this.storage.slot(id);
+		Assert.isTrue(slot >= 0, "The embedding of the document must be stored");
+
+		remove(id);
+
+		Node node = new Node(this.nextOrdinal++, id, slot, randomLevel());
+		this.nodes.put(id, node);
+
+		if (this.entryPoint == null) {
+			this.entryPoint = node;
+			return;
+		}
+
+		float[] normalized = normalize(vector);
+		Node current = this.entryPoint;
+		for (int level = this.entryPoint.level; level > node.level; level--) {
+			current = greedyClosest(normalized, current, level);
+		}
+
+		List<Node> entryPoints = List.of(current);
+		for (int level = Math.min(node.level, this.entryPoint.level); level >= 0; level--) {
+			List<Candidate> candidates = searchLayer(normalized, entryPoints, this.efConstruction, level);
+			List<Node> selected = selectNeighbors(candidates, this.m);
+			setLinks(node, level, selected);
+			for (Node neighbor : selected) {
+				link(neighbor, node, level);
+				if (neighbor.neighbors.get(level).size() > maxConnections(level)) {
+					shrink(neighbor, level);
+				}
+			}
+			entryPoints = candidates.stream().map(Candidate::node).toList();
+		}
+
+		if (node.level > this.entryPoint.level) {
+			this.entryPoint = node;
+		}
+	}
+
+	/**
+	 * Returns the approximate {@code topK} nearest neighbours of the query, ordered by
+	 * descending cosine similarity.
+	 * @param query the query embedding
+	 * @param topK the number of neighbours to return
+	 * @return the matching ids and their similarity scores
+	 */
+	List<SimpleVectorStore.Similarity> search(float[] query, int topK) {
+		Assert.notNull(query, "query must not be null");
+
+		if (this.entryPoint == null || topK <= 0) {
+			return List.of();
+		}
+		float[] normalizedQuery = normalize(query);
+		Node current = this.entryPoint;
+		for (int level = this.entryPoint.level; level > 0; level--) {
+			current = greedyClosest(normalizedQuery, current, level);
+		}
+		List<Candidate> candidates = searchLayer(normalizedQuery, List.of(current), Math.max(this.efSearch, topK),
+				0);
+
+		List<SimpleVectorStore.Similarity> results = new ArrayList<>(Math.min(topK, candidates.size()));
+		for (int i = 0; i < candidates.size() && i < topK; i++) {
+			Candidate candidate = candidates.get(i);
+			results.add(new SimpleVectorStore.Similarity(candidate.node().id, candidate.similarity()));
+		}
+		return results;
+	}
+
+	/**
+	 * Removes the node for the given id, if present. The embedding of the removed node is
+	 * never read, so it may already be gone from the storage.
+	 * @param id the document id
+	 */
+	void remove(String id) {
+		Node node = this.nodes.remove(id);
+		if (node == null) {
+			return;
+		}
+		if (this.entryPoint == node) {
+			this.entryPoint = replacementEntryPoint(node);
+		}
+
+		for (int level = 0; level <= node.level; level++) {
+			List<Node> formerNeighbors = node.neighbors.get(level);
+			for (Node neighbor : formerNeighbors) {
+				neighbor.inbound.get(level).remove(node);
+			}
+			// Reconnect the nodes linking to the removed one with the best of its
+			// neighbours, so the graph stays navigable.
+			for (Node source : new ArrayList<>(node.inbound.get(level))) {
+				List<Node> links = source.neighbors.get(level);
+				links.remove(node);
+				Set<Node> pool = new LinkedHashSet<>(links);
+				for (Node candidate : formerNeighbors) {
+					if (candidate != source) {
+						pool.add(candidate);
+					}
+				}
+				List<Candidate> candidates = new ArrayList<>(pool.size());
+				for (Node candidate : pool) {
+					candidates.add(new Candidate(candidate, similarity(source, candidate)));
+				}
+				candidates.sort(BY_SIMILARITY.reversed());
+				setLinks(source, level, selectNeighbors(candidates, maxConnections(level)));
+			}
+			formerNeighbors.clear();
+			node.inbound.get(level).clear();
+		}
+	}
+
+	/**
+	 * Picks the next entry point among the neighbours of the removed one on its highest
+	 * layer having any, which are on the top layer of the graph unless it was alone there.
+	 */
+	private Node replacementEntryPoint(Node removed) {
+		for (int level = removed.level; level >= 0; level--) {
+			Node replacement = null;
+			for (Node candidate : removed.neighbors.get(level)) {
+				if (replacement == null || candidate.level > replacement.level) {
+					replacement = candidate;
+				}
+			}
+			for (Node candidate : removed.inbound.get(level)) {
+				if (replacement == null || candidate.level > replacement.level) {
+					replacement = candidate;
+				}
+			}
+			if (replacement != null) {
+				return replacement;
+			}
+		}
+		// Only reached for an isolated node
+		return this.nodes.isEmpty() ? null : this.nodes.values().iterator().next();
+	}
+
+	private Node greedyClosest(float[] query, Node start, int level) {
+		Node current = start;
+		double currentSimilarity = similarity(query, current);
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (Node neighbor : current.neighbors.get(level)) {
+				double similarity = similarity(query, neighbor);
+				if (similarity > currentSimilarity) {
+					currentSimilarity = similarity;
+					current = neighbor;
+					changed = true;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Best-first search of a single layer.
+	 * @return up to {@code ef} candidates, ordered by descending similarity
+	 */
+	private List<Candidate> searchLayer(float[] query, List<Node> entryPoints, int ef, int level) {
+		BitSet visited = new BitSet(this.nextOrdinal);
+		PriorityQueue<Candidate> toVisit = new PriorityQueue<>(BY_SIMILARITY.reversed());
+		PriorityQueue<Candidate> found = new PriorityQueue<>(BY_SIMILARITY);
+
+		for (Node entry : entryPoints) {
+			if (visited.get(entry.ordinal)) {
+				continue;
+			}
+			visited.set(entry.ordinal);
+			Candidate candidate = new Candidate(entry, similarity(query, entry));
+			toVisit.add(candidate);
+			found.add(candidate);
+			if (found.size() > ef) {
+				found.poll();
+			}
+		}
+
+		while (!toVisit.isEmpty()) {
+			Candidate closest = toVisit.poll();
+			if (found.size() >= ef && closest.similarity() < found.peek().similarity()) {
+				break;
+			}
+			for (Node neighbor : closest.node().neighbors.get(level)) {
+				if (visited.get(neighbor.ordinal)) {
+					continue;
+				}
+				visited.set(neighbor.ordinal);
+				double similarity = similarity(query, neighbor);
+				if (found.size() < ef || similarity > found.peek().similarity()) {
+					Candidate candidate = new Candidate(neighbor, similarity);
+					toVisit.add(candidate);
+					found.add(candidate);
+					if (found.size() > ef) {
+						found.poll();
+					}
+				}
+			}
+		}
+
+		List<Candidate> result = new ArrayList<>(found);
+		result.sort(BY_SIMILARITY.reversed());
+		return result;
+	}
+
+	/**
+	 * Neighbour selection heuristic from the HNSW paper: a candidate is only kept if it
+	 * is closer to the base node than to any already selected neighbour, which keeps
+	 * links spread out across clusters. Remaining slots are filled with the closest
+	 * discarded candidates.
+	 * @param candidates candidates ordered by descending similarity to the base node
+	 */
+	private List<Node> selectNeighbors(List<Candidate> candidates, int max) {
+		List<Node> selected = new ArrayList<>(Math.min(max, candidates.size()));
+		List<Node> discarded = new ArrayList<>();
+		for (Candidate candidate : candidates) {
+			if (selected.size() >= max) {
+				break;
+			}
+			boolean diverse = true;
+			for (Node other : selected) {
+				if (similarity(candidate.node(), other) > candidate.similarity()) {
+					diverse = false;
+					break;
+				}
+			}
+			if (diverse) {
+				selected.add(candidate.node());
+			}
+			else {
+				discarded.add(candidate.node());
+			}
+		}
+		for (int i = 0; i < discarded.size() && selected.size() < max; i++) {
+			selected.add(discarded.get(i));
+		}
+		return selected;
+	}
+
+	private void shrink(Node node, int level) {
+		List<Node> links = node.neighbors.get(level);
+		List<Candidate> candidates = new ArrayList<>(links.size());
+		for (Node link : links) {
+			candidates.add(new Candidate(link, similarity(node, link)));
+		}
+		candidates.sort(BY_SIMILARITY.reversed());
+		setLinks(node, level, selectNeighbors(candidates, maxConnections(level)));
+	}
+
+	private static void link(Node from, Node to, int level) {
+		from.neighbors.get(level).add(to);
+		to.inbound.get(level).add(from);
+	}
+
+	private static void setLinks(Node node, int level, List<Node> links) {
+		List<Node> current = node.neighbors.get(level);
+		for (Node former : current) {
+			former.inbound.get(level).remove(node);
+		}
+		current.clear();
+		for (Node link : links) {
+			link(node, link, level);
+		}
+	}
+
+	private int maxConnections(int level) {
+		return (level == 0) ? this.maxM0 : this.m;
+	}
+
+	private int randomLevel() {
+		return (int) Math.floor(-Math.log(1.0 - this.random.nextDouble()) * this.levelMultiplier);
+	}
+
+	private static float[] normalize(float[] vector) {
+		double sum = VectorUtils.squaredNorm(vector);
+		float[] normalized = new float[vector.length];
+		if (sum == 0) {
+			return normalized;
+		}
+		float inverseNorm = (float) (1 / Math.sqrt(sum));
+		for (int i = 0; i < vector.length; i++) {
+			normalized[i] = vector[i] * inverseNorm;
+		}
+		return normalized;
+	}
+
+	/**
+	 * {@return the cosine similarity of the normalized query and the node}
+	 */
+	private double similarity(float[] normalizedQuery, Node node) {
+		float norm = this.storage.norm(node.slot);
+		return (norm != 0) ? this.storage.dotProduct(node.slot, normalizedQuery) / norm : 0;
+	}
+
+	/**
+	 * {@return the cosine similarity of two nodes}
+	 */
+	private double similarity(Node node, Node other) {
+		float norms = this.storage.norm(node.slot) * this.storage.norm(other.slot);
+		return (norms != 0) ? this.storage.dotProduct(node.slot, other.slot) / norms : 0;
+	}
+
+	private static final class Node {
+
+		private final int ordinal;
+
+		private final String id;
+
+		// The slot of the embedding in the storage
+		private final int slot;
+
+		private final int level;
+
+		private final List<List<Node>> neighbors;
+
+		// The nodes linking to this one, per level
+		private final List<List<Node>> inbound;
+
+		private Node(int ordinal, String id, int slot, int level) {
+			this.ordinal = ordinal;
+			this.id = id;
+			this.slot = slot;
+			this.level = level;
+			this.neighbors = new ArrayList<>(level + 1);
+			this.inbound = new ArrayList<>(level + 1);
+			for (int i = 0; i <= level; i++) {
+				this.neighbors.add(new ArrayList<>());
+				this.inbound.add(new ArrayList<>());
+			}
+		}
+
+	}
+
+	private record Candidate(Node node, double similarity) {
+	}
+
+}
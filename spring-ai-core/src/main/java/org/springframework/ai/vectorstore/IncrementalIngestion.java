@@ -0,0 +1,241 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.id.ContentHashIdGenerator;
+import org.springframework.ai.document.id.IdGenerator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Re-ingests the chunks of named sources, such as files or URLs, into a
+ * {@link VectorStore} without embedding the chunks that did not change.
+ *
+ * Chunks get content-derived ids, computed by an {@link IdGenerator} from the source
+ * name, the chunk content and its metadata. A manifest records the ids of the chunks
+ * written for each source. When a source is ingested again, only the chunks whose ids are
+ * not in the manifest are added to the vector store, and thus embedded, while the chunks
+ * that are no longer part of the source are deleted with {@link VectorStore#delete}.
+ *
+ * The manifest is kept in memory and, if a manifest file is configured, saved to it after
+ * each ingestion. It is only updated once the vector store was updated, so that an
+ * interrupted ingestion is simply repeated on the next run. Different sources may be
+ * ingested concurrently, but a given source must not be ingested by several threads at
+ * once.
+ *
+ * @since 1.0.0
+ */
+public final class IncrementalIngestion {
+
+	private static final Logger logger = LoggerFactory.getLogger(IncrementalIngestion.class);
+
+	private static final TypeReference<Map<String, List<String>>> MANIFEST_TYPE = new TypeReference<>() {
+	};
+
+	private final VectorStore vectorStore;
+
+	private final IdGenerator idGenerator;
+
+	@Nullable
+	private final File manifestFile;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+	private final Map<String, Set<String>> idsBySource = new ConcurrentHashMap<>();
+
+	private IncrementalIngestion(Builder builder) {
+		this.vectorStore = builder.vectorStore;
+		this.idGenerator = builder.idGenerator;
+		this.manifestFile = builder.manifestFile;
+		if (this.manifestFile != null && this.manifestFile.exists()) {
+			try {
+				this.objectMapper.readValue(this.manifestFile, MANIFEST_TYPE)
+					.forEach((source, ids) -> this.idsBySource.put(source, new LinkedHashSet<>(ids)));
+			}
+			catch (IOException ex) {
+				throw new RuntimeException("Failed to load ingestion manifest: " + this.manifestFile, ex);
+			}
+		}
+	}
+
+	public static Builder builder(VectorStore vectorStore) {
+		return new Builder(vectorStore);
+	}
+
+	/**
+	 * Brings the chunks of the source in the vector store in line with the given chunks.
+	 * The given documents are not modified; the documents added to the vector store are
+	 * copies with content-derived ids.
+	 * @param source the name of the source the chunks were read from
+	 * @param chunks all the current chunks of the source
+	 * @return what was changed in the vector store
+	 */
+	public Result ingest(String source, List<Document> chunks) {
+		Assert.hasText(source, "source must not be empty");
+		Assert.notNull(chunks, "chunks must not be null");
+
+		Set<String> previousIds = this.idsBySource.getOrDefault(source, Set.of());
+		Map<String, Document> chunksById = new LinkedHashMap<>();
+		for (Document chunk : chunks) {
+			// Sorted, so that the id does not depend on the iteration order of the metadata
+			String id = this.idGenerator.generateId(source, chunk.getContent(), new TreeMap<>(chunk.getMetadata()));
+			chunksById.putIfAbsent(id, chunk);
+		}
+
+		List<Document> added = new ArrayList<>();
+		chunksById.forEach((id, chunk) -> {
+			if (!previousIds.contains(id)) {
+				Document document = new Document(id, chunk.getContent(), chunk.getMedia(), chunk.getMetadata());
+				document.setContentFormatter(chunk.getContentFormatter());
+				added.add(document);
+			}
+		});
+		List<String> deleted = previousIds.stream().filter(id -> !chunksById.containsKey(id)).toList();
+
+		if (!added.isEmpty()) {
+			this.vectorStore.add(added);
+		}
+		if (!deleted.isEmpty()) {
+			this.vectorStore.delete(deleted);
+		}
+		if (chunksById.isEmpty()) {
+			this.idsBySource.remove(source);
+		}
+		else {
+			this.idsBySource.put(source, new LinkedHashSet<>(chunksById.keySet()));
+		}
+		if (!added.isEmpty() || !deleted.isEmpty()) {
+			saveManifest();
+		}
+
+		Result result = new Result(added.size(), chunksById.size() - added.size(), deleted.size());
+		logger.debug("Ingested source {}: {}", source, result);
+		return result;
+	}
+
+	/**
+	 * Deletes all the chunks of the source from the vector store.
+	 * @param source the name of the source
+	 * @return what was changed in the vector store
+	 */
+	public Result remove(String source) {
+		return ingest(source, List.of());
+	}
+
+	/**
+	 * @return the names of the sources with chunks in the vector store
+	 */
+	public Set<String> getSources() {
+		return Set.copyOf(this.idsBySource.keySet());
+	}
+
+	private synchronized void saveManifest() {
+		if (this.manifestFile == null) {
+			return;
+		}
+		Path target = this.manifestFile.toPath().toAbsolutePath();
+		Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+		try {
+			this.objectMapper.writeValue(temporary.toFile(), new TreeMap<>(this.idsBySource));
+			try {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException ex) {
+			throw new RuntimeException("Failed to save ingestion manifest: " + this.manifestFile, ex);
+		}
+	}
+
+	/**
+	 * The changes made to the vector store by an ingestion.
+	 *
+	 * @param added the number of new chunks added, and embedded
+	 * @param unchanged the number of chunks already in the vector store
+	 * @param deleted the number of chunks deleted
+	 */
+	public record Result(int added, int unchanged, int deleted) {
+	}
+
+	public static final class Builder {
+
+		private final VectorStore vectorStore;
+
+		private IdGenerator idGenerator = new ContentHashIdGenerator();
+
+		@Nullable
+		private File manifestFile;
+
+		private Builder(VectorStore vectorStore) {
+			Assert.notNull(vectorStore, "vectorStore must not be null");
+			this.vectorStore = vectorStore;
+		}
+
+		/**
+		 * @param idGenerator the generator of the chunk ids, it must derive them from the
+		 * source name, the content and the metadata of the chunks. Defaults to
+		 * {@link ContentHashIdGenerator}.
+		 * @return this builder
+		 */
+		public Builder withIdGenerator(IdGenerator idGenerator) {
+			Assert.notNull(idGenerator, "idGenerator must not be null");
+			this.idGenerator = idGenerator;
+			return this;
+		}
+
+		/**
+		 * @param manifestFile the file the manifest is loaded from, if it exists, and
+		 * saved to after each ingestion. The manifest is only kept in memory by default.
+		 * @return this builder
+		 */
+		public Builder withManifestFile(File manifestFile) {
+			Assert.notNull(manifestFile, "manifestFile must not be null");
+			this.manifestFile = manifestFile;
+			return this;
+		}
+
+		public IncrementalIngestion build() {
+			return new IncrementalIngestion(this);
+		}
+
+	}
+
+}
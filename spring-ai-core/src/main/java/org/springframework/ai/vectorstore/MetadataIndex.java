@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionEvaluator;
+import org.springframework.lang.Nullable;
+
+/**
+ * Inverted index from metadata values to the {@link VectorStorage} slots of the documents
+ * holding them, maintained for a fixed set of metadata keys. It narrows down the slots a
+ * filtered search has to look at; the filter itself is still evaluated on every
+ * candidate.
+ *
+ * Not thread-safe, callers are expected to guard writes against concurrent reads.
+ *
+ * @since 1.0.0
+ */
+final class MetadataIndex {
+
+	private final Map<String, Map<Object, BitSet>> slotsByValueByKey = new HashMap<>();
+
+	MetadataIndex(Set<String> keys) {
+		for (String key : keys) {
+			this.slotsByValueByKey.put(key, new HashMap<>());
+		}
+	}
+
+	void add(int slot, Map<String, Object> metadata) {
+		this.slotsByValueByKey.forEach((key, slotsByValue) -> {
+			Object value = FilterExpressionEvaluator.normalize(metadata.get(key));
+			if (value != null) {
+				slotsByValue.computeIfAbsent(value, v -> new BitSet()).set(slot);
+			}
+		});
+	}
+
+	void remove(int slot, Map<String, Object> metadata) {
+		this.slotsByValueByKey.forEach((key, slotsByValue) -> {
+			Object value = FilterExpressionEvaluator.normalize(metadata.get(key));
+			BitSet slots = (value != null) ? slotsByValue.get(value) : null;
+			if (slots != null) {
+				slots.clear(slot);
+				if (slots.isEmpty()) {
+					slotsByValue.remove(value);
+				}
+			}
+		});
+	}
+
+	void clear() {
+		this.slotsByValueByKey.values().forEach(Map::clear);
+	}
+
+	/**
+	 * Returns the slots that may match the filter expression, based on the equality and
+	 * {@code IN} conditions on indexed keys. Every matching slot is part of the result,
+	 * but not every slot of the result necessarily matches.
+	 * @param operand the filter expression
+	 * @return a new set of candidate slots or {@code null} if the expression cannot be
+	 * narrowed down by the index
+	 */
+	@Nullable
+	BitSet candidates(Filter.Operand operand) {
+		if (operand instanceof Filter.Group group) {
+			return candidates(group.content());
+		}
+		if (!(operand instanceof Filter.Expression expression)) {
+			return null;
+		}
+		switch (expression.type()) {
+			case AND: {
+				BitSet left = candidates(expression.left());
+				BitSet right = candidates(expression.right());
+				if (left == null || right == null) {
+					return (left != null) ? left : right;
+				}
+				left.and(right);
+				return left;
+			}
+			case OR: {
+				BitSet left = candidates(expression.left());
+				BitSet right = (left != null) ? candidates(expression.right()) : null;
+				if (left == null || right == null) {
+					return null;
+				}
+				left.or(right);
+				return left;
+			}
+			case EQ:
+			case IN:
+				return slots(expression);
+			default:
+				return null;
+		}
+	}
+
+	@Nullable
+	private BitSet slots(Filter.Expression expression) {
+		Map<Object, BitSet> slotsByValue = (expression.left() instanceof Filter.Key key)
+				? this.slotsByValueByKey.get(FilterExpressionEvaluator.metadataKey(key)) : null;
+		if (slotsByValue == null || !(expression.right() instanceof Filter.Value operand) || operand.value() == null) {
+			return null;
+		}
+		Collection<?> values = (expression.type() == Filter.ExpressionType.IN
+				&& operand.value() instanceof Collection<?> collection) ? collection : List.of(operand.value());
+		BitSet result = new BitSet();
+		for (Object value : values) {
+			BitSet slots = slotsByValue.get(FilterExpressionEvaluator.normalize(value));
+			if (slots != null) {
+				result.or(slots);
+			}
+		}
+		return result;
+	}
+
+}
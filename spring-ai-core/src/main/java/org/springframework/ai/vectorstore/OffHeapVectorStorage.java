@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.ai.util.VectorUtils;
+
+/**
+ * {@link VectorStorage} that packs all embeddings into contiguous direct (off-heap)
+ * buffers. Embeddings are laid out slot after slot so a scan streams linearly through
+ * memory, and the Java heap only holds the buffer references instead of one
+ * {@code float[]} per document. The similarity kernels read the buffers directly, with
+ * SIMD instructions when the JDK Vector API is enabled, see {@link VectorUtils}.
+ *
+ * The storage grows in fixed size chunks so that it is never copied and is not bound by
+ * the 2GB limit of a single {@link ByteBuffer}. Chunks can also be memory mapped from a
+ * snapshot file, see {@link #map(FileChannel, long, int, int)}.
+ *
+ * @since 1.0.0
+ */
+final class OffHeapVectorStorage extends VectorStorage {
+
+	static final int DEFAULT_CHUNK_SIZE_BYTES = 16 * 1024 * 1024;
+
+	private final int chunkSizeBytes;
+
+	private final List<ByteBuffer> chunks = new ArrayList<>();
+
+	private int dimensions;
+
+	private int slotsPerChunk;
+
+	OffHeapVectorStorage() {
+		this(DEFAULT_CHUNK_SIZE_BYTES);
+	}
+
+	OffHeapVectorStorage(int chunkSizeBytes) {
+		this.chunkSizeBytes = chunkSizeBytes;
+	}
+
+	/**
+	 * Loads {@code count} little-endian embeddings that are laid out contiguously in a
+	 * file starting at {@code position}. Whole chunks are mapped read-only instead of
+	 * being read, so they are paged in lazily by the operating system; only the trailing
+	 * partial chunk is copied into a direct buffer. A mapped chunk is copied the first
+	 * time one of its slots is written. The storage must be empty and the loaded slots
+	 * must be assigned with {@link #attach(int, String)}.
+	 * @param channel the channel of the snapshot file
+	 * @param position the file position of the first embedding
+	 * @param dimensions the dimensions of the embeddings
+	 * @param count the number of embeddings
+	 * @throws IOException if the file cannot be mapped or read
+	 */
+	void map(FileChannel channel, long position, int dimensions, int count) throws IOException {
+		initialize(dimensions);
+		long chunkBytes = (long) this.slotsPerChunk * dimensions * Float.BYTES;
+		int fullChunks = count / this.slotsPerChunk;
+		for (int i = 0; i < fullChunks; i++) {
+			this.chunks.add(channel.map(MapMode.READ_ONLY, position + i * chunkBytes, chunkBytes)
+				.order(ByteOrder.LITTLE_ENDIAN));
+		}
+		int remainder = count - fullChunks * this.slotsPerChunk;
+		if (remainder > 0) {
+			ByteBuffer chunk = ByteBuffer.allocateDirect((int) chunkBytes).order(ByteOrder.LITTLE_ENDIAN);
+			chunk.limit(remainder * dimensions * Float.BYTES);
+			long offset = position + fullChunks * chunkBytes;
+			while (chunk.hasRemaining()) {
+				int read = channel.read(chunk, offset);
+				if (read < 0) {
+					throw new EOFException("Unexpected end of snapshot file");
+				}
+				offset += read;
+			}
+			chunk.clear();
+			this.chunks.add(chunk);
+		}
+		reserve(dimensions, count);
+	}
+
+	@Override
+	float[] get(int slot) {
+		float[] embedding = new float[this.dimensions];
+		chunk(slot).asFloatBuffer().get(offset(slot) / Float.BYTES, embedding);
+		return embedding;
+	}
+
+	@Override
+	float dotProduct(int slot, float[] query) {
+		return VectorUtils.dotProduct(chunk(slot), offset(slot), query);
+	}
+
+	@Override
+	float dotProduct(int slot, int otherSlot) {
+		return VectorUtils.dotProduct(chunk(slot), offset(slot), chunk(otherSlot), offset(otherSlot), this.dimensions);
+	}
+
+	@Override
+	protected float squaredNorm(int slot) {
+		return VectorUtils.squaredNorm(chunk(slot), offset(slot), this.dimensions);
+	}
+
+	@Override
+	protected void initialize(int dimensions) {
+		this.dimensions = dimensions;
+		this.slotsPerChunk = Math.max(1, this.chunkSizeBytes / (Float.BYTES * Math.max(1, dimensions)));
+	}
+
+	@Override
+	protected void ensureCapacity(int capacity) {
+		while (this.chunks.size() * this.slotsPerChunk < capacity) {
+			this.chunks.add(ByteBuffer.allocateDirect(this.slotsPerChunk * this.dimensions * Float.BYTES)
+				.order(ByteOrder.nativeOrder()));
+		}
+	}
+
+	@Override
+	protected void write(int slot, float[] embedding) {
+		ByteBuffer chunk = chunk(slot);
+		if (chunk.isReadOnly()) {
+			// The raw bytes are copied, so the copy keeps the byte order of the chunk
+			ByteBuffer copy = ByteBuffer.allocateDirect(chunk.capacity()).order(chunk.order());
+			copy.put(chunk.duplicate().clear());
+			copy.clear();
+			this.chunks.set(slot / this.slotsPerChunk, copy);
+			chunk = copy;
+		}
+		chunk.asFloatBuffer().put(offset(slot) / Float.BYTES, embedding);
+	}
+
+	@Override
+	protected void release() {
+		this.chunks.clear();
+	}
+
+	private ByteBuffer chunk(int slot) {
+		return this.chunks.get(slot / this.slotsPerChunk);
+	}
+
+	/**
+	 * {@return the byte offset of the slot in its chunk}
+	 */
+	private int offset(int slot) {
+		return (slot % this.slotsPerChunk) * this.dimensions * Float.BYTES;
+	}
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.Arrays;
+
+import org.springframework.ai.embedding.quantization.BinaryEmbedding;
+import org.springframework.ai.embedding.quantization.Int8Embedding;
+import org.springframework.ai.embedding.quantization.Quantization;
+import org.springframework.ai.embedding.quantization.QuantizedEmbedding;
+import org.springframework.ai.util.VectorUtils;
+import org.springframework.util.Assert;
+
+/**
+ * Quantized copies of the embeddings held by a {@link VectorStorage}, by slot. They are
+ * scanned to pre-select the candidates of a search, whose similarity is then computed
+ * on the full precision embeddings.
+ *
+ * The codes of consecutive slots are packed one after the other into pages of primitive
+ * arrays, and the int8 scales and norms into parallel {@code float[]}, so that a scan
+ * reads contiguous memory and no object is held per slot. Pages are only added as the
+ * storage grows, without copying the codes.
+ *
+ * Like the storage, this class is not thread-safe.
+ *
+ * @since 1.0.0
+ */
+final class QuantizedVectors {
+
+	private static final int PAGE_SHIFT = 12;
+
+	private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+
+	private final Quantization quantization;
+
+	private int capacity;
+
+	// Bytes, or longs, per slot, known once the first embedding is written
+	private int stride = -1;
+
+	// Dimensions of the binary embeddings, which the stride rounds up to whole longs
+	private int dimensions;
+
+	private byte[][] int8Pages = new byte[0][];
+
+	private long[][] binaryPages = new long[0][];
+
+	private float[] scales = new float[0];
+
+	private float[] norms = new float[0];
+
+	QuantizedVectors(Quantization quantization) {
+		this.quantization = quantization;
+	}
+
+	QuantizedEmbedding quantize(float[] embedding) {
+		return this.quantization.quantize(embedding);
+	}
+
+	Quantization quantization() {
+		return this.quantization;
+	}
+
+	void write(int slot, float[] embedding) {
+		write(slot, quantize(embedding));
+	}
+
+	/**
+	 * Writes an embedding that was already quantized, e.g. restored from a snapshot.
+	 */
+	void write(int slot, QuantizedEmbedding quantized) {
+		Assert.isTrue(quantized.getQuantization() == this.quantization, "Quantization mismatch");
+		if (quantized instanceof BinaryEmbedding binary) {
+			long[] bits = binary.getBits();
+			initStride(bits.length);
+			this.dimensions = binary.getDimensions();
+			System.arraycopy(bits, 0, this.binaryPages[slot >>> PAGE_SHIFT], (slot & PAGE_MASK) * this.stride,
+					this.stride);
+		}
+		else {
+			Int8Embedding int8 = (Int8Embedding) quantized;
+			byte[] values = int8.getValues();
+			initStride(values.length);
+			System.arraycopy(values, 0, this.int8Pages[slot >>> PAGE_SHIFT], (slot & PAGE_MASK) * this.stride,
+					this.stride);
+			this.scales[slot] = int8.getScale();
+			this.norms[slot] = int8.getNorm();
+		}
+	}
+
+	/**
+	 * {@return a copy of the quantized embedding stored in the slot}
+	 */
+	QuantizedEmbedding get(int slot) {
+		int offset = (slot & PAGE_MASK) * this.stride;
+		if (this.quantization == Quantization.BINARY) {
+			long[] bits = Arrays.copyOfRange(this.binaryPages[slot >>> PAGE_SHIFT], offset, offset + this.stride);
+			return BinaryEmbedding.of(bits, this.dimensions);
+		}
+		byte[] values = Arrays.copyOfRange(this.int8Pages[slot >>> PAGE_SHIFT], offset, offset + this.stride);
+		return Int8Embedding.of(values, this.scales[slot], this.norms[slot]);
+	}
+
+	void free(int slot) {
+		if (this.quantization == Quantization.INT8) {
+			this.scales[slot] = 0;
+			this.norms[slot] = 0;
+		}
+	}
+
+	void ensureCapacity(int capacity) {
+		if (capacity > this.capacity) {
+			this.capacity = Math.max(capacity, Math.max(16, this.capacity * 2));
+			if (this.quantization == Quantization.INT8) {
+				this.scales = Arrays.copyOf(this.scales, this.capacity);
+				this.norms = Arrays.copyOf(this.norms, this.capacity);
+			}
+			allocatePages();
+		}
+	}
+
+	void clear() {
+		this.capacity = 0;
+		this.stride = -1;
+		this.dimensions = 0;
+		this.int8Pages = new byte[0][];
+		this.binaryPages = new long[0][];
+		this.scales = new float[0];
+		this.norms = new float[0];
+	}
+
+	/**
+	 * Ranks the embedding of the slot against the quantized query: the higher the
+	 * score, the more similar the embeddings. Only the order of the scores is
+	 * meaningful, the factors that are the same for every slot are left out.
+	 */
+	float score(int slot, QuantizedEmbedding query) {
+		int offset = (slot & PAGE_MASK) * this.stride;
+		if (query instanceof BinaryEmbedding binaryQuery) {
+			return -VectorUtils.hammingDistance(this.binaryPages[slot >>> PAGE_SHIFT], offset, binaryQuery.getBits(),
+					0, this.stride);
+		}
+		float norm = this.norms[slot];
+		if (norm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		// The scale of the query is the same for every slot
+		return VectorUtils.dotProduct(this.int8Pages[slot >>> PAGE_SHIFT], offset,
+				((Int8Embedding) query).getValues(), 0, this.stride) * this.scales[slot] / norm;
+	}
+
+	private void initStride(int stride) {
+		if (this.stride < 0) {
+			this.stride = stride;
+			allocatePages();
+		}
+		Assert.isTrue(stride == this.stride, "Vectors lengths must be equal");
+	}
+
+	/**
+	 * Allocates the pages covering the capacity. Full pages hold {@code 1 << PAGE_SHIFT}
+	 * slots, while the last one only holds the remaining capacity and is grown by copy.
+	 */
+	private void allocatePages() {
+		if (this.stride < 0) {
+			return;
+		}
+		int pageCount = (this.capacity + PAGE_MASK) >>> PAGE_SHIFT;
+		boolean int8 = (this.quantization == Quantization.INT8);
+		int allocated = int8 ? this.int8Pages.length : this.binaryPages.length;
+		if (pageCount > allocated) {
+			if (int8) {
+				this.int8Pages = Arrays.copyOf(this.int8Pages, pageCount);
+			}
+			else {
+				this.binaryPages = Arrays.copyOf(this.binaryPages, pageCount);
+			}
+		}
+		for (int page = Math.max(0, allocated - 1); page < pageCount; page++) {
+			int length = Math.min(1 << PAGE_SHIFT, this.capacity - (page << PAGE_SHIFT)) * this.stride;
+			if (int8) {
+				byte[] current = this.int8Pages[page];
+				if (current == null || current.length < length) {
+					this.int8Pages[page] = (current != null) ? Arrays.copyOf(current, length) : new byte[length];
+				}
+			}
+			else {
+				long[] current = this.binaryPages[page];
+				if (current == null || current.length < length) {
+					this.binaryPages[page] = (current != null) ? Arrays.copyOf(current, length) : new long[length];
+				}
+			}
+		}
+	}
+
+}
@@ -22,16 +22,34 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
-import java.util.Comparator;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -43,20 +61,40 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.ConcurrentBatchExecution;
+import org.springframework.ai.embedding.EmbeddingDimensions;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.quantization.QuantizedEmbedding;
 import org.springframework.ai.observation.conventions.VectorStoreProvider;
 import org.springframework.ai.observation.conventions.VectorStoreSimilarityMetric;
 import org.springframework.ai.util.JacksonUtils;
+import org.springframework.ai.util.VectorUtils;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionEvaluator;
 import org.springframework.ai.vectorstore.observation.AbstractObservationVectorStore;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationConvention;
 import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
 
 /**
  * SimpleVectorStore is a simple implementation of the VectorStore interface.
  *
  * It also provides methods to save the current state of the vectors to a file, and to
- * load vectors from a file.
+ * load vectors from a file, either as JSON or as a compact binary snapshot.
+ *
+ * Searches are exact by default. An approximate HNSW index can be enabled through the
+ * {@link SimpleVectorStoreConfig} for large stores where a full scan is too slow. The
+ * embeddings can also be kept off-heap, in which case the stored documents only hold the
+ * content and metadata.
+ *
+ * The exact scan can run on quantized copies of the embeddings first, the best
+ * candidates being re-scored with the full precision embeddings.
+ *
+ * Metadata filter expressions are evaluated in memory, optionally narrowed down by
+ * inverted indexes on selected metadata keys. Filtered searches always use the exact
+ * scan.
  *
  * For a deeper understanding of the mathematical concepts and computations involved in
  * calculating similarity scores among vectors, refer to this
@@ -78,55 +116,130 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 
 	protected EmbeddingModel embeddingModel;
 
+	private final SimpleVectorStoreConfig config;
+
+	@Nullable
+	private HnswIndex hnswIndex;
+
+	private final VectorStorage vectorStorage;
+
+	@Nullable
+	private final MetadataIndex metadataIndex;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Executor searchExecutor;
+
 	public SimpleVectorStore(EmbeddingModel embeddingModel) {
 		this(embeddingModel, ObservationRegistry.NOOP, null);
 	}
 
 	public SimpleVectorStore(EmbeddingModel embeddingModel, ObservationRegistry observationRegistry,
 			VectorStoreObservationConvention customObservationConvention) {
+		this(embeddingModel, SimpleVectorStoreConfig.defaultConfig(), observationRegistry,
+				customObservationConvention);
+	}
+
+	public SimpleVectorStore(EmbeddingModel embeddingModel, SimpleVectorStoreConfig config) {
+		this(embeddingModel, config, ObservationRegistry.NOOP, null);
+	}
+
+	public SimpleVectorStore(EmbeddingModel embeddingModel, SimpleVectorStoreConfig config,
+			ObservationRegistry observationRegistry, VectorStoreObservationConvention customObservationConvention) {
 
 		super(observationRegistry, customObservationConvention);
 
 		Objects.requireNonNull(embeddingModel, "EmbeddingModel must not be null");
+		Objects.requireNonNull(config, "SimpleVectorStoreConfig must not be null");
 		this.embeddingModel = embeddingModel;
+		this.config = config;
 		this.objectMapper = JsonMapper.builder().addModules(JacksonUtils.instantiateAvailableModules()).build();
+		this.searchExecutor = (config.getSearchExecutor() != null) ? config.getSearchExecutor()
+				: ForkJoinPool.commonPool();
+		this.vectorStorage = config.isOffHeapStorage() ? new OffHeapVectorStorage() : new HeapVectorStorage();
+		if (config.getQuantization() != null) {
+			this.vectorStorage.enableQuantization(config.getQuantization());
+		}
+		this.metadataIndex = config.getIndexedMetadataKeys().isEmpty() ? null
+				: new MetadataIndex(config.getIndexedMetadataKeys());
+		this.hnswIndex = createHnswIndex();
 	}
 
 	@Override
 	public void doAdd(List<Document> documents) {
-		for (Document document : documents) {
-			logger.info("Calling EmbeddingModel for document id = {}", document.getId());
-			float[] embedding = this.embeddingModel.embed(document);
-			document.setEmbedding(embedding);
-			this.store.put(document.getId(), document);
+		logger.debug("Calling EmbeddingModel for {} documents", documents.size());
+		ConcurrentBatchExecution batchExecution = this.config.getBatchExecution();
+		if (batchExecution != null) {
+			this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(),
+					this.config.getBatchingStrategy(), batchExecution);
+		}
+		else {
+			this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(),
+					this.config.getBatchingStrategy());
+		}
+
+		// The index is updated under the same lock, so that it never disagrees with the
+		// store on concurrent writes of the same ids
+		this.lock.writeLock().lock();
+		try {
+			HnswIndex index = this.hnswIndex;
+			for (Document document : documents) {
+				putDocument(document, document.getEmbedding());
+				if (index != null) {
+					index.add(document.getId(), document.getEmbedding());
+				}
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
 		}
 	}
 
 	@Override
 	public Optional<Boolean> doDelete(List<String> idList) {
-		for (String id : idList) {
-			this.store.remove(id);
+		this.lock.writeLock().lock();
+		try {
+			HnswIndex index = this.hnswIndex;
+			for (String id : idList) {
+				Document removed = this.store.remove(id);
+				int slot = this.vectorStorage.slot(id);
+				if (this.metadataIndex != null && removed != null && slot >= 0) {
+					this.metadataIndex.remove(slot, removed.getMetadata());
+				}
+				this.vectorStorage.remove(id);
+				if (index != null) {
+					index.remove(id);
+				}
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
 		}
 		return Optional.of(true);
 	}
 
 	@Override
 	public List<Document> doSimilaritySearch(SearchRequest request) {
-		if (request.getFilterExpression() != null) {
-			throw new UnsupportedOperationException(
-					"The [" + this.getClass() + "] doesn't support metadata filtering!");
+		float[] userQueryEmbedding = getUserQueryEmbedding(request.getQuery());
+
+		// The graph cannot be restricted to the matching documents, filter on a full scan
+		if (this.config.isHnswIndexEnabled() && request.getFilterExpression() == null) {
+			// The graph scores its nodes through the storage, which writers modify
+			this.lock.readLock().lock();
+			try {
+				return this.hnswIndex.search(userQueryEmbedding, request.getTopK())
+					.stream()
+					.filter(s -> s.score >= request.getSimilarityThreshold())
+					.map(s -> this.store.get(s.key))
+					.filter(Objects::nonNull)
+					.toList();
+			}
+			finally {
+				this.lock.readLock().unlock();
+			}
 		}
 
-		float[] userQueryEmbedding = getUserQueryEmbedding(request.getQuery());
-		return this.store.values()
-			.stream()
-			.map(entry -> new Similarity(entry.getId(),
-					EmbeddingMath.cosineSimilarity(userQueryEmbedding, entry.getEmbedding())))
-			.filter(s -> s.score >= request.getSimilarityThreshold())
-			.sorted(Comparator.<Similarity>comparingDouble(s -> s.score).reversed())
-			.limit(request.getTopK())
-			.map(s -> this.store.get(s.key))
-			.toList();
+		return searchVectorStorage(userQueryEmbedding, request);
 	}
 
 	/**
@@ -181,7 +294,7 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 		};
 		try {
 			Map<String, Document> deserializedMap = this.objectMapper.readValue(file, typeRef);
-			this.store = deserializedMap;
+			loadStore(deserializedMap);
 		}
 		catch (IOException ex) {
 			throw new RuntimeException(ex);
@@ -198,25 +311,402 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 		};
 		try {
 			Map<String, Document> deserializedMap = this.objectMapper.readValue(resource.getInputStream(), typeRef);
-			this.store = deserializedMap;
+			loadStore(deserializedMap);
 		}
 		catch (IOException ex) {
 			throw new RuntimeException(ex);
 		}
 	}
 
+	/**
+	 * Writes the vector store content to a file in a binary snapshot format. The
+	 * embeddings are streamed as one contiguous block of floats instead of being rendered
+	 * as JSON, which makes the snapshot much smaller and faster to save and load. Only
+	 * the id, content, metadata and embedding of every document are kept, along with the
+	 * norm and quantized copy of the embedding; the HNSW graph is not. The snapshot is
+	 * written to a temporary file first and then moved in place, so a store that memory
+	 * mapped the previous version of the file keeps working.
+	 * @param file the file to save the snapshot to
+	 * @see #loadSnapshot(File)
+	 */
+	public void saveSnapshot(File file) {
+		Path target = file.toPath().toAbsolutePath();
+		Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+		this.lock.readLock().lock();
+		try {
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				SimpleVectorStoreSnapshot.write(channel, new ArrayList<>(this.store.values()), this.vectorStorage,
+						this.objectMapper);
+			}
+			try {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException ex) {
+			throw new RuntimeException("Failed to save vector store snapshot: " + file, ex);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Replaces the vector store content with a snapshot previously written by
+	 * {@link #saveSnapshot(File)}. With off-heap storage the embeddings are memory mapped
+	 * straight from the file, so the file must not be modified while it is in use, and
+	 * their norms and quantized copies are restored from the snapshot rather than
+	 * recomputed. When the HNSW index is enabled, its graph is rebuilt on load, which
+	 * reads every embedding.
+	 * @param file the file to load the snapshot from
+	 */
+	public void loadSnapshot(File file) {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			readSnapshot(channel);
+		}
+		catch (IOException ex) {
+			throw new RuntimeException("Failed to load vector store snapshot: " + file, ex);
+		}
+	}
+
+	/**
+	 * Replaces the vector store content with a snapshot previously written by
+	 * {@link #saveSnapshot(File)}. The snapshot is read in a single streaming pass. When
+	 * the HNSW index is enabled, its graph is rebuilt on load.
+	 * @param resource the resource to load the snapshot from
+	 */
+	public void loadSnapshot(Resource resource) {
+		try (ReadableByteChannel channel = Channels.newChannel(resource.getInputStream())) {
+			readSnapshot(channel);
+		}
+		catch (IOException ex) {
+			throw new RuntimeException("Failed to load vector store snapshot: " + resource, ex);
+		}
+	}
+
+	private void readSnapshot(ReadableByteChannel channel) throws IOException {
+		SimpleVectorStoreSnapshot.Reader reader = new SimpleVectorStoreSnapshot.Reader(channel);
+		if (!this.config.isOffHeapStorage()) {
+			float[][] embeddings = new float[reader.count()][];
+			for (int i = 0; i < embeddings.length; i++) {
+				embeddings[i] = new float[reader.dimensions()];
+				reader.readEmbedding(embeddings[i]);
+			}
+			// The norms and quantized copies are recomputed as the embeddings are put
+			reader.readNorms();
+			reader.readQuantized();
+			Map<String, Document> documents = new ConcurrentHashMap<>();
+			for (float[] embedding : embeddings) {
+				Document document = reader.readDocument(this.objectMapper);
+				document.setEmbedding(embedding);
+				documents.put(document.getId(), document);
+			}
+			loadStore(documents);
+			return;
+		}
+
+		// Off-heap storage receives the embeddings directly, the documents never hold one
+		this.lock.writeLock().lock();
+		try {
+			OffHeapVectorStorage storage = (OffHeapVectorStorage) this.vectorStorage;
+			storage.clear();
+			if (this.metadataIndex != null) {
+				this.metadataIndex.clear();
+			}
+			if (reader.count() > 0 && channel instanceof FileChannel fileChannel) {
+				storage.map(fileChannel, SimpleVectorStoreSnapshot.HEADER_BYTES, reader.dimensions(),
+						reader.count());
+				reader.skipEmbeddings();
+			}
+			else {
+				float[] embedding = new float[reader.dimensions()];
+				for (int i = 0; i < reader.count(); i++) {
+					reader.readEmbedding(embedding);
+					storage.append(embedding);
+				}
+			}
+			// Restoring the norms and quantized copies spares reading the mapped embeddings
+			float[] norms = reader.readNorms();
+			QuantizedEmbedding[] quantized = reader.readQuantized();
+			Map<String, Document> documents = new ConcurrentHashMap<>();
+			for (int slot = 0; slot < reader.count(); slot++) {
+				Document document = reader.readDocument(this.objectMapper);
+				if (norms != null) {
+					storage.attach(slot, document.getId(), norms[slot], (quantized != null) ? quantized[slot] : null);
+				}
+				else {
+					storage.attach(slot, document.getId());
+				}
+				if (this.metadataIndex != null) {
+					this.metadataIndex.add(slot, document.getMetadata());
+				}
+				documents.put(document.getId(), document);
+			}
+			this.store = documents;
+			this.hnswIndex = createHnswIndex();
+		}
+		catch (IOException | RuntimeException ex) {
+			this.vectorStorage.clear();
+			if (this.metadataIndex != null) {
+				this.metadataIndex.clear();
+			}
+			this.store = new ConcurrentHashMap<>();
+			this.hnswIndex = createHnswIndex();
+			throw ex;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
 	private String getVectorDbAsJson() {
 		ObjectWriter objectWriter = this.objectMapper.writerWithDefaultPrettyPrinter();
 		String json;
+		this.lock.readLock().lock();
 		try {
-			json = objectWriter.writeValueAsString(this.store);
+			Map<String, Document> documents = this.store;
+			if (this.config.isOffHeapStorage()) {
+				documents = new HashMap<>();
+				for (Document document : this.store.values()) {
+					Document copy = copyOf(document);
+					copy.setEmbedding(embeddingOf(document));
+					documents.put(copy.getId(), copy);
+				}
+			}
+			json = objectWriter.writeValueAsString(documents);
 		}
 		catch (JsonProcessingException e) {
 			throw new RuntimeException("Error serializing documentMap to JSON.", e);
 		}
+		finally {
+			this.lock.readLock().unlock();
+		}
 		return json;
 	}
 
+	private void loadStore(Map<String, Document> documents) {
+		this.lock.writeLock().lock();
+		try {
+			this.vectorStorage.clear();
+			if (this.metadataIndex != null) {
+				this.metadataIndex.clear();
+			}
+			if (this.config.isOffHeapStorage()) {
+				Map<String, Document> documentsById = new ConcurrentHashMap<>();
+				for (Document document : documents.values()) {
+					putDocument(document, document.getEmbedding(), documentsById);
+				}
+				this.store = documentsById;
+			}
+			else {
+				for (Document document : documents.values()) {
+					int slot = this.vectorStorage.put(document.getId(), document.getEmbedding());
+					if (this.metadataIndex != null) {
+						this.metadataIndex.add(slot, document.getMetadata());
+					}
+				}
+				this.store = documents;
+			}
+			this.hnswIndex = createHnswIndex();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void putDocument(Document document, float[] embedding) {
+		putDocument(document, embedding, this.store);
+	}
+
+	/**
+	 * Adds the document to the given store and its embedding to the
+	 * {@link VectorStorage}. With off-heap storage only a copy of the document without
+	 * embedding is kept.
+	 */
+	private void putDocument(Document document, float[] embedding, Map<String, Document> documentsById) {
+		Document previous = documentsById.get(document.getId());
+		int slot = this.vectorStorage.put(document.getId(), embedding);
+		if (this.metadataIndex != null) {
+			if (previous != null) {
+				this.metadataIndex.remove(slot, previous.getMetadata());
+			}
+			this.metadataIndex.add(slot, document.getMetadata());
+		}
+		documentsById.put(document.getId(), this.config.isOffHeapStorage() ? copyOf(document) : document);
+	}
+
+	/**
+	 * Exact search over all stored embeddings. The scan runs on the primitive storage
+	 * with the pre-computed norms and keeps the best matches in a bounded heap, so no
+	 * per-document objects are created. Large stores can be scanned in parallel. A
+	 * filter expression is compiled once and checked before the similarity of a slot is
+	 * computed; indexed metadata keys restrict the scan to the candidate slots. With
+	 * quantization, the quantized embeddings are scanned first and only the best
+	 * candidates are re-scored.
+	 */
+	private List<Document> searchVectorStorage(float[] query, SearchRequest request) {
+		float queryNorm = (float) Math.sqrt(EmbeddingMath.norm(query));
+		if (queryNorm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		float threshold = (float) request.getSimilarityThreshold();
+		Filter.Expression filterExpression = request.getFilterExpression();
+		Predicate<Map<String, Object>> metadataFilter = (filterExpression != null)
+				? FilterExpressionEvaluator.compile(filterExpression) : null;
+
+		this.lock.readLock().lock();
+		try {
+			VectorStorage storage = this.vectorStorage;
+			if (storage.size() == 0 || request.getTopK() == 0) {
+				return List.of();
+			}
+			if (storage.dimensions() != query.length) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+
+			BitSet candidates = null;
+			IntPredicate slotFilter = null;
+			if (metadataFilter != null) {
+				candidates = (this.metadataIndex != null) ? this.metadataIndex.candidates(filterExpression) : null;
+				if (candidates != null && candidates.isEmpty()) {
+					return List.of();
+				}
+				Map<String, Document> documents = this.store;
+				slotFilter = slot -> {
+					Document document = documents.get(storage.id(slot));
+					return document != null && metadataFilter.test(document.getMetadata());
+				};
+			}
+
+			int k = Math.min(request.getTopK(), storage.size());
+			int slotCount = storage.slotCount();
+			int candidateCount = (candidates != null) ? candidates.cardinality() : slotCount;
+			QuantizedVectors quantizedVectors = storage.quantizedVectors();
+			if (quantizedVectors != null) {
+				int preselectedCount = (int) Math.min((long) k * this.config.getQuantizationOversampling(),
+						storage.size());
+				QuantizedSlotScan preselection = new QuantizedSlotScan(storage, quantizedVectors,
+						quantizedVectors.quantize(query), candidates, slotFilter);
+				candidates = new BitSet(slotCount);
+				for (int slot : scan(preselection, slotCount, candidateCount, preselectedCount).drainDescending()) {
+					candidates.set(slot);
+				}
+				// The pre-selected slots already passed the filter
+				candidateCount = candidates.cardinality();
+				slotFilter = null;
+			}
+			SlotScan scan = new SlotScan(storage, query, queryNorm, threshold, candidates, slotFilter);
+			int[] slots = scan(scan, slotCount, candidateCount, k).drainDescending();
+			List<Document> results = new ArrayList<>(slots.length);
+			for (int slot : slots) {
+				Document document = this.store.get(storage.id(slot));
+				if (document != null) {
+					results.add(document);
+				}
+			}
+			return results;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private TopKHeap scan(SlotScanner scan, int slotCount, int candidateCount, int k) {
+		if (this.config.isParallelSearch() && candidateCount > this.config.getSearchSegmentSize()) {
+			return scanInParallel(scan, slotCount, k);
+		}
+		TopKHeap heap = new TopKHeap(k);
+		scan.scan(0, slotCount, heap);
+		return heap;
+	}
+
+	/**
+	 * Splits the slots into fixed size segments that are claimed and scanned by up to
+	 * {@code searchParallelism} workers, the calling thread being one of them. Each
+	 * worker keeps its own top-k heap and the partial heaps are merged at the end.
+	 */
+	private TopKHeap scanInParallel(SlotScanner scan, int slotCount, int k) {
+		int segmentSize = this.config.getSearchSegmentSize();
+		int segmentCount = (slotCount + segmentSize - 1) / segmentSize;
+		int workerCount = Math.min(this.config.getSearchParallelism(), segmentCount);
+		AtomicInteger nextSegment = new AtomicInteger();
+
+		TopKHeap[] heaps = new TopKHeap[workerCount];
+		Runnable[] workers = new Runnable[workerCount];
+		for (int worker = 0; worker < workerCount; worker++) {
+			TopKHeap heap = new TopKHeap(k);
+			heaps[worker] = heap;
+			workers[worker] = () -> {
+				int segment;
+				while ((segment = nextSegment.getAndIncrement()) < segmentCount) {
+					int from = segment * segmentSize;
+					scan.scan(from, Math.min(from + segmentSize, slotCount), heap);
+				}
+			};
+		}
+
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[workerCount - 1];
+		for (int worker = 1; worker < workerCount; worker++) {
+			futures[worker - 1] = CompletableFuture.runAsync(workers[worker], this.searchExecutor);
+		}
+		RuntimeException failure = null;
+		try {
+			workers[0].run();
+		}
+		catch (RuntimeException ex) {
+			failure = ex;
+		}
+		// Always wait for the other workers, they must not outlive the read lock.
+		try {
+			CompletableFuture.allOf(futures).join();
+		}
+		catch (CompletionException ex) {
+			if (failure == null) {
+				failure = (ex.getCause() instanceof RuntimeException cause) ? cause : ex;
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+
+		TopKHeap merged = heaps[0];
+		for (int i = 1; i < heaps.length; i++) {
+			merged.offerAll(heaps[i]);
+		}
+		return merged;
+	}
+
+	private float[] embeddingOf(Document document) {
+		if (this.config.isOffHeapStorage()) {
+			int slot = this.vectorStorage.slot(document.getId());
+			return (slot >= 0) ? this.vectorStorage.get(slot) : document.getEmbedding();
+		}
+		return document.getEmbedding();
+	}
+
+	private static Document copyOf(Document document) {
+		Document copy = new Document(document.getId(), document.getContent(), document.getMedia(),
+				document.getMetadata());
+		copy.setContentFormatter(document.getContentFormatter());
+		return copy;
+	}
+
+	@Nullable
+	private HnswIndex createHnswIndex() {
+		if (!this.config.isHnswIndexEnabled()) {
+			return null;
+		}
+		HnswIndex index = new HnswIndex(this.vectorStorage, this.config.getHnswM(),
+				this.config.getHnswEfConstruction(), this.config.getHnswEfSearch());
+		for (Document document : this.store.values()) {
+			index.add(document.getId(), embeddingOf(document));
+		}
+		return index;
+	}
+
 	private float[] getUserQueryEmbedding(String query) {
 		return this.embeddingModel.embed(query);
 	}
@@ -225,11 +715,90 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 	public VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName) {
 
 		return VectorStoreObservationContext.builder(VectorStoreProvider.SIMPLE.value(), operationName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withDimensions(observedDimensions())
 			.withCollectionName("in-memory-map")
 			.withSimilarityMetric(VectorStoreSimilarityMetric.COSINE.value());
 	}
 
+	/**
+	 * Dimensions reported to observations, taken from the stored embeddings or from the
+	 * embedding model if it already knows them, so that observing an operation never
+	 * costs an embedding call.
+	 */
+	@Nullable
+	private Integer observedDimensions() {
+		int dimensions = this.vectorStorage.dimensions();
+		if (dimensions > 0) {
+			return dimensions;
+		}
+		OptionalInt resolved = EmbeddingDimensions.getIfResolved(this.embeddingModel);
+		return resolved.isPresent() ? resolved.getAsInt() : null;
+	}
+
+	/**
+	 * Scan of a range of slots for one query, keeping the best scores in a heap.
+	 */
+	private interface SlotScanner {
+
+		void scan(int fromSlot, int toSlot, TopKHeap heap);
+
+	}
+
+	/**
+	 * Scan of a range of slots for one query. Free slots, slots outside of the
+	 * {@code candidates} and slots rejected by the {@code filter} are skipped before any
+	 * similarity is computed.
+	 */
+	private record SlotScan(VectorStorage storage, float[] query, float queryNorm, float threshold,
+			@Nullable BitSet candidates, @Nullable IntPredicate filter) implements SlotScanner {
+
+		@Override
+		public void scan(int fromSlot, int toSlot, TopKHeap heap) {
+			for (int slot = next(fromSlot); slot >= 0 && slot < toSlot; slot = next(slot + 1)) {
+				if (this.storage.id(slot) == null || (this.filter != null && !this.filter.test(slot))) {
+					continue;
+				}
+				float norm = this.storage.norm(slot);
+				if (norm == 0) {
+					throw new IllegalArgumentException("Vectors cannot have zero norm");
+				}
+				float score = this.storage.dotProduct(slot, this.query) / (this.queryNorm * norm);
+				if (score >= this.threshold) {
+					heap.offer(slot, score);
+				}
+			}
+		}
+
+		private int next(int slot) {
+			return (this.candidates != null) ? this.candidates.nextSetBit(slot) : slot;
+		}
+
+	}
+
+	/**
+	 * Scan of a range of slots on the quantized embeddings, skipping the same slots as a
+	 * {@link SlotScan}. The similarity threshold only applies to the re-scored
+	 * candidates.
+	 */
+	private record QuantizedSlotScan(VectorStorage storage, QuantizedVectors vectors, QuantizedEmbedding query,
+			@Nullable BitSet candidates, @Nullable IntPredicate filter) implements SlotScanner {
+
+		@Override
+		public void scan(int fromSlot, int toSlot, TopKHeap heap) {
+			for (int slot = next(fromSlot); slot >= 0 && slot < toSlot; slot = next(slot + 1)) {
+				if (this.storage.id(slot) == null || (this.filter != null && !this.filter.test(slot))) {
+					continue;
+				}
+				heap.offer(slot, this.vectors.score(slot, this.query));
+			}
+		}
+
+		private int next(int slot) {
+			return (this.candidates != null) ? this.candidates.nextSetBit(slot) : slot;
+		}
+
+	}
+
 	public static class Similarity {
 
 		private String key;
@@ -253,36 +822,15 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 			if (vectorX == null || vectorY == null) {
 				throw new RuntimeException("Vectors must not be null");
 			}
-			if (vectorX.length != vectorY.length) {
-				throw new IllegalArgumentException("Vectors lengths must be equal");
-			}
-
-			float dotProduct = dotProduct(vectorX, vectorY);
-			float normX = norm(vectorX);
-			float normY = norm(vectorY);
-
-			if (normX == 0 || normY == 0) {
-				throw new IllegalArgumentException("Vectors cannot have zero norm");
-			}
-
-			return dotProduct / (Math.sqrt(normX) * Math.sqrt(normY));
+			return VectorUtils.cosineSimilarity(vectorX, vectorY);
 		}
 
 		public static float dotProduct(float[] vectorX, float[] vectorY) {
-			if (vectorX.length != vectorY.length) {
-				throw new IllegalArgumentException("Vectors lengths must be equal");
-			}
-
-			float result = 0;
-			for (int i = 0; i < vectorX.length; ++i) {
-				result += vectorX[i] * vectorY[i];
-			}
-
-			return result;
+			return VectorUtils.dotProduct(vectorX, vectorY);
 		}
 
 		public static float norm(float[] vector) {
-			return dotProduct(vector, vector);
+			return VectorUtils.squaredNorm(vector);
 		}
 
 	}
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.ConcurrentBatchExecution;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.embedding.quantization.Quantization;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Configuration for the {@link SimpleVectorStore}.
+ *
+ * Added documents are embedded in batches formed by the {@link BatchingStrategy}, a
+ * {@link TokenCountBatchingStrategy} by default. The batches are sent one after the other
+ * unless a {@link ConcurrentBatchExecution} is configured.
+ *
+ * By default the store answers similarity searches with an exact, brute-force scan over
+ * all stored embeddings. For large stores an approximate HNSW (Hierarchical Navigable
+ * Small World) graph index can be enabled instead. The {@code M},
+ * {@code efConstruction} and {@code efSearch} parameters trade recall for latency and
+ * memory:
+ * <ul>
+ * <li>{@code M} - the maximum number of graph links per node and layer (layer 0 uses
+ * {@code 2 * M}).</li>
+ * <li>{@code efConstruction} - the size of the dynamic candidate list used while
+ * inserting.</li>
+ * <li>{@code efSearch} - the size of the dynamic candidate list used while searching.
+ * It is never smaller than the requested top-k.</li>
+ * </ul>
+ *
+ * With off-heap storage enabled the embeddings are packed into contiguous direct memory
+ * buffers instead of one {@code float[]} per stored document. This improves the cache
+ * locality of the scan and reduces the garbage collection pressure of large stores.
+ *
+ * The exact scan can be run in parallel: the slots are split into segments of
+ * {@code searchSegmentSize} embeddings that are scanned concurrently by at most
+ * {@code searchParallelism} threads of the {@code searchExecutor} (the common
+ * {@link java.util.concurrent.ForkJoinPool} by default), including the calling thread.
+ * Capping the parallelism keeps a single search from starving other request threads.
+ *
+ * Searches with a filter expression evaluate the metadata of every stored document. An
+ * inverted index can be maintained for selected metadata keys, so that equality and
+ * {@code IN} conditions on those keys narrow down the candidates before any similarity is
+ * computed.
+ *
+ * The exact scan can also pre-select candidates on {@link Quantization quantized}
+ * copies of the embeddings, which are smaller and faster to compare, and then compute
+ * the similarity of the {@code topK * quantizationOversampling} best candidates only on
+ * the full precision embeddings. The results are then approximate: a document may be
+ * missed if its quantized embedding ranks it below the candidates. The quantized copies
+ * are kept in addition to the full precision embeddings, adding a quarter of their size
+ * with int8 and a thirty-second with binary quantization: they speed up the scan, while
+ * the {@link Builder#withOffHeapStorage(boolean) off-heap storage} is what relieves the
+ * heap.
+ *
+ * @since 1.0.0
+ */
+public final class SimpleVectorStoreConfig {
+
+	public static final int DEFAULT_HNSW_M = 16;
+
+	public static final int DEFAULT_HNSW_EF_CONSTRUCTION = 200;
+
+	public static final int DEFAULT_HNSW_EF_SEARCH = 64;
+
+	public static final int DEFAULT_SEARCH_SEGMENT_SIZE = 16 * 1024;
+
+	public static final int DEFAULT_QUANTIZATION_OVERSAMPLING = 4;
+
+	private final boolean hnswIndexEnabled;
+
+	private final int hnswM;
+
+	private final int hnswEfConstruction;
+
+	private final int hnswEfSearch;
+
+	private final boolean offHeapStorage;
+
+	private final boolean parallelSearch;
+
+	private final int searchSegmentSize;
+
+	private final int searchParallelism;
+
+	@Nullable
+	private final Executor searchExecutor;
+
+	private final Set<String> indexedMetadataKeys;
+
+	@Nullable
+	private final Quantization quantization;
+
+	private final int quantizationOversampling;
+
+	private final BatchingStrategy batchingStrategy;
+
+	@Nullable
+	private final ConcurrentBatchExecution batchExecution;
+
+	private SimpleVectorStoreConfig(Builder builder) {
+		this.hnswIndexEnabled = builder.hnswIndexEnabled;
+		this.hnswM = builder.hnswM;
+		this.hnswEfConstruction = builder.hnswEfConstruction;
+		this.hnswEfSearch = builder.hnswEfSearch;
+		this.offHeapStorage = builder.offHeapStorage;
+		this.parallelSearch = builder.parallelSearch;
+		this.searchSegmentSize = builder.searchSegmentSize;
+		this.searchParallelism = builder.searchParallelism;
+		this.searchExecutor = builder.searchExecutor;
+		this.indexedMetadataKeys = Set.copyOf(builder.indexedMetadataKeys);
+		this.quantization = builder.quantization;
+		this.quantizationOversampling = builder.quantizationOversampling;
+		this.batchingStrategy = (builder.batchingStrategy != null) ? builder.batchingStrategy
+				: new TokenCountBatchingStrategy();
+		this.batchExecution = builder.batchExecution;
+	}
+
+	/**
+	 * Start building a new configuration.
+	 * @return The entry point for creating a new configuration.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * {@return the default config}
+	 */
+	public static SimpleVectorStoreConfig defaultConfig() {
+		return builder().build();
+	}
+
+	public boolean isHnswIndexEnabled() {
+		return this.hnswIndexEnabled;
+	}
+
+	public int getHnswM() {
+		return this.hnswM;
+	}
+
+	public int getHnswEfConstruction() {
+		return this.hnswEfConstruction;
+	}
+
+	public int getHnswEfSearch() {
+		return this.hnswEfSearch;
+	}
+
+	public boolean isOffHeapStorage() {
+		return this.offHeapStorage;
+	}
+
+	public boolean isParallelSearch() {
+		return this.parallelSearch;
+	}
+
+	public int getSearchSegmentSize() {
+		return this.searchSegmentSize;
+	}
+
+	public int getSearchParallelism() {
+		return this.searchParallelism;
+	}
+
+	@Nullable
+	public Executor getSearchExecutor() {
+		return this.searchExecutor;
+	}
+
+	public Set<String> getIndexedMetadataKeys() {
+		return this.indexedMetadataKeys;
+	}
+
+	@Nullable
+	public Quantization getQuantization() {
+		return this.quantization;
+	}
+
+	public int getQuantizationOversampling() {
+		return this.quantizationOversampling;
+	}
+
+	public BatchingStrategy getBatchingStrategy() {
+		return this.batchingStrategy;
+	}
+
+	@Nullable
+	public ConcurrentBatchExecution getBatchExecution() {
+		return this.batchExecution;
+	}
+
+	public static final class Builder {
+
+		private boolean hnswIndexEnabled = false;
+
+		private int hnswM = DEFAULT_HNSW_M;
+
+		private int hnswEfConstruction = DEFAULT_HNSW_EF_CONSTRUCTION;
+
+		private int hnswEfSearch = DEFAULT_HNSW_EF_SEARCH;
+
+		private boolean offHeapStorage = false;
+
+		private boolean parallelSearch = false;
+
+		private int searchSegmentSize = DEFAULT_SEARCH_SEGMENT_SIZE;
+
+		private int searchParallelism = Runtime.getRuntime().availableProcessors();
+
+		@Nullable
+		private Executor searchExecutor;
+
+		private final Set<String> indexedMetadataKeys = new LinkedHashSet<>();
+
+		@Nullable
+		private Quantization quantization;
+
+		private int quantizationOversampling = DEFAULT_QUANTIZATION_OVERSAMPLING;
+
+		@Nullable
+		private BatchingStrategy batchingStrategy;
+
+		@Nullable
+		private ConcurrentBatchExecution batchExecution;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param hnswIndexEnabled whether similarity searches are answered by an
+		 * approximate HNSW index instead of an exact scan. Defaults to {@code false}.
+		 * @return this builder
+		 */
+		public Builder withHnswIndexEnabled(boolean hnswIndexEnabled) {
+			this.hnswIndexEnabled = hnswIndexEnabled;
+			return this;
+		}
+
+		/**
+		 * @param hnswM the maximum number of links per node and layer. Higher values
+		 * improve recall at the cost of memory and insert time.
+		 * @return this builder
+		 */
+		public Builder withHnswM(int hnswM) {
+			Assert.isTrue(hnswM >= 2, "hnswM must be at least 2");
+			this.hnswM = hnswM;
+			return this;
+		}
+
+		/**
+		 * @param hnswEfConstruction the candidate list size used while inserting.
+		 * Higher values build a better graph at the cost of insert time.
+		 * @return this builder
+		 */
+		public Builder withHnswEfConstruction(int hnswEfConstruction) {
+			Assert.isTrue(hnswEfConstruction > 0, "hnswEfConstruction must be greater than 0");
+			this.hnswEfConstruction = hnswEfConstruction;
+			return this;
+		}
+
+		/**
+		 * @param hnswEfSearch the candidate list size used while searching. Higher
+		 * values improve recall at the cost of query latency.
+		 * @return this builder
+		 */
+		public Builder withHnswEfSearch(int hnswEfSearch) {
+			Assert.isTrue(hnswEfSearch > 0, "hnswEfSearch must be greater than 0");
+			this.hnswEfSearch = hnswEfSearch;
+			return this;
+		}
+
+		/**
+		 * @param offHeapStorage whether the embeddings are kept in off-heap memory.
+		 * Documents returned by the store then carry no embedding. Defaults to
+		 * {@code false}.
+		 * @return this builder
+		 */
+		public Builder withOffHeapStorage(boolean offHeapStorage) {
+			this.offHeapStorage = offHeapStorage;
+			return this;
+		}
+
+		/**
+		 * @param parallelSearch whether exact searches over more than one segment are
+		 * scanned in parallel. Defaults to {@code false}.
+		 * @return this builder
+		 */
+		public Builder withParallelSearch(boolean parallelSearch) {
+			this.parallelSearch = parallelSearch;
+			return this;
+		}
+
+		/**
+		 * @param searchSegmentSize the number of embeddings scanned as one unit of work
+		 * by a parallel search.
+		 * @return this builder
+		 */
+		public Builder withSearchSegmentSize(int searchSegmentSize) {
+			Assert.isTrue(searchSegmentSize > 0, "searchSegmentSize must be greater than 0");
+			this.searchSegmentSize = searchSegmentSize;
+			return this;
+		}
+
+		/**
+		 * @param searchParallelism the maximum number of threads, including the calling
+		 * one, used by a single parallel search. Defaults to the number of available
+		 * processors.
+		 * @return this builder
+		 */
+		public Builder withSearchParallelism(int searchParallelism) {
+			Assert.isTrue(searchParallelism > 0, "searchParallelism must be greater than 0");
+			this.searchParallelism = searchParallelism;
+			return this;
+		}
+
+		/**
+		 * @param searchExecutor the executor running the parallel search segments.
+		 * Defaults to the common {@link java.util.concurrent.ForkJoinPool}.
+		 * @return this builder
+		 */
+		public Builder withSearchExecutor(Executor searchExecutor) {
+			Assert.notNull(searchExecutor, "searchExecutor must not be null");
+			this.searchExecutor = searchExecutor;
+			return this;
+		}
+
+		/**
+		 * @param indexedMetadataKeys the metadata keys for which an inverted index of
+		 * values is maintained to speed up filtered searches. None by default.
+		 * @return this builder
+		 */
+		public Builder withIndexedMetadataKeys(String... indexedMetadataKeys) {
+			Assert.noNullElements(indexedMetadataKeys, "indexedMetadataKeys must not contain null elements");
+			this.indexedMetadataKeys.addAll(List.of(indexedMetadataKeys));
+			return this;
+		}
+
+		/**
+		 * @param quantization the quantization of the embedding copies scanned to
+		 * pre-select the candidates of exact searches. None by default.
+		 * @return this builder
+		 */
+		public Builder withQuantization(Quantization quantization) {
+			Assert.notNull(quantization, "quantization must not be null");
+			this.quantization = quantization;
+			return this;
+		}
+
+		/**
+		 * @param quantizationOversampling how many candidates per requested result are
+		 * pre-selected on the quantized embeddings and re-scored. Defaults to
+		 * {@value #DEFAULT_QUANTIZATION_OVERSAMPLING}.
+		 * @return this builder
+		 */
+		public Builder withQuantizationOversampling(int quantizationOversampling) {
+			Assert.isTrue(quantizationOversampling > 0, "quantizationOversampling must be greater than 0");
+			this.quantizationOversampling = quantizationOversampling;
+			return this;
+		}
+
+		/**
+		 * @param batchingStrategy the strategy splitting added documents into the
+		 * batches sent to the embedding model. Defaults to a
+		 * {@link TokenCountBatchingStrategy}.
+		 * @return this builder
+		 */
+		public Builder withBatchingStrategy(BatchingStrategy batchingStrategy) {
+			Assert.notNull(batchingStrategy, "batchingStrategy must not be null");
+			this.batchingStrategy = batchingStrategy;
+			return this;
+		}
+
+		/**
+		 * @param batchExecution how the batches of added documents are sent to the
+		 * embedding model concurrently. Batches are sent sequentially by default.
+		 * @return this builder
+		 */
+		public Builder withBatchExecution(ConcurrentBatchExecution batchExecution) {
+			Assert.notNull(batchExecution, "batchExecution must not be null");
+			this.batchExecution = batchExecution;
+			return this;
+		}
+
+		/**
+		 * {@return the immutable configuration}
+		 */
+		public SimpleVectorStoreConfig build() {
+			return new SimpleVectorStoreConfig(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.quantization.BinaryEmbedding;
+import org.springframework.ai.embedding.quantization.Int8Embedding;
+import org.springframework.ai.embedding.quantization.Quantization;
+import org.springframework.ai.embedding.quantization.QuantizedEmbedding;
+import org.springframework.lang.Nullable;
+
+/**
+ * Binary snapshot format of a {@link SimpleVectorStore}. All values are little-endian:
+ *
+ * <pre>
+ * int     magic ("SVS1")
+ * int     version
+ * int     dimensions
+ * int     document count
+ * float[] embeddings, document count * dimensions values, one embedding after the other
+ * float[] norms, one per document
+ * int     quantization, the ordinal of the {@link Quantization} or -1 if none
+ * per document, if quantized: the int8 values (length prefixed), scale and norm, or the
+ *         binary bits as (dimensions + 63) / 64 longs
+ * per document: id, content and metadata (as JSON), each a length prefixed UTF-8 string
+ * </pre>
+ *
+ * The embeddings form a single block at a fixed offset so they can be streamed in one
+ * pass or memory mapped, without going through any intermediate JSON representation.
+ * Their norms and quantized copies are saved along, so that loading a mapped snapshot
+ * does not have to read the embeddings. Version 1 snapshots have neither.
+ *
+ * @since 1.0.0
+ */
+final class SimpleVectorStoreSnapshot {
+
+	static final int MAGIC = 0x31535653;
+
+	static final int VERSION = 2;
+
+	static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+
+	};
+
+	private SimpleVectorStoreSnapshot() {
+	}
+
+	/**
+	 * Writes the documents and their embeddings to the channel.
+	 * @param channel the channel to write to
+	 * @param documents the documents to write
+	 * @param storage the storage holding the embedding of every document
+	 * @param objectMapper the mapper used to serialize the metadata
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	static void write(WritableByteChannel channel, List<Document> documents, VectorStorage storage,
+			ObjectMapper objectMapper) throws IOException {
+
+		int[] slots = new int[documents.size()];
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = storage.slot(documents.get(i).getId());
+			if (slots[i] < 0) {
+				throw new IllegalStateException("No embedding stored for document " + documents.get(i).getId());
+			}
+		}
+		int dimensions = documents.isEmpty() ? 0 : storage.dimensions();
+		Writer writer = new Writer(channel);
+		writer.putInt(MAGIC);
+		writer.putInt(VERSION);
+		writer.putInt(dimensions);
+		writer.putInt(documents.size());
+		for (int slot : slots) {
+			writer.putFloats(storage.get(slot));
+		}
+		for (int slot : slots) {
+			writer.putFloat(storage.norm(slot));
+		}
+		QuantizedVectors quantizedVectors = storage.quantizedVectors();
+		writer.putInt((quantizedVectors != null) ? quantizedVectors.quantization().ordinal() : -1);
+		if (quantizedVectors != null) {
+			for (int slot : slots) {
+				QuantizedEmbedding quantized = quantizedVectors.get(slot);
+				if (quantized instanceof Int8Embedding int8) {
+					writer.putBytes(int8.getValues());
+					writer.putFloat(int8.getScale());
+					writer.putFloat(int8.getNorm());
+				}
+				else {
+					writer.putLongs(((BinaryEmbedding) quantized).getBits());
+				}
+			}
+		}
+		for (Document document : documents) {
+			writer.putString(document.getId());
+			writer.putString(document.getContent());
+			writer.putBytes(objectMapper.writeValueAsBytes(document.getMetadata()));
+		}
+		writer.flush();
+	}
+
+	private static final class Writer {
+
+		private final WritableByteChannel channel;
+
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+		Writer(WritableByteChannel channel) {
+			this.channel = channel;
+		}
+
+		void putInt(int value) throws IOException {
+			ensureRemaining(Integer.BYTES);
+			this.buffer.putInt(value);
+		}
+
+		void putFloat(float value) throws IOException {
+			ensureRemaining(Float.BYTES);
+			this.buffer.putFloat(value);
+		}
+
+		void putLongs(long[] values) throws IOException {
+			for (long value : values) {
+				ensureRemaining(Long.BYTES);
+				this.buffer.putLong(value);
+			}
+		}
+
+		void putFloats(float[] values) throws IOException {
+			int offset = 0;
+			while (offset < values.length) {
+				ensureRemaining(Float.BYTES);
+				int length = Math.min(values.length - offset, this.buffer.remaining() / Float.BYTES);
+				this.buffer.asFloatBuffer().put(values, offset, length);
+				this.buffer.position(this.buffer.position() + length * Float.BYTES);
+				offset += length;
+			}
+		}
+
+		void putString(String value) throws IOException {
+			putBytes((value != null) ? value.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+		}
+
+		void putBytes(byte[] bytes) throws IOException {
+			putInt(bytes.length);
+			int offset = 0;
+			while (offset < bytes.length) {
+				ensureRemaining(1);
+				int length = Math.min(bytes.length - offset, this.buffer.remaining());
+				this.buffer.put(bytes, offset, length);
+				offset += length;
+			}
+		}
+
+		void flush() throws IOException {
+			this.buffer.flip();
+			while (this.buffer.hasRemaining()) {
+				this.channel.write(this.buffer);
+			}
+			this.buffer.clear();
+		}
+
+		private void ensureRemaining(int bytes) throws IOException {
+			if (this.buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+
+	}
+
+	/**
+	 * Sequential reader of a snapshot. The header is read and validated on creation; the
+	 * embeddings, then their norms and quantized copies, have to be read or skipped
+	 * before the documents.
+	 */
+	static final class Reader {
+
+		private final ReadableByteChannel channel;
+
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+		private final int dimensions;
+
+		private final int count;
+
+		private final int version;
+
+		Reader(ReadableByteChannel channel) throws IOException {
+			this.channel = channel;
+			this.buffer.limit(0);
+			if (getInt() != MAGIC) {
+				throw new IOException("Not a SimpleVectorStore snapshot");
+			}
+			this.version = getInt();
+			if (this.version < 1 || this.version > VERSION) {
+				throw new IOException("Unsupported SimpleVectorStore snapshot version: " + this.version);
+			}
+			this.dimensions = getInt();
+			this.count = getInt();
+			if (this.dimensions < 0 || this.count < 0) {
+				throw new IOException("Corrupted SimpleVectorStore snapshot header");
+			}
+		}
+
+		int dimensions() {
+			return this.dimensions;
+		}
+
+		int count() {
+			return this.count;
+		}
+
+		/**
+		 * Reads the next embedding into the given array.
+		 */
+		void readEmbedding(float[] embedding) throws IOException {
+			getFloats(embedding);
+		}
+
+		/**
+		 * Positions the reader on the first document, skipping all the embeddings. Only
+		 * supported by seekable channels that have not read any embedding yet.
+		 */
+		void skipEmbeddings() throws IOException {
+			if (!(this.channel instanceof SeekableByteChannel seekable)) {
+				throw new IllegalStateException("Embeddings can only be skipped on a seekable channel");
+			}
+			seekable.position(HEADER_BYTES + (long) this.count * this.dimensions * Float.BYTES);
+			this.buffer.clear().limit(0);
+		}
+
+		/**
+		 * Reads the norms of all the embeddings, which follow the embeddings.
+		 * @return the norms, or {@code null} if the snapshot does not hold them
+		 */
+		@Nullable
+		float[] readNorms() throws IOException {
+			if (this.version < 2) {
+				return null;
+			}
+			float[] norms = new float[this.count];
+			getFloats(norms);
+			return norms;
+		}
+
+		/**
+		 * Reads the quantized copies of all the embeddings, which follow the norms.
+		 * @return the quantized copies, or {@code null} if the snapshot does not hold any
+		 */
+		@Nullable
+		QuantizedEmbedding[] readQuantized() throws IOException {
+			if (this.version < 2) {
+				return null;
+			}
+			int ordinal = getInt();
+			if (ordinal < 0) {
+				return null;
+			}
+			if (ordinal >= Quantization.values().length) {
+				throw new IOException("Corrupted SimpleVectorStore snapshot");
+			}
+			Quantization quantization = Quantization.values()[ordinal];
+			QuantizedEmbedding[] quantized = new QuantizedEmbedding[this.count];
+			for (int i = 0; i < quantized.length; i++) {
+				if (quantization == Quantization.INT8) {
+					quantized[i] = Int8Embedding.of(getBytes(), getFloat(), getFloat());
+				}
+				else {
+					long[] bits = new long[(this.dimensions + 63) >>> 6];
+					for (int j = 0; j < bits.length; j++) {
+						bits[j] = getLong();
+					}
+					quantized[i] = BinaryEmbedding.of(bits, this.dimensions);
+				}
+			}
+			return quantized;
+		}
+
+		/**
+		 * Reads the next document. The returned document has no embedding.
+		 */
+		Document readDocument(ObjectMapper objectMapper) throws IOException {
+			String id = new String(getBytes(), StandardCharsets.UTF_8);
+			String content = new String(getBytes(), StandardCharsets.UTF_8);
+			Map<String, Object> metadata = objectMapper.readValue(getBytes(), METADATA_TYPE);
+			return new Document(id, content, metadata);
+		}
+
+		private int getInt() throws IOException {
+			ensureAvailable(Integer.BYTES);
+			return this.buffer.getInt();
+		}
+
+		private long getLong() throws IOException {
+			ensureAvailable(Long.BYTES);
+			return this.buffer.getLong();
+		}
+
+		private float getFloat() throws IOException {
+			ensureAvailable(Float.BYTES);
+			return this.buffer.getFloat();
+		}
+
+		private void getFloats(float[] values) throws IOException {
+			int offset = 0;
+			while (offset < values.length) {
+				ensureAvailable(Float.BYTES);
+				int length = Math.min(values.length - offset, this.buffer.remaining() / Float.BYTES);
+				this.buffer.asFloatBuffer().get(values, offset, length);
+				this.buffer.position(this.buffer.position() + length * Float.BYTES);
+				offset += length;
+			}
+		}
+
+		private byte[] getBytes() throws IOException {
+			int length = getInt();
+			if (length < 0) {
+				throw new IOException("Corrupted SimpleVectorStore snapshot");
+			}
+			byte[] bytes = new byte[length];
+			int offset = 0;
+			while (offset < length) {
+				ensureAvailable(1);
+				int chunk = Math.min(length - offset, this.buffer.remaining());
+				this.buffer.get(bytes, offset, chunk);
+				offset += chunk;
+			}
+			return bytes;
+		}
+
+		private void ensureAvailable(int bytes) throws IOException {
+			if (this.buffer.remaining() >= bytes) {
+				return;
+			}
+			this.buffer.compact();
+			while (this.buffer.position() < bytes) {
+				if (this.channel.read(this.buffer) < 0) {
+					throw new EOFException("Unexpected end of SimpleVectorStore snapshot");
+				}
+			}
+			this.buffer.flip();
+		}
+
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+/**
+ * Fixed size min-heap that keeps the {@code k} highest scoring slots seen so far. Slots
+ * and scores are held in primitive arrays so offering a candidate never allocates, which
+ * keeps a full scan at {@code O(n log k)}.
+ *
+ * @since 1.0.0
+ */
+final class TopKHeap {
+
+	private final int[] slots;
+
+	private final float[] scores;
+
+	private int size;
+
+	TopKHeap(int k) {
+		this.slots = new int[k];
+		this.scores = new float[k];
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Offers a candidate to the heap. It is kept if the heap is not yet full or if it
+	 * scores higher than the current minimum.
+	 * @param slot the candidate slot
+	 * @param score the candidate similarity score
+	 */
+	void offer(int slot, float score) {
+		if (this.size < this.slots.length) {
+			int index = this.size++;
+			this.slots[index] = slot;
+			this.scores[index] = score;
+			siftUp(index);
+		}
+		else if (this.size > 0 && score > this.scores[0]) {
+			this.slots[0] = slot;
+			this.scores[0] = score;
+			siftDown(0, this.size);
+		}
+	}
+
+	/**
+	 * Offers all the candidates retained by another heap.
+	 * @param other the heap to merge into this one
+	 */
+	void offerAll(TopKHeap other) {
+		for (int i = 0; i < other.size; i++) {
+			offer(other.slots[i], other.scores[i]);
+		}
+	}
+
+	/**
+	 * Sorts the heap in place and returns the retained slots, highest score first. The
+	 * heap must not be used afterwards.
+	 * @return the retained slots ordered by descending score
+	 */
+	int[] drainDescending() {
+		for (int end = this.size - 1; end > 0; end--) {
+			swap(0, end);
+			siftDown(0, end);
+		}
+		int[] result = new int[this.size];
+		System.arraycopy(this.slots, 0, result, 0, this.size);
+		this.size = 0;
+		return result;
+	}
+
+	private void siftUp(int index) {
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (this.scores[parent] <= this.scores[index]) {
+				return;
+			}
+			swap(parent, index);
+			index = parent;
+		}
+	}
+
+	private void siftDown(int index, int end) {
+		while (true) {
+			int left = 2 * index + 1;
+			if (left >= end) {
+				return;
+			}
+			int smallest = left;
+			int right = left + 1;
+			if (right < end && this.scores[right] < this.scores[left]) {
+				smallest = right;
+			}
+			if (this.scores[index] <= this.scores[smallest]) {
+				return;
+			}
+			swap(index, smallest);
+			index = smallest;
+		}
+	}
+
+	private void swap(int i, int j) {
+		int slot = this.slots[i];
+		this.slots[i] = this.slots[j];
+		this.slots[j] = slot;
+		float score = this.scores[i];
+		this.scores[i] = this.scores[j];
+		this.scores[j] = score;
+	}
+
+}
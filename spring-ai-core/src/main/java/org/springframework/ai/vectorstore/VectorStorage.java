@@ -0,0 +1,319 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.ai.embedding.quantization.Quantization;
+import org.springframework.ai.embedding.quantization.QuantizedEmbedding;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Slot addressed storage for the embeddings held by a {@link SimpleVectorStore}. Every
+ * stored document id is assigned a slot; slots of removed documents are recycled. A
+ * search walks the slots from {@code 0} to {@link #slotCount()} and skips the free ones.
+ * The norm of every embedding is computed once when it is written, and so is its
+ * quantized copy when {@link #enableQuantization(Quantization) quantization} is enabled,
+ * unless both are restored along with the embedding.
+ *
+ * Implementations are not thread-safe, callers are expected to guard writes against
+ * concurrent reads.
+ *
+ * @since 1.0.0
+ */
+abstract class VectorStorage {
+
+	private final Map<String, Integer> slotsById = new HashMap<>();
+
+	private String[] ids = new String[0];
+
+	private float[] norms = new float[0];
+
+	private int[] freeSlots = new int[16];
+
+	private int freeSlotCount;
+
+	private int slotCount;
+
+	private int dimensions = -1;
+
+	@Nullable
+	private QuantizedVectors quantizedVectors;
+
+	/**
+	 * Keeps a quantized copy of every embedding written from now on. The storage must be
+	 * empty.
+	 * @param quantization the quantization of the copies
+	 */
+	void enableQuantization(Quantization quantization) {
+		Assert.notNull(quantization, "quantization must not be null");
+		Assert.state(this.slotCount == 0, "The storage must be empty");
+		this.quantizedVectors = new QuantizedVectors(quantization);
+	}
+
+	/**
+	 * Stores the embedding of the given document id, replacing any previous embedding.
+	 * @param id the document id
+	 * @param embedding the embedding to store
+	 * @return the slot the embedding was written to
+	 */
+	int put(String id, float[] embedding) {
+		Assert.notNull(id, "id must not be null");
+		Assert.notNull(embedding, "embedding must not be null");
+		checkDimensions(embedding.length);
+
+		Integer existing = this.slotsById.get(id);
+		int slot = (existing != null) ? existing : nextSlot();
+		write(slot, embedding);
+		this.norms[slot] = (float) Math.sqrt(squaredNorm(slot));
+		if (this.quantizedVectors != null) {
+			this.quantizedVectors.write(slot, embedding);
+		}
+		this.ids[slot] = id;
+		this.slotsById.put(id, slot);
+		return slot;
+	}
+
+	/**
+	 * Writes an embedding to a new slot without assigning it to a document id yet. The
+	 * slot is skipped by searches until {@link #attach(int, String)} is called.
+	 * @param embedding the embedding to store
+	 * @return the slot the embedding was written to
+	 */
+	int append(float[] embedding) {
+		Assert.notNull(embedding, "embedding must not be null");
+		checkDimensions(embedding.length);
+		int slot = nextSlot();
+		write(slot, embedding);
+		return slot;
+	}
+
+	/**
+	 * Assigns a slot whose embedding is already held by the storage to a document id.
+	 * @param slot a slot that was appended or reserved but not attached yet
+	 * @param id the document id
+	 */
+	void attach(int slot, String id) {
+		Assert.isTrue(slot < this.slotCount && this.ids[slot] == null, "slot must be unassigned");
+		attach(slot, id, (float) Math.sqrt(squaredNorm(slot)), null);
+	}
+
+	/**
+	 * Assigns a slot whose embedding is already held by the storage to a document id,
+	 * along with the norm and quantized copy that were saved with the embedding. The
+	 * embedding itself is only read when its quantized copy is missing.
+	 * @param slot a slot that was appended or reserved but not attached yet
+	 * @param id the document id
+	 * @param norm the Euclidean norm of the embedding
+	 * @param quantized the quantized copy of the embedding, ignored unless it matches the
+	 * enabled quantization
+	 */
+	void attach(int slot, String id, float norm, @Nullable QuantizedEmbedding quantized) {
+		Assert.notNull(id, "id must not be null");
+		Assert.isTrue(slot < this.slotCount && this.ids[slot] == null, "slot must be unassigned");
+		this.norms[slot] = norm;
+		if (this.quantizedVectors != null) {
+			if (quantized != null && quantized.getQuantization() == this.quantizedVectors.quantization()) {
+				this.quantizedVectors.write(slot, quantized);
+			}
+			else {
+				this.quantizedVectors.write(slot, get(slot));
+			}
+		}
+		this.ids[slot] = id;
+		this.slotsById.put(id, slot);
+	}
+
+	/**
+	 * Removes the embedding of the given document id and frees its slot.
+	 * @param id the document id
+	 * @return {@code true} if an embedding was removed
+	 */
+	boolean remove(String id) {
+		Integer slot = this.slotsById.remove(id);
+		if (slot == null) {
+			return false;
+		}
+		this.ids[slot] = null;
+		free(slot);
+		if (this.quantizedVectors != null) {
+			this.quantizedVectors.free(slot);
+		}
+		if (this.freeSlotCount == this.freeSlots.length) {
+			int[] grown = new int[this.freeSlots.length * 2];
+			System.arraycopy(this.freeSlots, 0, grown, 0, this.freeSlotCount);
+			this.freeSlots = grown;
+		}
+		this.freeSlots[this.freeSlotCount++] = slot;
+		return true;
+	}
+
+	void clear() {
+		this.slotsById.clear();
+		this.ids = new String[0];
+		this.norms = new float[0];
+		this.freeSlotCount = 0;
+		this.slotCount = 0;
+		this.dimensions = -1;
+		if (this.quantizedVectors != null) {
+			this.quantizedVectors.clear();
+		}
+		release();
+	}
+
+	/**
+	 * {@return the number of used and free slots, i.e. the upper bound for a scan}
+	 */
+	int slotCount() {
+		return this.slotCount;
+	}
+
+	int size() {
+		return this.slotsById.size();
+	}
+
+	int dimensions() {
+		return this.dimensions;
+	}
+
+	/**
+	 * {@return the quantized copies of the embeddings or {@code null} if quantization is
+	 * not enabled}
+	 */
+	@Nullable
+	QuantizedVectors quantizedVectors() {
+		return this.quantizedVectors;
+	}
+
+	/**
+	 * {@return the document id held by the slot or {@code null} if the slot is free}
+	 */
+	@Nullable
+	String id(int slot) {
+		return this.ids[slot];
+	}
+
+	/**
+	 * {@return the Euclidean norm of the embedding stored in the slot}
+	 */
+	float norm(int slot) {
+		return this.norms[slot];
+	}
+
+	/**
+	 * {@return the slot of the document id or {@code -1} if it is not stored}
+	 */
+	int slot(String id) {
+		Integer slot = this.slotsById.get(id);
+		return (slot != null) ? slot : -1;
+	}
+
+	/**
+	 * Marks the first {@code count} slots as used by embeddings that the implementation
+	 * loaded on its own, e.g. by memory mapping them. The storage must be empty and the
+	 * slots must be assigned with {@link #attach(int, String)}.
+	 */
+	protected final void reserve(int dimensions, int count) {
+		Assert.state(this.slotCount == 0 && this.dimensions < 0, "The storage must be empty");
+		checkDimensions(dimensions);
+		this.slotCount = count;
+		this.ids = new String[count];
+		this.norms = new float[count];
+		ensureCapacity(count);
+		if (this.quantizedVectors != null) {
+			this.quantizedVectors.ensureCapacity(count);
+		}
+	}
+
+	/**
+	 * {@return a copy of the embedding stored in the slot}
+	 */
+	abstract float[] get(int slot);
+
+	/**
+	 * {@return the dot product of the embedding stored in the slot and the query}
+	 */
+	abstract float dotProduct(int slot, float[] query);
+
+	/**
+	 * {@return the dot product of the embeddings stored in two slots}
+	 */
+	abstract float dotProduct(int slot, int otherSlot);
+
+	/**
+	 * {@return the squared norm of the embedding stored in the slot}
+	 */
+	protected abstract float squaredNorm(int slot);
+
+	/**
+	 * Prepares the storage for embeddings of the given dimensions.
+	 */
+	protected abstract void initialize(int dimensions);
+
+	/**
+	 * Makes sure at least {@code capacity} slots can be written.
+	 */
+	protected abstract void ensureCapacity(int capacity);
+
+	protected abstract void write(int slot, float[] embedding);
+
+	/**
+	 * Called when a slot is freed, to drop references held for it.
+	 */
+	protected void free(int slot) {
+	}
+
+	/**
+	 * Drops all the memory held by the storage.
+	 */
+	protected abstract void release();
+
+	private void checkDimensions(int length) {
+		if (this.dimensions < 0) {
+			this.dimensions = length;
+			initialize(this.dimensions);
+		}
+		else if (length != this.dimensions) {
+			throw new IllegalArgumentException(
+					"Embedding dimensions mismatch: expected " + this.dimensions + " but got " + length);
+		}
+	}
+
+	private int nextSlot() {
+		if (this.freeSlotCount > 0) {
+			return this.freeSlots[--this.freeSlotCount];
+		}
+		int slot = this.slotCount++;
+		ensureCapacity(this.slotCount);
+		if (this.quantizedVectors != null) {
+			this.quantizedVectors.ensureCapacity(this.slotCount);
+		}
+		if (slot >= this.ids.length) {
+			int length = Math.max(16, this.ids.length * 2);
+			String[] grownIds = new String[length];
+			System.arraycopy(this.ids, 0, grownIds, 0, this.ids.length);
+			this.ids = grownIds;
+			float[] grownNorms = new float[length];
+			System.arraycopy(this.norms, 0, grownNorms, 0, this.norms.length);
+			this.norms = grownNorms;
+		}
+		return slot;
+	}
+
+}
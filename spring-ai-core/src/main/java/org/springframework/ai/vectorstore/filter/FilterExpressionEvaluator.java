@@ -0,0 +1,188 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore.filter;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Evaluates {@link Filter.Expression filter expressions} against document metadata in
+ * memory. The expression tree is compiled once into a {@link Predicate} that can then be
+ * applied to any number of metadata maps without walking the tree again.
+ *
+ * Values are compared by type: numbers are compared numerically regardless of their Java
+ * type (e.g. {@code 2020} matches {@code 2020L} and {@code 2020.0}), strings
+ * lexicographically and booleans by equality only. Comparing values of different types,
+ * or with a missing metadata key, never matches, so {@code NE} and {@code NIN} match
+ * documents that do not have the key.
+ *
+ * @since 1.0.0
+ */
+public final class FilterExpressionEvaluator {
+
+	private FilterExpressionEvaluator() {
+	}
+
+	/**
+	 * Compiles the filter expression into a metadata predicate.
+	 * @param expression the filter expression
+	 * @return the predicate matching the metadata satisfying the expression
+	 * @throws IllegalArgumentException if the expression is malformed
+	 */
+	public static Predicate<Map<String, Object>> compile(Filter.Expression expression) {
+		return compileOperand(expression);
+	}
+
+	/**
+	 * Returns the canonical form of a value used for equality checks: integral numbers
+	 * become a {@link Long}, other numbers a {@link Double}, everything else is returned
+	 * as is.
+	 * @param value the value to normalize
+	 * @return the normalized value
+	 */
+	@Nullable
+	public static Object normalize(@Nullable Object value) {
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).longValue();
+		}
+		if (value instanceof BigInteger bigInteger) {
+			return (bigInteger.bitLength() < Long.SIZE) ? (Object) bigInteger.longValue() : bigInteger.doubleValue();
+		}
+		if (value instanceof Number number) {
+			double doubleValue = number.doubleValue();
+			if (doubleValue == Math.rint(doubleValue) && Math.abs(doubleValue) < 0x1p63) {
+				return (long) doubleValue;
+			}
+			return doubleValue;
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the metadata key named by a filter key. Quoted keys, as produced by the text
+	 * parser for keys with special characters, are unquoted.
+	 * @param key the filter key
+	 * @return the metadata key
+	 */
+	public static String metadataKey(Filter.Key key) {
+		String name = key.key();
+		if (name.length() >= 2 && ((name.startsWith("\"") && name.endsWith("\""))
+				|| (name.startsWith("'") && name.endsWith("'")))) {
+			return name.substring(1, name.length() - 1);
+		}
+		return name;
+	}
+
+	private static Predicate<Map<String, Object>> compileOperand(@Nullable Filter.Operand operand) {
+		if (operand instanceof Filter.Group group) {
+			return compileOperand(group.content());
+		}
+		if (!(operand instanceof Filter.Expression expression)) {
+			throw new IllegalArgumentException("Expected a filter expression but got: " + operand);
+		}
+		return switch (expression.type()) {
+			case AND -> {
+				Predicate<Map<String, Object>> left = compileOperand(expression.left());
+				Predicate<Map<String, Object>> right = compileOperand(expression.right());
+				yield metadata -> left.test(metadata) && right.test(metadata);
+			}
+			case OR -> {
+				Predicate<Map<String, Object>> left = compileOperand(expression.left());
+				Predicate<Map<String, Object>> right = compileOperand(expression.right());
+				yield metadata -> left.test(metadata) || right.test(metadata);
+			}
+			case NOT -> compileOperand(expression.left()).negate();
+			case EQ -> equalTo(key(expression), value(expression));
+			case NE -> equalTo(key(expression), value(expression)).negate();
+			case GT -> comparing(key(expression), value(expression), comparison -> comparison > 0);
+			case GTE -> comparing(key(expression), value(expression), comparison -> comparison >= 0);
+			case LT -> comparing(key(expression), value(expression), comparison -> comparison < 0);
+			case LTE -> comparing(key(expression), value(expression), comparison -> comparison <= 0);
+			case IN -> in(key(expression), values(expression));
+			case NIN -> in(key(expression), values(expression)).negate();
+		};
+	}
+
+	private static Predicate<Map<String, Object>> equalTo(String key, Object value) {
+		Object expected = normalize(value);
+		return metadata -> expected.equals(normalize(metadata.get(key)));
+	}
+
+	private static Predicate<Map<String, Object>> in(String key, Set<Object> values) {
+		return metadata -> {
+			Object actual = normalize(metadata.get(key));
+			return actual != null && values.contains(actual);
+		};
+	}
+
+	private static Predicate<Map<String, Object>> comparing(String key, Object value, IntPredicate matcher) {
+		Object expected = normalize(value);
+		return metadata -> {
+			Integer comparison = compare(normalize(metadata.get(key)), expected);
+			return comparison != null && matcher.test(comparison);
+		};
+	}
+
+	@Nullable
+	private static Integer compare(@Nullable Object actual, Object expected) {
+		if (actual instanceof Long actualLong && expected instanceof Long expectedLong) {
+			return Long.compare(actualLong, expectedLong);
+		}
+		if (actual instanceof Number actualNumber && expected instanceof Number expectedNumber) {
+			return Double.compare(actualNumber.doubleValue(), expectedNumber.doubleValue());
+		}
+		if (actual instanceof String actualString && expected instanceof String expectedString) {
+			return actualString.compareTo(expectedString);
+		}
+		return null;
+	}
+
+	private static String key(Filter.Expression expression) {
+		if (!(expression.left() instanceof Filter.Key key)) {
+			throw new IllegalArgumentException(
+					"Expected a key as left operand of " + expression.type() + " but got: " + expression.left());
+		}
+		return metadataKey(key);
+	}
+
+	private static Object value(Filter.Expression expression) {
+		if (!(expression.right() instanceof Filter.Value value) || value.value() == null) {
+			throw new IllegalArgumentException(
+					"Expected a value as right operand of " + expression.type() + " but got: " + expression.right());
+		}
+		return value.value();
+	}
+
+	private static Set<Object> values(Filter.Expression expression) {
+		Object value = value(expression);
+		Collection<?> values = (value instanceof Collection<?> collection) ? collection : List.of(value);
+		Set<Object> normalized = new HashSet<>();
+		for (Object element : values) {
+			normalized.add(normalize(element));
+		}
+		return normalized;
+	}
+
+}
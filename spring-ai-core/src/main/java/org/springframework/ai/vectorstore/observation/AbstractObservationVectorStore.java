@@ -18,19 +18,32 @@ package org.springframework.ai.vectorstore.observation;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.AsyncVectorStore;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.lang.Nullable;
 
 /**
+ * Base class of the vector stores, observing their operations. The
+ * {@link AsyncVectorStore} operations run the blocking ones on
+ * {@link Schedulers#boundedElastic()} unless a store overrides {@link #doAddAsync},
+ * {@link #doDeleteAsync} and {@link #doSimilaritySearchAsync} with native non-blocking
+ * implementations.
+ *
  * @author Christian Tzolov
  * @since 1.0.0
  */
-public abstract class AbstractObservationVectorStore implements VectorStore {
+public abstract class AbstractObservationVectorStore implements VectorStore, AsyncVectorStore {
 
 	private static final VectorStoreObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultVectorStoreObservationConvention();
 
@@ -89,12 +102,92 @@ public abstract class AbstractObservationVectorStore implements VectorStore {
 			});
 	}
 
+	@Override
+	public Mono<Void> addAsync(List<Document> documents) {
+		return observeAsync(() -> this
+			.createObservationContextBuilder(VectorStoreObservationContext.Operation.ADD.value())
+			.build(), observationContext -> this.doAddAsync(documents));
+	}
+
+	@Override
+	public Mono<Boolean> deleteAsync(List<String> deleteDocIds) {
+		return observeAsync(() -> this
+			.createObservationContextBuilder(VectorStoreObservationContext.Operation.DELETE.value())
+			.build(), observationContext -> this.doDeleteAsync(deleteDocIds));
+	}
+
+	@Override
+	public Mono<List<Document>> similaritySearchAsync(SearchRequest request) {
+		return observeAsync(() -> this
+			.createObservationContextBuilder(VectorStoreObservationContext.Operation.QUERY.value())
+			.withQueryRequest(request)
+			.build(),
+				observationContext -> this.doSimilaritySearchAsync(request)
+					.doOnNext(observationContext::setQueryResponse));
+	}
+
+	private <T> Mono<T> observeAsync(Supplier<VectorStoreObservationContext> observationContextSupplier,
+			Function<VectorStoreObservationContext, Mono<T>> operation) {
+		return Mono.deferContextual(contextView -> {
+			VectorStoreObservationContext observationContext = observationContextSupplier.get();
+			Observation observation = VectorStoreObservationDocumentation.AI_VECTOR_STORE.observation(
+					this.customObservationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
+					this.observationRegistry);
+			observation.parentObservation(contextView.getOrDefault(ObservationThreadLocalAccessor.KEY, null)).start();
+			// Deferred so that an operation failing before returning its Mono still ends the
+			// observation
+			return Mono.defer(() -> operation.apply(observationContext))
+				.doOnError(observation::error)
+				.doFinally(s -> observation.stop())
+				.contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation));
+		});
+	}
+
 	public abstract void doAdd(List<Document> documents);
 
 	public abstract Optional<Boolean> doDelete(List<String> idList);
 
 	public abstract List<Document> doSimilaritySearch(SearchRequest request);
 
+	/**
+	 * Creates the observation context of an operation. The {@link AsyncVectorStore}
+	 * operations call it on the subscribing thread, which may be an event loop, so it
+	 * must not block: the dimensions should be reported with
+	 * {@link VectorStoreObservationContext.Builder#withEmbeddingDimensions} rather than
+	 * by probing the embedding model.
+	 * @param operationName the name of the observed operation
+	 * @return the builder of the observation context
+	 */
 	public abstract VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName);
 
+	/**
+	 * Adds the documents without blocking the calling thread. Runs {@link #doAdd} on
+	 * {@link Schedulers#boundedElastic()} by default.
+	 * @param documents the documents to add
+	 * @return completes once the documents are added
+	 */
+	protected Mono<Void> doAddAsync(List<Document> documents) {
+		return Mono.<Void>fromRunnable(() -> this.doAdd(documents)).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Deletes the documents without blocking the calling thread. Runs {@link #doDelete}
+	 * on {@link Schedulers#boundedElastic()} by default.
+	 * @param idList the ids of the documents to delete
+	 * @return whether the documents were deleted
+	 */
+	protected Mono<Boolean> doDeleteAsync(List<String> idList) {
+		return Mono.fromCallable(() -> this.doDelete(idList).orElse(false)).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Searches the documents without blocking the calling thread. Runs
+	 * {@link #doSimilaritySearch} on {@link Schedulers#boundedElastic()} by default.
+	 * @param request the search request
+	 * @return the matching documents
+	 */
+	protected Mono<List<Document>> doSimilaritySearchAsync(SearchRequest request) {
+		return Mono.fromCallable(() -> this.doSimilaritySearch(request)).subscribeOn(Schedulers.boundedElastic());
+	}
+
 }
@@ -17,10 +17,13 @@
 package org.springframework.ai.vectorstore.observation;
 
 import java.util.List;
+import java.util.OptionalInt;
 
 import io.micrometer.observation.Observation;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingDimensions;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -194,6 +197,21 @@ public class VectorStoreObservationContext extends Observation.Context {
 			return this;
 		}
 
+		/**
+		 * Sets the dimensions of the embedding model if they are already resolved, so
+		 * that observing an operation never costs an embedding request, see
+		 * {@link EmbeddingDimensions#getIfResolved(EmbeddingModel)}.
+		 * @param embeddingModel the embedding model of the vector store
+		 * @return this builder
+		 */
+		public Builder withEmbeddingDimensions(EmbeddingModel embeddingModel) {
+			OptionalInt dimensions = EmbeddingDimensions.getIfResolved(embeddingModel);
+			if (dimensions.isPresent()) {
+				this.context.setDimensions(dimensions.getAsInt());
+			}
+			return this;
+		}
+
 		public Builder withFieldName(String fieldName) {
 			this.context.setFieldName(fieldName);
 			return this;
@@ -26,6 +26,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.messages.AssistantMessage;
@@ -40,12 +42,18 @@ import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.AsyncVectorStore;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.withSettings;
 
 /**
  * @author Christian Tzolov
@@ -239,4 +247,34 @@ public class QuestionAnswerAdvisorTests {
 		assertThat(this.vectorSearchCaptor.getValue().getQuery()).isEqualTo(expectedQuery);
 	}
 
+	@Test
+	public void qaAdvisorStreamingSearchesAsyncVectorStoresWithoutBlocking() {
+		given(this.chatModel.stream(this.promptCaptor.capture()))
+			.willReturn(Flux.just(new ChatResponse(List.of(new Generation(new AssistantMessage("Your answer"))),
+					ChatResponseMetadata.builder().build())));
+
+		VectorStore asyncVectorStore = mock(VectorStore.class, withSettings().extraInterfaces(AsyncVectorStore.class));
+		given(((AsyncVectorStore) asyncVectorStore).similaritySearchAsync(this.vectorSearchCaptor.capture()))
+			.willReturn(Mono.just(List.of(new Document("doc1"), new Document("doc2"))));
+
+		var chatClient = ChatClient.builder(this.chatModel).build();
+		var qaAdvisor = new QuestionAnswerAdvisor(asyncVectorStore, SearchRequest.defaults());
+
+		// @formatter:off
+		List<String> content = chatClient.prompt()
+			.user(u -> u.text("Please answer my question {question}").param("question", "XYZ"))
+			.advisors(qaAdvisor)
+			.stream()
+			.content()
+			.collectList()
+			.block();
+		// @formatter:on
+
+		assertThat(content).containsExactly("Your answer");
+		assertThat(this.vectorSearchCaptor.getValue().getQuery()).isEqualTo("Please answer my question XYZ");
+		var userPrompt = this.promptCaptor.getValue().getInstructions().get(0).getContent();
+		assertThat(userPrompt).contains("Please answer my question XYZ", "doc1", "doc2");
+		then(asyncVectorStore).should(never()).similaritySearch(any(SearchRequest.class));
+	}
+
 }
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.ai.chat.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.function.AsyncFunctionCallback;
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.model.function.FunctionCallbackWrapper;
+import org.springframework.ai.model.function.FunctionCallingOptions;
+import org.springframework.ai.model.function.ToolCallHelper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the tool call execution of {@link AbstractToolCallSupport}.
+ */
+class AbstractToolCallSupportTests {
+
+	private final ToolCallHelper toolCallHelper = new ToolCallHelper();
+
+	@Test
+	void concurrentToolCallsKeepTheirOrder() {
+		// Each call waits for all of them to start, so they can only complete concurrently
+		CountDownLatch started = new CountDownLatch(3);
+		register(new TestFunction("echo", input -> {
+			started.countDown();
+			await(started);
+			return input;
+		}));
+
+		List<Message> conversation = this.toolCallHelper.handleToolCalls(prompt(true, Duration.ofSeconds(5)),
+				response("echo", "echo", "echo"));
+
+		ToolResponseMessage toolResponseMessage = (ToolResponseMessage) conversation.get(2);
+		assertThat(toolResponseMessage.getResponses()).extracting(ToolResponseMessage.ToolResponse::id)
+			.containsExactly("0", "1", "2");
+		assertThat(toolResponseMessage.getResponses()).extracting(ToolResponseMessage.ToolResponse::responseData)
+			.containsExactly("{\"n\":0}", "{\"n\":1}", "{\"n\":2}");
+	}
+
+	@Test
+	void firstFailureInToolCallOrderIsRethrown() {
+		register(new TestFunction("ok", input -> input));
+		register(new TestFunction("slowFailure", input -> {
+			sleep(50);
+			throw new IllegalArgumentException("first");
+		}));
+		register(new TestFunction("failure", input -> {
+			throw new IllegalArgumentException("second");
+		}));
+
+		Prompt prompt = prompt(true, null);
+		ChatResponse response = response("ok", "slowFailure", "failure");
+
+		assertThatThrownBy(() -> this.toolCallHelper.handleToolCalls(prompt, response))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("first");
+	}
+
+	@Test
+	void slowToolCallTimesOut() {
+		register(new TestFunction("ok", input -> input));
+		register(new TestFunction("slow", input -> {
+			sleep(1000);
+			return input;
+		}));
+
+		Prompt prompt = prompt(true, Duration.ofMillis(50));
+		ChatResponse response = response("ok", "slow");
+
+		assertThatIllegalStateException().isThrownBy(() -> this.toolCallHelper.handleToolCalls(prompt, response))
+			.withMessageContaining("Function [slow] did not complete within");
+	}
+
+	@Test
+	void toolCallsAreSequentialByDefault() {
+		List<String> threads = new CopyOnWriteArrayList<>();
+		register(new TestFunction("echo", input -> {
+			threads.add(Thread.currentThread().getName());
+			return input;
+		}));
+
+		this.toolCallHelper.handleToolCalls(prompt(null, null), response("echo", "echo"));
+
+		assertThat(threads).containsOnly(Thread.currentThread().getName());
+	}
+
+	@Test
+	void streamingToolCallsComposeAsyncFunctionsAndOffloadBlockingOnes() {
+		List<String> threads = new CopyOnWriteArrayList<>();
+		register(new TestFunction("blocking", input -> {
+			threads.add(Thread.currentThread().getName());
+			return input;
+		}));
+		register(FunctionCallbackWrapper.asyncBuilder((Request request) -> Mono.just(request.n() * 10))
+			.withName("async")
+			.withDescription("async")
+			.withInputType(Request.class)
+			.build());
+
+		List<Message> conversation = this.toolCallHelper
+			.handleToolCallsAsync(prompt(null, null), response("blocking", "async"))
+			.block();
+
+		ToolResponseMessage toolResponseMessage = (ToolResponseMessage) conversation.get(2);
+		assertThat(toolResponseMessage.getResponses()).extracting(ToolResponseMessage.ToolResponse::responseData)
+			.containsExactly("{\"n\":0}", "10");
+		assertThat(threads).singleElement().asString().startsWith("boundedElastic");
+	}
+
+	@Test
+	void streamingToolCallsOffloadBlockingFunctionWrappers() {
+		List<String> threads = new CopyOnWriteArrayList<>();
+		FunctionCallback functionCallback = FunctionCallbackWrapper.builder((Request request) -> {
+			threads.add(Thread.currentThread().getName());
+			return request.n() * 10;
+		})
+			.withName("blocking")
+			.withDescription("blocking")
+			.withInputType(Request.class)
+			.build();
+		register(functionCallback);
+
+		List<Message> conversation = this.toolCallHelper
+			.handleToolCallsAsync(prompt(null, null), response("blocking", "blocking"))
+			.block();
+
+		assertThat(functionCallback).isNotInstanceOf(AsyncFunctionCallback.class);
+		ToolResponseMessage toolResponseMessage = (ToolResponseMessage) conversation.get(2);
+		assertThat(toolResponseMessage.getResponses()).extracting(ToolResponseMessage.ToolResponse::responseData)
+			.containsExactly("0", "10");
+		assertThat(threads).hasSize(2).allSatisfy(thread -> assertThat(thread).startsWith("boundedElastic"));
+	}
+
+	@Test
+	void asyncFunctionCanBeCalledBlocking() {
+		FunctionCallback functionCallback = FunctionCallbackWrapper
+			.asyncBuilder((Request request) -> Mono.just(request.n() + 1))
+			.withName("increment")
+			.withDescription("increment")
+			.withInputType(Request.class)
+			.build();
+
+		assertThat(functionCallback.call("{\"n\":41}")).isEqualTo("42");
+	}
+
+	private void register(FunctionCallback functionCallback) {
+		this.toolCallHelper.getFunctionCallbackRegister().put(functionCallback.getName(), functionCallback);
+	}
+
+	private static Prompt prompt(Boolean concurrentToolExecution, Duration timeout) {
+		return new Prompt("question",
+				FunctionCallingOptions.builder()
+					.withConcurrentToolExecution(concurrentToolExecution)
+					.withToolExecutionTimeout(timeout)
+					.build());
+	}
+
+	private static ChatResponse response(String... functionNames) {
+		List<AssistantMessage.ToolCall> toolCalls = new ArrayList<>();
+		for (int i = 0; i < functionNames.length; i++) {
+			toolCalls.add(new AssistantMessage.ToolCall(String.valueOf(i), "function", functionNames[i],
+					"{\"n\":" + i + "}"));
+		}
+		return new ChatResponse(List.of(new Generation(new AssistantMessage("", Map.of(), toolCalls))));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	record Request(int n) {
+	}
+
+	private record TestFunction(String name, UnaryOperator<String> function)
+			implements
+				FunctionCallback {
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public String getDescription() {
+			return this.name;
+		}
+
+		@Override
+		public String getInputTypeSchema() {
+			return "{}";
+		}
+
+		@Override
+		public String call(String functionInput) {
+			return this.function.apply(functionInput);
+		}
+
+		@Override
+		public String call(String functionInput, ToolContext toolContext) {
+			return call(functionInput);
+		}
+
+	}
+
+}
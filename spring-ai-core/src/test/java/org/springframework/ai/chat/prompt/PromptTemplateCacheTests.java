@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.ai.chat.prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link PromptTemplateCache}.
+ */
+class PromptTemplateCacheTests {
+
+	private final PromptTemplateCache cache = new PromptTemplateCache(2);
+
+	@Test
+	void rendersLikePromptTemplate() {
+		String template = "Hello {name}, the items are:\n{items:{item | - {item}\n}}";
+		Map<String, Object> model = Map.of("name", "Bob", "items", List.of("apple", "banana"));
+
+		assertThat(this.cache.render(template, model)).isEqualTo(new PromptTemplate(template, model).render());
+		assertThat(this.cache.getInputVariables(template)).containsExactlyInAnyOrder("name", "items");
+	}
+
+	@Test
+	void templateWithoutPlaceholdersIsNotCompiled() {
+		String template = "No variables here";
+
+		assertThat(this.cache.render(template, Map.of("unused", 1))).isSameAs(template);
+		assertThat(this.cache.size()).isZero();
+	}
+
+	@Test
+	void missingVariablesAreReported() {
+		assertThatIllegalStateException().isThrownBy(() -> this.cache.render("{a} and {b}", Map.of("a", 1)))
+			.withMessage("Not all template variables were replaced. Missing variable names are [b]");
+	}
+
+	@Test
+	void leastRecentlyUsedTemplatesAreEvicted() {
+		for (int i = 0; i < 5; i++) {
+			this.cache.render("{x} " + i, Map.of("x", i));
+		}
+
+		assertThat(this.cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void oneOffRenderingsAreNotCached() {
+		this.cache.render("{x} kept", Map.of("x", 1));
+
+		assertThat(this.cache.renderOnce("{x} once", Map.of("x", 2))).isEqualTo("2 once");
+		assertThat(this.cache.renderOnce("{x} kept", Map.of("x", 3))).isEqualTo("3 kept");
+		assertThat(this.cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void promptTemplatesDoNotAddTheirTextToTheSharedCache() {
+		PromptTemplateCache sharedCache = PromptTemplateCache.getSharedInstance();
+		String template = "{x} " + UUID.randomUUID();
+		int size = sharedCache.size();
+
+		PromptTemplate promptTemplate = new PromptTemplate(template, Map.of("x", 1));
+
+		assertThat(promptTemplate.render()).isEqualTo(template.replace("{x}", "1"));
+		assertThat(promptTemplate.getInputVariables()).containsExactly("x");
+		assertThat(sharedCache.size()).isEqualTo(size);
+	}
+
+	@Test
+	void invalidTemplateIsReportedOnce() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new PromptTemplate("This is a {foo test"))
+			.withMessage("The template string is not valid.")
+			.satisfies(ex -> assertThat(ex.getCause()).isNotInstanceOf(IllegalArgumentException.class));
+	}
+
+	@Test
+	void concurrentRenderingsDoNotShareAttributes() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> renderings = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				int value = i;
+				renderings.add(executor.submit(() -> this.cache.render("value: {value}", Map.of("value", value))));
+			}
+			for (int i = 0; i < 200; i++) {
+				assertThat(renderings.get(i).get()).isEqualTo("value: " + i);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+}
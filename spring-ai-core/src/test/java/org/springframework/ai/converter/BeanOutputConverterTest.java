@@ -176,6 +176,36 @@ class BeanOutputConverterTest {
 			assertThat(testClass.get(0).getSomeString()).isEqualTo("some value");
 		}
 
+		@Test
+		void sharedConverterIsReusedPerType() {
+			var converter = BeanOutputConverter.forType(TestClass.class);
+
+			assertThat(BeanOutputConverter.forType(TestClass.class)).isSameAs(converter);
+			assertThat(BeanOutputConverter.forType(new ParameterizedTypeReference<TestClass>() {
+
+			})).isSameAs(converter);
+			assertThat(converter.convert("{ \"someString\": \"some value\" }").getSomeString())
+				.isEqualTo("some value");
+		}
+
+		@Test
+		void sharedConverterDistinguishesGenericTypes() {
+			var converter = BeanOutputConverter.forType(new ParameterizedTypeReference<List<TestClass>>() {
+
+			});
+
+			assertThat(BeanOutputConverter.forType(new ParameterizedTypeReference<List<TestClass>>() {
+
+			})).isSameAs(converter);
+			assertThat(BeanOutputConverter.forType(new ParameterizedTypeReference<List<TestClassWithJsonAnnotations>>() {
+
+			})).isNotSameAs(converter);
+			assertThat(converter.getJsonSchema())
+				.isEqualTo(new BeanOutputConverter<>(new ParameterizedTypeReference<List<TestClass>>() {
+
+				}).getJsonSchema());
+		}
+
 	}
 
 	// @checkstyle:off RegexpSinglelineJavaCheck
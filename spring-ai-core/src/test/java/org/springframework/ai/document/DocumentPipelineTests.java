@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link DocumentPipeline}.
+ */
+class DocumentPipelineTests {
+
+	@Test
+	void documentsFlowThroughTheStagesInOrder() {
+		DocumentReader first = () -> List.of(new Document("a b"), new Document("c d"));
+		DocumentReader second = () -> List.of(new Document("e f g"));
+		List<List<Document>> batches = Collections.synchronizedList(new ArrayList<>());
+
+		Long written = DocumentPipeline.from(first, second)
+			.transform(DocumentPipelineTests::splitWords, 3)
+			.transform(documents -> documents.stream().map(d -> new Document(d.getContent().toUpperCase())).toList(),
+					2, 2)
+			.write(batches::add, 3)
+			.block();
+
+		assertThat(written).isEqualTo(7);
+		assertThat(batches).extracting(List::size).containsExactly(3, 3, 1);
+		assertThat(batches.stream().flatMap(List::stream).map(Document::getContent))
+			.containsExactly("A", "B", "C", "D", "E", "F", "G");
+	}
+
+	@Test
+	void onlyBoundedNumberOfDocumentsIsInFlight() {
+		AtomicInteger read = new AtomicInteger();
+		AtomicInteger written = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		Flux<Document> source = Flux.range(0, 10_000).map(i -> {
+			maxInFlight.accumulateAndGet(read.incrementAndGet() - written.get(), Math::max);
+			return new Document("document " + i);
+		});
+
+		Long count = DocumentPipeline.from(source)
+			.transform(DocumentPipelineTests::splitWords, 4)
+			.write(batch -> written.addAndGet(batch.size() / 2), 20, 2)
+			.block();
+
+		assertThat(count).isEqualTo(20_000);
+		assertThat(written).hasValue(10_000);
+		assertThat(maxInFlight.get()).isLessThan(500);
+	}
+
+	@Test
+	void transformerFailureIsPropagated() {
+		DocumentPipeline pipeline = DocumentPipeline.from(() -> List.of(new Document("a"), new Document("b")))
+			.transform(documents -> {
+				throw new IllegalStateException("Cannot transform");
+			}, 2);
+
+		assertThatIllegalStateException().isThrownBy(() -> pipeline.write(documents -> {
+		}, 10).block()).withMessage("Cannot transform");
+	}
+
+	private static List<Document> splitWords(List<Document> documents) {
+		List<Document> words = new ArrayList<>();
+		for (Document document : documents) {
+			for (String word : document.getContent().split(" ")) {
+				words.add(new Document(word));
+			}
+		}
+		return words;
+	}
+
+}
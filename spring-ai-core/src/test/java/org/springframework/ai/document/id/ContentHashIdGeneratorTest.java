@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.id;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.id.ContentHashIdGenerator.Algorithm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContentHashIdGeneratorTest {
+
+	private final ContentHashIdGenerator sha256 = new ContentHashIdGenerator();
+
+	private final ContentHashIdGenerator murmur3 = new ContentHashIdGenerator(Algorithm.MURMUR3_128);
+
+	@Test
+	void idsAreStableAcrossRuns() {
+		Map<String, Object> metadata = Map.of("page", 1, "source", "a.pdf");
+
+		assertThat(this.sha256.generateId("In the end, writing arises", metadata))
+			.isEqualTo("1713fc36-81f1-88c5-9877-cf56a5f855b6");
+		assertThat(this.murmur3.generateId("In the end, writing arises", metadata))
+			.isEqualTo("a146eb7e-e0e6-8530-bc41-abe127946e0a");
+	}
+
+	@Test
+	void idsAreVersion8Uuids() {
+		UUID uuid = UUID.fromString(this.murmur3.generateId("content"));
+
+		assertThat(uuid.version()).isEqualTo(8);
+		assertThat(uuid.variant()).isEqualTo(2);
+	}
+
+	@Test
+	void mapOrderAndIntegralTypesDoNotMatter() {
+		Map<String, Object> first = new LinkedHashMap<>();
+		first.put("a", 1);
+		first.put("b", List.of("x", "y"));
+		Map<String, Object> second = new LinkedHashMap<>();
+		second.put("b", List.of("x", "y"));
+		second.put("a", 1L);
+
+		assertThat(this.sha256.generateId("content", first)).isEqualTo(this.sha256.generateId("content", second));
+		assertThat(this.murmur3.generateId("content", first)).isEqualTo(this.murmur3.generateId("content", second));
+	}
+
+	@Test
+	void differentContentsGiveDifferentIds() {
+		assertThat(this.sha256.generateId("1")).isNotEqualTo(this.sha256.generateId(1));
+		assertThat(this.sha256.generateId(1)).isNotEqualTo(this.sha256.generateId(1.0));
+		assertThat(this.sha256.generateId("ab", "c")).isNotEqualTo(this.sha256.generateId("a", "bc"));
+		assertThat(this.sha256.generateId(List.of("x", "y"))).isNotEqualTo(this.sha256.generateId(List.of("y", "x")));
+		assertThat(this.sha256.generateId("content", null)).isNotEqualTo(this.sha256.generateId("content"));
+	}
+
+	@Test
+	void murmur3MatchesTheReferenceImplementation() {
+		byte[] data = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+
+		assertThat(ContentHashIdGenerator.Murmur3.hash128(data, data.length)).containsExactly(0xe34bbc7bbc071b6cL,
+				0x7a433ca9c49a9347L);
+	}
+
+}
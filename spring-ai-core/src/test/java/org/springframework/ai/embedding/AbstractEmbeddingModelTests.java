@@ -16,7 +16,13 @@
 
 package org.springframework.ai.embedding;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +34,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.document.Document;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -93,4 +100,87 @@ public class AbstractEmbeddingModelTests {
 			.isEqualTo(3);
 	}
 
+	@Test
+	public void dimensionsAreProbedOnceUnderConcurrentCalls() throws Exception {
+		AtomicInteger probes = new AtomicInteger();
+		EmbeddingModel model = new ProbedEmbeddingModel(() -> {
+			probes.incrementAndGet();
+			return new float[] { 0.1f, 0.1f };
+		});
+		assertThat(EmbeddingDimensions.getIfResolved(model)).isEmpty();
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<CompletableFuture<Integer>> dimensions = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				dimensions.add(EmbeddingDimensions.warmUp(model, executor));
+			}
+			for (CompletableFuture<Integer> future : dimensions) {
+				assertThat(future.get()).isEqualTo(2);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		assertThat(model.dimensions()).isEqualTo(2);
+		assertThat(EmbeddingDimensions.getIfResolved(model)).hasValue(2);
+		assertThat(probes).hasValue(1);
+	}
+
+	@Test
+	public void failedProbeIsRetried() {
+		AtomicInteger probes = new AtomicInteger();
+		EmbeddingModel model = new ProbedEmbeddingModel(() -> {
+			if (probes.incrementAndGet() == 1) {
+				throw new IllegalStateException("Unavailable");
+			}
+			return new float[] { 0.1f };
+		});
+
+		assertThatIllegalStateException().isThrownBy(model::dimensions).withMessage("Unavailable");
+		assertThat(EmbeddingDimensions.getIfResolved(model)).isEmpty();
+		assertThat(model.dimensions()).isEqualTo(1);
+	}
+
+	@Test
+	public void resolvedDimensionsSurviveGarbageCollection() {
+		AtomicInteger probes = new AtomicInteger();
+		EmbeddingModel model = new ProbedEmbeddingModel(() -> {
+			probes.incrementAndGet();
+			return new float[] { 0.1f, 0.1f, 0.1f };
+		});
+
+		assertThat(AbstractEmbeddingModel.dimensions(model, "unknown_model", "Hello world!")).isEqualTo(3);
+		System.gc();
+		assertThat(EmbeddingDimensions.getIfResolved(model)).hasValue(3);
+		assertThat(AbstractEmbeddingModel.dimensions(model, "unknown_model", "Hello world!")).isEqualTo(3);
+		assertThat(probes).hasValue(1);
+	}
+
+	private static final class ProbedEmbeddingModel extends AbstractEmbeddingModel {
+
+		private final Supplier<float[]> embedding;
+
+		ProbedEmbeddingModel(Supplier<float[]> embedding) {
+			this.embedding = embedding;
+		}
+
+		@Override
+		public float[] embed(String text) {
+			return this.embedding.get();
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.ConcurrentBatchExecutionTests.SlowEmbeddingModel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link CoalescingEmbeddingModel}.
+ */
+class CoalescingEmbeddingModelTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(32);
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdown();
+	}
+
+	@Test
+	void concurrentCallsAreSentInBatches() throws Exception {
+		SlowEmbeddingModel delegate = new SlowEmbeddingModel();
+		CountingEmbeddingModel counting = new CountingEmbeddingModel(delegate);
+		EmbeddingModel embeddingModel = CoalescingEmbeddingModel.builder(counting)
+			.withMaxWait(Duration.ofMillis(20))
+			.withMaxBatchSize(8)
+			.build();
+
+		CyclicBarrier start = new CyclicBarrier(32);
+		List<Future<float[]>> embeddings = new ArrayList<>();
+		for (int i = 0; i < 32; i++) {
+			String text = String.valueOf(i);
+			Callable<float[]> call = () -> {
+				start.await();
+				return embeddingModel.embed(text);
+			};
+			embeddings.add(this.executor.submit(call));
+		}
+
+		for (int i = 0; i < 32; i++) {
+			assertThat(embeddings.get(i).get()).containsExactly(i);
+		}
+		assertThat(counting.requestSizes).allMatch(size -> size <= 8);
+		assertThat(counting.requestSizes).hasSizeLessThan(32);
+	}
+
+	@Test
+	void failureIsRethrownToEveryCaller() {
+		SlowEmbeddingModel delegate = new SlowEmbeddingModel();
+		delegate.failingText = "1";
+		EmbeddingModel embeddingModel = CoalescingEmbeddingModel.builder(delegate).build();
+
+		assertThatIllegalStateException().isThrownBy(() -> embeddingModel.embed("1")).withMessage("Cannot embed 1");
+	}
+
+	/**
+	 * Records the number of texts of each request.
+	 */
+	static class CountingEmbeddingModel implements EmbeddingModel {
+
+		final List<Integer> requestSizes = new CopyOnWriteArrayList<>();
+
+		private final EmbeddingModel delegate;
+
+		CountingEmbeddingModel(EmbeddingModel delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requestSizes.add(request.getInstructions().size());
+			return this.delegate.call(request);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link ConcurrentBatchExecution}.
+ */
+class ConcurrentBatchExecutionTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdown();
+	}
+
+	@Test
+	void embeddingsKeepTheSequentialOrder() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel();
+		List<Document> documents = documents(40);
+		ConcurrentBatchExecution execution = ConcurrentBatchExecution.builder()
+			.withMaxConcurrency(3)
+			.withExecutor(this.executor)
+			.build();
+
+		List<float[]> embeddings = embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(),
+				singletonBatches(), execution);
+
+		assertThat(embeddings).hasSize(40);
+		for (int i = 0; i < documents.size(); i++) {
+			assertThat(embeddings.get(i)).containsExactly(i);
+			assertThat(documents.get(i).getEmbedding()).containsExactly(i);
+		}
+		assertThat(embeddingModel.maxInFlight.get()).isBetween(1, 3);
+	}
+
+	@Test
+	void rateLimiterIsCalledForEveryBatch() {
+		AtomicInteger permits = new AtomicInteger();
+		ConcurrentBatchExecution execution = ConcurrentBatchExecution.builder()
+			.withExecutor(this.executor)
+			.withRateLimiter(batch -> permits.incrementAndGet())
+			.build();
+
+		new SlowEmbeddingModel().embed(documents(10), EmbeddingOptionsBuilder.builder().build(), singletonBatches(),
+				execution);
+
+		assertThat(permits).hasValue(10);
+	}
+
+	@Test
+	void firstFailureIsRethrown() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel();
+		embeddingModel.failingText = "5";
+		ConcurrentBatchExecution execution = ConcurrentBatchExecution.builder().withExecutor(this.executor).build();
+
+		assertThatThrownBy(() -> embeddingModel.embed(documents(20), EmbeddingOptionsBuilder.builder().build(),
+				singletonBatches(), execution))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("Cannot embed 5");
+		assertThat(embeddingModel.inFlight).hasValue(0);
+	}
+
+	private static List<Document> documents(int count) {
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			documents.add(new Document(String.valueOf(i)));
+		}
+		return documents;
+	}
+
+	private static BatchingStrategy singletonBatches() {
+		return documents -> documents.stream().map(List::of).toList();
+	}
+
+	/**
+	 * Embeds the numeric content of the documents after a random delay.
+	 */
+	static class SlowEmbeddingModel implements EmbeddingModel {
+
+		final AtomicInteger inFlight = new AtomicInteger();
+
+		final AtomicInteger maxInFlight = new AtomicInteger();
+
+		volatile String failingText;
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+				List<Embedding> embeddings = new ArrayList<>();
+				for (String text : request.getInstructions()) {
+					if (text.equals(this.failingText)) {
+						throw new IllegalStateException("Cannot embed " + text);
+					}
+					embeddings.add(new Embedding(new float[] { Float.parseFloat(text) }, embeddings.size()));
+				}
+				return new EmbeddingResponse(embeddings);
+			}
+			catch (InterruptedException ex) {
+				throw new IllegalStateException(ex);
+			}
+			finally {
+				this.inFlight.decrementAndGet();
+			}
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
@@ -18,11 +18,16 @@ package org.springframework.ai.embedding;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.model.MediaContent;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 
@@ -54,4 +59,117 @@ public class TokenCountBatchingStrategyTests {
 			.isInstanceOf(IllegalArgumentException.class);
 	}
 
+	@Test
+	void sequentialPackingKeepsInputOrder() {
+		List<Document> documents = documents(6, 5, 4, 5, 4, 6);
+		TokenCountBatchingStrategy strategy = lengthBased(10, Integer.MAX_VALUE,
+				TokenCountBatchingStrategy.Packing.SEQUENTIAL);
+
+		List<List<Document>> batches = strategy.batch(documents);
+
+		assertThat(batches.stream().flatMap(List::stream).toList()).containsExactlyElementsOf(documents);
+		assertThat(batches).hasSize(4);
+	}
+
+	@Test
+	void firstFitDecreasingPackingNeedsFewerBatches() {
+		List<Document> documents = documents(6, 5, 4, 5, 4, 6);
+		TokenCountBatchingStrategy strategy = lengthBased(10, Integer.MAX_VALUE,
+				TokenCountBatchingStrategy.Packing.FIRST_FIT_DECREASING);
+
+		List<List<Document>> batches = strategy.batch(documents);
+
+		assertThat(batches).hasSize(3);
+		assertThat(batches.stream().flatMap(List::stream).toList()).containsExactlyInAnyOrderElementsOf(documents);
+		for (List<Document> batch : batches) {
+			int tokens = batch.stream().mapToInt(document -> document.getContent().length()).sum();
+			assertThat(tokens).isLessThanOrEqualTo(10);
+			assertThat(batch).isSortedAccordingTo(
+					(left, right) -> Integer.compare(documents.indexOf(left), documents.indexOf(right)));
+		}
+	}
+
+	@Test
+	void embeddingsKeepTheInputOrderWhenPackingReordersDocuments() {
+		List<Document> documents = documents(6, 5, 4, 5, 4, 6);
+		TokenCountBatchingStrategy strategy = lengthBased(10, Integer.MAX_VALUE,
+				TokenCountBatchingStrategy.Packing.FIRST_FIT_DECREASING);
+		EmbeddingModel embeddingModel = new LengthEmbeddingModel();
+		EmbeddingOptions options = EmbeddingOptionsBuilder.builder().build();
+
+		List<float[]> embeddings = embeddingModel.embed(documents, options, strategy);
+		List<float[]> concurrentEmbeddings = embeddingModel.embed(documents, options, strategy,
+				ConcurrentBatchExecution.builder().build());
+
+		for (List<float[]> result : List.of(embeddings, concurrentEmbeddings)) {
+			assertThat(result).extracting(embedding -> embedding[0]).containsExactly(6f, 5f, 4f, 5f, 4f, 6f);
+		}
+		for (Document document : documents) {
+			assertThat(document.getEmbedding()).containsExactly(document.getContent().length());
+		}
+	}
+
+	@Test
+	void batchSizeIsCapped() {
+		List<Document> documents = documents(1, 1, 1, 1, 1);
+
+		for (TokenCountBatchingStrategy.Packing packing : TokenCountBatchingStrategy.Packing.values()) {
+			List<List<Document>> batches = lengthBased(100, 2, packing).batch(documents);
+			assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+		}
+	}
+
+	/**
+	 * Embeds each text as its length.
+	 */
+	static class LengthEmbeddingModel implements EmbeddingModel {
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { text.length() }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	private static List<Document> documents(int... lengths) {
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < lengths.length; i++) {
+			documents.add(new Document("doc-" + i, "x".repeat(lengths[i]), Map.of()));
+		}
+		return documents;
+	}
+
+	private static TokenCountBatchingStrategy lengthBased(int maxInputTokenCount, int maxBatchSize,
+			TokenCountBatchingStrategy.Packing packing) {
+		TokenCountEstimator estimator = new TokenCountEstimator() {
+
+			@Override
+			public int estimate(String text) {
+				return text.length();
+			}
+
+			@Override
+			public int estimate(MediaContent content) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public int estimate(Iterable<MediaContent> messages) {
+				throw new UnsupportedOperationException();
+			}
+
+		};
+		return new TokenCountBatchingStrategy(estimator, maxInputTokenCount, 0, Document.DEFAULT_CONTENT_FORMATTER,
+				MetadataMode.NONE, maxBatchSize, packing);
+	}
+
 }
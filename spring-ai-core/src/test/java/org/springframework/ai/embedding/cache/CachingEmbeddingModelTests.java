@@ -0,0 +1,235 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.observation.EmbeddingModelObservationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link CachingEmbeddingModel}.
+ */
+class CachingEmbeddingModelTests {
+
+	private final LengthEmbeddingModel delegate = new LengthEmbeddingModel();
+
+	@Test
+	void onlyMissesAreSentUpstreamAndTheOrderIsKept() {
+		EmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).build();
+		embeddingModel.embed(List.of("a", "bbb"));
+
+		List<float[]> embeddings = embeddingModel.embed(List.of("cc", "a", "dddd", "bbb", "cc"));
+
+		assertThat(embeddings).extracting(embedding -> embedding[0]).containsExactly(2f, 1f, 4f, 3f, 2f);
+		assertThat(this.delegate.requests).containsExactly(List.of("a", "bbb"), List.of("cc", "dddd"));
+	}
+
+	@Test
+	void fullyCachedRequestDoesNotCallTheDelegate() {
+		EmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).build();
+		embeddingModel.embed("a");
+
+		EmbeddingResponse response = embeddingModel.embedForResponse(List.of("a", "a"));
+
+		assertThat(response.getResults()).extracting(Embedding::getIndex).containsExactly(0, 1);
+		assertThat(this.delegate.requests).hasSize(1);
+	}
+
+	@Test
+	void requestedModelIsPartOfTheKey() {
+		EmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).build();
+		EmbeddingOptions small = EmbeddingOptionsBuilder.builder().withModel("small").build();
+		EmbeddingOptions large = EmbeddingOptionsBuilder.builder().withModel("large").build();
+
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), small));
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), large));
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), small));
+
+		assertThat(this.delegate.requests).hasSize(2);
+	}
+
+	@Test
+	void defaultOptionsOfTheDelegateArePartOfTheKey() {
+		InMemoryEmbeddingCache cache = new InMemoryEmbeddingCache();
+		EmbeddingModel small = CachingEmbeddingModel.builder(this.delegate)
+			.withCache(cache)
+			.withNamespace("test")
+			.withDefaultOptions(EmbeddingOptionsBuilder.builder().withModel("small").build())
+			.build();
+		EmbeddingModel large = CachingEmbeddingModel.builder(this.delegate)
+			.withCache(cache)
+			.withNamespace("test")
+			.withDefaultOptions(EmbeddingOptionsBuilder.builder().withModel("large").build())
+			.build();
+
+		small.embed("a");
+		large.embed("a");
+		small.call(new EmbeddingRequest(List.of("a"), EmbeddingOptionsBuilder.builder().withModel("large").build()));
+
+		assertThat(this.delegate.requests).hasSize(2);
+	}
+
+	@Test
+	void allRequestOptionsArePartOfTheKey() {
+		EmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).build();
+
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), new TaskTypeOptions("query")));
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), new TaskTypeOptions("document")));
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), new TaskTypeOptions("query")));
+
+		assertThat(this.delegate.requests).hasSize(2);
+	}
+
+	@Test
+	void explicitCacheBackendRequiresANamespace() {
+		CachingEmbeddingModel.Builder builder = CachingEmbeddingModel.builder(this.delegate)
+			.withCache(new InMemoryEmbeddingCache());
+
+		assertThatIllegalStateException().isThrownBy(builder::build);
+	}
+
+	@Test
+	void cachedEmbeddingsCannotBeModifiedByCallers() {
+		EmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).build();
+
+		embeddingModel.embed("abc")[0] = 42f;
+
+		assertThat(embeddingModel.embed("abc")).containsExactly(3f);
+	}
+
+	@Test
+	void cacheResultIsObserved() {
+		List<EmbeddingModelObservationContext> contexts = new ArrayList<>();
+		ObservationRegistry observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig().observationHandler(new ObservationHandler<Observation.Context>() {
+
+			@Override
+			public void onStop(Observation.Context context) {
+				contexts.add((EmbeddingModelObservationContext) context);
+			}
+
+			@Override
+			public boolean supportsContext(Observation.Context context) {
+				return context instanceof EmbeddingModelObservationContext;
+			}
+
+		});
+		EmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.withDefaultOptions(EmbeddingOptionsBuilder.builder().withModel("small").build())
+			.withObservationRegistry(observationRegistry)
+			.build();
+
+		embeddingModel.embed(List.of("a", "b"));
+		embeddingModel.embed(List.of("a", "c", "c"));
+
+		assertThat(contexts).hasSize(2);
+		assertThat(contexts.get(0).getCacheHits()).isEqualTo(0);
+		assertThat(contexts.get(0).getCacheMisses()).isEqualTo(2);
+		assertThat(contexts.get(1).getCacheHits()).isEqualTo(1);
+		assertThat(contexts.get(1).getCacheMisses()).isEqualTo(1);
+		assertThat(contexts.get(1).getOperationMetadata().provider()).isEqualTo("spring_ai");
+		assertThat(contexts.get(1).getRequestOptions().getModel()).isEqualTo("small");
+		assertThat(contexts.get(1).getResponse()).isNull();
+	}
+
+	@Test
+	void inMemoryCacheEvictsLeastRecentlyUsedAndExpiredEmbeddings() throws InterruptedException {
+		InMemoryEmbeddingCache cache = new InMemoryEmbeddingCache(2, null);
+		cache.put("a", new float[] { 1 });
+		cache.put("b", new float[] { 2 });
+		cache.get("a");
+		cache.put("c", new float[] { 3 });
+
+		assertThat(cache.get("a")).isNotNull();
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.size()).isEqualTo(2);
+
+		InMemoryEmbeddingCache expiring = new InMemoryEmbeddingCache(2, Duration.ofMillis(10));
+		expiring.put("a", new float[] { 1 });
+		Thread.sleep(20);
+		assertThat(expiring.get("a")).isNull();
+	}
+
+	/**
+	 * Options with a provider-specific task type.
+	 */
+	static class TaskTypeOptions implements EmbeddingOptions {
+
+		private final String taskType;
+
+		TaskTypeOptions(String taskType) {
+			this.taskType = taskType;
+		}
+
+		@Override
+		public String getModel() {
+			return null;
+		}
+
+		@Override
+		public Integer getDimensions() {
+			return null;
+		}
+
+		public String getTaskType() {
+			return this.taskType;
+		}
+
+	}
+
+	/**
+	 * Embeds texts as a single dimension holding their length.
+	 */
+	static class LengthEmbeddingModel implements EmbeddingModel {
+
+		final List<List<String>> requests = new ArrayList<>();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.add(request.getInstructions());
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { text.length() }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
@@ -118,13 +118,39 @@ class DefaultEmbeddingModelObservationConventionTests {
 			.build();
 		assertThat(this.observationConvention.getLowCardinalityKeyValues(observationContext))
 			.contains(KeyValue.of(LowCardinalityKeyNames.REQUEST_MODEL.asString(), KeyValue.NONE_VALUE))
-			.contains(KeyValue.of(LowCardinalityKeyNames.RESPONSE_MODEL.asString(), KeyValue.NONE_VALUE));
+			.contains(KeyValue.of(LowCardinalityKeyNames.RESPONSE_MODEL.asString(), KeyValue.NONE_VALUE))
+			.contains(KeyValue.of(LowCardinalityKeyNames.CACHE_RESULT.asString(), KeyValue.NONE_VALUE));
 		assertThat(this.observationConvention.getHighCardinalityKeyValues(observationContext)
 			.stream()
 			.map(KeyValue::getKey)
 			.toList()).doesNotContain(HighCardinalityKeyNames.REQUEST_EMBEDDING_DIMENSIONS.asString(),
 					HighCardinalityKeyNames.USAGE_INPUT_TOKENS.asString(),
-					HighCardinalityKeyNames.USAGE_TOTAL_TOKENS.asString());
+					HighCardinalityKeyNames.USAGE_TOTAL_TOKENS.asString(),
+					HighCardinalityKeyNames.CACHE_HITS.asString(), HighCardinalityKeyNames.CACHE_MISSES.asString());
+	}
+
+	@Test
+	void shouldHaveKeyValuesWhenCacheResultIsDefined() {
+		EmbeddingModelObservationContext observationContext = EmbeddingModelObservationContext.builder()
+			.embeddingRequest(generateEmbeddingRequest())
+			.provider("superprovider")
+			.requestOptions(EmbeddingOptionsBuilder.builder().build())
+			.build();
+
+		observationContext.setCacheResult(3, 0);
+		assertThat(this.observationConvention.getLowCardinalityKeyValues(observationContext))
+			.contains(KeyValue.of(LowCardinalityKeyNames.CACHE_RESULT.asString(), "hit"));
+
+		observationContext.setCacheResult(0, 2);
+		assertThat(this.observationConvention.getLowCardinalityKeyValues(observationContext))
+			.contains(KeyValue.of(LowCardinalityKeyNames.CACHE_RESULT.asString(), "miss"));
+
+		observationContext.setCacheResult(3, 2);
+		assertThat(this.observationConvention.getLowCardinalityKeyValues(observationContext))
+			.contains(KeyValue.of(LowCardinalityKeyNames.CACHE_RESULT.asString(), "partial"));
+		assertThat(this.observationConvention.getHighCardinalityKeyValues(observationContext)).contains(
+				KeyValue.of(HighCardinalityKeyNames.CACHE_HITS.asString(), "3"),
+				KeyValue.of(HighCardinalityKeyNames.CACHE_MISSES.asString(), "2"));
 	}
 
 	private EmbeddingRequest generateEmbeddingRequest() {
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.ai.model.function;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.chat.model.ToolContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link FunctionResultCache}.
+ */
+class FunctionResultCacheTests {
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@Test
+	void argumentsAreKeyedIndependentlyOfTheirOrderAndFormatting() {
+		FunctionCallback functionCallback = wrapper(FunctionResultCache.builder().build());
+
+		assertThat(functionCallback.call("{\"a\":1,\"b\":[2,3]}")).isEqualTo("\"a=1, b=[2, 3]\"");
+		assertThat(functionCallback.call("{ \"b\": [2, 3],\n \"a\": 1 }")).isEqualTo("\"a=1, b=[2, 3]\"");
+		assertThat(functionCallback.call("{\"a\":1,\"b\":[3,2]}")).isEqualTo("\"a=1, b=[3, 2]\"");
+
+		assertThat(this.calls).hasValue(2);
+	}
+
+	@Test
+	void functionNameAndToolContextArePartOfTheKey() {
+		FunctionResultCache cache = FunctionResultCache.builder().build();
+		FunctionCallback functionCallback = wrapper(cache);
+		FunctionCallback otherFunctionCallback = new CachingFunctionCallback(
+				FunctionCallbackWrapper.builder((Function<Map<String, Object>, String>) this::describe)
+					.withName("other")
+					.withDescription("Other")
+					.withInputType(Map.class)
+					.build(),
+				cache);
+
+		functionCallback.call("{\"a\":1}", new ToolContext(Map.of("user", "jane")));
+		functionCallback.call("{\"a\":1}", new ToolContext(Map.of("user", "john")));
+		functionCallback.call("{\"a\":1}", new ToolContext(Map.of("user", "jane")));
+		otherFunctionCallback.call("{\"a\":1}", new ToolContext(Map.of("user", "jane")));
+
+		assertThat(this.calls).hasValue(3);
+		assertThat(cache.size()).isEqualTo(3);
+	}
+
+	@Test
+	void toolContextKeyIdentifiesTheContext() {
+		record Session(String user) {
+		}
+		FunctionResultCache cache = FunctionResultCache.builder()
+			.withToolContextKey(toolContext -> ((Session) toolContext.getContext().get("session")).user())
+			.build();
+		FunctionCallback functionCallback = wrapper(cache);
+
+		functionCallback.call("{\"a\":1}", new ToolContext(Map.of("session", new Session("jane"))));
+		functionCallback.call("{\"a\":1}", new ToolContext(Map.of("session", new Session("john"))));
+		functionCallback.call("{\"a\":1}", new ToolContext(Map.of("session", new Session("jane"), "trace", 1)));
+
+		assertThat(this.calls).hasValue(2);
+	}
+
+	@Test
+	void failuresAreNotCached() {
+		FunctionCallback functionCallback = wrapper(FunctionResultCache.builder().build());
+
+		assertThatIllegalStateException().isThrownBy(() -> functionCallback.call("{\"fail\":true}"));
+		assertThatIllegalStateException().isThrownBy(() -> functionCallback.call("{\"fail\":true}"));
+
+		assertThat(this.calls).hasValue(2);
+	}
+
+	@Test
+	void asynchronousCallsShareTheCache() {
+		AsyncFunctionCallbackWrapper<Map<String, Object>, String> functionCallback = FunctionCallbackWrapper
+			.<Map<String, Object>, String>asyncBuilder(request -> Mono.fromCallable(() -> describe(request)))
+			.withName("describe")
+			.withDescription("Describe")
+			.withInputType(Map.class)
+			.withResultCache(FunctionResultCache.builder().build())
+			.build();
+
+		assertThat(functionCallback.callAsync("{\"a\":1}", null).block()).isEqualTo("\"a=1\"");
+		assertThat(functionCallback.call("{\"a\":1}")).isEqualTo("\"a=1\"");
+
+		assertThat(this.calls).hasValue(1);
+	}
+
+	@Test
+	void hitsAndMissesAreCounted() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		FunctionCallback functionCallback = wrapper(
+				FunctionResultCache.builder().withMeterRegistry(meterRegistry).build());
+
+		functionCallback.call("{\"a\":1}");
+		functionCallback.call("{\"a\":1}");
+		functionCallback.call("{\"a\":2}");
+
+		assertThat(meterRegistry.get("spring.ai.tool.cache.requests")
+			.tag("spring.ai.cache.result", "hit")
+			.tag("gen_ai.tool.name", "describe")
+			.counter()
+			.count()).isEqualTo(1);
+		assertThat(meterRegistry.get("spring.ai.tool.cache.requests")
+			.tag("spring.ai.cache.result", "miss")
+			.counter()
+			.count()).isEqualTo(2);
+	}
+
+	@Test
+	void leastRecentlyUsedAndExpiredResultsAreEvicted() throws InterruptedException {
+		FunctionCallback functionCallback = wrapper(FunctionResultCache.builder().withMaxSize(2).build());
+		functionCallback.call("{\"a\":1}");
+		functionCallback.call("{\"a\":2}");
+		functionCallback.call("{\"a\":1}");
+		functionCallback.call("{\"a\":3}");
+
+		functionCallback.call("{\"a\":1}");
+		assertThat(this.calls).hasValue(3);
+		functionCallback.call("{\"a\":2}");
+		assertThat(this.calls).hasValue(4);
+
+		FunctionCallback expiring = wrapper(
+				FunctionResultCache.builder().withTimeToLive(Duration.ofMillis(10)).build());
+		expiring.call("{\"a\":1}");
+		Thread.sleep(20);
+		expiring.call("{\"a\":1}");
+		assertThat(this.calls).hasValue(6);
+	}
+
+	private FunctionCallback wrapper(FunctionResultCache cache) {
+		return FunctionCallbackWrapper.builder((Function<Map<String, Object>, String>) this::describe)
+			.withName("describe")
+			.withDescription("Describe")
+			.withInputType(Map.class)
+			.withResultCache(cache)
+			.build();
+	}
+
+	private String describe(Map<String, Object> request) {
+		this.calls.incrementAndGet();
+		if (request.containsKey("fail")) {
+			throw new IllegalStateException("Failed");
+		}
+		String description = request.toString();
+		return description.substring(1, description.length() - 1);
+	}
+
+}
@@ -19,6 +19,8 @@ package org.springframework.ai.transformer.splitter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -245,4 +247,58 @@ public class TextSplitterTests {
 		assertThat(chunks.get(1).getContentFormatter()).isSameAs(contentFormatter);
 	}
 
+	@Test
+	public void parallelSplitKeepsTheDocumentOrder() {
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			documents.add(new Document("Document number " + i + " is split in two halves.", Map.of("index", i)));
+		}
+		TextSplitter splitter = new TextSplitter() {
+
+			@Override
+			protected List<String> splitText(String text) {
+				return testTextSplitter.splitText(text);
+			}
+		};
+		List<Document> expected = splitter.apply(documents);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			splitter.setExecutor(executor);
+			assertThat(splitter.isParallel()).isTrue();
+			List<Document> chunks = splitter.apply(documents);
+
+			assertThat(chunks).hasSize(100);
+			assertThat(chunks).extracting(Document::getContent)
+				.containsExactlyElementsOf(expected.stream().map(Document::getContent).toList());
+			for (int i = 0; i < chunks.size(); i++) {
+				assertThat(chunks.get(i).getMetadata()).containsEntry("index", i / 2);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void chunkMetadataIsCopiedOnWrite() {
+		var doc = new Document("In the end, writing arises when man realizes that memory is not enough.",
+				Map.of("key1", "value1", "key2", "value2"));
+
+		List<Document> chunks = new TextSplitter() {
+
+			@Override
+			protected List<String> splitText(String text) {
+				return testTextSplitter.splitText(text);
+			}
+		}.apply(List.of(doc));
+
+		chunks.get(0).getMetadata().put("key3", "value3");
+		chunks.get(1).getMetadata().keySet().removeIf("key1"::equals);
+
+		assertThat(chunks.get(0).getMetadata()).containsOnlyKeys("key1", "key2", "key3");
+		assertThat(chunks.get(1).getMetadata()).containsOnlyKeys("key2");
+		assertThat(doc.getMetadata()).containsOnlyKeys("key1", "key2");
+	}
+
 }
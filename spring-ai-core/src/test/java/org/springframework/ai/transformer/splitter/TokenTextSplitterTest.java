@@ -112,4 +112,23 @@ public class TokenTextSplitterTest {
 		assertThat(chunks.get(2).getMetadata()).containsKeys("key2", "key3").doesNotContainKeys("key1");
 	}
 
+	@Test
+	public void testTokenTextSplitterDoesNotLoseTextAtPunctuationCuts() {
+		String text = "Wait! Is the labyrinth disorienting? Yes. It isn’t the lack of an exit, but the abundance "
+				+ "of exits. Memory is not enough. Readers choose... and choose again.";
+
+		var tokenTextSplitter = TokenTextSplitter.builder()
+			.withChunkSize(7)
+			.withMinChunkSizeChars(3)
+			.withMinChunkLengthToEmbed(0)
+			.withMaxNumChunks(100)
+			.withKeepSeparator(true)
+			.build();
+
+		List<String> chunks = tokenTextSplitter.splitText(text);
+
+		assertThat(chunks).hasSizeGreaterThan(5);
+		assertThat(String.join("", chunks).replace(" ", "")).isEqualTo(text.replace(" ", ""));
+	}
+
 }
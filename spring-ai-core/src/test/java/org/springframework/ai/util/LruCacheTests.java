@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.ai.util;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link LruCache}.
+ */
+class LruCacheTests {
+
+	@Test
+	void leastRecentlyUsedValuesAreEvicted() {
+		LruCache<String, Integer> cache = new LruCache<>(2, null);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.get("a");
+		cache.put("c", 3);
+
+		assertThat(cache.get("a")).isEqualTo(1);
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("c")).isEqualTo(3);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void expiredValuesAreEvicted() throws InterruptedException {
+		LruCache<String, Integer> cache = new LruCache<>(2, Duration.ofMillis(10));
+		cache.put("a", 1);
+		Thread.sleep(20);
+
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for {@link VectorUtils}.
+ */
+class VectorUtilsTests {
+
+	@Test
+	void dotProductMatchesNaiveLoop() {
+		Random random = new Random(11);
+		for (int length : new int[] { 1, 3, 4, 7, 16, 33, 1536 }) {
+			float[] x = randomVector(random, length);
+			float[] y = randomVector(random, length);
+			double expected = 0;
+			for (int i = 0; i < length; i++) {
+				expected += x[i] * y[i];
+			}
+			assertThat(VectorUtils.dotProduct(x, y)).isCloseTo((float) expected, within(1e-3f));
+			assertThat(new ScalarVectorOperations().dotProduct(x, y)).isCloseTo((float) expected, within(1e-3f));
+		}
+	}
+
+	@Test
+	void byteDotProductMatchesNaiveLoop() {
+		Random random = new Random(17);
+		for (int length : new int[] { 1, 7, 8, 9, 16, 33, 1536 }) {
+			byte[] x = new byte[length];
+			byte[] y = new byte[length];
+			random.nextBytes(x);
+			random.nextBytes(y);
+			int expected = 0;
+			for (int i = 0; i < length; i++) {
+				expected += x[i] * y[i];
+			}
+			assertThat(VectorUtils.dotProduct(x, y)).isEqualTo(expected);
+			assertThat(new ScalarVectorOperations().dotProduct(x, 0, y, 0, length)).isEqualTo(expected);
+
+			byte[] packed = new byte[length + 3];
+			System.arraycopy(y, 0, packed, 3, length);
+			assertThat(VectorUtils.dotProduct(x, 0, packed, 3, length)).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void bufferDotProductMatchesArrayDotProduct() {
+		Random random = new Random(19);
+		ScalarVectorOperations scalar = new ScalarVectorOperations();
+		for (ByteOrder order : new ByteOrder[] { ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN }) {
+			for (int length : new int[] { 1, 3, 4, 7, 16, 33, 1536 }) {
+				float[] x = randomVector(random, length);
+				float[] y = randomVector(random, length);
+				// Both vectors are packed after a 3 floats header, as in off-heap storage
+				ByteBuffer buffer = ByteBuffer.allocateDirect((3 + 2 * length) * Float.BYTES).order(order);
+				buffer.position(3 * Float.BYTES);
+				buffer.asFloatBuffer().put(x).put(y);
+				int offsetX = 3 * Float.BYTES;
+				int offsetY = offsetX + length * Float.BYTES;
+
+				float expected = VectorUtils.dotProduct(x, y);
+				assertThat(VectorUtils.dotProduct(buffer, offsetX, y)).isCloseTo(expected, within(1e-3f));
+				assertThat(scalar.dotProduct(buffer, offsetX, y)).isCloseTo(expected, within(1e-3f));
+				assertThat(VectorUtils.dotProduct(buffer, offsetX, buffer, offsetY, length)).isCloseTo(expected,
+						within(1e-3f));
+				assertThat(scalar.dotProduct(buffer, offsetX, buffer, offsetY, length)).isCloseTo(expected,
+						within(1e-3f));
+				assertThat(VectorUtils.squaredNorm(buffer, offsetY, length))
+					.isCloseTo(VectorUtils.squaredNorm(y), within(1e-3f));
+			}
+		}
+	}
+
+	/**
+	 * Run by the {@code vector-api-test} surefire execution, which enables the JDK Vector
+	 * API.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "spring.ai.test.vector-api", matches = "true")
+	void vectorApiKernelsMatchScalarOperations() {
+		assertThat(VectorUtils.isVectorApiEnabled()).isTrue();
+		ScalarVectorOperations scalar = new ScalarVectorOperations();
+		Random random = new Random(23);
+		for (int length = 1; length <= 130; length++) {
+			float[] x = randomVector(random, length);
+			float[] y = randomVector(random, length);
+			assertThat(VectorUtils.dotProduct(x, y)).isCloseTo(scalar.dotProduct(x, y), within(1e-4f));
+			assertThat(VectorUtils.squaredNorm(x)).isCloseTo(scalar.squaredNorm(x), within(1e-4f));
+			assertThat(VectorUtils.squaredEuclideanDistance(x, y))
+				.isCloseTo(scalar.squaredEuclideanDistance(x, y), within(1e-4f));
+
+			byte[] bytesX = new byte[length];
+			byte[] bytesY = new byte[length];
+			random.nextBytes(bytesX);
+			random.nextBytes(bytesY);
+			assertThat(VectorUtils.dotProduct(bytesX, bytesY))
+				.isEqualTo(scalar.dotProduct(bytesX, 0, bytesY, 0, length));
+			assertThat(VectorUtils.dotProduct(bytesX, 1, bytesY, 0, length - 1))
+				.isEqualTo(scalar.dotProduct(bytesX, 1, bytesY, 0, length - 1));
+
+			ByteBuffer buffer = ByteBuffer.allocateDirect((1 + length) * Float.BYTES).order(ByteOrder.nativeOrder());
+			buffer.position(Float.BYTES);
+			buffer.asFloatBuffer().put(x);
+			assertThat(VectorUtils.dotProduct(buffer, Float.BYTES, y))
+				.isCloseTo(scalar.dotProduct(buffer, Float.BYTES, y), within(1e-4f));
+			assertThat(VectorUtils.squaredNorm(buffer, Float.BYTES, length))
+				.isCloseTo(scalar.dotProduct(buffer, Float.BYTES, buffer, Float.BYTES, length), within(1e-4f));
+		}
+	}
+
+	@Test
+	void hammingDistance() {
+		assertThat(VectorUtils.hammingDistance(new long[] { 0b1011, -1L }, new long[] { 0b0110, 0 })).isEqualTo(67);
+		assertThat(VectorUtils.hammingDistance(new long[] { 42 }, new long[] { 42 })).isZero();
+		assertThat(VectorUtils.hammingDistance(new long[] { 7, 0b1011, -1L }, 1, new long[] { 0b0110, 0 }, 0, 2))
+			.isEqualTo(67);
+	}
+
+	@Test
+	void cosineSimilarity() {
+		assertThat(VectorUtils.cosineSimilarity(new float[] { 1, 0 }, new float[] { 0, 1 })).isCloseTo(0,
+				within(1e-6));
+		assertThat(VectorUtils.cosineSimilarity(new float[] { 1, 1 }, new float[] { 2, 2 })).isCloseTo(1,
+				within(1e-6));
+		assertThat(VectorUtils.cosineSimilarity(new float[] { 1, 0 }, new float[] { -1, 0 })).isCloseTo(-1,
+				within(1e-6));
+	}
+
+	@Test
+	void euclideanDistance() {
+		float[] x = { 1, 2, 3, 4, 5 };
+		float[] y = { 2, 2, 3, 4, 3 };
+		assertThat(VectorUtils.squaredEuclideanDistance(x, y)).isEqualTo(5f);
+		assertThat(VectorUtils.euclideanDistance(x, y)).isCloseTo(Math.sqrt(5), within(1e-6));
+		assertThat(VectorUtils.norm(new float[] { 3, 4 })).isEqualTo(5d);
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThatThrownBy(() -> VectorUtils.dotProduct(new float[] { 1 }, new float[] { 1, 2 }))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> VectorUtils.cosineSimilarity(new float[] { 0, 0 }, new float[] { 1, 2 }))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> VectorUtils.dotProduct(ByteBuffer.allocate(8), 4, new float[] { 1, 2 }))
+			.isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	private static float[] randomVector(Random random, int length) {
+		float[] vector = new float[length];
+		for (int i = 0; i < length; i++) {
+			vector[i] = random.nextFloat() - 0.5f;
+		}
+		return vector;
+	}
+
+}
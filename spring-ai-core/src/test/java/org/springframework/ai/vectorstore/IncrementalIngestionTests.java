@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.document.Document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link IncrementalIngestion}.
+ */
+class IncrementalIngestionTests {
+
+	private final RecordingVectorStore vectorStore = new RecordingVectorStore();
+
+	@Test
+	void unchangedChunksAreNotAddedAgain() {
+		IncrementalIngestion ingestion = IncrementalIngestion.builder(this.vectorStore).build();
+
+		assertThat(ingestion.ingest("a.txt", chunks("one", "two", "three")))
+			.isEqualTo(new IncrementalIngestion.Result(3, 0, 0));
+		assertThat(this.vectorStore.additions).isEqualTo(3);
+
+		assertThat(ingestion.ingest("a.txt", chunks("one", "two", "four")))
+			.isEqualTo(new IncrementalIngestion.Result(1, 2, 1));
+		assertThat(this.vectorStore.additions).isEqualTo(4);
+		assertThat(this.vectorStore.documents.values()).extracting(Document::getContent)
+			.containsExactlyInAnyOrder("one", "two", "four");
+	}
+
+	@Test
+	void idsDependOnTheSourceAndMetadata() {
+		IncrementalIngestion ingestion = IncrementalIngestion.builder(this.vectorStore).build();
+
+		ingestion.ingest("a.txt", chunks("one"));
+		ingestion.ingest("b.txt", chunks("one"));
+		ingestion.ingest("b.txt", List.of(new Document("one", Map.of("page", 2))));
+
+		assertThat(this.vectorStore.documents).hasSize(2);
+		assertThat(this.vectorStore.additions).isEqualTo(3);
+	}
+
+	@Test
+	void removedSourceIsDeleted() {
+		IncrementalIngestion ingestion = IncrementalIngestion.builder(this.vectorStore).build();
+		ingestion.ingest("a.txt", chunks("one", "two"));
+		ingestion.ingest("b.txt", chunks("three"));
+
+		assertThat(ingestion.remove("a.txt")).isEqualTo(new IncrementalIngestion.Result(0, 0, 2));
+
+		assertThat(ingestion.getSources()).containsExactly("b.txt");
+		assertThat(this.vectorStore.documents.values()).extracting(Document::getContent).containsExactly("three");
+	}
+
+	@Test
+	void manifestIsRestoredFromFile(@TempDir File tempDir) {
+		File manifest = new File(tempDir, "manifest.json");
+		IncrementalIngestion.builder(this.vectorStore)
+			.withManifestFile(manifest)
+			.build()
+			.ingest("a.txt", chunks("one", "two"));
+
+		IncrementalIngestion ingestion = IncrementalIngestion.builder(this.vectorStore)
+			.withManifestFile(manifest)
+			.build();
+
+		assertThat(ingestion.getSources()).containsExactly("a.txt");
+		assertThat(ingestion.ingest("a.txt", chunks("two"))).isEqualTo(new IncrementalIngestion.Result(0, 1, 1));
+		assertThat(this.vectorStore.additions).isEqualTo(2);
+	}
+
+	private static List<Document> chunks(String... contents) {
+		return Arrays.stream(contents).map(content -> new Document(content, Map.of("page", 1))).toList();
+	}
+
+	static class RecordingVectorStore implements VectorStore {
+
+		final Map<String, Document> documents = new LinkedHashMap<>();
+
+		int additions;
+
+		@Override
+		public void add(List<Document> documents) {
+			documents.forEach(document -> this.documents.put(document.getId(), document));
+			this.additions += documents.size();
+		}
+
+		@Override
+		public Optional<Boolean> delete(List<String> idList) {
+			idList.forEach(this.documents::remove);
+			return Optional.of(true);
+		}
+
+		@Override
+		public List<Document> similaritySearch(SearchRequest request) {
+			return List.of();
+		}
+
+	}
+
+}
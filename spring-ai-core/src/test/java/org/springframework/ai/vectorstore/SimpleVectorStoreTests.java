@@ -0,0 +1,515 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.quantization.Quantization;
+import org.springframework.core.io.FileSystemResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link SimpleVectorStore}.
+ */
+class SimpleVectorStoreTests {
+
+	private final FakeEmbeddingModel embeddingModel = new FakeEmbeddingModel();
+
+	@Test
+	void bruteForceSearchReturnsClosestDocuments() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel);
+		vectorStore.add(documents());
+
+		List<Document> results = vectorStore.similaritySearch(SearchRequest.query("query").withTopK(2));
+
+		assertThat(results).extracting(Document::getId).containsExactly("x", "xy");
+	}
+
+	@Test
+	void documentsAreEmbeddedInBatches() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder()
+					.withBatchingStrategy(documents -> List.of(documents.subList(0, 2),
+							documents.subList(2, documents.size())))
+					.build());
+		List<Document> documents = documents();
+
+		vectorStore.add(documents);
+
+		assertThat(this.embeddingModel.calls).hasValue(2);
+		assertThat(documents.get(1).getEmbedding()).containsExactly(1f, 1f, 0f);
+	}
+
+	@Test
+	void similarityThresholdIsApplied() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel);
+		vectorStore.add(documents());
+
+		List<Document> results = vectorStore
+			.similaritySearch(SearchRequest.query("query").withTopK(10).withSimilarityThreshold(0.99));
+
+		assertThat(results).extracting(Document::getId).containsExactly("x");
+	}
+
+	@Test
+	void deletedDocumentsAreNotReturned() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel);
+		vectorStore.add(documents());
+		vectorStore.delete(List.of("x"));
+
+		List<Document> results = vectorStore.similaritySearch(SearchRequest.query("query").withTopK(1));
+
+		assertThat(results).extracting(Document::getId).containsExactly("xy");
+	}
+
+	@Test
+	void embeddingsModifiedAfterAddingDoNotAffectTheSearch() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel);
+		List<Document> documents = documents();
+		vectorStore.add(documents);
+
+		float[] embedding = documents.get(0).getEmbedding();
+		embedding[0] = 0f;
+		embedding[2] = 1f;
+		List<Document> results = vectorStore.similaritySearch(SearchRequest.query("query").withTopK(1));
+
+		assertThat(results).extracting(Document::getId).containsExactly("x");
+	}
+
+	@Test
+	void normsAreRefreshedWhenADocumentIsReAdded() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel);
+		vectorStore.add(documents());
+		this.embeddingModel.register("moved", new float[] { 3f, 4f, 0f });
+
+		vectorStore.add(List.of(new Document("x", "moved", Map.of())));
+		List<Document> results = vectorStore.similaritySearch(SearchRequest.query("query").withTopK(2));
+
+		assertThat(results).extracting(Document::getId).containsExactly("xy", "x");
+		assertThat(vectorStore.similaritySearch(SearchRequest.query("query").withTopK(4).withSimilarityThreshold(0.99)))
+			.isEmpty();
+	}
+
+	@Test
+	void asyncOperationsMatchBlockingOnes() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel);
+		vectorStore.addAsync(documents()).block();
+
+		assertThat(vectorStore.deleteAsync(List.of("x")).block()).isTrue();
+		List<Document> results = vectorStore.similaritySearchAsync(SearchRequest.query("query").withTopK(1)).block();
+
+		assertThat(results).extracting(Document::getId).containsExactly("xy");
+		assertThat(AsyncVectorStore.of(vectorStore)).isSameAs(vectorStore);
+	}
+
+	@Test
+	void hnswIndexSearchMatchesBruteForce() {
+		SimpleVectorStore bruteForce = new SimpleVectorStore(this.embeddingModel);
+		SimpleVectorStore hnsw = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withHnswIndexEnabled(true).withHnswM(8).build());
+
+		Random random = new Random(7);
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			String id = "doc-" + i;
+			this.embeddingModel.register(id, randomVector(random, 16));
+			documents.add(new Document(id, id, Map.of()));
+		}
+		bruteForce.add(documents);
+		hnsw.add(documents);
+		this.embeddingModel.register("query", randomVector(random, 16));
+
+		SearchRequest request = SearchRequest.query("query").withTopK(5);
+		assertThat(hnsw.similaritySearch(request)).extracting(Document::getId)
+			.containsExactlyElementsOf(bruteForce.similaritySearch(request).stream().map(Document::getId).toList());
+	}
+
+	@Test
+	void hnswIndexIsMaintainedOnDelete() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withHnswIndexEnabled(true).build());
+		vectorStore.add(documents());
+		vectorStore.delete(List.of("x"));
+
+		List<Document> results = vectorStore.similaritySearch(SearchRequest.query("query").withTopK(2));
+
+		assertThat(results).extracting(Document::getId).containsExactly("xy", "y");
+	}
+
+	@Test
+	void hnswIndexSearchMatchesBruteForceAfterDeletes() {
+		SimpleVectorStore bruteForce = new SimpleVectorStore(this.embeddingModel);
+		SimpleVectorStore hnsw = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withHnswIndexEnabled(true).withHnswM(8).build());
+
+		Random random = new Random(7);
+		List<Document> documents = new ArrayList<>();
+		List<String> deleted = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			String id = "doc-" + i;
+			this.embeddingModel.register(id, randomVector(random, 16));
+			documents.add(new Document(id, id, Map.of()));
+			if (i % 2 == 0) {
+				deleted.add(id);
+			}
+		}
+		bruteForce.add(documents);
+		hnsw.add(documents);
+		bruteForce.delete(deleted);
+		hnsw.delete(deleted);
+		this.embeddingModel.register("query", randomVector(random, 16));
+
+		SearchRequest request = SearchRequest.query("query").withTopK(5);
+		assertThat(hnsw.similaritySearch(request)).extracting(Document::getId)
+			.containsExactlyElementsOf(bruteForce.similaritySearch(request).stream().map(Document::getId).toList());
+	}
+
+	@Test
+	void offHeapStorageSearchMatchesBruteForce() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withOffHeapStorage(true).build());
+		vectorStore.add(documents());
+		vectorStore.delete(List.of("xy"));
+
+		List<Document> results = vectorStore.similaritySearch(SearchRequest.query("query").withTopK(2));
+
+		assertThat(results).extracting(Document::getId).containsExactly("x", "y");
+		assertThat(results.get(0).getEmbedding()).isEmpty();
+	}
+
+	@Test
+	void offHeapStorageSaveAndLoad(@TempDir File tempDir) {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withOffHeapStorage(true).build());
+		vectorStore.add(documents());
+		File file = new File(tempDir, "store.json");
+		vectorStore.save(file);
+
+		SimpleVectorStore loaded = new SimpleVectorStore(this.embeddingModel);
+		loaded.load(file);
+
+		List<Document> results = loaded.similaritySearch(SearchRequest.query("query").withTopK(2));
+		assertThat(results).extracting(Document::getId).containsExactly("x", "xy");
+		assertThat(results.get(0).getEmbedding()).containsExactly(1f, 0f, 0f);
+	}
+
+	@Test
+	void snapshotSaveAndLoad(@TempDir File tempDir) {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel);
+		vectorStore.add(documents());
+		File file = new File(tempDir, "store.bin");
+		vectorStore.saveSnapshot(file);
+
+		SimpleVectorStore loaded = new SimpleVectorStore(this.embeddingModel);
+		loaded.loadSnapshot(file);
+
+		List<Document> results = loaded.similaritySearch(SearchRequest.query("query").withTopK(2));
+		assertThat(results).extracting(Document::getId).containsExactly("x", "xy");
+		assertThat(results.get(0).getEmbedding()).containsExactly(1f, 0f, 0f);
+		assertThat(results.get(0).getMetadata()).containsEntry("axis", "x");
+	}
+
+	@Test
+	void offHeapStorageSnapshotIsMemoryMapped(@TempDir File tempDir) {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel);
+		Random random = new Random(3);
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			String id = "doc-" + i;
+			this.embeddingModel.register(id, randomVector(random, 8));
+			documents.add(new Document(id, id, Map.of("index", i)));
+		}
+		vectorStore.add(documents);
+		this.embeddingModel.register("query", randomVector(random, 8));
+		File file = new File(tempDir, "store.bin");
+		vectorStore.saveSnapshot(file);
+
+		SimpleVectorStore mapped = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withOffHeapStorage(true).build());
+		mapped.loadSnapshot(file);
+		SimpleVectorStore streamed = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withOffHeapStorage(true).build());
+		streamed.loadSnapshot(new FileSystemResource(file));
+
+		SearchRequest request = SearchRequest.query("query").withTopK(5);
+		List<String> expected = vectorStore.similaritySearch(request).stream().map(Document::getId).toList();
+		assertThat(mapped.similaritySearch(request)).extracting(Document::getId).containsExactlyElementsOf(expected);
+		assertThat(streamed.similaritySearch(request)).extracting(Document::getId)
+			.containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	void loadingInvalidSnapshotFails(@TempDir File tempDir) {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel);
+		vectorStore.add(documents());
+		File file = new File(tempDir, "store.json");
+		vectorStore.save(file);
+
+		assertThatThrownBy(() -> vectorStore.loadSnapshot(file)).isInstanceOf(RuntimeException.class)
+			.hasRootCauseMessage("Not a SimpleVectorStore snapshot");
+	}
+
+	@Test
+	void parallelSearchMatchesSequentialSearch() {
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			SimpleVectorStore sequential = new SimpleVectorStore(this.embeddingModel);
+			SimpleVectorStore parallel = new SimpleVectorStore(this.embeddingModel,
+					SimpleVectorStoreConfig.builder()
+						.withParallelSearch(true)
+						.withSearchSegmentSize(16)
+						.withSearchParallelism(4)
+						.withSearchExecutor(executor)
+						.build());
+
+			Random random = new Random(13);
+			List<Document> documents = new ArrayList<>();
+			for (int i = 0; i < 500; i++) {
+				String id = "doc-" + i;
+				this.embeddingModel.register(id, randomVector(random, 8));
+				documents.add(new Document(id, id, Map.of()));
+			}
+			sequential.add(documents);
+			parallel.add(documents);
+			parallel.delete(List.of("doc-1", "doc-2"));
+			sequential.delete(List.of("doc-1", "doc-2"));
+			this.embeddingModel.register("query", randomVector(random, 8));
+
+			SearchRequest request = SearchRequest.query("query").withTopK(10);
+			assertThat(parallel.similaritySearch(request)).extracting(Document::getId)
+				.containsExactlyElementsOf(
+						sequential.similaritySearch(request).stream().map(Document::getId).toList());
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void int8QuantizedSearchMatchesExactSearch() {
+		SimpleVectorStore exact = new SimpleVectorStore(this.embeddingModel);
+		SimpleVectorStore quantized = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withQuantization(Quantization.INT8).build());
+		List<Document> documents = randomDocuments(new Random(19), 500, 64);
+		for (SimpleVectorStore vectorStore : List.of(exact, quantized)) {
+			vectorStore.add(documents);
+			vectorStore.delete(List.of("doc-1", "doc-2"));
+		}
+		this.embeddingModel.register("query", randomVector(new Random(23), 64));
+
+		for (SearchRequest request : List.of(SearchRequest.query("query").withTopK(5),
+				SearchRequest.query("query").withTopK(5).withFilterExpression("even == true"))) {
+			assertThat(quantized.similaritySearch(request)).extracting(Document::getId)
+				.containsExactlyElementsOf(exact.similaritySearch(request).stream().map(Document::getId).toList());
+		}
+	}
+
+	@Test
+	void quantizedSnapshotRestoresQuantizedCopies(@TempDir File tempDir) {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withQuantization(Quantization.INT8).build());
+		vectorStore.add(randomDocuments(new Random(31), 500, 64));
+		vectorStore.delete(List.of("doc-1", "doc-2"));
+		this.embeddingModel.register("query", randomVector(new Random(37), 64));
+		File file = new File(tempDir, "store.bin");
+		vectorStore.saveSnapshot(file);
+
+		// The copies are restored for the same quantization and recomputed otherwise
+		SimpleVectorStore restored = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withQuantization(Quantization.INT8).withOffHeapStorage(true).build());
+		SimpleVectorStore recomputed = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder()
+					.withQuantization(Quantization.BINARY)
+					.withQuantizationOversampling(100)
+					.withOffHeapStorage(true)
+					.build());
+		for (SimpleVectorStore loaded : List.of(restored, recomputed)) {
+			loaded.loadSnapshot(file);
+
+			for (SearchRequest request : List.of(SearchRequest.query("query").withTopK(5),
+					SearchRequest.query("query").withTopK(5).withFilterExpression("even == true"))) {
+				assertThat(loaded.similaritySearch(request)).extracting(Document::getId)
+					.containsExactlyElementsOf(
+							vectorStore.similaritySearch(request).stream().map(Document::getId).toList());
+			}
+		}
+	}
+
+	@Test
+	void binaryQuantizedSearchFindsNearDuplicates() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder()
+					.withQuantization(Quantization.BINARY)
+					.withQuantizationOversampling(10)
+					.withOffHeapStorage(true)
+					.build());
+		Random random = new Random(29);
+		vectorStore.add(randomDocuments(random, 500, 256));
+		float[] query = this.embeddingModel.vectors.get("doc-42").clone();
+		for (int i = 0; i < query.length; i++) {
+			query[i] += (float) random.nextGaussian() * 0.1f;
+		}
+		this.embeddingModel.register("query", query);
+
+		assertThat(vectorStore.similaritySearch(SearchRequest.query("query").withTopK(1))).extracting(Document::getId)
+			.containsExactly("doc-42");
+		assertThat(vectorStore
+			.similaritySearch(SearchRequest.query("query").withTopK(1).withFilterExpression("even == false")))
+			.extracting(Document::getId)
+			.doesNotContain("doc-42")
+			.hasSize(1);
+	}
+
+	@Test
+	void filterExpressionIsApplied() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel);
+		vectorStore.add(countryDocuments());
+
+		List<Document> results = vectorStore
+			.similaritySearch(SearchRequest.query("query").withTopK(10).withFilterExpression("country == 'NL'"));
+
+		assertThat(results).extracting(Document::getId).containsExactly("x", "y");
+	}
+
+	@Test
+	void indexedFilterExpressionMatchesUnindexedFilterExpression() {
+		SimpleVectorStore unindexed = new SimpleVectorStore(this.embeddingModel);
+		SimpleVectorStore indexed = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withIndexedMetadataKeys("country", "year").build());
+		unindexed.add(countryDocuments());
+		indexed.add(countryDocuments());
+
+		for (String filter : List.of("country == 'NL' && year >= 2020", "country in ['BG', 'NL'] || year == 2019",
+				"year == 2020.0", "country != 'NL'", "country == 'US'")) {
+			SearchRequest request = SearchRequest.query("query").withTopK(10).withFilterExpression(filter);
+			assertThat(indexed.similaritySearch(request)).extracting(Document::getId)
+				.containsExactlyElementsOf(
+						unindexed.similaritySearch(request).stream().map(Document::getId).toList());
+		}
+	}
+
+	@Test
+	void metadataIndexIsMaintainedOnUpdateAndDelete() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withIndexedMetadataKeys("country").build());
+		vectorStore.add(countryDocuments());
+		vectorStore.delete(List.of("x"));
+		vectorStore.add(List.of(new Document("z", "z", Map.of("country", "NL"))));
+
+		List<Document> results = vectorStore
+			.similaritySearch(SearchRequest.query("query").withTopK(10).withFilterExpression("country == 'NL'"));
+
+		assertThat(results).extracting(Document::getId).containsExactly("y", "z");
+	}
+
+	@Test
+	void filterExpressionBypassesHnswIndex() {
+		SimpleVectorStore vectorStore = new SimpleVectorStore(this.embeddingModel,
+				SimpleVectorStoreConfig.builder().withHnswIndexEnabled(true).build());
+		vectorStore.add(countryDocuments());
+
+		List<Document> results = vectorStore
+			.similaritySearch(SearchRequest.query("query").withTopK(1).withFilterExpression("country == 'BG'"));
+
+		assertThat(results).extracting(Document::getId).containsExactly("xy");
+	}
+
+	private List<Document> countryDocuments() {
+		documents();
+		return List.of(new Document("x", "x", Map.of("country", "NL", "year", 2020)),
+				new Document("xy", "xy", Map.of("country", "BG", "year", 2019)),
+				new Document("y", "y", Map.of("country", "NL", "year", 2021L)),
+				new Document("z", "z", Map.of("country", "US", "year", 2020)));
+	}
+
+	private List<Document> documents() {
+		this.embeddingModel.register("x", new float[] { 1f, 0f, 0f });
+		this.embeddingModel.register("xy", new float[] { 1f, 1f, 0f });
+		this.embeddingModel.register("y", new float[] { 0f, 1f, 0.1f });
+		this.embeddingModel.register("z", new float[] { 0f, 0f, 1f });
+		this.embeddingModel.register("query", new float[] { 1f, 0.1f, 0f });
+		return List.of(new Document("x", "x", Map.of("axis", "x")), new Document("xy", "xy", Map.of()),
+				new Document("y", "y", Map.of()), new Document("z", "z", Map.of()));
+	}
+
+	private List<Document> randomDocuments(Random random, int count, int dimensions) {
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			String id = "doc-" + i;
+			this.embeddingModel.register(id, randomVector(random, dimensions));
+			documents.add(new Document(id, id, Map.of("even", i % 2 == 0)));
+		}
+		return documents;
+	}
+
+	private static float[] randomVector(Random random, int dimensions) {
+		float[] vector = new float[dimensions];
+		for (int i = 0; i < dimensions; i++) {
+			vector[i] = (float) random.nextGaussian();
+		}
+		return vector;
+	}
+
+	/**
+	 * Embedding model that returns pre-registered vectors for the given texts.
+	 */
+	static class FakeEmbeddingModel implements EmbeddingModel {
+
+		private final Map<String, float[]> vectors = new ConcurrentHashMap<>();
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		void register(String text, float[] vector) {
+			this.vectors.put(text, vector);
+		}
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.calls.incrementAndGet();
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(this.vectors.getOrDefault(text, new float[0]), embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return this.vectors.get(document.getContent());
+		}
+
+	}
+
+}
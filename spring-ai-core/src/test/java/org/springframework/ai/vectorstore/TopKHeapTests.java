@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TopKHeap}.
+ */
+class TopKHeapTests {
+
+	@Test
+	void drainsHighestScoresInDescendingOrder() {
+		Random random = new Random(42);
+		float[] scores = new float[1000];
+		TopKHeap heap = new TopKHeap(10);
+		for (int slot = 0; slot < scores.length; slot++) {
+			scores[slot] = random.nextFloat();
+			heap.offer(slot, scores[slot]);
+		}
+
+		int[] expected = IntStream.range(0, scores.length)
+			.boxed()
+			.sorted(Comparator.comparing((Integer slot) -> scores[slot]).reversed())
+			.limit(10)
+			.mapToInt(Integer::intValue)
+			.toArray();
+		assertThat(heap.size()).isEqualTo(10);
+		assertThat(heap.drainDescending()).containsExactly(expected);
+		assertThat(heap.size()).isZero();
+	}
+
+	@Test
+	void keepsAllCandidatesWhenKIsGreaterThanTheirCount() {
+		TopKHeap heap = new TopKHeap(10);
+		heap.offer(0, 0.2f);
+		heap.offer(1, 0.9f);
+		heap.offer(2, -0.5f);
+
+		assertThat(heap.size()).isEqualTo(3);
+		assertThat(heap.drainDescending()).containsExactly(1, 0, 2);
+	}
+
+	@Test
+	void keepsNothingWhenKIsZero() {
+		TopKHeap heap = new TopKHeap(0);
+		heap.offer(0, 1f);
+
+		assertThat(heap.size()).isZero();
+		assertThat(heap.drainDescending()).isEmpty();
+	}
+
+	@Test
+	void tiesDoNotEvictCandidatesAlreadyRetained() {
+		TopKHeap heap = new TopKHeap(2);
+		heap.offer(0, 0.5f);
+		heap.offer(1, 0.5f);
+		heap.offer(2, 0.5f);
+		heap.offer(3, 0.1f);
+
+		assertThat(heap.drainDescending()).containsExactlyInAnyOrder(0, 1);
+	}
+
+	@Test
+	void mergedHeapsKeepTheOverallHighestScores() {
+		TopKHeap left = new TopKHeap(3);
+		TopKHeap right = new TopKHeap(3);
+		float[] scores = { 0.1f, 0.8f, 0.3f, 0.9f, 0.2f, 0.7f, 0.4f, 0.6f };
+		for (int slot = 0; slot < scores.length; slot++) {
+			(slot % 2 == 0 ? left : right).offer(slot, scores[slot]);
+		}
+
+		left.offerAll(right);
+
+		assertThat(left.drainDescending()).containsExactly(3, 1, 5);
+	}
+
+}
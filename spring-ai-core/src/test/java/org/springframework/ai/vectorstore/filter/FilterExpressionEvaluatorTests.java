@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore.filter;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link FilterExpressionEvaluator}.
+ */
+class FilterExpressionEvaluatorTests {
+
+	private final FilterExpressionTextParser parser = new FilterExpressionTextParser();
+
+	private final Map<String, Object> metadata = Map.of("country", "BG", "year", 2020, "price", 15.6, "isOpen",
+			true, "city", "Sofia");
+
+	@Test
+	void comparisons() {
+		assertThat(matches("country == 'BG'")).isTrue();
+		assertThat(matches("country != 'BG'")).isFalse();
+		assertThat(matches("year >= 2020 && year < 2021")).isTrue();
+		assertThat(matches("year > 2020")).isFalse();
+		assertThat(matches("price <= 20.13 && price > 15.5")).isTrue();
+		assertThat(matches("city < 'Varna'")).isTrue();
+		assertThat(matches("isOpen == true")).isTrue();
+	}
+
+	@Test
+	void numbersAreComparedByValue() {
+		assertThat(matches("year == 2020.0")).isTrue();
+		assertThat(FilterExpressionEvaluator.compile(this.parser.parse("year == 2020")).test(Map.of("year", 2020L)))
+			.isTrue();
+		assertThat(matches("year in [2019, 2020]")).isTrue();
+	}
+
+	@Test
+	void booleanOperatorsAndGroups() {
+		assertThat(matches("(country == 'NL' || year == 2020) && isOpen == true")).isTrue();
+		assertThat(matches("country == 'NL' || (year == 2020 && isOpen == false)")).isFalse();
+		assertThat(matches("NOT(country == 'NL')")).isTrue();
+		assertThat(matches("city nin ['Sofia', 'Varna']")).isFalse();
+		assertThat(matches("country in ['BG', 'NL']")).isTrue();
+	}
+
+	@Test
+	void missingKeysAndMismatchedTypesNeverMatch() {
+		assertThat(matches("genre == 'drama'")).isFalse();
+		assertThat(matches("genre != 'drama'")).isTrue();
+		assertThat(matches("country > 10")).isFalse();
+		assertThat(matches("year == '2020'")).isFalse();
+	}
+
+	@Test
+	void quotedKeysAreUnquoted() {
+		assertThat(FilterExpressionEvaluator.compile(this.parser.parse("\"country 2\" == 'BG'"))
+			.test(Map.of("country 2", "BG"))).isTrue();
+	}
+
+	@Test
+	void malformedExpressionIsRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> FilterExpressionEvaluator.compile(
+				new Filter.Expression(Filter.ExpressionType.EQ, new Filter.Value("BG"), new Filter.Value("BG"))));
+	}
+
+	private boolean matches(String filter) {
+		Predicate<Map<String, Object>> predicate = FilterExpressionEvaluator.compile(this.parser.parse(filter));
+		return predicate.test(this.metadata);
+	}
+
+}
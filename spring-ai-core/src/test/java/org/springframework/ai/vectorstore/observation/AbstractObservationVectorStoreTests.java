@@ -0,0 +1,158 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.ai.vectorstore.observation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for the asynchronous operations of {@link AbstractObservationVectorStore}.
+ */
+class AbstractObservationVectorStoreTests {
+
+	private final RecordingHandler handler = new RecordingHandler();
+
+	private final TestVectorStore vectorStore;
+
+	AbstractObservationVectorStoreTests() {
+		ObservationRegistry observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig().observationHandler(this.handler);
+		this.vectorStore = new TestVectorStore(observationRegistry);
+	}
+
+	@Test
+	void asyncSearchIsObserved() {
+		List<Document> documents = this.vectorStore.similaritySearchAsync(SearchRequest.query("query")).block();
+
+		assertThat(documents).hasSize(1);
+		assertThat(this.handler.events).containsExactly("start", "stop");
+		assertThat(this.handler.context.getQueryResponse()).isEqualTo(documents);
+	}
+
+	@Test
+	void operationFailingBeforeReturningEndsTheObservation() {
+		Mono<List<Document>> search = this.vectorStore
+			.similaritySearchAsync(SearchRequest.query("query").withTopK(TestVectorStore.MAX_TOP_K + 1));
+
+		assertThat(this.handler.events).isEmpty();
+		assertThatIllegalArgumentException().isThrownBy(search::block);
+		assertThat(this.handler.events).containsExactly("start", "error", "stop");
+	}
+
+	@Test
+	void asyncAddAndDeleteAreObserved() {
+		this.vectorStore.addAsync(List.of(new Document("id", "content", Map.of()))).block();
+		assertThat(this.vectorStore.deleteAsync(List.of("id")).block()).isTrue();
+
+		assertThat(this.handler.events).containsExactly("start", "stop", "start", "stop");
+	}
+
+	static class TestVectorStore extends AbstractObservationVectorStore {
+
+		static final int MAX_TOP_K = 10;
+
+		TestVectorStore(ObservationRegistry observationRegistry) {
+			super(observationRegistry, null);
+		}
+
+		@Override
+		public void doAdd(List<Document> documents) {
+		}
+
+		@Override
+		public Optional<Boolean> doDelete(List<String> idList) {
+			return Optional.of(true);
+		}
+
+		@Override
+		public List<Document> doSimilaritySearch(SearchRequest request) {
+			return List.of(new Document(request.getQuery()));
+		}
+
+		// Native implementations, completing on the subscribing thread
+
+		@Override
+		protected Mono<Void> doAddAsync(List<Document> documents) {
+			return Mono.fromRunnable(() -> doAdd(documents));
+		}
+
+		@Override
+		protected Mono<Boolean> doDeleteAsync(List<String> idList) {
+			return Mono.fromCallable(() -> doDelete(idList).orElse(false));
+		}
+
+		@Override
+		protected Mono<List<Document>> doSimilaritySearchAsync(SearchRequest request) {
+			// Validates the request before returning, as some native implementations do
+			if (request.getTopK() > MAX_TOP_K) {
+				throw new IllegalArgumentException("topK must be " + MAX_TOP_K + " or less");
+			}
+			return Mono.fromCallable(() -> doSimilaritySearch(request));
+		}
+
+		@Override
+		public VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName) {
+			return VectorStoreObservationContext.builder("test", operationName);
+		}
+
+	}
+
+	static class RecordingHandler implements ObservationHandler<VectorStoreObservationContext> {
+
+		final List<String> events = new CopyOnWriteArrayList<>();
+
+		volatile VectorStoreObservationContext context;
+
+		@Override
+		public void onStart(VectorStoreObservationContext context) {
+			this.context = context;
+			this.events.add("start");
+		}
+
+		@Override
+		public void onError(VectorStoreObservationContext context) {
+			this.events.add("error");
+		}
+
+		@Override
+		public void onStop(VectorStoreObservationContext context) {
+			this.events.add("stop");
+		}
+
+		@Override
+		public boolean supportsContext(Observation.Context context) {
+			return context instanceof VectorStoreObservationContext;
+		}
+
+	}
+
+}
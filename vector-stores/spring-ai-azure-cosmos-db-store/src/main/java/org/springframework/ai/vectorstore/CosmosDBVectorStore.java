@@ -57,6 +57,8 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.BatchingStrategy;
@@ -70,6 +72,11 @@ import org.springframework.ai.vectorstore.observation.VectorStoreObservationCont
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationConvention;
 
 /**
+ * Azure Cosmos DB vector store. All the operations are executed with the reactive
+ * {@link CosmosAsyncClient}; the {@link AsyncVectorStore} operations do so without
+ * blocking, except for the embedding model calls which run on a bounded elastic
+ * scheduler.
+ *
  * @author Theo van Kraay
  * @author Soby Chacko
  * @since 1.0.0
@@ -203,6 +210,27 @@ public class CosmosDBVectorStore extends AbstractObservationVectorStore implemen
 		// Batch the documents based on the batching strategy
 		this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
 
+		try {
+			bulkAdd(documents).block(); // Block until the last item of the Flux is processed
+		}
+		catch (Exception e) {
+			logger.error("Exception occurred during bulk add operation: {}", e.getMessage(), e);
+			throw e; // Rethrow the exception after logging
+		}
+	}
+
+	@Override
+	protected Mono<Void> doAddAsync(List<Document> documents) {
+		// The embedding model is blocking, only the bulk operation is asynchronous
+		return Mono
+			.fromRunnable(() -> this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(),
+					this.batchingStrategy))
+			.subscribeOn(Schedulers.boundedElastic())
+			.then(Mono.defer(() -> bulkAdd(documents)))
+			.doOnError(e -> logger.error("Exception occurred during bulk add operation: {}", e.getMessage(), e));
+	}
+
+	private Mono<Void> bulkAdd(List<Document> documents) {
 		// Create a list to hold both the CosmosItemOperation and the corresponding
 		// document ID
 		List<ImmutablePair<String, CosmosItemOperation>> itemOperationsWithIds = documents.stream().map(doc -> {
@@ -212,68 +240,67 @@ public class CosmosDBVectorStore extends AbstractObservationVectorStore implemen
 			// with the operation
 		}).toList();
 
-		try {
-			// Extract just the CosmosItemOperations from the pairs
-			List<CosmosItemOperation> itemOperations = itemOperationsWithIds.stream()
-				.map(ImmutablePair::getValue)
-				.collect(Collectors.toList());
-
-			this.container.executeBulkOperations(Flux.fromIterable(itemOperations)).doOnNext(response -> {
-				if (response != null && response.getResponse() != null) {
-					int statusCode = response.getResponse().getStatusCode();
-					if (statusCode == 409) {
-						// Retrieve the ID associated with the failed operation
-						String documentId = itemOperationsWithIds.stream()
-							.filter(pair -> pair.getValue().equals(response.getOperation()))
-							.findFirst()
-							.map(ImmutablePair::getKey)
-							.orElse("Unknown ID"); // Fallback if the ID can't be found
-
-						String errorMessage = String.format("Duplicate document id: %s", documentId);
-						logger.error(errorMessage);
-						throw new RuntimeException(errorMessage); // Throw an exception
-						// for status code 409
-					}
-					else {
-						logger.info("Document added with status: {}", statusCode);
-					}
+		// Extract just the CosmosItemOperations from the pairs
+		List<CosmosItemOperation> itemOperations = itemOperationsWithIds.stream()
+			.map(ImmutablePair::getValue)
+			.collect(Collectors.toList());
+
+		return this.container.executeBulkOperations(Flux.fromIterable(itemOperations)).doOnNext(response -> {
+			if (response != null && response.getResponse() != null) {
+				int statusCode = response.getResponse().getStatusCode();
+				if (statusCode == 409) {
+					// Retrieve the ID associated with the failed operation
+					String documentId = itemOperationsWithIds.stream()
+						.filter(pair -> pair.getValue().equals(response.getOperation()))
+						.findFirst()
+						.map(ImmutablePair::getKey)
+						.orElse("Unknown ID"); // Fallback if the ID can't be found
+
+					String errorMessage = String.format("Duplicate document id: %s", documentId);
+					logger.error(errorMessage);
+					throw new RuntimeException(errorMessage); // Throw an exception
+					// for status code 409
 				}
 				else {
-					logger.warn("Received a null response or null status code for a document operation.");
+					logger.info("Document added with status: {}", statusCode);
 				}
-			})
-				.doOnError(error -> logger.error("Error adding document: {}", error.getMessage()))
-				.doOnComplete(() -> logger.info("Bulk operation completed successfully."))
-				.blockLast(); // Block until the last item of the Flux is processed
-		}
-		catch (Exception e) {
-			logger.error("Exception occurred during bulk add operation: {}", e.getMessage(), e);
-			throw e; // Rethrow the exception after logging
-		}
+			}
+			else {
+				logger.warn("Received a null response or null status code for a document operation.");
+			}
+		})
+			.doOnError(error -> logger.error("Error adding document: {}", error.getMessage()))
+			.doOnComplete(() -> logger.info("Bulk operation completed successfully."))
+			.then();
 	}
 
 	@Override
 	public Optional<Boolean> doDelete(List<String> idList) {
-		try {
-			// Convert the list of IDs into bulk delete operations
-			List<CosmosItemOperation> itemOperations = idList.stream()
-				.map(id -> CosmosBulkOperations.getDeleteItemOperation(id, new PartitionKey(id)))
-				.collect(Collectors.toList());
-
-			// Execute bulk delete operations synchronously by using blockLast() on the
-			// Flux
-			this.container.executeBulkOperations(Flux.fromIterable(itemOperations))
-				.doOnNext(response -> logger.info("Document deleted with status: {}",
-						response.getResponse().getStatusCode()))
-				.doOnError(error -> logger.error("Error deleting document: {}", error.getMessage()))
-				.blockLast(); // This will block until all operations have finished
-
-			return Optional.of(true);
-		}
-		catch (Exception e) {
-			logger.error("Exception while deleting documents: {}", e.getMessage());
-			return Optional.of(false);
-		}
+		// Execute bulk delete operations synchronously, blocking until all operations
+		// have finished
+		return Optional.ofNullable(bulkDelete(idList).block());
+	}
+
+	@Override
+	protected Mono<Boolean> doDeleteAsync(List<String> idList) {
+		return Mono.defer(() -> bulkDelete(idList));
+	}
+
+	private Mono<Boolean> bulkDelete(List<String> idList) {
+		// Convert the list of IDs into bulk delete operations
+		List<CosmosItemOperation> itemOperations = idList.stream()
+			.map(id -> CosmosBulkOperations.getDeleteItemOperation(id, new PartitionKey(id)))
+			.collect(Collectors.toList());
+
+		return this.container.executeBulkOperations(Flux.fromIterable(itemOperations))
+			.doOnNext(response -> logger.info("Document deleted with status: {}",
+					response.getResponse().getStatusCode()))
+			.doOnError(error -> logger.error("Error deleting document: {}", error.getMessage()))
+			.then(Mono.just(true))
+			.onErrorResume(e -> {
+				logger.error("Exception while deleting documents: {}", e.getMessage());
+				return Mono.just(false);
+			});
 	}
 
 	@Override
@@ -291,6 +318,25 @@ public class CosmosDBVectorStore extends AbstractObservationVectorStore implemen
 		// Convert query into vector embedding
 		float[] embedding = this.embeddingModel.embed(request.getQuery());
 
+		List<Document> docs = search(request, embedding).block();
+		return docs != null ? docs : List.of();
+	}
+
+	@Override
+	protected Mono<List<Document>> doSimilaritySearchAsync(SearchRequest request) {
+		// Ensure topK is within acceptable limits
+		if (request.getTopK() > 1000) {
+			return Mono.error(new IllegalArgumentException("Top K must be 1000 or less."));
+		}
+
+		// The embedding model is blocking, only the query is asynchronous
+		return Mono.fromCallable(() -> this.embeddingModel.embed(request.getQuery()))
+			.subscribeOn(Schedulers.boundedElastic())
+			.flatMap(embedding -> search(request, embedding));
+	}
+
+	private Mono<List<Document>> search(SearchRequest request, float[] embedding) {
+
 		logger.info("similarity threshold: {}", request.getSimilarityThreshold());
 
 		List<Float> embeddingList = IntStream.range(0, embedding.length)
@@ -328,30 +374,22 @@ public class CosmosDBVectorStore extends AbstractObservationVectorStore implemen
 		CosmosPagedFlux<JsonNode> pagedFlux = this.container.queryItems(sqlQuerySpec, options, JsonNode.class);
 
 		logger.info("Executing similarity search query: {}", query);
-		try {
-			// Collect documents from the paged flux
-			List<JsonNode> documents = pagedFlux.byPage()
-				.flatMap(page -> Flux.fromIterable(page.getResults()))
-				.collectList()
-				.block();
-			// Convert JsonNode to Document
-			List<Document> docs = documents.stream()
-				.map(doc -> new Document(doc.get("id").asText(), doc.get("content").asText(), new HashMap<>()))
-				.collect(Collectors.toList());
-
-			return docs != null ? docs : List.of();
-		}
-		catch (Exception e) {
-			logger.error("Error during similarity search: {}", e.getMessage());
-			return List.of();
-		}
+		// Collect documents from the paged flux and convert JsonNode to Document
+		return pagedFlux.byPage()
+			.flatMap(page -> Flux.fromIterable(page.getResults()))
+			.map(doc -> new Document(doc.get("id").asText(), doc.get("content").asText(), new HashMap<>()))
+			.collectList()
+			.onErrorResume(e -> {
+				logger.error("Error during similarity search: {}", e.getMessage());
+				return Mono.just(List.of());
+			});
 	}
 
 	@Override
 	public VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName) {
 		return VectorStoreObservationContext.builder(VectorStoreProvider.COSMOSDB.value(), operationName)
 			.withCollectionName(this.container.getId())
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withNamespace(this.container.getDatabase().getId())
 			.withSimilarityMetric("cosine");
 	}
@@ -91,6 +91,26 @@ public class CosmosDBVectorStoreIT {
 
 	}
 
+	@Test
+	public void testAddSearchAndDeleteDocumentsAsync() {
+		AsyncVectorStore asyncVectorStore = (AsyncVectorStore) this.vectorStore;
+		Document document1 = new Document(UUID.randomUUID().toString(), "Sample content1", Map.of("key1", "value1"));
+		Document document2 = new Document(UUID.randomUUID().toString(), "Sample content2", Map.of("key2", "value2"));
+
+		asyncVectorStore.addAsync(List.of(document1, document2)).block();
+
+		List<Document> results = asyncVectorStore
+			.similaritySearchAsync(SearchRequest.query("Sample content").withTopK(1))
+			.block();
+		assertThat(results).isNotEmpty();
+		assertThat(results.get(0).getId()).isEqualTo(document1.getId());
+
+		asyncVectorStore.deleteAsync(List.of(document1.getId(), document2.getId())).block();
+
+		assertThat(asyncVectorStore.similaritySearchAsync(SearchRequest.query("Sample content").withTopK(1)).block())
+			.isEmpty();
+	}
+
 	@Test
 	void testSimilaritySearchWithFilter() {
 
@@ -389,7 +389,7 @@ public class AzureVectorStore extends AbstractObservationVectorStore implements
 
 		return VectorStoreObservationContext.builder(VectorStoreProvider.AZURE.value(), operationName)
 			.withCollectionName(this.indexName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withSimilarityMetric(this.initializeSchema ? VectorStoreSimilarityMetric.COSINE.value() : null);
 	}
 
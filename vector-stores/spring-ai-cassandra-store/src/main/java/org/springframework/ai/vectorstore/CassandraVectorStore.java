@@ -27,6 +27,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
@@ -43,6 +44,9 @@ import com.datastax.oss.driver.shaded.guava.common.base.Preconditions;
 import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.BatchingStrategy;
@@ -95,6 +99,10 @@ import org.springframework.ai.vectorstore.observation.VectorStoreObservationConv
  * the {@link #add(List<Document>)} method multiplied by the list size. This setting can
  * also serve as a protecting throttle against your embedding model.
  *
+ * The {@link AsyncVectorStore} operations execute their statements with the
+ * asynchronous session API, so no thread waits for Cassandra. The embeddings are still
+ * computed on a bounded elastic scheduler, since embedding models are blocking.
+ *
  * @author Mick Semb Wever
  * @author Christian Tzolov
  * @author Thomas Vitale
@@ -186,34 +194,54 @@ public class CassandraVectorStore extends AbstractObservationVectorStore impleme
 
 		int i = 0;
 		for (Document d : documents) {
-			futures[i++] = CompletableFuture.runAsync(() -> {
-				List<Object> primaryKeyValues = this.conf.documentIdTranslator.apply(d.getId());
-
-				BoundStatementBuilder builder = prepareAddStatement(d.getMetadata().keySet()).boundStatementBuilder();
-				for (int k = 0; k < primaryKeyValues.size(); ++k) {
-					SchemaColumn keyColumn = this.conf.getPrimaryKeyColumn(k);
-					builder = builder.set(keyColumn.name(), primaryKeyValues.get(k), keyColumn.javaType());
-				}
-
-				builder = builder.setString(this.conf.schema.content(), d.getContent())
-					.setVector(this.conf.schema.embedding(),
-							CqlVector.newInstance(EmbeddingUtils.toList(d.getEmbedding())), Float.class);
-
-				for (var metadataColumn : this.conf.schema.metadataColumns()
-					.stream()
-					.filter(mc -> d.getMetadata().containsKey(mc.name()))
-					.toList()) {
-
-					builder = builder.set(metadataColumn.name(), d.getMetadata().get(metadataColumn.name()),
-							metadataColumn.javaType());
-				}
-				BoundStatement s = builder.build().setExecutionProfileName(DRIVER_PROFILE_UPDATES);
-				this.conf.session.execute(s);
-			}, this.conf.executor);
+			futures[i++] = CompletableFuture.runAsync(() -> this.conf.session.execute(addStatement(d)),
+					this.conf.executor);
 		}
 		CompletableFuture.allOf(futures).join();
 	}
 
+	@Override
+	protected Mono<Void> doAddAsync(List<Document> documents) {
+		// The embedding model and statement preparation are blocking, only the inserts
+		// are asynchronous. They complete on driver I/O threads, which must not block, so
+		// all the statements are prepared upfront.
+		return Mono.fromCallable(() -> embedAndBind(documents))
+			.subscribeOn(Schedulers.boundedElastic())
+			.flatMapMany(Flux::fromIterable)
+			.flatMap(statement -> Mono.fromCompletionStage(() -> this.conf.session.executeAsync(statement)),
+					this.conf.addConcurrency)
+			.then();
+	}
+
+	private List<BoundStatement> embedAndBind(List<Document> documents) {
+		this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
+		return documents.stream().map(this::addStatement).toList();
+	}
+
+	private BoundStatement addStatement(Document d) {
+		List<Object> primaryKeyValues = this.conf.documentIdTranslator.apply(d.getId());
+
+		BoundStatementBuilder builder = prepareAddStatement(d.getMetadata().keySet()).boundStatementBuilder();
+		for (int k = 0; k < primaryKeyValues.size(); ++k) {
+			SchemaColumn keyColumn = this.conf.getPrimaryKeyColumn(k);
+			builder = builder.set(keyColumn.name(), primaryKeyValues.get(k), keyColumn.javaType());
+		}
+
+		builder = builder.setString(this.conf.schema.content(), d.getContent())
+			.setVector(this.conf.schema.embedding(), CqlVector.newInstance(EmbeddingUtils.toList(d.getEmbedding())),
+					Float.class);
+
+		for (var metadataColumn : this.conf.schema.metadataColumns()
+			.stream()
+			.filter(mc -> d.getMetadata().containsKey(mc.name()))
+			.toList()) {
+
+			builder = builder.set(metadataColumn.name(), d.getMetadata().get(metadataColumn.name()),
+					metadataColumn.javaType());
+		}
+		return builder.build().setExecutionProfileName(DRIVER_PROFILE_UPDATES);
+	}
+
 	@Override
 	public Optional<Boolean> doDelete(List<String> idList) {
 		CompletableFuture[] futures = new CompletableFuture[idList.size()];
@@ -227,11 +255,62 @@ public class CassandraVectorStore extends AbstractObservationVectorStore impleme
 		return Optional.of(Boolean.TRUE);
 	}
 
+	@Override
+	protected Mono<Boolean> doDeleteAsync(List<String> idList) {
+		return Flux.fromIterable(idList)
+			.flatMap(id -> Mono.fromCompletionStage(() -> this.conf.session
+				.executeAsync(this.deleteStmt.bind(this.conf.documentIdTranslator.apply(id).toArray()))))
+			.then(Mono.just(Boolean.TRUE));
+	}
+
 	@Override
 	public List<Document> doSimilaritySearch(SearchRequest request) {
 		Preconditions.checkArgument(request.getTopK() <= 1000);
-		var embedding = toFloatArray(this.embeddingModel.embed(request.getQuery()));
-		CqlVector<Float> cqlVector = CqlVector.newInstance(embedding);
+		SimpleStatement s = similaritySearchStatement(request, this.embeddingModel.embed(request.getQuery()));
+		List<Document> documents = new ArrayList<>();
+		for (Row row : this.conf.session.execute(s)) {
+			float score = row.getFloat(0);
+			if (score < request.getSimilarityThreshold()) {
+				break;
+			}
+			documents.add(toDocument(row, score));
+		}
+		return documents;
+	}
+
+	@Override
+	protected Mono<List<Document>> doSimilaritySearchAsync(SearchRequest request) {
+		Preconditions.checkArgument(request.getTopK() <= 1000);
+		// The embedding model is blocking, only the query is asynchronous
+		return Mono
+			.fromCallable(() -> similaritySearchStatement(request, this.embeddingModel.embed(request.getQuery())))
+			.subscribeOn(Schedulers.boundedElastic())
+			.flatMap(s -> Mono.fromCompletionStage(() -> this.conf.session.executeAsync(s)))
+			.flatMap(resultSet -> readDocuments(resultSet, request.getSimilarityThreshold(), new ArrayList<>()));
+	}
+
+	/**
+	 * Reads the documents of the result set, fetching the next pages asynchronously,
+	 * until the similarity drops below the threshold.
+	 */
+	private Mono<List<Document>> readDocuments(AsyncResultSet resultSet, double similarityThreshold,
+			List<Document> documents) {
+		for (Row row : resultSet.currentPage()) {
+			float score = row.getFloat(0);
+			if (score < similarityThreshold) {
+				return Mono.just(documents);
+			}
+			documents.add(toDocument(row, score));
+		}
+		if (resultSet.hasMorePages()) {
+			return Mono.fromCompletionStage(resultSet::fetchNextPage)
+				.flatMap(nextPage -> readDocuments(nextPage, similarityThreshold, documents));
+		}
+		return Mono.just(documents);
+	}
+
+	private SimpleStatement similaritySearchStatement(SearchRequest request, float[] queryEmbedding) {
+		CqlVector<Float> cqlVector = CqlVector.newInstance(toFloatArray(queryEmbedding));
 
 		String whereClause = "";
 		if (request.hasFilterExpression()) {
@@ -242,32 +321,26 @@ public class CassandraVectorStore extends AbstractObservationVectorStore impleme
 		}
 
 		String query = String.format(this.similarityStmt, cqlVector, whereClause, cqlVector, request.getTopK());
-		List<Document> documents = new ArrayList<>();
 		logger.trace("Executing {}", query);
-		SimpleStatement s = SimpleStatement.newInstance(query).setExecutionProfileName(DRIVER_PROFILE_SEARCH);
+		return SimpleStatement.newInstance(query).setExecutionProfileName(DRIVER_PROFILE_SEARCH);
+	}
 
-		for (Row row : this.conf.session.execute(s)) {
-			float score = row.getFloat(0);
-			if (score < request.getSimilarityThreshold()) {
-				break;
-			}
-			Map<String, Object> docFields = new HashMap<>();
-			docFields.put(SIMILARITY_FIELD_NAME, score);
-			for (var metadata : this.conf.schema.metadataColumns()) {
-				var value = row.get(metadata.name(), metadata.javaType());
-				if (null != value) {
-					docFields.put(metadata.name(), value);
-				}
+	private Document toDocument(Row row, float score) {
+		Map<String, Object> docFields = new HashMap<>();
+		docFields.put(SIMILARITY_FIELD_NAME, score);
+		for (var metadata : this.conf.schema.metadataColumns()) {
+			var value = row.get(metadata.name(), metadata.javaType());
+			if (null != value) {
+				docFields.put(metadata.name(), value);
 			}
-			Document doc = new Document(getDocumentId(row), row.getString(this.conf.schema.content()), docFields);
+		}
+		Document doc = new Document(getDocumentId(row), row.getString(this.conf.schema.content()), docFields);
 
-			if (this.conf.returnEmbeddings) {
-				doc.setEmbedding(EmbeddingUtils
-					.toPrimitive(row.getVector(this.conf.schema.embedding(), Float.class).stream().toList()));
-			}
-			documents.add(doc);
+		if (this.conf.returnEmbeddings) {
+			doc.setEmbedding(EmbeddingUtils
+				.toPrimitive(row.getVector(this.conf.schema.embedding(), Float.class).stream().toList()));
 		}
-		return documents;
+		return doc;
 	}
 
 	@Override
@@ -382,7 +455,7 @@ public class CassandraVectorStore extends AbstractObservationVectorStore impleme
 	public Builder createObservationContextBuilder(String operationName) {
 		return VectorStoreObservationContext.builder(VectorStoreProvider.CASSANDRA.value(), operationName)
 			.withCollectionName(this.conf.schema.table())
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withNamespace(this.conf.schema.keyspace())
 			.withSimilarityMetric(getSimilarityMetric());
 	}
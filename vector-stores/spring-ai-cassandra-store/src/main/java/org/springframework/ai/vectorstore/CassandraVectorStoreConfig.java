@@ -98,6 +98,8 @@ public final class CassandraVectorStoreConfig implements AutoCloseable {
 
 	final Executor executor;
 
+	final int addConcurrency;
+
 	private final boolean closeSessionOnClose;
 
 	private CassandraVectorStoreConfig(Builder builder) {
@@ -112,6 +114,7 @@ public final class CassandraVectorStoreConfig implements AutoCloseable {
 		this.documentIdTranslator = builder.documentIdTranslator;
 		this.primaryKeyTranslator = builder.primaryKeyTranslator;
 		this.executor = Executors.newFixedThreadPool(builder.fixedThreadPoolExecutorSize);
+		this.addConcurrency = builder.fixedThreadPoolExecutorSize;
 	}
 
 	public static Builder builder() {
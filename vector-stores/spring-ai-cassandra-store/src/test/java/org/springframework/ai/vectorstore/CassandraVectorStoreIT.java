@@ -49,6 +49,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.core.io.DefaultResourceLoader;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 /**
  * Use `mvn failsafe:integration-test -Dit.test=CassandraVectorStoreIT`
@@ -149,6 +150,43 @@ class CassandraVectorStoreIT {
 		});
 	}
 
+	@Test
+	void addAndSearchAsync() {
+		this.contextRunner.run(context -> {
+			try (CassandraVectorStore store = createTestStore(context, new SchemaColumn("meta1", DataTypes.TEXT),
+					new SchemaColumn("meta2", DataTypes.TEXT))) {
+
+				List<Document> documents = documents();
+				store.addAsync(documents).block();
+
+				List<Document> results = store.similaritySearchAsync(SearchRequest.query("Spring").withTopK(1))
+					.block();
+
+				assertThat(results).hasSize(1);
+				assertThat(results.get(0).getId()).isEqualTo(documents.get(0).getId());
+				assertThat(results.get(0).getMetadata()).containsKeys("meta1",
+						CassandraVectorStore.SIMILARITY_FIELD_NAME);
+
+				assertThat(store.deleteAsync(documents.stream().map(Document::getId).toList()).block()).isTrue();
+
+				assertThat(store.similaritySearchAsync(SearchRequest.query("Spring").withTopK(1)).block()).isEmpty();
+			}
+		});
+	}
+
+	@Test
+	void asyncSearchRejectsTooLargeTopK() {
+		this.contextRunner.run(context -> {
+			try (CassandraVectorStore store = createTestStore(context, new SchemaColumn("meta1", DataTypes.TEXT),
+					new SchemaColumn("meta2", DataTypes.TEXT))) {
+
+				// The request is validated before the Mono is returned, the error is signalled
+				assertThatIllegalArgumentException()
+					.isThrownBy(() -> store.similaritySearchAsync(SearchRequest.query("Spring").withTopK(1001)).block());
+			}
+		});
+	}
+
 	@Test
 	void addAndSearchReturnEmbeddings() {
 		this.contextRunner.run(context -> {
@@ -33,6 +33,7 @@ import org.springframework.ai.chroma.ChromaApi.DeleteEmbeddingsRequest;
 import org.springframework.ai.chroma.ChromaApi.Embedding;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.ConcurrentBatchExecution;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
 import org.springframework.ai.embedding.TokenCountBatchingStrategy;
@@ -44,6 +45,7 @@ import org.springframework.ai.vectorstore.observation.VectorStoreObservationCont
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext.Builder;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationConvention;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -84,6 +86,9 @@ public class ChromaVectorStore extends AbstractObservationVectorStore implements
 
 	private final BatchingStrategy batchingStrategy;
 
+	@Nullable
+	private ConcurrentBatchExecution batchExecution;
+
 	private final ObjectMapper objectMapper;
 
 	public ChromaVectorStore(EmbeddingModel embeddingModel, ChromaApi chromaApi, boolean initializeSchema) {
@@ -116,6 +121,16 @@ public class ChromaVectorStore extends AbstractObservationVectorStore implements
 		this.filterExpressionConverter = filterExpressionConverter;
 	}
 
+	/**
+	 * Sets how the embedding batches of added documents are sent to the embedding model
+	 * concurrently. Batches are sent sequentially by default.
+	 * @param batchExecution the concurrent batch execution
+	 */
+	public void setBatchExecution(ConcurrentBatchExecution batchExecution) {
+		Assert.notNull(batchExecution, "ConcurrentBatchExecution should not be null.");
+		this.batchExecution = batchExecution;
+	}
+
 	@Override
 	public void doAdd(List<Document> documents) {
 		Assert.notNull(documents, "Documents must not be null");
@@ -128,7 +143,13 @@ public class ChromaVectorStore extends AbstractObservationVectorStore implements
 		List<String> contents = new ArrayList<>();
 		List<float[]> embeddings = new ArrayList<>();
 
-		this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
+		if (this.batchExecution != null) {
+			this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy,
+					this.batchExecution);
+		}
+		else {
+			this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
+		}
 
 		for (Document document : documents) {
 			ids.add(document.getId());
@@ -224,7 +245,7 @@ public class ChromaVectorStore extends AbstractObservationVectorStore implements
 	@Override
 	public Builder createObservationContextBuilder(String operationName) {
 		return VectorStoreObservationContext.builder(VectorStoreProvider.CHROMA.value(), operationName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withCollectionName(this.collectionName + ":" + this.collectionId)
 			.withFieldName(this.initializeSchema ? DISTANCE_FIELD_NAME : null);
 	}
@@ -88,6 +88,9 @@ public class ChromaVectorStoreObservationIT {
 
 			ChromaVectorStore vectorStore = context.getBean(ChromaVectorStore.class);
 
+			// Observations only report the dimensions once the embedding model resolved them
+			context.getBean(EmbeddingModel.class).dimensions();
+
 			TestObservationRegistry observationRegistry = context.getBean(TestObservationRegistry.class);
 
 			vectorStore.add(this.documents);
@@ -23,6 +23,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch.core.BulkRequest;
 import co.elastic.clients.elasticsearch.core.BulkResponse;
@@ -38,9 +39,12 @@ import io.micrometer.observation.ObservationRegistry;
 import org.elasticsearch.client.RestClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.ConcurrentBatchExecution;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
 import org.springframework.ai.embedding.TokenCountBatchingStrategy;
@@ -54,6 +58,7 @@ import org.springframework.ai.vectorstore.observation.VectorStoreObservationCont
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext.Builder;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationConvention;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -65,6 +70,10 @@ import org.springframework.util.Assert;
  * The ElasticsearchVectorStore class requires a RestClient and an EmbeddingModel to be
  * instantiated. It also supports optional initialization of the Elasticsearch schema.
  *
+ * The {@link AsyncVectorStore} operations use the asynchronous Elasticsearch client, so
+ * no thread waits for Elasticsearch. The embeddings are still computed on a bounded
+ * elastic scheduler, since embedding models are blocking.
+ *
  * @author Jemin Huh
  * @author Wei Jiang
  * @author Laura Trotta
@@ -85,6 +94,8 @@ public class ElasticsearchVectorStore extends AbstractObservationVectorStore imp
 
 	private final ElasticsearchClient elasticsearchClient;
 
+	private final ElasticsearchAsyncClient elasticsearchAsyncClient;
+
 	private final ElasticsearchVectorStoreOptions options;
 
 	private final FilterExpressionConverter filterExpressionConverter;
@@ -93,6 +104,9 @@ public class ElasticsearchVectorStore extends AbstractObservationVectorStore imp
 
 	private final BatchingStrategy batchingStrategy;
 
+	@Nullable
+	private ConcurrentBatchExecution batchExecution;
+
 	public ElasticsearchVectorStore(RestClient restClient, EmbeddingModel embeddingModel, boolean initializeSchema) {
 		this(new ElasticsearchVectorStoreOptions(), restClient, embeddingModel, initializeSchema);
 	}
@@ -113,9 +127,11 @@ public class ElasticsearchVectorStore extends AbstractObservationVectorStore imp
 		Objects.requireNonNull(embeddingModel, "RestClient must not be null");
 		Objects.requireNonNull(embeddingModel, "EmbeddingModel must not be null");
 		String version = Version.VERSION == null ? "Unknown" : Version.VERSION.toString();
-		this.elasticsearchClient = new ElasticsearchClient(new RestClientTransport(restClient,
-				new JacksonJsonpMapper(
-						new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false))))
+		RestClientTransport transport = new RestClientTransport(restClient, new JacksonJsonpMapper(
+				new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)));
+		this.elasticsearchClient = new ElasticsearchClient(transport)
+			.withTransportOptions(t -> t.addHeader("user-agent", "spring-ai elastic-java/" + version));
+		this.elasticsearchAsyncClient = new ElasticsearchAsyncClient(transport)
 			.withTransportOptions(t -> t.addHeader("user-agent", "spring-ai elastic-java/" + version));
 		this.embeddingModel = embeddingModel;
 		this.options = options;
@@ -123,6 +139,16 @@ public class ElasticsearchVectorStore extends AbstractObservationVectorStore imp
 		this.batchingStrategy = batchingStrategy;
 	}
 
+	/**
+	 * Sets how the embedding batches of added documents are sent to the embedding model
+	 * concurrently. Batches are sent sequentially by default.
+	 * @param batchExecution the concurrent batch execution
+	 */
+	public void setBatchExecution(ConcurrentBatchExecution batchExecution) {
+		Assert.notNull(batchExecution, "ConcurrentBatchExecution must not be null");
+		this.batchExecution = batchExecution;
+	}
+
 	@Override
 	public void doAdd(List<Document> documents) {
 		// For the index to be present, either it must be pre-created or set the
@@ -130,17 +156,45 @@ public class ElasticsearchVectorStore extends AbstractObservationVectorStore imp
 		if (!indexExists()) {
 			throw new IllegalArgumentException("Index not found");
 		}
-		BulkRequest.Builder bulkRequestBuilder = new BulkRequest.Builder();
 
-		this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
+		embed(documents);
 
+		checkErrors(bulkRequest(addRequest(documents)));
+	}
+
+	@Override
+	protected Mono<Void> doAddAsync(List<Document> documents) {
+		// The embedding model is blocking, only the Elasticsearch requests are
+		// asynchronous
+		return checkIndexExistsAsync()
+			.then(Mono.fromRunnable(() -> embed(documents)).subscribeOn(Schedulers.boundedElastic()))
+			.then(Mono.fromFuture(() -> this.elasticsearchAsyncClient.bulk(addRequest(documents))))
+			.doOnNext(this::checkErrors)
+			.then();
+	}
+
+	private void embed(List<Document> documents) {
+		if (this.batchExecution != null) {
+			this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy,
+					this.batchExecution);
+		}
+		else {
+			this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
+		}
+	}
+
+	private BulkRequest addRequest(List<Document> documents) {
+		BulkRequest.Builder bulkRequestBuilder = new BulkRequest.Builder();
 		for (Document document : documents) {
 			bulkRequestBuilder.operations(op -> op
 				.index(idx -> idx.index(this.options.getIndexName()).id(document.getId()).document(document)));
 		}
-		BulkResponse bulkRequest = bulkRequest(bulkRequestBuilder.build());
-		if (bulkRequest.errors()) {
-			List<BulkResponseItem> bulkResponseItems = bulkRequest.items();
+		return bulkRequestBuilder.build();
+	}
+
+	private void checkErrors(BulkResponse bulkResponse) {
+		if (bulkResponse.errors()) {
+			List<BulkResponseItem> bulkResponseItems = bulkResponse.items();
 			for (BulkResponseItem bulkResponseItem : bulkResponseItems) {
 				if (bulkResponseItem.error() != null) {
 					throw new IllegalStateException(bulkResponseItem.error().reason());
@@ -151,16 +205,37 @@ public class ElasticsearchVectorStore extends AbstractObservationVectorStore imp
 
 	@Override
 	public Optional<Boolean> doDelete(List<String> idList) {
-		BulkRequest.Builder bulkRequestBuilder = new BulkRequest.Builder();
 		// For the index to be present, either it must be pre-created or set the
 		// initializeSchema to true.
 		if (!indexExists()) {
 			throw new IllegalArgumentException("Index not found");
 		}
+		return Optional.of(bulkRequest(deleteRequest(idList)).errors());
+	}
+
+	@Override
+	protected Mono<Boolean> doDeleteAsync(List<String> idList) {
+		return checkIndexExistsAsync()
+			.then(Mono.fromFuture(() -> this.elasticsearchAsyncClient.bulk(deleteRequest(idList))))
+			.map(BulkResponse::errors);
+	}
+
+	private BulkRequest deleteRequest(List<String> idList) {
+		BulkRequest.Builder bulkRequestBuilder = new BulkRequest.Builder();
 		for (String id : idList) {
 			bulkRequestBuilder.operations(op -> op.delete(idx -> idx.index(this.options.getIndexName()).id(id)));
 		}
-		return Optional.of(bulkRequest(bulkRequestBuilder.build()).errors());
+		return bulkRequestBuilder.build();
+	}
+
+	private Mono<Void> checkIndexExistsAsync() {
+		// For the index to be present, either it must be pre-created or set the
+		// initializeSchema to true.
+		return Mono
+			.fromFuture(() -> this.elasticsearchAsyncClient.indices()
+				.exists(ex -> ex.index(this.options.getIndexName())))
+			.flatMap(exists -> exists.value() ? Mono.empty()
+					: Mono.error(new IllegalArgumentException("Index not found")));
 	}
 
 	private BulkResponse bulkRequest(BulkRequest bulkRequest) {
@@ -176,23 +251,9 @@ public class ElasticsearchVectorStore extends AbstractObservationVectorStore imp
 	public List<Document> doSimilaritySearch(SearchRequest searchRequest) {
 		Assert.notNull(searchRequest, "The search request must not be null.");
 		try {
-			float threshold = (float) searchRequest.getSimilarityThreshold();
-			// reverting l2_norm distance to its original value
-			if (this.options.getSimilarity().equals(SimilarityFunction.l2_norm)) {
-				threshold = 1 - threshold;
-			}
-			final float finalThreshold = threshold;
 			float[] vectors = this.embeddingModel.embed(searchRequest.getQuery());
 
-			SearchResponse<Document> res = this.elasticsearchClient.search(
-					sr -> sr.index(this.options.getIndexName())
-						.knn(knn -> knn.queryVector(EmbeddingUtils.toList(vectors))
-							.similarity(finalThreshold)
-							.k((long) searchRequest.getTopK())
-							.field("embedding")
-							.numCandidates((long) (1.5 * searchRequest.getTopK()))
-							.filter(fl -> fl.queryString(
-									qs -> qs.query(getElasticsearchQueryString(searchRequest.getFilterExpression()))))),
+			SearchResponse<Document> res = this.elasticsearchClient.search(knnSearchRequest(searchRequest, vectors),
 					Document.class);
 
 			return res.hits().hits().stream().map(this::toDocument).collect(Collectors.toList());
@@ -202,6 +263,36 @@ public class ElasticsearchVectorStore extends AbstractObservationVectorStore imp
 		}
 	}
 
+	@Override
+	protected Mono<List<Document>> doSimilaritySearchAsync(SearchRequest searchRequest) {
+		Assert.notNull(searchRequest, "The search request must not be null.");
+		// The embedding model is blocking, only the search is asynchronous
+		return Mono.fromCallable(() -> this.embeddingModel.embed(searchRequest.getQuery()))
+			.subscribeOn(Schedulers.boundedElastic())
+			.flatMap(vectors -> Mono.fromFuture(() -> this.elasticsearchAsyncClient
+				.search(knnSearchRequest(searchRequest, vectors), Document.class)))
+			.map(res -> res.hits().hits().stream().map(this::toDocument).collect(Collectors.toList()));
+	}
+
+	private co.elastic.clients.elasticsearch.core.SearchRequest knnSearchRequest(SearchRequest searchRequest,
+			float[] vectors) {
+		float threshold = (float) searchRequest.getSimilarityThreshold();
+		// reverting l2_norm distance to its original value
+		if (this.options.getSimilarity().equals(SimilarityFunction.l2_norm)) {
+			threshold = 1 - threshold;
+		}
+		final float finalThreshold = threshold;
+
+		return co.elastic.clients.elasticsearch.core.SearchRequest.of(sr -> sr.index(this.options.getIndexName())
+			.knn(knn -> knn.queryVector(EmbeddingUtils.toList(vectors))
+				.similarity(finalThreshold)
+				.k((long) searchRequest.getTopK())
+				.field("embedding")
+				.numCandidates((long) (1.5 * searchRequest.getTopK()))
+				.filter(fl -> fl
+					.queryString(qs -> qs.query(getElasticsearchQueryString(searchRequest.getFilterExpression()))))));
+	}
+
 	private String getElasticsearchQueryString(Filter.Expression filterExpression) {
 		return Objects.isNull(filterExpression) ? "*"
 				: this.filterExpressionConverter.convertExpression(filterExpression);
@@ -266,7 +357,7 @@ public class ElasticsearchVectorStore extends AbstractObservationVectorStore imp
 	public Builder createObservationContextBuilder(String operationName) {
 		return VectorStoreObservationContext.builder(VectorStoreProvider.ELASTICSEARCH.value(), operationName)
 			.withCollectionName(this.options.getIndexName())
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withSimilarityMetric(getSimilarityMetric());
 	}
 
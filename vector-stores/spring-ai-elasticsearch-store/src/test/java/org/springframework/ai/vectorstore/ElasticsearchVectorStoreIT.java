@@ -140,6 +140,28 @@ class ElasticsearchVectorStoreIT {
 		});
 	}
 
+	@Test
+	public void addSearchAndDeleteDocumentsAsyncTest() {
+		getContextRunner().run(context -> {
+			ElasticsearchVectorStore vectorStore = context.getBean("vectorStore_cosine",
+					ElasticsearchVectorStore.class);
+			SearchRequest searchRequest = SearchRequest.query("Great Depression")
+				.withTopK(1)
+				.withSimilarityThresholdAll();
+
+			vectorStore.addAsync(this.documents).block();
+
+			Awaitility.await().until(() -> vectorStore.similaritySearchAsync(searchRequest).block(), hasSize(1));
+			List<Document> results = vectorStore.similaritySearchAsync(searchRequest).block();
+			assertThat(results.get(0).getId()).isEqualTo(this.documents.get(2).getId());
+			assertThat(results.get(0).getMetadata()).containsKeys("meta2", "distance");
+
+			vectorStore.deleteAsync(this.documents.stream().map(Document::getId).toList()).block();
+
+			Awaitility.await().until(() -> vectorStore.similaritySearchAsync(searchRequest).block(), hasSize(0));
+		});
+	}
+
 	@ParameterizedTest(name = "{0} : {displayName} ")
 	@ValueSource(strings = { "cosine", "l2_norm", "dot_product" })
 	public void addAndSearchTest(String similarityFunction) {
@@ -341,7 +341,7 @@ public class GemFireVectorStore extends AbstractObservationVectorStore implement
 	public VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName) {
 		return VectorStoreObservationContext.builder(VectorStoreProvider.GEMFIRE.value(), operationName)
 			.withCollectionName(this.indexName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withFieldName(EMBEDDINGS);
 	}
 
@@ -175,7 +175,7 @@ public class HanaCloudVectorStore extends AbstractObservationVectorStore {
 	public Builder createObservationContextBuilder(String operationName) {
 
 		return VectorStoreObservationContext.builder(VectorStoreProvider.HANA.value(), operationName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withCollectionName(this.config.getTableName())
 			.withSimilarityMetric(VectorStoreSimilarityMetric.COSINE.value());
 	}
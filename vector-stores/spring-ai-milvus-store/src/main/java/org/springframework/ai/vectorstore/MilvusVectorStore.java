@@ -435,7 +435,7 @@ public class MilvusVectorStore extends AbstractObservationVectorStore implements
 
 		return VectorStoreObservationContext.builder(VectorStoreProvider.MILVUS.value(), operationName)
 			.withCollectionName(this.config.collectionName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withSimilarityMetric(getSimilarityMetric())
 			.withNamespace(this.config.databaseName);
 	}
@@ -92,6 +92,9 @@ public class MilvusVectorStoreObservationIT {
 
 			VectorStore vectorStore = context.getBean(VectorStore.class);
 
+			// Observations only report the dimensions once the embedding model resolved them
+			context.getBean(EmbeddingModel.class).dimensions();
+
 			TestObservationRegistry observationRegistry = context.getBean(TestObservationRegistry.class);
 
 			vectorStore.add(this.documents);
@@ -230,7 +230,7 @@ public class MongoDBAtlasVectorStore extends AbstractObservationVectorStore impl
 
 		return VectorStoreObservationContext.builder(VectorStoreProvider.MONGODB.value(), operationName)
 			.withCollectionName(this.config.collectionName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withFieldName(this.config.pathName);
 	}
 
@@ -235,7 +235,7 @@ public class Neo4jVectorStore extends AbstractObservationVectorStore implements
 
 		return VectorStoreObservationContext.builder(VectorStoreProvider.NEO4J.value(), operationName)
 			.withCollectionName(this.config.indexName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withSimilarityMetric(getSimilarityMetric());
 	}
 
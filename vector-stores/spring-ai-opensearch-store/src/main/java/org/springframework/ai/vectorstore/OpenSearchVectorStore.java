@@ -271,7 +271,7 @@ public class OpenSearchVectorStore extends AbstractObservationVectorStore implem
 	public Builder createObservationContextBuilder(String operationName) {
 		return VectorStoreObservationContext.builder(VectorStoreProvider.OPENSEARCH.value(), operationName)
 			.withCollectionName(this.index)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withSimilarityMetric(getSimilarityFunction());
 	}
 
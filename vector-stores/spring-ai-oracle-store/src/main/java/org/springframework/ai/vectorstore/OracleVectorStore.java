@@ -548,7 +548,7 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 	@Override
 	public Builder createObservationContextBuilder(String operationName) {
 		return VectorStoreObservationContext.builder(VectorStoreProvider.ORACLE.value(), operationName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withCollectionName(this.getTableName())
 			.withSimilarityMetric(getSimilarityMetric());
 	}
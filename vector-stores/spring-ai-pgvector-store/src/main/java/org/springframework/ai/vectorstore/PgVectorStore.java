@@ -36,6 +36,7 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.ConcurrentBatchExecution;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
 import org.springframework.ai.embedding.TokenCountBatchingStrategy;
@@ -122,6 +123,9 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 	private final int maxDocumentBatchSize;
 
+	@Nullable
+	private final ConcurrentBatchExecution batchExecution;
+
 	public PgVectorStore(JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel) {
 		this(jdbcTemplate, embeddingModel, INVALID_EMBEDDING_DIMENSION, PgDistanceType.COSINE_DISTANCE, false,
 				PgIndexType.NONE, false);
@@ -153,14 +157,15 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 		this(schemaName, vectorTableName, vectorTableValidationsEnabled, jdbcTemplate, embeddingModel, dimensions,
 				distanceType, removeExistingVectorStoreTable, createIndexMethod, initializeSchema,
-				ObservationRegistry.NOOP, null, new TokenCountBatchingStrategy(), MAX_DOCUMENT_BATCH_SIZE);
+				ObservationRegistry.NOOP, null, new TokenCountBatchingStrategy(), MAX_DOCUMENT_BATCH_SIZE, null);
 	}
 
 	private PgVectorStore(String schemaName, String vectorTableName, boolean vectorTableValidationsEnabled,
 			JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel, int dimensions, PgDistanceType distanceType,
 			boolean removeExistingVectorStoreTable, PgIndexType createIndexMethod, boolean initializeSchema,
 			ObservationRegistry observationRegistry, VectorStoreObservationConvention customObservationConvention,
-			BatchingStrategy batchingStrategy, int maxDocumentBatchSize) {
+			BatchingStrategy batchingStrategy, int maxDocumentBatchSize,
+			@Nullable ConcurrentBatchExecution batchExecution) {
 
 		super(observationRegistry, customObservationConvention);
 
@@ -187,6 +192,7 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 		this.schemaValidator = new PgVectorSchemaValidator(jdbcTemplate);
 		this.batchingStrategy = batchingStrategy;
 		this.maxDocumentBatchSize = maxDocumentBatchSize;
+		this.batchExecution = batchExecution;
 	}
 
 	public PgDistanceType getDistanceType() {
@@ -195,7 +201,13 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 	@Override
 	public void doAdd(List<Document> documents) {
-		this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
+		if (this.batchExecution != null) {
+			this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy,
+					this.batchExecution);
+		}
+		else {
+			this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
+		}
 
 		List<List<Document>> batchedDocuments = batchDocuments(documents);
 		batchedDocuments.forEach(this::insertOrUpdateBatch);
@@ -395,11 +407,14 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 	@Override
 	public VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName) {
 
-		return VectorStoreObservationContext.builder(VectorStoreProvider.PG_VECTOR.value(), operationName)
+		VectorStoreObservationContext.Builder builder = VectorStoreObservationContext
+			.builder(VectorStoreProvider.PG_VECTOR.value(), operationName)
 			.withCollectionName(this.vectorTableName)
-			.withDimensions(this.embeddingDimensions())
 			.withNamespace(this.schemaName)
 			.withSimilarityMetric(getSimilarityMetric());
+		// Never probe the embedding model when observing an operation
+		return (this.dimensions > 0) ? builder.withDimensions(this.dimensions)
+				: builder.withEmbeddingDimensions(this.embeddingModel);
 	}
 
 	private String getSimilarityMetric() {
@@ -555,6 +570,9 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 		private int maxDocumentBatchSize = MAX_DOCUMENT_BATCH_SIZE;
 
+		@Nullable
+		private ConcurrentBatchExecution batchExecution;
+
 		@Nullable
 		private VectorStoreObservationConvention searchObservationConvention;
 
@@ -627,12 +645,17 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 			return this;
 		}
 
+		public Builder withBatchExecution(ConcurrentBatchExecution batchExecution) {
+			this.batchExecution = batchExecution;
+			return this;
+		}
+
 		public PgVectorStore build() {
 			return new PgVectorStore(this.schemaName, this.vectorTableName, this.vectorTableValidationsEnabled,
 					this.jdbcTemplate, this.embeddingModel, this.dimensions, this.distanceType,
 					this.removeExistingVectorStoreTable, this.indexType, this.initializeSchema,
 					this.observationRegistry, this.searchObservationConvention, this.batchingStrategy,
-					this.maxDocumentBatchSize);
+					this.maxDocumentBatchSize, this.batchExecution);
 		}
 
 	}
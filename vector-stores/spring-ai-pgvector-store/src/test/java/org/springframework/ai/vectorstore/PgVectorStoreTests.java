@@ -24,6 +24,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.ArgumentCaptor;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.ConcurrentBatchExecution;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -105,4 +106,18 @@ public class PgVectorStoreTests {
 			});
 	}
 
+	@Test
+	void shouldEmbedBatchesConcurrentlyWhenConfigured() {
+		var jdbcTemplate = mock(JdbcTemplate.class);
+		var embeddingModel = mock(EmbeddingModel.class);
+		var batchExecution = ConcurrentBatchExecution.builder().withMaxConcurrency(2).build();
+		var pgVectorStore = new PgVectorStore.Builder(jdbcTemplate, embeddingModel).withBatchExecution(batchExecution)
+			.build();
+		var documents = Collections.nCopies(10, new Document("foo"));
+
+		pgVectorStore.doAdd(documents);
+
+		verify(embeddingModel, only()).embed(eq(documents), any(), any(), eq(batchExecution));
+	}
+
 }
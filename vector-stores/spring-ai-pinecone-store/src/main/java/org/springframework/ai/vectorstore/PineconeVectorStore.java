@@ -282,7 +282,7 @@ public class PineconeVectorStore extends AbstractObservationVectorStore {
 
 		return VectorStoreObservationContext.builder(VectorStoreProvider.PINECONE.value(), operationName)
 			.withCollectionName(this.pineconeIndexName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withNamespace(this.pineconeNamespace)
 			.withFieldName(this.pineconeContentFieldName);
 	}
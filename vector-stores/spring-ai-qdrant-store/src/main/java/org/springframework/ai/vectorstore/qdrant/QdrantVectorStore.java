@@ -22,6 +22,7 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import io.micrometer.observation.ObservationRegistry;
 import io.qdrant.client.QdrantClient;
 import io.qdrant.client.grpc.Collections.Distance;
@@ -33,6 +34,8 @@ import io.qdrant.client.grpc.Points.PointStruct;
 import io.qdrant.client.grpc.Points.ScoredPoint;
 import io.qdrant.client.grpc.Points.SearchPoints;
 import io.qdrant.client.grpc.Points.UpdateStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.BatchingStrategy;
@@ -50,7 +53,9 @@ import org.springframework.util.Assert;
 
 /**
  * Qdrant vectorStore implementation. This store supports creating, updating, deleting,
- * and similarity searching of documents in a Qdrant collection.
+ * and similarity searching of documents in a Qdrant collection. The
+ * {@link org.springframework.ai.vectorstore.AsyncVectorStore} operations use the
+ * asynchronous Qdrant client API without blocking a thread on the round trips.
  *
  * @author Anush Shetty
  * @author Christian Tzolov
@@ -138,18 +143,7 @@ public class QdrantVectorStore extends AbstractObservationVectorStore implements
 	public void doAdd(List<Document> documents) {
 		try {
 
-			// Compute and assign an embedding to the document.
-			this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
-
-			List<PointStruct> points = documents.stream()
-				.map(document -> PointStruct.newBuilder()
-					.setId(io.qdrant.client.PointIdFactory.id(UUID.fromString(document.getId())))
-					.setVectors(io.qdrant.client.VectorsFactory.vectors(document.getEmbedding()))
-					.putAllPayload(toPayload(document))
-					.build())
-				.toList();
-
-			this.qdrantClient.upsertAsync(this.collectionName, points).get();
+			this.qdrantClient.upsertAsync(this.collectionName, toPoints(documents)).get();
 		}
 		catch (InterruptedException | ExecutionException | IllegalArgumentException e) {
 			throw new RuntimeException(e);
@@ -164,10 +158,7 @@ public class QdrantVectorStore extends AbstractObservationVectorStore implements
 	@Override
 	public Optional<Boolean> doDelete(List<String> documentIds) {
 		try {
-			List<PointId> ids = documentIds.stream()
-				.map(id -> io.qdrant.client.PointIdFactory.id(UUID.fromString(id)))
-				.toList();
-			var result = this.qdrantClient.deleteAsync(this.collectionName, ids)
+			var result = this.qdrantClient.deleteAsync(this.collectionName, toPointIds(documentIds))
 				.get()
 				.getStatus() == UpdateStatus.Completed;
 			return Optional.of(result);
@@ -186,22 +177,9 @@ public class QdrantVectorStore extends AbstractObservationVectorStore implements
 	@Override
 	public List<Document> doSimilaritySearch(SearchRequest request) {
 		try {
-			Filter filter = (request.getFilterExpression() != null)
-					? this.filterExpressionConverter.convertExpression(request.getFilterExpression())
-					: Filter.getDefaultInstance();
-
 			float[] queryEmbedding = this.embeddingModel.embed(request.getQuery());
 
-			var searchPoints = SearchPoints.newBuilder()
-				.setCollectionName(this.collectionName)
-				.setLimit(request.getTopK())
-				.setWithPayload(io.qdrant.client.WithPayloadSelectorFactory.enable(true))
-				.addAllVector(EmbeddingUtils.toList(queryEmbedding))
-				.setFilter(filter)
-				.setScoreThreshold((float) request.getSimilarityThreshold())
-				.build();
-
-			var queryResponse = this.qdrantClient.searchAsync(searchPoints).get();
+			var queryResponse = this.qdrantClient.searchAsync(toSearchPoints(request, queryEmbedding)).get();
 
 			return queryResponse.stream().map(this::toDocument).toList();
 
@@ -211,6 +189,86 @@ public class QdrantVectorStore extends AbstractObservationVectorStore implements
 		}
 	}
 
+	@Override
+	protected Mono<Void> doAddAsync(List<Document> documents) {
+		// The embedding model is blocking, only the upsert is asynchronous
+		return Mono.fromCallable(() -> toPoints(documents))
+			.subscribeOn(Schedulers.boundedElastic())
+			.flatMap(points -> toMono(this.qdrantClient.upsertAsync(this.collectionName, points)))
+			.then();
+	}
+
+	@Override
+	protected Mono<Boolean> doDeleteAsync(List<String> idList) {
+		return Mono.defer(() -> toMono(this.qdrantClient.deleteAsync(this.collectionName, toPointIds(idList))))
+			.map(result -> result.getStatus() == UpdateStatus.Completed);
+	}
+
+	@Override
+	protected Mono<List<Document>> doSimilaritySearchAsync(SearchRequest request) {
+		// The embedding model is blocking, only the search is asynchronous
+		return Mono.fromCallable(() -> this.embeddingModel.embed(request.getQuery()))
+			.subscribeOn(Schedulers.boundedElastic())
+			.flatMap(queryEmbedding -> toMono(this.qdrantClient.searchAsync(toSearchPoints(request, queryEmbedding))))
+			.map(points -> points.stream().map(this::toDocument).toList());
+	}
+
+	/**
+	 * Computes the embeddings of the documents and converts them to Qdrant points.
+	 */
+	private List<PointStruct> toPoints(List<Document> documents) {
+		// Compute and assign an embedding to the document.
+		this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
+
+		return documents.stream()
+			.map(document -> PointStruct.newBuilder()
+				.setId(io.qdrant.client.PointIdFactory.id(UUID.fromString(document.getId())))
+				.setVectors(io.qdrant.client.VectorsFactory.vectors(document.getEmbedding()))
+				.putAllPayload(toPayload(document))
+				.build())
+			.toList();
+	}
+
+	private List<PointId> toPointIds(List<String> documentIds) {
+		return documentIds.stream().map(id -> io.qdrant.client.PointIdFactory.id(UUID.fromString(id))).toList();
+	}
+
+	private SearchPoints toSearchPoints(SearchRequest request, float[] queryEmbedding) {
+		Filter filter = (request.getFilterExpression() != null)
+				? this.filterExpressionConverter.convertExpression(request.getFilterExpression())
+				: Filter.getDefaultInstance();
+
+		return SearchPoints.newBuilder()
+			.setCollectionName(this.collectionName)
+			.setLimit(request.getTopK())
+			.setWithPayload(io.qdrant.client.WithPayloadSelectorFactory.enable(true))
+			.addAllVector(EmbeddingUtils.toList(queryEmbedding))
+			.setFilter(filter)
+			.setScoreThreshold((float) request.getSimilarityThreshold())
+			.build();
+	}
+
+	/**
+	 * Adapts a future of the Qdrant client, completing the {@link Mono} from the gRPC
+	 * thread that completes the future.
+	 */
+	private static <T> Mono<T> toMono(ListenableFuture<T> future) {
+		return Mono.create(sink -> {
+			future.addListener(() -> {
+				try {
+					sink.success(future.get());
+				}
+				catch (ExecutionException ex) {
+					sink.error(ex.getCause());
+				}
+				catch (Exception ex) {
+					sink.error(ex);
+				}
+			}, Runnable::run);
+			sink.onCancel(() -> future.cancel(true));
+		});
+	}
+
 	/**
 	 * Extracts metadata from a Protobuf Struct.
 	 * @param metadataStruct The Protobuf Struct containing metadata.
@@ -278,7 +336,7 @@ public class QdrantVectorStore extends AbstractObservationVectorStore implements
 	public VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName) {
 
 		return VectorStoreObservationContext.builder(VectorStoreProvider.QDRANT.value(), operationName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withCollectionName(this.collectionName);
 
 	}
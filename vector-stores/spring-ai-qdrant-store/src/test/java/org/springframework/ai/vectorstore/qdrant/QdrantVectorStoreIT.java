@@ -37,6 +37,7 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.mistralai.MistralAiEmbeddingModel;
 import org.springframework.ai.mistralai.api.MistralAiApi;
+import org.springframework.ai.vectorstore.AsyncVectorStore;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.boot.SpringBootConfiguration;
@@ -116,6 +117,28 @@ public class QdrantVectorStoreIT {
 		});
 	}
 
+	@Test
+	public void addAndSearchAsync() {
+		this.contextRunner.run(context -> {
+
+			AsyncVectorStore vectorStore = (AsyncVectorStore) context.getBean(VectorStore.class);
+
+			vectorStore.addAsync(this.documents).block();
+
+			List<Document> results = vectorStore.similaritySearchAsync(SearchRequest.query("Great").withTopK(1))
+				.block();
+
+			assertThat(results).hasSize(1);
+			assertThat(results.get(0).getId()).isEqualTo(this.documents.get(2).getId());
+			assertThat(results.get(0).getMetadata()).containsKeys("meta2", "distance");
+
+			assertThat(vectorStore.deleteAsync(this.documents.stream().map(Document::getId).toList()).block())
+				.isTrue();
+
+			assertThat(vectorStore.similaritySearchAsync(SearchRequest.query("Great").withTopK(1)).block()).isEmpty();
+		});
+	}
+
 	@Test
 	public void addAndSearchWithFilters() {
 
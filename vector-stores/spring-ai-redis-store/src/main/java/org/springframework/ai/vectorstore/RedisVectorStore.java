@@ -334,7 +334,7 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 
 		return VectorStoreObservationContext.builder(VectorStoreProvider.REDIS.value(), operationName)
 			.withCollectionName(this.config.indexName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withFieldName(this.config.embeddingFieldName)
 			.withSimilarityMetric(VectorStoreSimilarityMetric.COSINE.value());
 
@@ -320,7 +320,7 @@ public class TypesenseVectorStore extends AbstractObservationVectorStore impleme
 	public VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName) {
 
 		return VectorStoreObservationContext.builder(VectorStoreProvider.TYPESENSE.value(), operationName)
-			.withDimensions(this.embeddingModel.dimensions())
+			.withEmbeddingDimensions(this.embeddingModel)
 			.withCollectionName(this.config.collectionName)
 			.withFieldName(EMBEDDING_FIELD_NAME)
 			.withSimilarityMetric(VectorStoreSimilarityMetric.COSINE.value());